@@ -12,6 +12,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.filter.ForwardedHeaderFilter;
 
 import javax.annotation.PreDestroy;
@@ -22,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 @EnableJpaRepositories
 @EnableConfigurationProperties
 @ConfigurationPropertiesScan
+@EnableScheduling
 public class AppConfig {
     private final Logger logger = LoggerFactory.getLogger(AppConfig.class);
     private final AppProperties appProperties;
@@ -0,0 +1,192 @@
+package org.java2uml.java2umlapi.callGraph;
+
+import org.java2uml.java2umlapi.parsedComponent.ParsedMethodComponent;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+import org.java2uml.java2umlapi.util.cancellation.CancellationToken;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntPredicate;
+
+/**
+ * <p>
+ * CallGraphIndex is the call graph of every method of a {@link SourceComponent}, built once so that call graph of
+ * a method can be generated by traversing it instead of resolving method calls again.
+ * </p>
+ *
+ * <p>
+ * Methods are numbered, and the graph is stored in compressed sparse row form, methods called by method i are
+ * {@code calls[offsets[i]]} to {@code calls[offsets[i + 1] - 1]}, in order of the calls, with duplicates.
+ * Methods which are called but not declared in the project, for eg. methods of jdk, are numbered as well but call
+ * nothing.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class CallGraphIndex {
+    private final WeakReference<SourceComponent> sourceComponent;
+    private final int modificationCount;
+    private final String[] signatures;
+    private final Map<String, Integer> indices;
+    private final int[] offsets;
+    private final int[] calls;
+
+    private CallGraphIndex(SourceComponent sourceComponent, int modificationCount, String[] signatures,
+                           Map<String, Integer> indices, int[] offsets, int[] calls) {
+        this.sourceComponent = new WeakReference<>(sourceComponent);
+        this.modificationCount = modificationCount;
+        this.signatures = signatures;
+        this.indices = indices;
+        this.offsets = offsets;
+        this.calls = calls;
+    }
+
+    /**
+     * Builds call graph index of given source component, method calls of every {@link ParsedMethodComponent} are
+     * resolved, unless they already have been.
+     *
+     * @param sourceComponent SourceComponent whose methods are indexed.
+     * @param token           checked after every type, so that indexing of a deleted project stops early.
+     * @return call graph index of given source component.
+     * @throws CancellationException if the token has been cancelled.
+     */
+    public static CallGraphIndex of(SourceComponent sourceComponent, CancellationToken token) {
+        var modificationCount = sourceComponent.getModificationCount();
+        List<ParsedMethodComponent> methods = new ArrayList<>();
+        Map<String, Integer> indices = new HashMap<>();
+        List<String> signatures = new ArrayList<>();
+        sourceComponent.getChildren().values().forEach(type -> type.getChildren().values()
+                .forEach(member -> member.asParsedMethodComponent().ifPresent(method -> {
+                    if (indices.putIfAbsent(method.getName(), signatures.size()) == null) {
+                        signatures.add(method.getName());
+                        methods.add(method);
+                    }
+                })));
+
+        var offsets = new int[methods.size() + 1];
+        var calls = new int[Math.max(16, methods.size() * 4)];
+        var callCount = 0;
+        for (int i = 0; i < methods.size(); i++) {
+            if (i % 64 == 0) token.throwIfCancelled();
+            for (var called : methods.get(i).getCalledMethods()) {
+                var index = indices.get(called);
+                if (index == null) {
+                    index = signatures.size();
+                    indices.put(called, index);
+                    signatures.add(called);
+                }
+                if (callCount == calls.length) calls = Arrays.copyOf(calls, callCount * 2);
+                calls[callCount++] = index;
+            }
+            offsets[i + 1] = callCount;
+        }
+        token.throwIfCancelled();
+
+        // Methods which are not declared in the project call nothing.
+        var allOffsets = Arrays.copyOf(offsets, signatures.size() + 1);
+        Arrays.fill(allOffsets, methods.size() + 1, allOffsets.length, callCount);
+        return new CallGraphIndex(sourceComponent, modificationCount, signatures.toArray(String[]::new),
+                indices, allOffsets, Arrays.copyOf(calls, callCount));
+    }
+
+    /**
+     * @param sourceComponent SourceComponent of a project.
+     * @return true if this index has been built from given source component, and it has not been updated since.
+     */
+    public boolean isBuiltFrom(SourceComponent sourceComponent) {
+        return this.sourceComponent.get() == sourceComponent
+                && modificationCount == sourceComponent.getModificationCount();
+    }
+
+    /**
+     * @return number of methods in the index, including the ones not declared in the project.
+     */
+    public int size() {
+        return signatures.length;
+    }
+
+    /**
+     * @return number of method calls in the index.
+     */
+    public int getCallCount() {
+        return calls.length;
+    }
+
+    /**
+     * @param signature qualified signature of a method.
+     * @return number of given method, empty if it is neither declared nor called in the project.
+     */
+    public OptionalInt indexOf(String signature) {
+        var index = indices.get(signature);
+        return index == null ? OptionalInt.empty() : OptionalInt.of(index);
+    }
+
+    /**
+     * @param method number of a method.
+     * @return qualified signature of given method.
+     */
+    public String signatureOf(int method) {
+        return signatures[method];
+    }
+
+    /**
+     * @param method number of a method.
+     * @return numbers of the methods called by given method, in order of the calls, with duplicates.
+     */
+    public int[] calledMethodsOf(int method) {
+        return Arrays.copyOfRange(calls, offsets[method], offsets[method + 1]);
+    }
+
+    /**
+     * @param signature qualified signature of a method.
+     * @return qualified signatures of the methods called by given method, empty if it is not declared in the
+     * project.
+     */
+    public List<String> calledMethodsOf(String signature) {
+        var method = indices.get(signature);
+        if (method == null) return List.of();
+
+        List<String> calledMethods = new ArrayList<>(offsets[method + 1] - offsets[method]);
+        for (int i = offsets[method]; i < offsets[method + 1]; i++) calledMethods.add(signatures[calls[i]]);
+        return calledMethods;
+    }
+
+    /**
+     * Performs bfs from given method.
+     *
+     * @param root number of the method from which the search starts.
+     * @return numbers of the methods reachable from given method including itself, in order of their discovery.
+     */
+    public int[] reachableFrom(int root) {
+        return reachableFrom(root, method -> true);
+    }
+
+    /**
+     * Performs bfs from given method, methods which are not included are neither visited nor searched from.
+     *
+     * @param root       number of the method from which the search starts.
+     * @param isIncluded tests whether a called method is included in the search.
+     * @return numbers of the methods reachable from given method through included methods, including itself, in
+     * order of their discovery.
+     */
+    public int[] reachableFrom(int root, IntPredicate isIncluded) {
+        var visited = new BitSet(signatures.length);
+        var queue = new int[16];
+        int head = 0, tail = 0;
+        visited.set(root);
+        queue[tail++] = root;
+        while (head < tail) {
+            var method = queue[head++];
+            for (int i = offsets[method]; i < offsets[method + 1]; i++) {
+                var called = calls[i];
+                if (visited.get(called) || !isIncluded.test(called)) continue;
+
+                visited.set(called);
+                if (tail == queue.length) queue = Arrays.copyOf(queue, tail * 2);
+                queue[tail++] = called;
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+}
@@ -2,8 +2,12 @@ package org.java2uml.java2umlapi.callGraph;
 
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
+import org.java2uml.java2umlapi.parsedComponent.ParsedMethodComponent;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
 
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -11,12 +15,23 @@ import java.util.stream.Stream;
  * <p>
  * This class is implementation of MethodCallGraph interface.
  * </p>
+ * <p>
+ * Call graph can be generated either from a {@link ResolvedMethodDeclaration}, in which case method calls are
+ * resolved while the graph is being built, or from a {@link ParsedMethodComponent}, in which case already
+ * resolved method calls of the {@link ParsedMethodComponent}s of the {@link SourceComponent} are used, so the
+ * graph can be built even if the {@link SourceComponent} has been restored from a snapshot. Call graph can also be
+ * generated from a {@link CallGraphIndex} of the whole project, in which case relations are found by traversing
+ * the index.
+ * </p>
  *
  * @author kawaiifox
  */
 public class MethodCallGraphImpl implements MethodCallGraph {
 
     private final ResolvedMethodDeclaration root;
+    private final String rootSignature;
+    private final Function<String, List<String>> calledMethods;
+    private final CallGraphIndex index;
     private CallGraphNode rootNode = null;
     private final String basePackage;
 
@@ -29,6 +44,53 @@ public class MethodCallGraphImpl implements MethodCallGraph {
     public MethodCallGraphImpl(ResolvedMethodDeclaration root, String basePackage) {
         this.basePackage = basePackage;
         this.root = root;
+        this.rootSignature = root.getQualifiedSignature();
+        this.index = null;
+
+        var resolvedMethodDeclarations = new HashMap<String, ResolvedMethodDeclaration>();
+        resolvedMethodDeclarations.put(rootSignature, root);
+        this.calledMethods = signature -> getResolvedMethodDeclarationStream(resolvedMethodDeclarations.get(signature))
+                .peek(rMd -> resolvedMethodDeclarations.putIfAbsent(rMd.getQualifiedSignature(), rMd))
+                .map(ResolvedMethodDeclaration::getQualifiedSignature)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Constructor for MethodCallGraphImpl, it takes in ParsedMethodComponent, SourceComponent containing it
+     * and name of the base package
+     *
+     * @param root            ParsedMethodComponent of method for which call graph needs to be generated.
+     * @param sourceComponent SourceComponent in which called methods are looked up, methods which are not
+     *                        present in it are leaves of the call graph.
+     * @param basePackage     name of the base package for limiting the call graph scope to that package and its,
+     *                        sub packages.
+     */
+    public MethodCallGraphImpl(ParsedMethodComponent root, SourceComponent sourceComponent, String basePackage) {
+        this.basePackage = basePackage;
+        this.root = null;
+        this.rootSignature = root.getName();
+        this.index = null;
+        this.calledMethods = signature -> sourceComponent.find(signature, ParsedMethodComponent.class)
+                .map(ParsedMethodComponent::getCalledMethods)
+                .orElse(List.of());
+    }
+
+    /**
+     * Constructor for MethodCallGraphImpl, it takes in qualified signature of the root method, call graph index of
+     * the project containing it and name of the base package
+     *
+     * @param rootSignature qualified signature of method for which call graph needs to be generated.
+     * @param index         CallGraphIndex of the project, methods which are not declared in the project are
+     *                      leaves of the call graph.
+     * @param basePackage   name of the base package for limiting the call graph scope to that package and its,
+     *                      sub packages.
+     */
+    public MethodCallGraphImpl(String rootSignature, CallGraphIndex index, String basePackage) {
+        this.basePackage = basePackage;
+        this.root = null;
+        this.rootSignature = rootSignature;
+        this.index = index;
+        this.calledMethods = index::calledMethodsOf;
     }
 
     /**
@@ -102,8 +164,8 @@ public class MethodCallGraphImpl implements MethodCallGraph {
     @Override
     public CallGraphNode getCallGraph() {
         if (rootNode == null) {
-            rootNode = new CallGraphNode(root.getQualifiedSignature());
-            buildCallGraph(rootNode, root, new HashMap<>());
+            rootNode = new CallGraphNode(rootSignature);
+            buildCallGraph(rootNode, new HashMap<>());
             return rootNode;
         }
 
@@ -111,6 +173,8 @@ public class MethodCallGraphImpl implements MethodCallGraph {
     }
 
     public List<CallGraphRelation> getCallGraphRelations(Map<String, Long> methodSigToIdMap) {
+        if (index != null) return getIndexedCallGraphRelations(methodSigToIdMap);
+
         return getCallGraphMap().entrySet()
                 .stream()
                 .map(entry -> {
@@ -129,29 +193,59 @@ public class MethodCallGraphImpl implements MethodCallGraph {
     }
 
     /**
-     * Performs dfs and builds call graph.
+     * Traverses the {@link CallGraphIndex} from root, relations are same as the ones generated from call graph map,
+     * but no {@link CallGraphNode} is created. Methods which are not in the base package are left out.
      *
-     * @param currNode                  root node of tree which is currently being built.
-     * @param resolvedMethodDeclaration resolved method declaration for currNode.
-     * @param cache                     set containing unique names of already cache nodes. (Just Pass an empty set if you are calling this method.)
+     * @param methodSigToIdMap a map with method id and signature mappings.
+     * @return List of call graph relations.
      */
-    private void buildCallGraph(CallGraphNode currNode, ResolvedMethodDeclaration resolvedMethodDeclaration, Map<String, CallGraphNode> cache) {
+    private List<CallGraphRelation> getIndexedCallGraphRelations(Map<String, Long> methodSigToIdMap) {
+        var relations = new ArrayList<CallGraphRelation>();
+        var rootIndex = index.indexOf(rootSignature);
+        if (rootIndex.isEmpty()) return relations;
+
+        IntPredicate isInBasePackage = method -> index.signatureOf(method).startsWith(basePackage);
+        for (int method : index.reachableFrom(rootIndex.getAsInt(), isInBasePackage)) {
+            var from = index.signatureOf(method);
+            var selfLoop = false;
+            for (int called : index.calledMethodsOf(method)) {
+                if (called == method) selfLoop = true;
+                else if (isInBasePackage.test(called))
+                    relations.add(new CallGraphRelation(from, index.signatureOf(called)));
+            }
+            if (selfLoop) relations.add(new CallGraphRelation(from, from));
+        }
+        relations.forEach(relation -> {
+            relation.setFromId(methodSigToIdMap.getOrDefault(relation.getFrom(), null));
+            relation.setToId(methodSigToIdMap.getOrDefault(relation.getTo(), null));
+        });
+        return relations;
+    }
+
+    /**
+     * Performs dfs and builds call graph, methods which are not in the base package or its sub packages are left out.
+     *
+     * @param currNode root node of tree which is currently being built.
+     * @param cache    set containing unique names of already cache nodes. (Just Pass an empty set if you are calling this method.)
+     */
+    private void buildCallGraph(CallGraphNode currNode, Map<String, CallGraphNode> cache) {
         cache.put(currNode.getName(), currNode);
-        getResolvedMethodDeclarationStream(resolvedMethodDeclaration)
-                .filter(rMd -> {
-                    if (rMd.getQualifiedSignature().equals(currNode.getName())) {
+        calledMethods.apply(currNode.getName())
+                .stream()
+                .filter(signature -> {
+                    if (signature.equals(currNode.getName())) {
                         currNode.setSelfLoop(true);
                         return false;
                     }
-                    return true;
+                    return signature.startsWith(basePackage);
                 })
-                .forEach(rMd -> {
-                    if (!cache.containsKey(rMd.getQualifiedSignature())) {
-                        var neighborNode = new CallGraphNode(rMd.getQualifiedSignature());
+                .forEach(signature -> {
+                    if (!cache.containsKey(signature)) {
+                        var neighborNode = new CallGraphNode(signature);
                         currNode.addNeighbor(neighborNode);
-                        buildCallGraph(neighborNode, rMd, cache);
+                        buildCallGraph(neighborNode, cache);
                     } else
-                        currNode.addNeighbor(cache.get(rMd.getQualifiedSignature()));
+                        currNode.addNeighbor(cache.get(signature));
                 });
     }
 
@@ -160,8 +254,12 @@ public class MethodCallGraphImpl implements MethodCallGraph {
      * Generates the set of resolvedMethodDeclarations from methods present in the call graph.
      *
      * @return Set of resolvedMethodDeclarations.
+     * @throws IllegalStateException if call graph has not been generated from a ResolvedMethodDeclaration.
      */
     public Set<ResolvedMethodDeclaration> getAllResolvedMethodDeclarations() {
+        if (root == null) {
+            throw new IllegalStateException("Call graph has not been generated from a resolvedMethodDeclaration.");
+        }
         var set = getSetOfRMD(root, new HashSet<>());
         set.add(root);
         return set;
@@ -0,0 +1,124 @@
+package org.java2uml.java2umlapi.callGraph.service;
+
+import org.java2uml.java2umlapi.callGraph.CallGraphIndex;
+import org.java2uml.java2umlapi.executor.JobRegistry;
+import org.java2uml.java2umlapi.executor.Lane;
+import org.java2uml.java2umlapi.executor.Priority;
+import org.java2uml.java2umlapi.executor.SingleFlight;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+import org.java2uml.java2umlapi.parsedComponent.service.SourceComponentService;
+import org.java2uml.java2umlapi.util.cancellation.CancellationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * This service stores {@link CallGraphIndex} of every parsed project, index is built by a background job on index
+ * lane once the project has been parsed or updated, see {@link #schedule(Long)}. Only one index of a project is
+ * built at a time, see {@link SingleFlight}.
+ * </p>
+ *
+ * <p>
+ * Index which has been built from an older version of the {@link SourceComponent} of the project is never
+ * returned, it is built again in background instead. Index of a project is dropped once its source component has
+ * been evicted, see {@link SourceComponentService#addEvictionListener(Consumer)}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@Service
+public class CallGraphIndexService {
+    private static final String CALL_GRAPH_INDEX = "call-graph-index";
+
+    private final Map<Long, CallGraphIndex> indices = new ConcurrentHashMap<>();
+    private final SourceComponentService sourceComponentService;
+    private final JobRegistry jobRegistry;
+    private final SingleFlight singleFlight;
+    private final CancellationService cancellationService;
+    private final Logger logger = LoggerFactory.getLogger(CallGraphIndexService.class);
+
+    public CallGraphIndexService(SourceComponentService sourceComponentService, JobRegistry jobRegistry,
+                                 SingleFlight singleFlight, CancellationService cancellationService) {
+        this.sourceComponentService = sourceComponentService;
+        this.jobRegistry = jobRegistry;
+        this.singleFlight = singleFlight;
+        this.cancellationService = cancellationService;
+        sourceComponentService.addEvictionListener(this::delete);
+    }
+
+    /**
+     * Submits a batch job to index lane, which builds call graph index of given project, unless it is already being
+     * built. If the lane is saturated the index is scheduled again on a later request.
+     *
+     * @param projectInfoId id of the parsed project.
+     */
+    public void schedule(Long projectInfoId) {
+        try {
+            singleFlight.execute(projectInfoId, CALL_GRAPH_INDEX, () -> jobRegistry.submit(projectInfoId,
+                    CALL_GRAPH_INDEX, null, Lane.INDEX, Priority.BATCH, job -> {
+                        job.progress("indexing method calls", 0);
+                        return sourceComponentService.get(projectInfoId)
+                                .map(sourceComponent -> build(projectInfoId, sourceComponent))
+                                .orElse(null);
+                    }));
+        } catch (RejectedExecutionException exception) {
+            logger.info("Call graph index of project {} will be scheduled again on a later request: {}",
+                    projectInfoId, exception.getMessage());
+        }
+    }
+
+    /**
+     * Returns call graph index of given source component if it has been built, else schedules building it so that
+     * the caller is not held up while every method of the project is resolved.
+     *
+     * @param projectInfoId   id of the project.
+     * @param sourceComponent current SourceComponent of the project.
+     * @return Optional of call graph index of given source component, empty if it has not been built yet or if the
+     * source component has been updated since.
+     */
+    public Optional<CallGraphIndex> find(Long projectInfoId, SourceComponent sourceComponent) {
+        var index = indices.get(projectInfoId);
+        if (index != null && index.isBuiltFrom(sourceComponent)) return Optional.of(index);
+
+        schedule(projectInfoId);
+        return Optional.empty();
+    }
+
+    /**
+     * Builds call graph index of given source component, unless an index of it has already been built.
+     *
+     * @param projectInfoId   id of the project.
+     * @param sourceComponent current SourceComponent of the project.
+     * @return call graph index of given source component.
+     * @throws CancellationException if the project has been deleted.
+     */
+    private CallGraphIndex build(Long projectInfoId, SourceComponent sourceComponent) {
+        var index = indices.get(projectInfoId);
+        if (index != null && index.isBuiltFrom(sourceComponent)) return index;
+
+        var token = cancellationService.tokenOf(projectInfoId);
+        index = CallGraphIndex.of(sourceComponent, token);
+        indices.put(projectInfoId, index);
+        // Project may have been deleted while its index was being stored.
+        if (token.isCancelled()) indices.remove(projectInfoId);
+        return index;
+    }
+
+    /**
+     * Deletes the index with given projectInfo id, for eg. once the project has been deleted or its source component
+     * has been evicted.
+     *
+     * @param projectInfoId id associated with the project info.
+     */
+    public void delete(Long projectInfoId) {
+        indices.remove(projectInfoId);
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties
 import org.java2uml.java2umlapi.dependencyMatrix.DependencyMatrix.DependencyArray
 import org.java2uml.java2umlapi.parsedComponent.ParsedCompositeComponent
 import org.java2uml.java2umlapi.parsedComponent.TypeRelation
+import org.java2uml.java2umlapi.parsedComponent.TypeRelationStore
 
 /**
  * This is the default implementation for [DependencyMatrix]
@@ -52,12 +53,22 @@ class DefaultDependencyMatrix(compositeComponents: List<ParsedCompositeComponent
     val dependencyMatrix = Array(compositeComponents.size) { DefaultDependencyArray(componentToIndexMap) }
 
     init {
-        for (relation in relations) {
-            if (!componentToIndexMap.contains(relation.from.name) || !componentToIndexMap.contains(relation.to.name))
-                continue
+        for (relation in relations) addUsage(relation.from.name, relation.to.name, 1)
+    }
 
-            dependencyMatrix[componentToIndexMap[relation.to.name]!!][relation.from.name]++
-        }
+    /**
+     * Builds dependency matrix from distinct relations, every relation is counted as many times as its multiplicity.
+     */
+    constructor(compositeComponents: List<ParsedCompositeComponent>, relations: TypeRelationStore) :
+            this(compositeComponents, emptyList()) {
+        for (i in 0 until relations.size())
+            addUsage(relations.getFrom(i).name, relations.getTo(i).name, relations.getMultiplicity(i))
+    }
+
+    private fun addUsage(from: String, to: String, usage: Int) {
+        if (!componentToIndexMap.contains(from) || !componentToIndexMap.contains(to)) return
+
+        dependencyMatrix[componentToIndexMap[to]!!][from] += usage
     }
 
     override fun get(i: String): DependencyArray {
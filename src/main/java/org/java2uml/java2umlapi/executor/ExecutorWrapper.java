@@ -1,30 +1,50 @@
 package org.java2uml.java2umlapi.executor;
 
+import org.java2uml.java2umlapi.util.metrics.MetricSource;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 
 /**
- * ExecutorWrapper is a wrapper for the executor service.
+ * <p>
+ * ExecutorWrapper is a wrapper for the lanes of work, every {@link Lane} runs on threads of its own with a bounded
+ * queue, so that for eg. parsing of large projects can not hold up extraction of sources. Waiting tasks of a lane
+ * are picked fairly among clients and by {@link Priority}, see {@link FairLaneExecutor}.
+ * </p>
+ *
+ * <p>
+ * Render lane is served by {@link SVGRenderScheduler}, which adds time budget and cancellation to renders.
+ * </p>
  *
  * @author kawaiifox
  */
 @Component
-public class ExecutorWrapper {
-    private final ExecutorService executorService;
+public class ExecutorWrapper implements MetricSource {
+    private final Map<Lane, FairLaneExecutor> lanes = new EnumMap<>(Lane.class);
 
-    public ExecutorWrapper() {
-        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    public ExecutorWrapper(SchedulerProperties properties) {
+        lanes.put(Lane.PARSE, create(Lane.PARSE, properties.getParse()));
+        lanes.put(Lane.EXTRACT, create(Lane.EXTRACT, properties.getExtract()));
+        lanes.put(Lane.ANALYSIS, create(Lane.ANALYSIS, properties.getAnalysis()));
+        lanes.put(Lane.INDEX, create(Lane.INDEX, properties.getIndex()));
     }
 
+    private static FairLaneExecutor create(Lane lane, LaneProperties properties) {
+        return new FairLaneExecutor(lane, properties.getThreads(), properties.getMaxQueued(),
+                properties.getMaxQueuedPerClient(), properties.getRetryAfter());
+    }
 
     /**
      * Initiates an orderly shutdown in which previously submitted tasks are executed,
      * but no new tasks will be accepted.
      */
     public void shutdown() {
-        executorService.shutdown();
+        lanes.values().forEach(FairLaneExecutor::shutdown);
     }
 
 
@@ -38,7 +58,11 @@ public class ExecutorWrapper {
      * @throws InterruptedException if interrupted while waiting
      */
     public boolean awaitTermination(Long timeout, TimeUnit unit) throws InterruptedException {
-        return executorService.awaitTermination(timeout, unit);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (var lane : lanes.values()) {
+            if (!lane.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) return false;
+        }
+        return true;
     }
 
     /**
@@ -49,48 +73,51 @@ public class ExecutorWrapper {
      * @return List of halted tasks.
      */
     public List<Runnable> shutdownNow() {
-        return executorService.shutdownNow();
+        var dropped = new ArrayList<Runnable>();
+        lanes.values().forEach(lane -> dropped.addAll(lane.shutdownNow()));
+        return dropped;
     }
 
     /**
-     * Submits a Runnable task for execution and returns a Future
-     * representing that task. The Future's {@code get} method will
-     * return {@code null} upon <em>successful</em> completion.
+     * Submits a value-returning task to given lane and returns a {@link CompletableFuture} representing the pending
+     * results of the task, so that dependent actions can be attached to it. The future is completed exceptionally
+     * with the exception thrown by the task, if any.
      *
-     * @param task the task to submit
-     * @return a Future representing pending completion of the task
-     * @throws RejectedExecutionException if the task cannot be
-     *                                    scheduled for execution
-     * @throws NullPointerException       if the task is null
+     * @param lane     lane of the task, other than {@link Lane#RENDER}.
+     * @param priority priority of the task within its lane.
+     * @param client   identifies the client which has submitted the task, clients take turns within a lane.
+     * @param task     the task to submit
+     * @param <T>      the type of the task's result
+     * @return a CompletableFuture representing pending completion of the task
+     * @throws LaneSaturatedException     if too many tasks are waiting in the lane, or too many of the client's.
+     * @throws RejectedExecutionException if the task cannot be scheduled for execution
      */
-    public Future<?> submit(Runnable task) throws RejectedExecutionException {
-        return executorService.submit(task);
+    public <T> CompletableFuture<T> submitAsync(Lane lane, Priority priority, String client, Callable<T> task)
+            throws RejectedExecutionException {
+        var executor = lanes.get(lane);
+        if (executor == null) throw new IllegalArgumentException(lane + " lane is not served by ExecutorWrapper.");
+
+        var future = new CompletableFuture<T>();
+        executor.execute(client, priority, () -> {
+            try {
+                future.complete(task.call());
+            } catch (Exception exception) {
+                future.completeExceptionally(exception);
+            }
+        });
+        return future;
     }
 
-    /**
-     * Submits a value-returning task for execution and returns a
-     * Future representing the pending results of the task. The
-     * Future's {@code get} method will return the task's result upon
-     * successful completion.
-     *
-     * <p>
-     * If you would like to immediately block waiting
-     * for a task, you can use constructions of the form
-     * {@code result = exec.submit(aCallable).get();}
-     *
-     * <p>Note: The {@link Executors} class includes a set of methods
-     * that can convert some other common closure-like objects,
-     * for example, {@link java.security.PrivilegedAction} to
-     * {@link Callable} form so they can be submitted.
-     *
-     * @param task the task to submit
-     * @param <T> the type of the task's result
-     * @return a Future representing pending completion of the task
-     * @throws RejectedExecutionException if the task cannot be
-     *         scheduled for execution
-     * @throws NullPointerException if the task is null
-     */
-    public <T> Future<T> submit(Callable<T> task) {
-        return executorService.submit(task);
+    @Override
+    public Map<String, Number> getMetrics() {
+        var metrics = new HashMap<String, Number>();
+        lanes.forEach((lane, executor) -> {
+            var prefix = "lane." + lane.getKey() + ".";
+            metrics.put(prefix + "queue-depth", executor.getQueueDepth());
+            metrics.put(prefix + "active", executor.getActiveCount());
+            metrics.put(prefix + "threads", executor.getThreads());
+            metrics.put(prefix + "rejected", executor.getRejected());
+        });
+        return metrics;
     }
 }
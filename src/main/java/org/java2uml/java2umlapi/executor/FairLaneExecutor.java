@@ -0,0 +1,240 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Runs tasks of a {@link Lane} on a fixed number of threads, picking waiting tasks fairly instead of in order of
+ * submission. Waiting tasks are queued per client, and clients take turns, so that a client which has submitted
+ * twenty tasks does not delay the single task of another client until its twenty tasks are done.
+ * </p>
+ *
+ * <p>
+ * Interactive tasks are picked before batch tasks, except that every {@value #BATCH_EVERY}th pick goes to a batch
+ * task if interactive tasks are also waiting, see {@link Priority}. The queue is bounded as a whole and per client,
+ * tasks submitted when either is full are rejected with {@link LaneSaturatedException}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class FairLaneExecutor {
+    private static final int BATCH_EVERY = 4;
+    private final Lane lane;
+    private final int threads;
+    private final int maxQueued;
+    private final int maxQueuedPerClient;
+    private final Duration retryAfter;
+    /**
+     * Task submitted while a thread is free is handed to it directly, the thread then keeps running waiting tasks
+     * until none is left.
+     */
+    private final ThreadPoolExecutor workers;
+    /**
+     * Waiting tasks by priority and client, clients are kept in order of their turn.
+     */
+    private final Map<Priority, LinkedHashMap<String, Deque<Runnable>>> queues = new EnumMap<>(Priority.class);
+    private final Map<String, Integer> queuedPerClient = new HashMap<>();
+    private int queued;
+    /**
+     * Number of threads which are running tasks.
+     */
+    private int running;
+    private long contendedPicks;
+    private final AtomicLong rejected = new AtomicLong();
+    private final Logger logger = LoggerFactory.getLogger(FairLaneExecutor.class);
+
+    /**
+     * @param lane               lane served by this executor.
+     * @param threads            number of tasks run at once.
+     * @param maxQueued          max number of waiting tasks.
+     * @param maxQueuedPerClient max number of waiting tasks of a single client.
+     * @param retryAfter         how long rejected clients are asked to wait.
+     */
+    public FairLaneExecutor(Lane lane, int threads, int maxQueued, int maxQueuedPerClient, Duration retryAfter) {
+        this.lane = lane;
+        this.threads = threads;
+        this.maxQueued = maxQueued;
+        this.maxQueuedPerClient = maxQueuedPerClient;
+        this.retryAfter = retryAfter;
+        for (var priority : Priority.values()) queues.put(priority, new LinkedHashMap<>());
+
+        var threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            var thread = new Thread(runnable, lane.getKey() + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues given task, it is run once a thread is free and it is its client's turn.
+     *
+     * @param client   identifies the client which has submitted the task, for eg. its address.
+     * @param priority priority of the task.
+     * @param task     task to be run.
+     * @throws LaneSaturatedException     if the queue or the client's share of it is full.
+     * @throws RejectedExecutionException if this executor has been shutdown.
+     */
+    public void execute(String client, Priority priority, Runnable task) throws RejectedExecutionException {
+        synchronized (this) {
+            if (workers.isShutdown()) {
+                throw new RejectedExecutionException(lane.getKey() + " lane has been shutdown.");
+            }
+            if (running < threads) {
+                running++;
+            } else {
+                enqueue(client, priority, task);
+                return;
+            }
+        }
+
+        try {
+            workers.execute(() -> work(task));
+        } catch (RejectedExecutionException exception) {
+            synchronized (this) {
+                running--;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * @param task waiting task to be dropped.
+     * @return true if task was waiting and has been dropped.
+     */
+    public synchronized boolean remove(Runnable task) {
+        for (var clients : queues.values()) {
+            for (var iterator = clients.entrySet().iterator(); iterator.hasNext(); ) {
+                var entry = iterator.next();
+                if (entry.getValue().remove(task)) {
+                    if (entry.getValue().isEmpty()) iterator.remove();
+                    dequeued(entry.getKey());
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public synchronized int getQueueDepth() {
+        return queued;
+    }
+
+    public int getActiveCount() {
+        return workers.getActiveCount();
+    }
+
+    public int getThreads() {
+        return workers.getMaximumPoolSize();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Stops accepting tasks, waiting tasks are still run.
+     */
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Stops accepting tasks, drops waiting tasks and interrupts running tasks.
+     *
+     * @return dropped tasks.
+     */
+    public List<Runnable> shutdownNow() {
+        workers.shutdownNow();
+        synchronized (this) {
+            var dropped = new ArrayList<Runnable>();
+            queues.values().forEach(clients -> clients.values().forEach(dropped::addAll));
+            queues.values().forEach(Map::clear);
+            queuedPerClient.clear();
+            queued = 0;
+            return dropped;
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return workers.awaitTermination(timeout, unit);
+    }
+
+    private void enqueue(String client, Priority priority, Runnable task) {
+        if (queued >= maxQueued) {
+            rejected.incrementAndGet();
+            throw new LaneSaturatedException(lane, retryAfter,
+                    "Too many tasks are waiting in " + lane.getKey() + " lane, please try again later.");
+        }
+        if (queuedPerClient.getOrDefault(client, 0) >= maxQueuedPerClient) {
+            rejected.incrementAndGet();
+            throw new LaneSaturatedException(lane, retryAfter,
+                    "Too many of your tasks are waiting in " + lane.getKey() + " lane, please try again later.");
+        }
+        queues.get(priority).computeIfAbsent(client, ignored -> new ArrayDeque<>()).add(task);
+        queuedPerClient.merge(client, 1, Integer::sum);
+        queued++;
+    }
+
+    /**
+     * Runs given task, and then waiting tasks until none is left.
+     */
+    private void work(Runnable task) {
+        while (task != null) {
+            try {
+                task.run();
+            } catch (RuntimeException exception) {
+                logger.warn("Task of {} lane failed.", lane.getKey(), exception);
+            }
+            task = next();
+            // Interrupt meant for the previous task, for eg. on its timeout, must not reach the next one.
+            if (task != null) Thread.interrupted();
+        }
+    }
+
+    /**
+     * @return next task to be run by a thread which has finished its task, null if the thread is no longer needed.
+     */
+    private synchronized Runnable next() {
+        var task = poll();
+        if (task == null) running--;
+        return task;
+    }
+
+    /**
+     * @return task of the client whose turn it is, of a batch task every few picks, null if no task is waiting.
+     */
+    private synchronized Runnable poll() {
+        var interactive = queues.get(Priority.INTERACTIVE);
+        var batch = queues.get(Priority.BATCH);
+        if (interactive.isEmpty() && batch.isEmpty()) return null;
+
+        boolean pickBatch = interactive.isEmpty() || (!batch.isEmpty() && ++contendedPicks % BATCH_EVERY == 0);
+        var clients = pickBatch ? batch : interactive;
+
+        var iterator = clients.entrySet().iterator();
+        var turn = iterator.next();
+        iterator.remove();
+        var task = turn.getValue().poll();
+        // Client goes to the back of the line if it has more tasks waiting.
+        if (!turn.getValue().isEmpty()) clients.put(turn.getKey(), turn.getValue());
+        dequeued(turn.getKey());
+        return task;
+    }
+
+    private void dequeued(String client) {
+        queued--;
+        queuedPerClient.computeIfPresent(client, (ignored, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,200 @@
+package org.java2uml.java2umlapi.executor;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.java2uml.java2umlapi.util.cancellation.CancellationToken;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CancellationException;
+
+/**
+ * <p>
+ * A unit of work submitted to {@link JobRegistry}, for eg. parsing of an uploaded project or rendering of its svg.
+ * Clients poll the job instead of retrying the endpoint which has submitted it.
+ * </p>
+ *
+ * <p>
+ * A job is queued until a thread picks it up, then it is running until it succeeds, fails or is cancelled. While it is
+ * running, the task may report its stage and percent complete, see {@link #progress(String, int)}.
+ * </p>
+ *
+ * <p>
+ * Job is cancelled once the {@link CancellationToken} of its project is cancelled, task of the job checks the token
+ * between its stages by {@link #throwIfCancelled()}, and running task is interrupted by {@link JobRegistry#cancel}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class Job {
+    private final Long id;
+    private final Long projectInfoId;
+    private final String type;
+    private final URI result;
+    private final CancellationToken cancellationToken;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private State state = State.QUEUED;
+    private String stage = "queued";
+    private int percentComplete;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    /**
+     * Thread running the task of this job, null unless it is running.
+     */
+    private Thread thread;
+
+    Job(Long id, Long projectInfoId, String type, URI result, CancellationToken cancellationToken) {
+        this.id = id;
+        this.projectInfoId = projectInfoId;
+        this.type = type;
+        this.result = result;
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * Reports progress of this job, called by the task of the job.
+     *
+     * @param stage           name of the stage the task has reached, for eg. "parsing".
+     * @param percentComplete estimated percent of the work done, between 0 and 100.
+     */
+    public synchronized void progress(String stage, int percentComplete) {
+        if (isFinished()) return;
+        this.stage = stage;
+        this.percentComplete = Math.max(0, Math.min(100, percentComplete));
+    }
+
+    /**
+     * Checks whether the job has been cancelled, called by the task of the job between its stages.
+     *
+     * @throws CancellationException if the project of this job has been deleted.
+     */
+    public void throwIfCancelled() throws CancellationException {
+        cancellationToken.throwIfCancelled();
+    }
+
+    /**
+     * @return true if the project of this job has been deleted.
+     */
+    @JsonIgnore
+    public boolean isCancelled() {
+        return cancellationToken.isCancelled();
+    }
+
+    /**
+     * @param thread thread which has picked up the task of this job.
+     */
+    synchronized void start(Thread thread) {
+        if (state != State.QUEUED) return;
+        this.thread = thread;
+        state = State.RUNNING;
+        stage = "running";
+        startedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Called by the thread running the task once the task has returned, so that the thread is no longer interrupted
+     * on cancellation.
+     */
+    synchronized void detach() {
+        thread = null;
+    }
+
+    /**
+     * Interrupts the running task of this job, if any.
+     */
+    synchronized void interrupt() {
+        if (thread != null) thread.interrupt();
+    }
+
+    /**
+     * @param exception exception with which the task has completed, null if it has succeeded.
+     */
+    synchronized void finish(Throwable exception) {
+        if (isFinished()) return;
+        thread = null;
+        finishedAt = LocalDateTime.now();
+        if (exception == null) {
+            state = State.SUCCEEDED;
+            stage = "done";
+            percentComplete = 100;
+        } else if (exception instanceof CancellationException || cancellationToken.isCancelled()) {
+            // Interrupted task may fail with any exception, for eg. while reading a file.
+            state = State.CANCELLED;
+            stage = "cancelled";
+        } else {
+            state = State.FAILED;
+            stage = "failed";
+            error = exception.getMessage() == null ? exception.toString() : exception.getMessage();
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProjectInfoId() {
+        return projectInfoId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return uri from which result of this job can be fetched once it has succeeded.
+     */
+    @JsonIgnore
+    public URI getResult() {
+        return result;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized String getStage() {
+        return stage;
+    }
+
+    public synchronized int getPercentComplete() {
+        return percentComplete;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public synchronized LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public synchronized LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * @return milliseconds this job has been running for, or has run for if it is finished, null if it has not
+     * started.
+     */
+    public synchronized Long getRunningTimeMillis() {
+        if (startedAt == null) return null;
+        return Duration.between(startedAt, finishedAt == null ? LocalDateTime.now() : finishedAt).toMillis();
+    }
+
+    /**
+     * @return message of the exception with which this job has failed, null if it has not failed.
+     */
+    public synchronized String getError() {
+        return error;
+    }
+
+    @JsonIgnore
+    public synchronized boolean isFinished() {
+        return state == State.SUCCEEDED || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    }
+}
@@ -0,0 +1,40 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * Stores configuration properties for {@link JobRegistry}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@ConfigurationProperties(prefix = "jobs")
+public class JobProperties {
+    /**
+     * Finished jobs older than this are forgotten.
+     */
+    private Duration retention = Duration.ofMinutes(15);
+    /**
+     * Max number of finished jobs retained, oldest are forgotten first.
+     */
+    private int maxFinished = 1000;
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public int getMaxFinished() {
+        return maxFinished;
+    }
+
+    public void setMaxFinished(int maxFinished) {
+        this.maxFinished = maxFinished;
+    }
+}
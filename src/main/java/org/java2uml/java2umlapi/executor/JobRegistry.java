@@ -0,0 +1,253 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.java2uml.java2umlapi.util.cancellation.CancellationService;
+import org.java2uml.java2umlapi.util.metrics.MetricSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Tracks every generation submitted for a project as a {@link Job}, so that clients can poll the job at
+ * "/api/jobs" instead of retrying the endpoint which has submitted it.
+ * </p>
+ *
+ * <p>
+ * Jobs are kept in memory, finished jobs are forgotten once they are older than configured retention or once
+ * too many finished jobs are retained, see {@link JobProperties}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@Component
+public class JobRegistry implements MetricSource {
+    private final ExecutorWrapper executor;
+    private final SVGRenderScheduler renderScheduler;
+    private final JobProperties properties;
+    private final CancellationService cancellationService;
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+    private final Queue<Job> finished = new ConcurrentLinkedQueue<>();
+    /**
+     * Ids of deleted projects whose cancellation tokens are released once their last job has finished.
+     */
+    private final Set<Long> toBeReleased = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger finishedCount = new AtomicInteger();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public JobRegistry(ExecutorWrapper executor, SVGRenderScheduler renderScheduler, JobProperties properties,
+                       CancellationService cancellationService) {
+        this.executor = executor;
+        this.renderScheduler = renderScheduler;
+        this.properties = properties;
+        this.cancellationService = cancellationService;
+    }
+
+    /**
+     * Submits given task to given lane as a job, on behalf of the client of current request. Tasks of
+     * {@link Lane#RENDER} lane are submitted to {@link SVGRenderScheduler}, others to {@link ExecutorWrapper}.
+     *
+     * @param lane     lane on which the task is run.
+     * @param priority priority of the task within its lane.
+     * @throws LaneSaturatedException if too many tasks, or too many tasks of the client, are waiting in the lane.
+     * @see #submit(Long, String, URI, Task, Function)
+     */
+    public <T> CompletableFuture<T> submit(Long projectInfoId, String type, URI result, Lane lane,
+                                           Priority priority, Task<T> task) throws RejectedExecutionException {
+        var client = currentClient(projectInfoId);
+        return submit(projectInfoId, type, result, task, callable -> lane == Lane.RENDER
+                ? renderScheduler.submit(projectInfoId, priority, client, callable)
+                : executor.submitAsync(lane, priority, client, callable));
+    }
+
+    /**
+     * Submits given task as a job.
+     *
+     * @param projectInfoId id of the project for which the job is submitted.
+     * @param type          type of the job, for eg. "svg".
+     * @param result        uri from which result of the job can be fetched once it has succeeded.
+     * @param task          task of the job.
+     * @param executor      submits the task and returns its future, for eg. {@link ExecutorWrapper#submitAsync}.
+     * @param <T>           type of the result of the task.
+     * @return future completed with the outcome of the future returned by the executor, once the job has finished,
+     * so that state of the job is up to date when callers are notified.
+     * @throws RejectedExecutionException if executor has rejected the task, the job is recorded as failed.
+     */
+    public <T> CompletableFuture<T> submit(Long projectInfoId, String type, URI result, Task<T> task,
+                                           Function<Callable<T>, CompletableFuture<T>> executor)
+            throws RejectedExecutionException {
+        evictFinished();
+        var job = new Job(ids.incrementAndGet(), projectInfoId, type, result,
+                cancellationService.tokenOf(projectInfoId));
+        jobs.put(job.getId(), job);
+
+        CompletableFuture<T> future;
+        try {
+            future = executor.apply(() -> {
+                job.start(Thread.currentThread());
+                try {
+                    job.throwIfCancelled();
+                    return task.call(job);
+                } finally {
+                    job.detach();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            finish(job, exception);
+            throw exception;
+        }
+        var outcome = new CompletableFuture<T>();
+        future.whenComplete((value, exception) -> {
+            finish(job, exception);
+            if (exception == null) outcome.complete(value);
+            else outcome.completeExceptionally(exception);
+        });
+        return outcome;
+    }
+
+    /**
+     * Cancels every job of given project, for eg. when it is deleted. Running jobs are interrupted, and queued jobs
+     * or jobs submitted later are cancelled as soon as they are picked up.
+     *
+     * @param projectInfoId id of the project.
+     */
+    public void cancel(Long projectInfoId) {
+        cancellationService.cancel(projectInfoId);
+        jobs.values().stream()
+                .filter(job -> projectInfoId.equals(job.getProjectInfoId()))
+                .forEach(Job::interrupt);
+    }
+
+    /**
+     * Releases cancellation token of a deleted project, see {@link CancellationService#release(Long)}. If a job of
+     * the project is still running, the token is released once the last of them has finished.
+     *
+     * @param projectInfoId id of the deleted project.
+     */
+    public void release(Long projectInfoId) {
+        toBeReleased.add(projectInfoId);
+        releaseIfIdle(projectInfoId);
+    }
+
+    /**
+     * Releases cancellation token of given project if it is to be released and none of its jobs is unfinished.
+     */
+    private void releaseIfIdle(Long projectInfoId) {
+        if (!toBeReleased.contains(projectInfoId)) return;
+
+        var isRunning = jobs.values().stream()
+                .anyMatch(job -> projectInfoId.equals(job.getProjectInfoId()) && !job.isFinished());
+        if (!isRunning && toBeReleased.remove(projectInfoId)) cancellationService.release(projectInfoId);
+    }
+
+    /**
+     * @param id id of the job.
+     * @return job with given id, empty if it has never been submitted or has been forgotten.
+     */
+    public Optional<Job> get(Long id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * @param projectInfoId id of the project, null for jobs of every project.
+     * @return jobs of given project, most recently submitted first.
+     */
+    public List<Job> findAll(Long projectInfoId) {
+        evictFinished();
+        return jobs.values().stream()
+                .filter(job -> projectInfoId == null || projectInfoId.equals(job.getProjectInfoId()))
+                .sorted(Comparator.comparing(Job::getId).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param projectInfoId id of the project.
+     * @param type          type of the job.
+     * @return most recently submitted job of given type which has not finished yet, if any.
+     */
+    public Optional<Job> findActive(Long projectInfoId, String type) {
+        return jobs.values().stream()
+                .filter(job -> projectInfoId.equals(job.getProjectInfoId()) && type.equals(job.getType()))
+                .filter(job -> !job.isFinished())
+                .max(Comparator.comparing(Job::getId));
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        var states = jobs.values().stream()
+                .collect(Collectors.groupingBy(Job::getState, Collectors.counting()));
+        return Map.of(
+                "jobs.queued", states.getOrDefault(Job.State.QUEUED, 0L),
+                "jobs.running", states.getOrDefault(Job.State.RUNNING, 0L),
+                "jobs.submitted", ids.get(),
+                "jobs.failed", failed.get()
+        );
+    }
+
+    /**
+     * Clients are told apart by their address, tasks submitted outside of a request are submitted on behalf of
+     * the project itself. Behind a reverse proxy the address is taken from its Forwarded or X-Forwarded-For header by
+     * {@link org.springframework.web.filter.ForwardedHeaderFilter}, see "server.forward-headers-strategy", else
+     * every client would be seen as the proxy. These headers are trusted, so the application must only be reachable
+     * through the proxy.
+     */
+    private static String currentClient(Long projectInfoId) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getRemoteAddr();
+        }
+        return "project-" + projectInfoId;
+    }
+
+    private void finish(Job job, Throwable exception) {
+        job.finish(exception instanceof CompletionException && exception.getCause() != null
+                ? exception.getCause() : exception);
+        if (job.getState() == Job.State.FAILED) failed.incrementAndGet();
+        finished.add(job);
+        finishedCount.incrementAndGet();
+        releaseIfIdle(job.getProjectInfoId());
+        evictFinished();
+    }
+
+    /**
+     * Forgets finished jobs which are older than retention, and oldest finished jobs in excess of the max.
+     */
+    private void evictFinished() {
+        var retainedSince = LocalDateTime.now().minus(properties.getRetention());
+        Job oldest;
+        while ((oldest = finished.peek()) != null) {
+            if (finishedCount.get() <= properties.getMaxFinished()
+                    && oldest.getFinishedAt().isAfter(retainedSince)) {
+                return;
+            }
+            if (finished.remove(oldest)) {
+                finishedCount.decrementAndGet();
+                jobs.remove(oldest.getId());
+            }
+        }
+    }
+
+    /**
+     * Task of a job, it is given the job so that it can report its progress.
+     *
+     * @param <T> type of the result of the task.
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        T call(Job job) throws Exception;
+    }
+}
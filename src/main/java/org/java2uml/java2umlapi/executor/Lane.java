@@ -0,0 +1,39 @@
+package org.java2uml.java2umlapi.executor;
+
+/**
+ * <p>
+ * Lanes of work, every lane has threads and a bounded queue of its own, so that for eg. parsing of large projects can
+ * not hold up rendering of svgs.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public enum Lane {
+    /**
+     * Unzipping and parsing of uploaded or updated projects.
+     */
+    PARSE,
+    /**
+     * Extraction of sources from parsed projects.
+     */
+    EXTRACT,
+    /**
+     * Rendering of svgs, served by {@link SVGRenderScheduler}.
+     */
+    RENDER,
+    /**
+     * Generation of uml code, dependency matrices and other analyses of parsed projects.
+     */
+    ANALYSIS,
+    /**
+     * Indexing of parsed projects in background, for eg. of their call graphs.
+     */
+    INDEX;
+
+    /**
+     * @return name of the lane used in metrics and thread names, for eg. "parse".
+     */
+    public String getKey() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,70 @@
+package org.java2uml.java2umlapi.executor;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * Stores configuration properties of a single lane of {@link ExecutorWrapper}, see {@link SchedulerProperties}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class LaneProperties {
+    /**
+     * Number of tasks of the lane run at once.
+     */
+    private int threads;
+    /**
+     * Max number of waiting tasks, tasks submitted when queue is full are rejected with 429.
+     */
+    private int maxQueued;
+    /**
+     * Max number of waiting tasks of a single client.
+     */
+    private int maxQueuedPerClient;
+    /**
+     * Sent in "Retry-After" header of rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(10);
+
+    public LaneProperties() {
+    }
+
+    LaneProperties(int threads, int maxQueued, int maxQueuedPerClient) {
+        this.threads = threads;
+        this.maxQueued = maxQueued;
+        this.maxQueuedPerClient = maxQueuedPerClient;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    public int getMaxQueuedPerClient() {
+        return maxQueuedPerClient;
+    }
+
+    public void setMaxQueuedPerClient(int maxQueuedPerClient) {
+        this.maxQueuedPerClient = maxQueuedPerClient;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,36 @@
+package org.java2uml.java2umlapi.executor;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>
+ * This exception is thrown when a task is submitted to a {@link Lane} whose queue, or whose share of the queue for
+ * the client, is full. It is answered with "429 Too Many Requests" and "Retry-After" header.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class LaneSaturatedException extends RejectedExecutionException {
+    private final Lane lane;
+    private final Duration retryAfter;
+
+    /**
+     * @param lane       lane which has rejected the task.
+     * @param retryAfter how long clients should wait before submitting the task again.
+     * @param message    the detail message.
+     */
+    public LaneSaturatedException(Lane lane, Duration retryAfter, String message) {
+        super(message);
+        this.lane = lane;
+        this.retryAfter = retryAfter;
+    }
+
+    public Lane getLane() {
+        return lane;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,20 @@
+package org.java2uml.java2umlapi.executor;
+
+/**
+ * <p>
+ * Priority of a task within its {@link Lane}, interactive tasks are picked before batch tasks, but every few picks
+ * go to a batch task so that batch tasks are not starved.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public enum Priority {
+    /**
+     * Tasks a client is waiting for, for eg. generation of a requested svg.
+     */
+    INTERACTIVE,
+    /**
+     * Tasks no client is waiting for, for eg. re-parsing of an updated project.
+     */
+    BATCH
+}
@@ -0,0 +1,76 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * Stores configuration properties for {@link SVGRenderScheduler}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@ConfigurationProperties(prefix = "svg.render")
+public class SVGRenderProperties {
+    /**
+     * Max number of svgs rendered at once.
+     */
+    private int concurrency = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    /**
+     * Max number of renders waiting for a thread, renders submitted when queue is full are rejected.
+     */
+    private int maxQueued = 64;
+    /**
+     * Renders which run for longer than this are interrupted and fail.
+     */
+    private Duration timeout = Duration.ofMinutes(2);
+    /**
+     * Max number of renders of a single client waiting for a thread.
+     */
+    private int maxQueuedPerClient = 16;
+    /**
+     * Sent in "Retry-After" header of rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(10);
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getMaxQueuedPerClient() {
+        return maxQueuedPerClient;
+    }
+
+    public void setMaxQueuedPerClient(int maxQueuedPerClient) {
+        this.maxQueuedPerClient = maxQueuedPerClient;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
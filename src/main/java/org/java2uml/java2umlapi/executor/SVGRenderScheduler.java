@@ -0,0 +1,254 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.java2uml.java2umlapi.util.metrics.MetricSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Renders svgs on {@link Lane#RENDER} lane, separate from lanes of {@link ExecutorWrapper}, so that rendering of large
+ * diagrams can not hold up parsing of uploaded projects. At most configured number of svgs are rendered at once, and
+ * at most configured number of renders wait for a thread, further renders are rejected. Waiting renders are picked
+ * fairly among clients, see {@link FairLaneExecutor}.
+ * </p>
+ *
+ * <p>
+ * Every render has a time budget, a render which exceeds it fails with a {@link TimeoutException} and its thread is
+ * interrupted. Renders of a project can be cancelled, for eg. when the project is deleted.
+ * </p>
+ *
+ * <p>
+ * PlantUML does not respond to interrupts, so a render which has timed out keeps its thread until it actually
+ * returns. Such renders are counted as overrunning rather than completed, and while every thread is held by an
+ * overrunning render further renders are rejected instead of being queued behind renders which may never finish.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@Component
+public class SVGRenderScheduler implements MetricSource {
+    private final FairLaneExecutor executor;
+    private final ScheduledExecutorService timer;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final int concurrency;
+    private final Map<Long, Set<RenderTask<?>>> tasks = new ConcurrentHashMap<>();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    /**
+     * Number of renders which have timed out but whose threads have not returned yet.
+     */
+    private final AtomicInteger overrunning = new AtomicInteger();
+    private final Logger logger = LoggerFactory.getLogger(SVGRenderScheduler.class);
+
+    public SVGRenderScheduler(SVGRenderProperties properties) {
+        this.executor = new FairLaneExecutor(Lane.RENDER, properties.getConcurrency(), properties.getMaxQueued(),
+                properties.getMaxQueuedPerClient(), properties.getRetryAfter());
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "svg-render-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeout = properties.getTimeout();
+        this.retryAfter = properties.getRetryAfter();
+        this.concurrency = properties.getConcurrency();
+    }
+
+    /**
+     * Submits an interactive render of given project, on behalf of the project itself.
+     *
+     * @see #submit(Long, Priority, String, Callable)
+     */
+    public <T> CompletableFuture<T> submit(Long projectInfoId, Callable<T> render) throws RejectedExecutionException {
+        return submit(projectInfoId, Priority.INTERACTIVE, "project-" + projectInfoId, render);
+    }
+
+    /**
+     * Submits a render of given project.
+     *
+     * @param projectInfoId id of the project whose svg is rendered.
+     * @param priority      priority of the render.
+     * @param client        identifies the client which has requested the render, clients take turns.
+     * @param render        task rendering the svg.
+     * @param <T>           type of the result of render.
+     * @return a CompletableFuture representing pending completion of the render, it fails with
+     * {@link TimeoutException} if render exceeds its time budget and is cancelled if renders of the project are
+     * cancelled. Cancelling the returned future itself does not stop the render.
+     * @throws LaneSaturatedException     if too many renders, or too many renders of the client, are waiting, or if
+     *                                    every thread is held by a render which has timed out.
+     * @throws RejectedExecutionException if scheduler has been shutdown.
+     */
+    public <T> CompletableFuture<T> submit(Long projectInfoId, Priority priority, String client, Callable<T> render)
+            throws RejectedExecutionException {
+        if (overrunning.get() >= concurrency) {
+            rejected.incrementAndGet();
+            throw new LaneSaturatedException(Lane.RENDER, retryAfter,
+                    "Svgs can not be rendered at the moment, please try again later.");
+        }
+
+        var task = new RenderTask<>(projectInfoId, render);
+        tasks.compute(projectInfoId, (id, projectTasks) -> {
+            if (projectTasks == null) projectTasks = ConcurrentHashMap.newKeySet();
+            projectTasks.add(task);
+            return projectTasks;
+        });
+
+        try {
+            executor.execute(client, priority, task);
+        } catch (RejectedExecutionException exception) {
+            remove(task);
+            rejected.incrementAndGet();
+            throw exception;
+        }
+        return task.result;
+    }
+
+    /**
+     * Cancels all the renders of given project, waiting renders are dropped and running renders are interrupted.
+     *
+     * @param projectInfoId id of the project whose renders are cancelled.
+     */
+    public void cancel(Long projectInfoId) {
+        var projectTasks = tasks.remove(projectInfoId);
+        if (projectTasks == null) return;
+
+        for (var task : projectTasks) {
+            if (task.cancel(true)) cancelled.incrementAndGet();
+            else task.interrupt();
+            executor.remove(task);
+        }
+        logger.info("Cancelled {} renders of project {}.", projectTasks.size(), projectInfoId);
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        return Map.of(
+                "svg-render.queue-depth", executor.getQueueDepth(),
+                "svg-render.active", executor.getActiveCount(),
+                "svg-render.concurrency", executor.getThreads(),
+                "svg-render.completed", completed.get(),
+                "svg-render.timed-out", timedOut.get(),
+                "svg-render.overrunning", overrunning.get(),
+                "svg-render.cancelled", cancelled.get(),
+                "svg-render.rejected", rejected.get()
+        );
+    }
+
+    /**
+     * Stops rendering, waiting renders are dropped and running renders are interrupted.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    private void remove(RenderTask<?> task) {
+        tasks.computeIfPresent(task.projectInfoId, (id, projectTasks) -> {
+            projectTasks.remove(task);
+            return projectTasks.isEmpty() ? null : projectTasks;
+        });
+    }
+
+    /**
+     * A render which fails with {@link TimeoutException} and interrupts its thread once it exceeds its time budget.
+     */
+    private class RenderTask<T> extends FutureTask<T> {
+        private final Long projectInfoId;
+        /**
+         * Completed with the outcome of this render once it is done.
+         */
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        /**
+         * Thread running this render, guarded by this task so that a thread is never interrupted after it has
+         * finished running this render.
+         */
+        private Thread runner;
+        /**
+         * True once this render has timed out, guarded by this task.
+         */
+        private boolean isTimedOut;
+
+        RenderTask(Long projectInfoId, Callable<T> render) {
+            super(render);
+            this.projectInfoId = projectInfoId;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (isDone()) return;
+                runner = Thread.currentThread();
+            }
+
+            var deadline = timer.schedule(this::timeOut, timeout.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                super.run();
+            } finally {
+                deadline.cancel(false);
+                synchronized (this) {
+                    runner = null;
+                    if (isTimedOut) {
+                        // Thread of the render is released only now, see timeOut().
+                        overrunning.decrementAndGet();
+                        remove(this);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Interrupts thread of this render if it is still running, for eg. after it has timed out.
+         */
+        private synchronized void interrupt() {
+            if (runner != null) runner.interrupt();
+        }
+
+        private synchronized void timeOut() {
+            if (runner == null || isDone()) return;
+
+            // Counted before the result is completed, so that callers observing the timeout also observe the count.
+            isTimedOut = true;
+            timedOut.incrementAndGet();
+            overrunning.incrementAndGet();
+            setException(new TimeoutException("Rendering did not finish within " + timeout.toSeconds() + "s."));
+            runner.interrupt();
+            logger.warn("Render of project {} timed out.", projectInfoId);
+        }
+
+        @Override
+        protected void done() {
+            boolean hasTimedOut;
+            synchronized (this) {
+                hasTimedOut = isTimedOut;
+            }
+            // Render which has timed out is kept until its thread returns, so that it can still be interrupted.
+            if (!hasTimedOut) remove(this);
+            if (isCancelled()) {
+                result.cancel(false);
+                return;
+            }
+
+            if (!hasTimedOut) completed.incrementAndGet();
+            try {
+                result.complete(get());
+            } catch (ExecutionException exception) {
+                result.completeExceptionally(exception.getCause());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(exception);
+            }
+        }
+    }
+}
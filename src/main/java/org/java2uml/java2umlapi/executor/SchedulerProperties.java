@@ -0,0 +1,65 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * <p>
+ * Stores configuration properties of the lanes of {@link ExecutorWrapper}, render lane is configured by
+ * {@link SVGRenderProperties}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@ConfigurationProperties(prefix = "scheduler")
+public class SchedulerProperties {
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Lane for unzipping and parsing of projects.
+     */
+    private LaneProperties parse = new LaneProperties(Math.max(1, PROCESSORS / 2), 64, 16);
+    /**
+     * Lane for extraction of sources.
+     */
+    private LaneProperties extract = new LaneProperties(Math.max(1, PROCESSORS / 4), 64, 16);
+    /**
+     * Lane for generation of uml code and dependency matrices.
+     */
+    private LaneProperties analysis = new LaneProperties(Math.max(1, PROCESSORS / 4), 128, 32);
+    /**
+     * Lane for indexing of parsed projects in background.
+     */
+    private LaneProperties index = new LaneProperties(1, 64, 16);
+
+    public LaneProperties getParse() {
+        return parse;
+    }
+
+    public void setParse(LaneProperties parse) {
+        this.parse = parse;
+    }
+
+    public LaneProperties getExtract() {
+        return extract;
+    }
+
+    public void setExtract(LaneProperties extract) {
+        this.extract = extract;
+    }
+
+    public LaneProperties getAnalysis() {
+        return analysis;
+    }
+
+    public void setAnalysis(LaneProperties analysis) {
+        this.analysis = analysis;
+    }
+
+    public LaneProperties getIndex() {
+        return index;
+    }
+
+    public void setIndex(LaneProperties index) {
+        this.index = index;
+    }
+}
@@ -0,0 +1,114 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.java2uml.java2umlapi.util.metrics.MetricSource;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Coalesces concurrent requests for the same artefact of a project onto a single generation, so that for eg. ten
+ * users opening the same project render its svg once instead of ten times.
+ * </p>
+ *
+ * <p>
+ * A generation is in flight from the moment it is started until its future completes, every caller asking for the
+ * same project and artefact in the meantime gets a view of the same future. Once it completes, the next caller
+ * starts a new generation, so results have to be cached by the callers.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@Component
+public class SingleFlight implements MetricSource {
+    private final Map<Key, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Joins generation of given artefact of the project if it is in flight, else starts it.
+     *
+     * @param projectInfoId id of the project whose artefact is generated.
+     * @param artefact      type of the artefact, for eg. "svg".
+     * @param generation    starts the generation and returns its future, called only if no generation of the
+     *                      artefact is in flight.
+     * @param <T>           type of the artefact.
+     * @return a view of the future of the generation, cancelling it does not affect the other callers.
+     * @throws RejectedExecutionException if generation can not be started.
+     */
+    public <T> CompletableFuture<T> execute(Long projectInfoId, String artefact,
+                                            Supplier<CompletableFuture<T>> generation) {
+        var key = new Key(projectInfoId, artefact);
+        var isStarted = new boolean[1];
+
+        @SuppressWarnings("unchecked")
+        var future = (CompletableFuture<T>) inFlight.computeIfAbsent(key, ignored -> {
+            isStarted[0] = true;
+            return generation.get();
+        });
+
+        if (isStarted[0]) {
+            started.incrementAndGet();
+            future.whenComplete((result, exception) -> inFlight.remove(key, future));
+        } else {
+            coalesced.incrementAndGet();
+        }
+        return viewOf(future);
+    }
+
+    /**
+     * Unlike {@link CompletableFuture#copy()}, the view completes with the same exception as given future, so that
+     * callers can tell a cancelled generation from a failed one.
+     *
+     * @return a future completed with the outcome of given future.
+     */
+    private static <T> CompletableFuture<T> viewOf(CompletableFuture<T> future) {
+        var view = new CompletableFuture<T>();
+        future.whenComplete((result, exception) -> {
+            if (exception == null) view.complete(result);
+            else view.completeExceptionally(exception);
+        });
+        return view;
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        return Map.of(
+                "single-flight.in-flight", inFlight.size(),
+                "single-flight.started", started.get(),
+                "single-flight.coalesced", coalesced.get()
+        );
+    }
+
+    /**
+     * Identifies an artefact of a project.
+     */
+    private static final class Key {
+        private final Long projectInfoId;
+        private final String artefact;
+
+        Key(Long projectInfoId, String artefact) {
+            this.projectInfoId = projectInfoId;
+            this.artefact = artefact;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            var key = (Key) o;
+            return projectInfoId.equals(key.projectInfoId) && artefact.equals(key.artefact);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectInfoId, artefact);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.java2uml.java2umlapi.fileStorage;
+
+import org.java2uml.java2umlapi.util.cache.TieredCacheService;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * <p>
+ * Stores configuration properties of the caches of generated svgs and uml code, see {@link TieredCacheService}.
+ * Every cached diagram is stored compressed under {@link FileStorageProperties#getUmlDir()}, only small and recently
+ * requested diagrams are also kept on heap.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@ConfigurationProperties(prefix = "file.diagram-cache")
+public class DiagramCacheProperties {
+    /**
+     * Max size of the diagrams kept on heap by each cache, least recently requested diagrams are dropped from heap
+     * when it is exceeded.
+     */
+    private DataSize maxHeapSize = DataSize.ofMegabytes(64);
+    /**
+     * Diagrams larger than this are only kept on disk.
+     */
+    private DataSize maxHeapEntrySize = DataSize.ofKilobytes(256);
+    /**
+     * Max number of focused diagrams, for eg. of a package or of neighbourhood of a class, kept for each project, least
+     * recently requested diagrams are dropped when it is exceeded.
+     */
+    private int maxFocusedDiagrams = 32;
+
+    public DataSize getMaxHeapSize() {
+        return maxHeapSize;
+    }
+
+    public void setMaxHeapSize(DataSize maxHeapSize) {
+        this.maxHeapSize = maxHeapSize;
+    }
+
+    public DataSize getMaxHeapEntrySize() {
+        return maxHeapEntrySize;
+    }
+
+    public void setMaxHeapEntrySize(DataSize maxHeapEntrySize) {
+        this.maxHeapEntrySize = maxHeapEntrySize;
+    }
+
+    public int getMaxFocusedDiagrams() {
+        return maxFocusedDiagrams;
+    }
+
+    public void setMaxFocusedDiagrams(int maxFocusedDiagrams) {
+        this.maxFocusedDiagrams = maxFocusedDiagrams;
+    }
+}
@@ -0,0 +1,40 @@
+package org.java2uml.java2umlapi.fileStorage;
+
+import org.java2uml.java2umlapi.util.unzipper.Unzipper;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * <p>
+ * Stores configuration properties for unzipping uploaded zip files with {@link Unzipper}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@ConfigurationProperties(prefix = "file.extraction")
+public class ExtractionProperties {
+    /**
+     * Number of threads used for unzipping a zip file, 1 unzips on the calling thread.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    /**
+     * Size of the buffer used for writing every unzipped file.
+     */
+    private DataSize bufferSize = DataSize.ofBytes(Unzipper.DEFAULT_BUFFER_SIZE);
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public DataSize getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(DataSize bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+}
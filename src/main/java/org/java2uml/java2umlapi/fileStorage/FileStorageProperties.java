@@ -14,6 +14,14 @@ public class FileStorageProperties {
     private String uploadDir;
     private String unzipDir;
     private String umlDir;
+    /**
+     * Directory in which snapshots of parsed projects are stored.
+     */
+    private String snapshotDir;
+    /**
+     * Whether .java files are parsed directly from the uploaded archive, only .jar files are extracted.
+     */
+    private boolean parseFromArchive = false;
 
     public String getUploadDir() {
         return uploadDir;
@@ -31,6 +39,14 @@ public class FileStorageProperties {
         this.umlDir = umlDir;
     }
 
+    public String getSnapshotDir() {
+        return snapshotDir;
+    }
+
+    public void setSnapshotDir(String snapshotDir) {
+        this.snapshotDir = snapshotDir;
+    }
+
     public String getUnzipDir() {
         return unzipDir;
     }
@@ -38,4 +54,12 @@ public class FileStorageProperties {
     public void setUnzipDir(String unzipDir) {
         this.unzipDir = unzipDir;
     }
+
+    public boolean isParseFromArchive() {
+        return parseFromArchive;
+    }
+
+    public void setParseFromArchive(boolean parseFromArchive) {
+        this.parseFromArchive = parseFromArchive;
+    }
 }
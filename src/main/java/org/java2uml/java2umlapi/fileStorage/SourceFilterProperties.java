@@ -0,0 +1,63 @@
+package org.java2uml.java2umlapi.fileStorage;
+
+import org.java2uml.java2umlapi.util.sourceFilter.SourceFilter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Stores configuration properties of the {@link SourceFilter} which decides which files of an uploaded zip file
+ * are extracted and parsed.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@ConfigurationProperties(prefix = "file.filter")
+public class SourceFilterProperties {
+    /**
+     * Glob patterns of the files to be extracted and parsed, relative to root of uploaded zip file.
+     */
+    private List<String> include = new ArrayList<>(List.of("**.java", "**.jar"));
+    /**
+     * Glob patterns of the files to be skipped even if they match include patterns.
+     */
+    private List<String> exclude = new ArrayList<>();
+    /**
+     * Files larger than this are skipped, files of any size are extracted if it is not set.
+     */
+    private DataSize maxEntrySize;
+
+    public List<String> getInclude() {
+        return include;
+    }
+
+    public void setInclude(List<String> include) {
+        this.include = include;
+    }
+
+    public List<String> getExclude() {
+        return exclude;
+    }
+
+    public void setExclude(List<String> exclude) {
+        this.exclude = exclude;
+    }
+
+    public DataSize getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public void setMaxEntrySize(DataSize maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    /**
+     * @return {@link SourceFilter} configured by these properties.
+     */
+    public SourceFilter toSourceFilter() {
+        return new SourceFilter(include, exclude, maxEntrySize == null ? -1 : maxEntrySize.toBytes());
+    }
+}
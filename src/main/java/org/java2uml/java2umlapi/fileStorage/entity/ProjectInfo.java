@@ -27,6 +27,7 @@ public class ProjectInfo {
     private Source source;
     private Long size;
     private String fileType;
+    private String contentHash;
     @ElementCollection
     private List<String> messages;
     volatile private boolean isBadRequest;
@@ -124,6 +125,22 @@ public class ProjectInfo {
         this.fileType = fileType;
     }
 
+    /**
+     * @return SHA-256 hash of the uploaded file.
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * setter for content hash
+     *
+     * @param contentHash SHA-256 hash of the uploaded file.
+     */
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     /**
      * Getter for messages.
      *
@@ -11,4 +11,10 @@ import org.springframework.data.repository.CrudRepository;
  * @author kawaiifox
  */
 public interface ProjectInfoRepository extends CrudRepository<ProjectInfo, Long> {
+    /**
+     * @param contentHash SHA-256 hash of the uploaded file.
+     * @param id          id of the project info to be ignored.
+     * @return true if any other project info has given content hash.
+     */
+    boolean existsByContentHashAndIdNot(String contentHash, Long id);
 }
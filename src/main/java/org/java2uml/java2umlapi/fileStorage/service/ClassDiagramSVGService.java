@@ -1,13 +1,23 @@
 package org.java2uml.java2umlapi.fileStorage.service;
 
-import org.java2uml.java2umlapi.util.cache.AddOnceCacheService;
+import org.java2uml.java2umlapi.fileStorage.DiagramCacheProperties;
+import org.java2uml.java2umlapi.fileStorage.FileStorageProperties;
+import org.java2uml.java2umlapi.util.cache.TieredCacheService;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Paths;
+
 /**
- * Cache for Generated svg files.
+ * Cache for Generated svg files, svgs are stored compressed in "svg" directory under uml directory.
  *
  * @author shrey
  */
 @Service
-public class ClassDiagramSVGService extends AddOnceCacheService<Long, String> {
+public class ClassDiagramSVGService extends TieredCacheService<Long> {
+    public ClassDiagramSVGService(FileStorageProperties fileStorageProperties,
+                                  DiagramCacheProperties cacheProperties) {
+        super("svg-cache",
+                fileStorageProperties.getUmlDir() == null ? null : Paths.get(fileStorageProperties.getUmlDir(), "svg"),
+                cacheProperties.getMaxHeapSize(), cacheProperties.getMaxHeapEntrySize());
+    }
 }
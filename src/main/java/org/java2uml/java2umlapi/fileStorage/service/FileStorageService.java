@@ -3,18 +3,24 @@ package org.java2uml.java2umlapi.fileStorage.service;
 import org.apache.commons.io.FileDeleteStrategy;
 import org.java2uml.java2umlapi.fileStorage.FileStorageProperties;
 import org.java2uml.java2umlapi.fileStorage.exceptions.FileStorageException;
+import org.java2uml.java2umlapi.util.hash.ContentHash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>
@@ -22,14 +28,26 @@ import java.util.Objects;
  * This supports two operations storing and deleting files.
  * </p>
  *
+ * <p>
+ * Files can also be stored directly from a stream, for eg. from the body of the request, in which case content is
+ * read only once, as SHA-256 hash of the file is computed while it is being written.
+ * </p>
+ *
+ * <p>
+ * Every file is stored under a name of its own, made up of a random UUID and its original name, so that files
+ * uploaded with the same name at the same time do not overwrite each other.
+ * </p>
+ *
  * @author kawaiifox
  */
 @Service
 public class FileStorageService {
     private final Path fileStorageLocation;
+    private final Map<String, String> hashes;
     private final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
 
     public FileStorageService(FileStorageProperties fileStorageProperties) {
+        this.hashes = new ConcurrentHashMap<>();
         this.fileStorageLocation = Paths.get(fileStorageProperties.getUploadDir())
                 .toAbsolutePath()
                 .normalize();
@@ -50,31 +68,98 @@ public class FileStorageService {
      * @return name of the stored file.
      */
     public String store(MultipartFile file) {
+        try (var inputStream = file.getInputStream()) {
+            return store(inputStream, file.getOriginalFilename());
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not store file " + file.getOriginalFilename()
+                    + ". Please try again!", ex);
+        }
+    }
+
+    /**
+     * Stores everything that can be read from the provided {@link InputStream} in the file system, SHA-256 hash of
+     * the file is computed while it is being written, so that content is read only once. Stream is not closed.
+     *
+     * @param inputStream      content of the file to be stored, for eg. body of the request.
+     * @param originalFilename name of the file to be stored.
+     * @return name of the stored file, unique to this file.
+     */
+    public String store(InputStream inputStream, String originalFilename) {
+        return store(inputStream, originalFilename, -1);
+    }
+
+    /**
+     * Stores at most maxSize bytes read from the provided {@link InputStream} in the file system, as
+     * {@link #store(InputStream, String)} does. If the stream has more to read, whatever has been written is deleted.
+     *
+     * @param inputStream      content of the file to be stored, for eg. body of the request.
+     * @param originalFilename name of the file to be stored.
+     * @param maxSize          maximum size of the file in bytes, negative for no limit.
+     * @return name of the stored file, unique to this file.
+     * @throws MaxUploadSizeExceededException if the stream has more than maxSize bytes.
+     */
+    public String store(InputStream inputStream, String originalFilename, long maxSize) {
         // Normalize file name
-        String fileName = StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));
+        String cleanedName = StringUtils.cleanPath(Objects.requireNonNull(originalFilename));
+        // Check if the file's name contains invalid characters
+        if (cleanedName.contains("..")) {
+            throw new FileStorageException("Sorry! Filename contains invalid path sequence " + cleanedName);
+        }
+        String fileName = UUID.randomUUID() + "-" + StringUtils.getFilename(cleanedName);
+        Path targetLocation = this.fileStorageLocation.resolve(fileName);
 
         try {
-            // Check if the file's name contains invalid characters
-            if (fileName.contains("..")) {
-                throw new FileStorageException("Sorry! Filename contains invalid path sequence " + fileName);
-            }
-
-            // Copy file to the target location (Replacing existing file with the same name)
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            var source = maxSize < 0 ? inputStream : new SizeLimitedInputStream(inputStream, maxSize);
+            hashes.put(fileName, ContentHash.copyAndHash(source, targetLocation));
 
             return fileName;
+        } catch (MaxUploadSizeExceededException ex) {
+            delete(fileName);
+            throw ex;
         } catch (IOException ex) {
+            delete(fileName);
             throw new FileStorageException("Could not store file " + fileName + ". Please try again!", ex);
         }
     }
 
+    /**
+     * @param fileName name of the stored file.
+     * @return size of the stored file in bytes.
+     * @throws FileStorageException if unable to read the file.
+     */
+    public long size(String fileName) {
+        try {
+            return Files.size(this.fileStorageLocation.resolve(fileName).normalize());
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not read file " + fileName + ". Please try again!", ex);
+        }
+    }
+
+    /**
+     * Computes SHA-256 hash of the stored file with given name, hash computed while storing the file is reused.
+     *
+     * @param fileName name of the stored file.
+     * @return lower case hex encoded hash.
+     * @throws FileStorageException if unable to read the file.
+     */
+    public String hash(String fileName) {
+        var hash = hashes.get(fileName);
+        if (hash != null) return hash;
+
+        try {
+            return ContentHash.sha256(this.fileStorageLocation.resolve(fileName).normalize());
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not read file " + fileName + ". Please try again!", ex);
+        }
+    }
+
     /**
      * Deletes file with given file name if present else if file does not exist logs that file is not present.
      *
      * @param fileName name of the file to be deleted.
      */
     public void delete(String fileName) {
+        hashes.remove(fileName);
         try {
             Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
             if (Files.exists(filePath)) {
@@ -86,4 +171,49 @@ public class FileStorageService {
             logger.error("Unable to delete file.", exception);
         }
     }
+
+    /**
+     * {@link InputStream} which throws {@link MaxUploadSizeExceededException} as soon as more than the given number
+     * of bytes have been read from it.
+     */
+    private static class SizeLimitedInputStream extends FilterInputStream {
+        private final long maxSize;
+        private long count;
+
+        SizeLimitedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) count(read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long read) {
+            count += read;
+            if (count > maxSize) throw new MaxUploadSizeExceededException(maxSize);
+        }
+    }
 }
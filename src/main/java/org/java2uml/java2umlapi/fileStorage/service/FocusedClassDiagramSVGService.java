@@ -0,0 +1,67 @@
+package org.java2uml.java2umlapi.fileStorage.service;
+
+import org.java2uml.java2umlapi.fileStorage.DiagramCacheProperties;
+import org.java2uml.java2umlapi.util.cache.AddOnceCacheService;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache for svg files of focused class diagrams, for e.g. of a package or of neighbourhood of a class.
+ * <p>
+ * Diagrams of a project are kept in a map keyed by their scope, so that all of them are removed together when the
+ * project is deleted or updated. At most {@link DiagramCacheProperties#getMaxFocusedDiagrams()} diagrams are kept for
+ * each project, least recently requested ones are dropped first, as scopes are chosen by clients.
+ *
+ * @author kawaiifox
+ */
+@Service
+public class FocusedClassDiagramSVGService extends AddOnceCacheService<Long, Map<String, String>> {
+    private final int maxDiagrams;
+
+    public FocusedClassDiagramSVGService(DiagramCacheProperties cacheProperties) {
+        this.maxDiagrams = cacheProperties.getMaxFocusedDiagrams();
+    }
+
+    /**
+     * @param id    id of the project.
+     * @param scope key of the scope of the diagram.
+     * @return svg of the diagram if it is present else null.
+     */
+    public String get(Long id, String scope) {
+        var diagrams = get(id);
+        return diagrams == null ? null : diagrams.get(scope);
+    }
+
+    /**
+     * Saves svg of a diagram of the project, unless diagrams of the project have been evicted since given generation
+     * was observed.
+     *
+     * @param id         id of the project.
+     * @param scope      key of the scope of the diagram.
+     * @param svg        svg to be saved.
+     * @param generation generation of the project observed before svg was generated, see {@link #generationOf(Object)}.
+     * @return given svg
+     */
+    public synchronized String save(Long id, String scope, String svg, long generation) {
+        var diagrams = contains(id) ? get(id) : save(id, newDiagrams(), generation);
+        // Map of a project evicted after this check is no longer reachable from the cache, so svg put in it is dropped.
+        if (generationOf(id) == generation) diagrams.put(scope, svg);
+        return svg;
+    }
+
+    /**
+     * @return map of diagrams of a project, ordered by access, which drops least recently requested diagram once it
+     * holds more than max number of diagrams.
+     */
+    private Map<String, String> newDiagrams() {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxDiagrams;
+            }
+        });
+    }
+}
@@ -1,13 +1,23 @@
 package org.java2uml.java2umlapi.fileStorage.service;
 
-import org.java2uml.java2umlapi.util.cache.AddOnceCacheService;
+import org.java2uml.java2umlapi.fileStorage.DiagramCacheProperties;
+import org.java2uml.java2umlapi.fileStorage.FileStorageProperties;
+import org.java2uml.java2umlapi.util.cache.TieredCacheService;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Paths;
+
 /**
- * Service for uml code cache.
+ * Service for uml code cache, uml code is stored compressed in "code" directory under uml directory.
  *
  * @author kawaiifox
  */
 @Service
-public class UMLCodeCacheService extends AddOnceCacheService<Long, String> {
+public class UMLCodeCacheService extends TieredCacheService<Long> {
+    public UMLCodeCacheService(FileStorageProperties fileStorageProperties,
+                               DiagramCacheProperties cacheProperties) {
+        super("uml-code-cache",
+                fileStorageProperties.getUmlDir() == null ? null : Paths.get(fileStorageProperties.getUmlDir(), "code"),
+                cacheProperties.getMaxHeapSize(), cacheProperties.getMaxHeapEntrySize());
+    }
 }
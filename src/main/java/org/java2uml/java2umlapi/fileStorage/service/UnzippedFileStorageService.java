@@ -2,10 +2,14 @@ package org.java2uml.java2umlapi.fileStorage.service;
 
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
 import org.apache.commons.io.FileDeleteStrategy;
+import org.apache.commons.io.FileUtils;
+import org.java2uml.java2umlapi.fileStorage.ExtractionProperties;
 import org.java2uml.java2umlapi.fileStorage.FileStorageProperties;
+import org.java2uml.java2umlapi.fileStorage.SourceFilterProperties;
 import org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo;
 import org.java2uml.java2umlapi.fileStorage.exceptions.MyFileNotFoundException;
 import org.java2uml.java2umlapi.fileStorage.exceptions.UnableToUnzipFileException;
+import org.java2uml.java2umlapi.util.sourceFilter.SourceFilter;
 import org.java2uml.java2umlapi.util.unzipper.Unzipper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,11 +17,10 @@ import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Map;
-import java.util.UUID;
+import java.nio.file.*;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * <p>
@@ -26,6 +29,10 @@ import java.util.concurrent.ConcurrentHashMap;
  * FileStorageProperties class.
  * </p>
  *
+ * <p>
+ * Only the files accepted by the {@link SourceFilter} configured by {@link SourceFilterProperties} are unzipped.
+ * </p>
+ *
  * @author kawaiifox
  */
 @Service
@@ -33,10 +40,21 @@ public class UnzippedFileStorageService {
     private final Path unzippedFileLocation;
     private final Path uploadFileLocation;
     private final Map<Long, String> fileNameRegistry;
+    private final Map<String, FileSystem> archives;
+    private final SourceFilter sourceFilter;
+    private final int extractionParallelism;
+    private final int extractionBufferSize;
+    private static final String ARCHIVE_EXTENSION = ".zip";
     private final Logger logger = LoggerFactory.getLogger(UnzippedFileStorageService.class);
 
-    public UnzippedFileStorageService(FileStorageProperties fileStorageProperties) {
+    public UnzippedFileStorageService(FileStorageProperties fileStorageProperties,
+                                      SourceFilterProperties sourceFilterProperties,
+                                      ExtractionProperties extractionProperties) {
         this.fileNameRegistry = new ConcurrentHashMap<>();
+        this.archives = new ConcurrentHashMap<>();
+        this.sourceFilter = sourceFilterProperties.toSourceFilter();
+        this.extractionParallelism = extractionProperties.getParallelism();
+        this.extractionBufferSize = Math.toIntExact(extractionProperties.getBufferSize().toBytes());
 
         this.unzippedFileLocation = Path.of(
                 fileStorageProperties
@@ -72,7 +90,7 @@ public class UnzippedFileStorageService {
         }
 
         try {
-            file = Unzipper.unzipDir(sourcePath, unzippedFileLocation.resolve(UUID.randomUUID().toString()));
+            file = unzip(sourcePath, unzippedFileLocation.resolve(UUID.randomUUID().toString()));
         } catch (IOException exception) {
             throw new UnableToUnzipFileException("Unable to unzip, given file, please upload again.", exception);
         }
@@ -82,6 +100,172 @@ public class UnzippedFileStorageService {
         return file;
     }
 
+    /**
+     * <p>
+     * Stores a given file without unzipping it, so that its .java files can be read directly from the archive.
+     * Only the .jar files are unzipped in a unique folder assigned to it, as they can not be read from inside the
+     * archive. Uploaded file is moved next to that folder and stays open as a zip {@link FileSystem} until the
+     * project is deleted or detached.
+     * </p>
+     *
+     * @param projectInfoId id of the corresponding {@link ProjectInfo}
+     * @param filename      name of the uploaded file present in upload file location.
+     * @return root {@link Path} of the zip file system of the stored archive.
+     * @throws MyFileNotFoundException    if uploaded file is not present.
+     * @throws UnableToUnzipFileException if unable to open the archive or unzip the .jar files.
+     */
+    public Path storeArchive(Long projectInfoId, String filename) {
+        Path sourcePath = this.uploadFileLocation.resolve(filename).normalize();
+
+        if (!Files.exists(sourcePath)) {
+            throw new MyFileNotFoundException("File not found " + filename);
+        }
+
+        var fileName = UUID.randomUUID().toString();
+        var archive = unzippedFileLocation.resolve(fileName + ARCHIVE_EXTENSION);
+        var dependencyDir = unzippedFileLocation.resolve(fileName);
+        try {
+            Files.createDirectories(dependencyDir);
+            Files.move(sourcePath, archive);
+            Unzipper.unzipDir(archive, dependencyDir, zipEntry -> zipEntry.getName().endsWith(".jar")
+                            && sourceFilter.accepts(zipEntry.getName(), zipEntry.getSize()),
+                    sourceFilter.getMaxSize(), extractionParallelism, extractionBufferSize);
+            archives.put(fileName, FileSystems.newFileSystem(archive, (ClassLoader) null));
+        } catch (IOException exception) {
+            FileUtils.deleteQuietly(archive.toFile());
+            FileUtils.deleteQuietly(dependencyDir.toFile());
+            throw new UnableToUnzipFileException("Unable to read, given file, please upload again.", exception);
+        }
+
+        fileNameRegistry.put(projectInfoId, fileName);
+
+        return archives.get(fileName).getPath("/");
+    }
+
+    /**
+     * Shares unzipped files of an already unzipped project with the project with given id, files are deleted
+     * only after every project sharing them has been deleted.
+     *
+     * @param projectInfoId         id of the corresponding {@link ProjectInfo}
+     * @param unzippedProjectInfoId id of the {@link ProjectInfo} whose unzipped files will be shared.
+     * @return unzipped file if it has been shared, empty if there are no unzipped files for unzippedProjectInfoId.
+     */
+    public synchronized Optional<File> share(Long projectInfoId, Long unzippedProjectInfoId) {
+        var fileName = fileNameRegistry.get(unzippedProjectInfoId);
+        if (fileName == null) return Optional.empty();
+
+        fileNameRegistry.put(projectInfoId, fileName);
+        return Optional.of(find(fileName));
+    }
+
+    /**
+     * Makes sure that unzipped files of the project with given id are not shared with any other project, shared files
+     * are copied to a new folder which is then assigned to the project. If the project has been stored as an
+     * archive, its archive is unzipped into that folder, so that its files can be changed.
+     *
+     * @param projectInfoId id of the corresponding {@link ProjectInfo}
+     * @return Unzipped file of the project.
+     * @throws MyFileNotFoundException    if project does not have unzipped files.
+     * @throws UnableToUnzipFileException if unable to copy shared files.
+     */
+    public synchronized File detach(Long projectInfoId) {
+        var file = find(projectInfoId);
+        var fileName = fileNameRegistry.get(projectInfoId);
+        var isShared = fileNameRegistry.entrySet().stream()
+                .anyMatch(entry -> entry.getValue().equals(fileName) && !entry.getKey().equals(projectInfoId));
+        var archive = unzippedFileLocation.resolve(fileName + ARCHIVE_EXTENSION);
+        if (!isShared && !archives.containsKey(fileName)) return file;
+
+        try {
+            if (isShared) {
+                var copy = unzippedFileLocation.resolve(UUID.randomUUID().toString()).toFile();
+                FileUtils.copyDirectory(file, copy);
+                if (archives.containsKey(fileName)) {
+                    unzip(archive, copy.toPath());
+                }
+
+                fileNameRegistry.put(projectInfoId, copy.getName());
+                return copy;
+            }
+
+            closeArchive(fileName);
+            unzip(archive, file.toPath());
+            Files.delete(archive);
+        } catch (IOException exception) {
+            throw new UnableToUnzipFileException("Unable to copy files of the project, please try again.", exception);
+        }
+
+        return file;
+    }
+
+    /**
+     * Unzips a given file over the unzipped files of the project with given id, existing files are replaced.
+     *
+     * @param projectInfoId id of the corresponding {@link ProjectInfo}, its files must not be shared.
+     * @param filename      name of the uploaded file present in upload file location.
+     * @return {@link Path}s of every file that has been added or replaced.
+     * @throws MyFileNotFoundException    if uploaded file or unzipped files of the project are not present.
+     * @throws UnableToUnzipFileException if unable to unzip the given file.
+     */
+    public List<Path> unzipInto(Long projectInfoId, String filename) {
+        var projectDir = find(projectInfoId).toPath();
+        Path sourcePath = this.uploadFileLocation.resolve(filename).normalize();
+
+        if (!Files.exists(sourcePath)) {
+            throw new MyFileNotFoundException("File not found " + filename);
+        }
+
+        var stagingDir = unzippedFileLocation.resolve(UUID.randomUUID().toString());
+        try {
+            var unzipped = unzip(sourcePath, stagingDir).toPath();
+            List<Path> stagedFiles;
+            try (var paths = Files.walk(unzipped)) {
+                stagedFiles = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+            }
+
+            List<Path> files = new ArrayList<>();
+            for (var stagedFile : stagedFiles) {
+                var file = projectDir.resolve(unzipped.relativize(stagedFile)).normalize();
+                Files.createDirectories(file.getParent());
+                Files.move(stagedFile, file, StandardCopyOption.REPLACE_EXISTING);
+                files.add(file);
+            }
+
+            return files;
+        } catch (IOException exception) {
+            throw new UnableToUnzipFileException("Unable to unzip, given file, please upload again.", exception);
+        } finally {
+            FileUtils.deleteQuietly(stagingDir.toFile());
+        }
+    }
+
+    /**
+     * Deletes files with given relative paths from the unzipped files of the project with given id,
+     * paths which point outside the project or to missing files are ignored.
+     *
+     * @param projectInfoId id of the corresponding {@link ProjectInfo}, its files must not be shared.
+     * @param relativePaths paths of the files relative to the unzipped folder of the project.
+     * @return {@link Path}s of every file that has been deleted.
+     * @throws MyFileNotFoundException if unzipped files of the project are not present.
+     */
+    public List<Path> deleteFiles(Long projectInfoId, Collection<String> relativePaths) {
+        var projectDir = find(projectInfoId).toPath().toAbsolutePath().normalize();
+        List<Path> deletedFiles = new ArrayList<>();
+
+        for (var relativePath : relativePaths) {
+            var file = projectDir.resolve(relativePath).normalize();
+            try {
+                if (file.startsWith(projectDir) && !file.equals(projectDir) && Files.deleteIfExists(file)) {
+                    deletedFiles.add(file);
+                }
+            } catch (IOException exception) {
+                logger.warn("Unable to delete {} of project {}.", relativePath, projectInfoId, exception);
+            }
+        }
+
+        return deletedFiles;
+    }
+
     /**
      * Finds the given file in unzipped file location.
      *
@@ -119,7 +303,8 @@ public class UnzippedFileStorageService {
      * Deletes file with provided filename in the unzipped file location given that file exists in the first place.
      * </p>
      * Underlying Implementation uses FORCE FileDeleteStrategy to delete the file.<br>
-     * All the jar files are closed first using JarTypeSolver.ResourceRegistry.getRegistry().cleanUp()
+     * All the jar files are closed first using JarTypeSolver.ResourceRegistry.getRegistry().cleanUp(), stored archive
+     * of the file is closed and deleted as well.
      *
      * @param filename name of the file to be deleted in unzipped file location
      * @see FileDeleteStrategy
@@ -128,25 +313,55 @@ public class UnzippedFileStorageService {
     public void delete(String filename) {
         try {
             JarTypeSolver.ResourceRegistry.getRegistry().cleanUp();
+            closeArchive(filename);
+            Files.deleteIfExists(unzippedFileLocation.resolve(filename + ARCHIVE_EXTENSION));
             FileDeleteStrategy.FORCE.delete(this.find(filename));
         } catch (IOException exception) {
             logger.error("Unable to delete unzipped file!.", exception);
         }
     }
 
+    /**
+     * Unzips files accepted by the source filter, with configured parallelism and buffer size.
+     *
+     * @param srcZipPath  {@link Path} of the zip file.
+     * @param destDirPath {@link Path} of the directory in which files are unzipped.
+     * @return directory containing unzipped files.
+     * @throws IOException if unable to unzip the file.
+     */
+    private File unzip(Path srcZipPath, Path destDirPath) throws IOException {
+        return Unzipper.unzipDir(srcZipPath, destDirPath, sourceFilter, extractionParallelism, extractionBufferSize);
+    }
+
+    /**
+     * Closes zip file system of the archive stored with given filename, if it is open.
+     *
+     * @param filename name assigned to the stored archive.
+     * @throws IOException if unable to close the zip file system.
+     */
+    private void closeArchive(String filename) throws IOException {
+        var fileSystem = archives.remove(filename);
+        if (fileSystem != null) fileSystem.close();
+    }
+
     /**
      * Deletes file corresponding to given {@link ProjectInfo} id, if the corresponding file
-     * does not exist then logs that file is not present.
+     * does not exist then logs that file is not present. File is kept if it is shared with another project.
      *
      * @param projectInfoId id of the {@link ProjectInfo} to which this file belongs.
      */
-    public void delete(Long projectInfoId) {
+    public synchronized void delete(Long projectInfoId) {
         if (!fileNameRegistry.containsKey(projectInfoId)) {
             logger.info("File corresponding to project id {} is not present.", projectInfoId);
             return;
         }
 
         var fileName = fileNameRegistry.remove(projectInfoId);
+        if (fileNameRegistry.containsValue(fileName)) {
+            logger.info("File corresponding to project id {} is shared, keeping it.", projectInfoId);
+            return;
+        }
+
         delete(fileName);
     }
 }
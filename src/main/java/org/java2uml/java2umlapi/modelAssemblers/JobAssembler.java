@@ -0,0 +1,36 @@
+package org.java2uml.java2umlapi.modelAssemblers;
+
+import org.java2uml.java2umlapi.executor.Job;
+import org.java2uml.java2umlapi.restControllers.JobController;
+import org.java2uml.java2umlapi.restControllers.ProjectInfoController;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * <p>
+ * Maps Job to EntityModel for representational purposes.<br>
+ * Adds link to the result of the job, which can be followed once the job has succeeded.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@SuppressWarnings("NullableProblems")
+@Component
+public class JobAssembler implements RepresentationModelAssembler<Job, EntityModel<Job>> {
+    @Override
+    public EntityModel<Job> toModel(Job entity) {
+        var model = EntityModel.of(
+                entity,
+                linkTo(methodOn(JobController.class).one(entity.getId())).withSelfRel(),
+                linkTo(methodOn(JobController.class).all(entity.getProjectInfoId())).withRel("jobs"),
+                linkTo(methodOn(ProjectInfoController.class).one(entity.getProjectInfoId())).withRel("projectInfo")
+        );
+        if (entity.getResult() != null) model.add(Link.of(entity.getResult().toString(), "result"));
+        return model;
+    }
+}
@@ -2,6 +2,7 @@ package org.java2uml.java2umlapi.modelAssemblers;
 
 import org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo;
 import org.java2uml.java2umlapi.restControllers.EventSubscriptionController;
+import org.java2uml.java2umlapi.restControllers.JobController;
 import org.java2uml.java2umlapi.restControllers.LWControllers.SourceController;
 import org.java2uml.java2umlapi.restControllers.ProjectInfoController;
 import org.java2uml.java2umlapi.restControllers.UMLController;
@@ -16,7 +17,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 /**
  * <p>
  * Maps ProjectInfo entity to EntityModel for representational purposes.<br>
- * Adds few useful links to entityModel generated from this class.
+ * Adds few useful links to entityModel generated from this class, including jobs of the project, which can be
+ * polled while the project is being parsed.
  * </p>
  *
  * @author kawaiifox
@@ -31,10 +33,11 @@ public class ProjectInfoAssembler implements RepresentationModelAssembler<Projec
                 entity,
                 linkTo(methodOn(ProjectInfoController.class).one(entity.getId())).withSelfRel(),
                 linkTo(methodOn(ProjectInfoController.class).delete(entity.getId())).withRel("delete"),
-                linkTo(methodOn(UMLController.class).getPUMLCode(entity.getId())).withRel("umlText"),
-                linkTo(methodOn(UMLController.class).getSvg(entity.getId())).withRel("umlSvg"),
-                linkTo(methodOn(DependencyMatrixController.class).get(entity.getId())).withRel("dependencyMatrix"),
+                linkTo(methodOn(UMLController.class).getPUMLCode(entity.getId(), null)).withRel("umlText"),
+                linkTo(methodOn(UMLController.class).getSvg(entity.getId(), null, null)).withRel("umlSvg"),
+                linkTo(methodOn(DependencyMatrixController.class).get(entity.getId(), null)).withRel("dependencyMatrix"),
                 linkTo(methodOn(SourceController.class).findByProjectId(entity.getId())).withRel("projectModel"),
+                linkTo(methodOn(JobController.class).all(entity.getId())).withRel("jobs"),
                 linkTo(methodOn(EventSubscriptionController.class).subscribeToParseEvent(entity.getId())).withRel("subscribeToParseEvent"),
                 linkTo(methodOn(EventSubscriptionController.class).subscribeToSourceGeneration(entity.getId())).withRel("subscribeToSourceGeneration"),
                 linkTo(methodOn(EventSubscriptionController.class).subscribeToUMLSVGGenerationEvent(entity.getId())).withRel("subscribeToUmlSvgGenerationEvent"),
@@ -27,8 +27,8 @@ public class UMLBodyAssembler implements RepresentationModelAssembler<UMLBody, E
         var projectInfoId = entity.getProjectInfoId();
         return EntityModel.of(
                 entity,
-                linkTo(methodOn(UMLController.class).getPUMLCode(projectInfoId)).withSelfRel(),
-                linkTo(methodOn(UMLController.class).getSvg(projectInfoId)).withRel("umlSvg"),
+                linkTo(methodOn(UMLController.class).getPUMLCode(projectInfoId, null)).withSelfRel(),
+                linkTo(methodOn(UMLController.class).getSvg(projectInfoId, null, null)).withRel("umlSvg"),
                 linkTo(methodOn(ProjectInfoController.class).one(projectInfoId)).withRel("projectInfo")
         );
     }
@@ -1,13 +1,18 @@
 package org.java2uml.java2umlapi.parsedComponent;
 
 import com.github.javaparser.resolution.declarations.ResolvedDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedTypeParameterDeclaration;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.java2uml.java2umlapi.util.umlSymbols.TypeDeclarationSymbol;
 import org.java2uml.java2umlapi.visitors.Visitor;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * <p>
@@ -24,6 +29,9 @@ public class ParsedClassOrInterfaceComponent implements ParsedCompositeComponent
     private final String packageName;
     private final boolean isClass;
     private final Map<String, ParsedComponent> children;
+    private final Supplier<String> body;
+    private volatile String typeDeclarationSymbol;
+    private volatile List<String> typeParameters;
 
     /**
      * Initializes ParsedClassOrInterfaceComponent with resolvedDeclaration and reference to parent.
@@ -38,6 +46,31 @@ public class ParsedClassOrInterfaceComponent implements ParsedCompositeComponent
         this.packageName = resolvedDeclaration.asType().getPackageName();
         this.children = new HashMap<>();
         this.isClass = resolvedDeclaration.asType().isClass();
+        this.body = this::produceBody;
+    }
+
+    /**
+     * Initializes ParsedClassOrInterfaceComponent without a resolved declaration, for eg. from a snapshot.
+     *
+     * @param name                  qualified name of the type.
+     * @param packageName           package name of the type.
+     * @param isClass               true if type is a class.
+     * @param typeDeclarationSymbol plant uml declaration of the type, see {@link TypeDeclarationSymbol}.
+     * @param typeParameters        names of the type parameters.
+     * @param body                  supplies source code of the type.
+     * @param parent                parent of this component.
+     */
+    ParsedClassOrInterfaceComponent(String name, String packageName, boolean isClass, String typeDeclarationSymbol,
+                                    List<String> typeParameters, Supplier<String> body, ParsedComponent parent) {
+        this.resolvedDeclaration = null;
+        this.parent = parent;
+        this.name = name;
+        this.packageName = packageName;
+        this.children = new HashMap<>();
+        this.isClass = isClass;
+        this.typeDeclarationSymbol = typeDeclarationSymbol;
+        this.typeParameters = typeParameters;
+        this.body = body;
     }
 
     @Override
@@ -57,7 +90,53 @@ public class ParsedClassOrInterfaceComponent implements ParsedCompositeComponent
 
     @Override
     public Optional<ResolvedDeclaration> getResolvedDeclaration() {
-        return Optional.of(resolvedDeclaration);
+        return Optional.ofNullable(resolvedDeclaration);
+    }
+
+    /**
+     * @return plant uml declaration of the type, for eg. <code>class a.b.C</code>.
+     */
+    public String getTypeDeclarationSymbol() {
+        if (typeDeclarationSymbol == null) {
+            typeDeclarationSymbol = SourceComponent.resolve(this,
+                    () -> TypeDeclarationSymbol.getTypeDeclarationSymbol(resolvedDeclaration.asType()));
+        }
+        return typeDeclarationSymbol;
+    }
+
+    /**
+     * @return names of the type parameters, empty if type is not generic.
+     */
+    public List<String> getTypeParameters() {
+        if (typeParameters == null) {
+            typeParameters = SourceComponent.resolve(this, () -> {
+                var typeDeclaration = resolvedDeclaration.asType().asReferenceType();
+                return !typeDeclaration.isGeneric() ? List.<String>of() : typeDeclaration.getTypeParameters().stream()
+                        .map(ResolvedTypeParameterDeclaration::getName)
+                        .collect(Collectors.toUnmodifiableList());
+            });
+        }
+        return typeParameters;
+    }
+
+    /**
+     * @return source code of the type, or its name followed by empty braces if source code is not available.
+     */
+    public String getBody() {
+        return body.get();
+    }
+
+    /**
+     * @return source code of the type, read from its resolved declaration.
+     */
+    private String produceBody() {
+        var typeDeclaration = resolvedDeclaration.asType().asReferenceType();
+        if (typeDeclaration.isClass() && typeDeclaration.asClass().toAst().isPresent()) {
+            return typeDeclaration.asClass().toAst().get().toString();
+        } else if (typeDeclaration.isInterface() && typeDeclaration.asInterface().toAst().isPresent()) {
+            return typeDeclaration.asInterface().toAst().get().toString();
+        }
+        return typeDeclaration.getName() + " {}";
     }
 
     @Override
@@ -1,10 +1,16 @@
 package org.java2uml.java2umlapi.parsedComponent;
 
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.resolution.declarations.ResolvedConstructorDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedTypeParameterDeclaration;
+import com.github.javaparser.resolution.types.ResolvedType;
 import org.java2uml.java2umlapi.visitors.Visitor;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * <p>
@@ -17,6 +23,12 @@ public class ParsedConstructorComponent implements ParsedComponent, ParsedMethod
     private final ResolvedConstructorDeclaration resolvedDeclaration;
     private final ParsedComponent parent;
     private final String name;
+    private final String signature;
+    private final String visibility;
+    private final Supplier<Optional<String>> body;
+    private volatile List<ParsedParameter> parameters;
+    private volatile List<String> typeParameters;
+    private volatile List<String> specifiedExceptions;
 
     /**
      * Initializes ParsedConstructorComponent.
@@ -29,22 +41,100 @@ public class ParsedConstructorComponent implements ParsedComponent, ParsedMethod
         this.resolvedDeclaration = resolvedDeclaration;
         this.parent = parent;
         this.name = getQualifiedSignature(resolvedDeclaration);
+        this.signature = getSignature(resolvedDeclaration);
+        this.visibility = resolvedDeclaration.accessSpecifier().asString();
+        this.body = () -> resolvedDeclaration.toAst().map(Node::toString);
+    }
+
+    /**
+     * Initializes ParsedConstructorComponent without a resolved declaration, for eg. from a snapshot.
+     *
+     * @param parent              Parent of this component.
+     * @param name                qualified signature of the constructor.
+     * @param signature           signature of the constructor.
+     * @param visibility          access specifier, for eg. public.
+     * @param parameters          parameters of the constructor.
+     * @param typeParameters      names of the type parameters.
+     * @param specifiedExceptions qualified names of the specified exceptions.
+     * @param body                supplies source code of the constructor, empty if it is generated by compiler.
+     */
+    ParsedConstructorComponent(ParsedComponent parent, String name, String signature, String visibility,
+                               List<ParsedParameter> parameters, List<String> typeParameters,
+                               List<String> specifiedExceptions, Supplier<Optional<String>> body) {
+        this.resolvedDeclaration = null;
+        this.parent = parent;
+        this.name = name;
+        this.signature = signature;
+        this.visibility = visibility;
+        this.parameters = parameters;
+        this.typeParameters = typeParameters;
+        this.specifiedExceptions = specifiedExceptions;
+        this.body = body;
     }
 
     /**
      * @return Signature of the method
      */
     public String getSignature() {
-        return getSignature(resolvedDeclaration);
+        return signature;
+    }
+
+    /**
+     * @return access specifier of the constructor, for eg. public.
+     */
+    public String getVisibility() {
+        return visibility;
+    }
+
+    /**
+     * @return parameters of the constructor, in order of declaration.
+     */
+    public List<ParsedParameter> getParameters() {
+        if (parameters == null) parameters = SourceComponent.resolve(this, () -> ParsedParameter.of(resolvedDeclaration));
+        return parameters;
+    }
+
+    /**
+     * @return names of the type parameters of the constructor.
+     */
+    public List<String> getTypeParameters() {
+        if (typeParameters == null) {
+            typeParameters = SourceComponent.resolve(this, () -> resolvedDeclaration.getTypeParameters().stream()
+                    .map(ResolvedTypeParameterDeclaration::getName)
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+        return typeParameters;
+    }
+
+    /**
+     * @return qualified names of the exceptions specified by the constructor.
+     */
+    public List<String> getSpecifiedExceptions() {
+        if (specifiedExceptions == null) {
+            specifiedExceptions = SourceComponent.resolve(this, () -> resolvedDeclaration.getSpecifiedExceptions()
+                    .stream()
+                    .filter(ResolvedType::isReferenceType)
+                    .map(exception -> exception.asReferenceType().getQualifiedName())
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+        return specifiedExceptions;
+    }
+
+    /**
+     * @return source code of the constructor, empty if it has been generated by compiler.
+     */
+    public Optional<String> getBody() {
+        return body.get();
     }
 
     @Override
     public Optional<ResolvedDeclaration> getResolvedDeclaration() {
-        return Optional.of(resolvedDeclaration);
+        return Optional.ofNullable(resolvedDeclaration);
     }
 
     /**
-     * @return ResolvedConstructorDeclaration belonging to this component.
+     * @return ResolvedConstructorDeclaration belonging to this component, null if this component was not created
+     * from it.
      */
     public ResolvedConstructorDeclaration getResolvedConstructorDeclaration() {
         return resolvedDeclaration;
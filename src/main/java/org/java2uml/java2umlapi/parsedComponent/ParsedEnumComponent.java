@@ -26,6 +26,21 @@ public class ParsedEnumComponent implements ParsedCompositeComponent {
         this.packageName = resolvedEnumDeclaration.getPackageName();
     }
 
+    /**
+     * Initializes ParsedEnumComponent without a resolved declaration, for eg. from a snapshot.
+     *
+     * @param name        qualified name of the enum.
+     * @param packageName package name of the enum.
+     * @param parent      parent of this component.
+     */
+    ParsedEnumComponent(String name, String packageName, ParsedComponent parent) {
+        this.resolvedEnumDeclaration = null;
+        this.parent = parent;
+        this.name = name;
+        this.children = new HashMap<>();
+        this.packageName = packageName;
+    }
+
     /**
      * @return returns true if the component is a leaf component.
      */
@@ -47,7 +62,7 @@ public class ParsedEnumComponent implements ParsedCompositeComponent {
      */
     @Override
     public Optional<ResolvedDeclaration> getResolvedDeclaration() {
-        return Optional.of(resolvedEnumDeclaration);
+        return Optional.ofNullable(resolvedEnumDeclaration);
     }
 
     /**
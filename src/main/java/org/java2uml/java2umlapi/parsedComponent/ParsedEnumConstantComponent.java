@@ -9,15 +9,30 @@ import java.util.Optional;
 public class ParsedEnumConstantComponent implements ParsedComponent {
 
     private final String name;
+    private final String simpleName;
     private final ResolvedEnumConstantDeclaration resolvedDeclaration;
     private final ParsedComponent parent;
 
     public ParsedEnumConstantComponent(ResolvedEnumConstantDeclaration resolvedDeclaration, ParsedComponent parent) {
         this.name = parent.getName() + "." + resolvedDeclaration.getName();
+        this.simpleName = resolvedDeclaration.getName();
         this.resolvedDeclaration = resolvedDeclaration;
         this.parent = parent;
     }
 
+    /**
+     * Initializes ParsedEnumConstantComponent without a resolved declaration, for eg. from a snapshot.
+     *
+     * @param simpleName name of the enum constant.
+     * @param parent     enum to which this constant belongs.
+     */
+    ParsedEnumConstantComponent(String simpleName, ParsedComponent parent) {
+        this.name = parent.getName() + "." + simpleName;
+        this.simpleName = simpleName;
+        this.resolvedDeclaration = null;
+        this.parent = parent;
+    }
+
     /**
      * @return returns true if the component is a leaf component.
      */
@@ -42,12 +57,19 @@ public class ParsedEnumConstantComponent implements ParsedComponent {
         return name;
     }
 
+    /**
+     * @return name of the enum constant, without the name of enum.
+     */
+    public String getSimpleName() {
+        return simpleName;
+    }
+
     /**
      * @return returns wrapped Optional<ResolvedDeclaration>.
      */
     @Override
     public Optional<ResolvedDeclaration> getResolvedDeclaration() {
-        return Optional.of(resolvedDeclaration);
+        return Optional.ofNullable(resolvedDeclaration);
     }
 
     public ResolvedEnumConstantDeclaration getResolvedEnumConstantDeclaration() {
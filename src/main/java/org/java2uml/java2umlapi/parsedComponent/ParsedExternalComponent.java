@@ -2,11 +2,15 @@ package org.java2uml.java2umlapi.parsedComponent;
 
 import com.github.javaparser.resolution.declarations.ResolvedDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedTypeDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedTypeParameterDeclaration;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.java2uml.java2umlapi.util.umlSymbols.TypeDeclarationSymbol;
 import org.java2uml.java2umlapi.visitors.Visitor;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * <p>
@@ -23,6 +27,10 @@ public class ParsedExternalComponent implements ParsedCompositeComponent {
 
     private final String name;
     private final String packageName;
+    private volatile Boolean isClass;
+    private volatile String typeDeclarationSymbol;
+    private volatile List<String> typeParameters;
+    private final Object resolutionLock;
 
     /**
      * Initializes ParsedExternalComponent with a resolvedTypeDeclaration.
@@ -33,6 +41,41 @@ public class ParsedExternalComponent implements ParsedCompositeComponent {
         this.resolvedTypeDeclaration = resolvedTypeDeclaration;
         this.name = resolvedTypeDeclaration.getQualifiedName();
         this.packageName = resolvedTypeDeclaration.getPackageName();
+        this.resolutionLock = this;
+    }
+
+    /**
+     * Initializes ParsedExternalComponent found while generating relations of a {@link SourceComponent}.
+     *
+     * @param resolvedTypeDeclaration resolved declaration of the external type.
+     * @param resolutionLock          resolution lock of the source component, see
+     *                                {@link SourceComponent#getResolutionLock()}.
+     */
+    ParsedExternalComponent(ResolvedTypeDeclaration resolvedTypeDeclaration, Object resolutionLock) {
+        this.resolvedTypeDeclaration = resolvedTypeDeclaration;
+        this.name = resolvedTypeDeclaration.getQualifiedName();
+        this.packageName = resolvedTypeDeclaration.getPackageName();
+        this.resolutionLock = resolutionLock;
+    }
+
+    /**
+     * Initializes ParsedExternalComponent without a resolved declaration, for eg. from a snapshot.
+     *
+     * @param name                  qualified name of the type.
+     * @param packageName           package name of the type.
+     * @param isClass               true if type is a class.
+     * @param typeDeclarationSymbol plant uml declaration of the type, see {@link TypeDeclarationSymbol}.
+     * @param typeParameters        names of the type parameters.
+     */
+    ParsedExternalComponent(String name, String packageName, boolean isClass, String typeDeclarationSymbol,
+                            List<String> typeParameters) {
+        this.resolvedTypeDeclaration = null;
+        this.name = name;
+        this.packageName = packageName;
+        this.isClass = isClass;
+        this.typeDeclarationSymbol = typeDeclarationSymbol;
+        this.typeParameters = typeParameters;
+        this.resolutionLock = this;
     }
 
     @Override
@@ -52,13 +95,56 @@ public class ParsedExternalComponent implements ParsedCompositeComponent {
 
     @Override
     public Optional<ResolvedDeclaration> getResolvedDeclaration() {
-        return Optional.of(resolvedTypeDeclaration);
+        return Optional.ofNullable(resolvedTypeDeclaration);
     }
 
+    /**
+     * @return resolved declaration of the type, null if this component was not created from it.
+     */
     public ResolvedTypeDeclaration getResolvedTypeDeclaration() {
         return resolvedTypeDeclaration;
     }
 
+    /**
+     * @return true if type is a class.
+     */
+    public boolean isClass() {
+        if (isClass == null)
+            isClass = SourceComponent.resolve(this, () -> resolvedTypeDeclaration.asReferenceType().isClass());
+        return isClass;
+    }
+
+    /**
+     * @return plant uml declaration of the type, for eg. <code>class a.b.C</code>.
+     */
+    public String getTypeDeclarationSymbol() {
+        if (typeDeclarationSymbol == null) {
+            typeDeclarationSymbol = SourceComponent.resolve(this,
+                    () -> TypeDeclarationSymbol.getTypeDeclarationSymbol(resolvedTypeDeclaration));
+        }
+        return typeDeclarationSymbol;
+    }
+
+    /**
+     * @return names of the type parameters of the type.
+     */
+    public List<String> getTypeParameters() {
+        if (typeParameters == null) {
+            typeParameters = SourceComponent.resolve(this, () -> resolvedTypeDeclaration.asReferenceType()
+                    .getTypeParameters().stream()
+                    .map(ResolvedTypeParameterDeclaration::getName)
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+        return typeParameters;
+    }
+
+    /**
+     * @return lock held while symbols of this component are resolved, see {@link SourceComponent#resolve}.
+     */
+    Object getResolutionLock() {
+        return resolutionLock;
+    }
+
     /**
      * @return returns Optional.empty() if this component is not ParsedExternalComponent
      */
@@ -18,7 +18,11 @@ public class ParsedFieldComponent implements ParsedComponent {
     private final ParsedComponent parent;
     private final ResolvedFieldDeclaration resolvedDeclaration;
     private final String name;
+    private final String simpleName;
     private final String typeName;
+    private volatile String classOfField;
+    private volatile String visibility;
+    private volatile Boolean isStatic;
 
     /**
      * Initializes ParsedFieldComponent.
@@ -31,9 +35,32 @@ public class ParsedFieldComponent implements ParsedComponent {
         this.parent = parent;
         this.resolvedDeclaration = resolvedDeclaration;
         this.name = parent.getName() + "." + resolvedDeclaration.getName();
+        this.simpleName = resolvedDeclaration.getName();
         this.typeName = produceTypeName();
     }
 
+    /**
+     * Initializes ParsedFieldComponent without a resolved declaration, for eg. from a snapshot.
+     *
+     * @param parent       Parent of this component.
+     * @param simpleName   name of the field.
+     * @param typeName     described type of the field.
+     * @param classOfField simple name of the type of the field.
+     * @param visibility   access specifier, for eg. public.
+     * @param isStatic     true if field is static.
+     */
+    ParsedFieldComponent(ParsedComponent parent, String simpleName, String typeName, String classOfField,
+                         String visibility, boolean isStatic) {
+        this.parent = parent;
+        this.resolvedDeclaration = null;
+        this.name = parent.getName() + "." + simpleName;
+        this.simpleName = simpleName;
+        this.typeName = typeName;
+        this.classOfField = classOfField;
+        this.visibility = visibility;
+        this.isStatic = isStatic;
+    }
+
     /**
      * @return try to get type name.
      */
@@ -45,6 +72,24 @@ public class ParsedFieldComponent implements ParsedComponent {
         }
     }
 
+    /**
+     * @return simple name of the type of field if it is a reference type, described type otherwise.
+     */
+    private String produceClassOfField() {
+        try {
+            resolvedDeclaration.getType();
+        } catch (UnsolvedSymbolException e) {
+            return e.getName();
+        }
+
+        if (resolvedDeclaration.getType().isReferenceType()) {
+            var list = resolvedDeclaration.getType().asReferenceType().getQualifiedName().split("\\.");
+            return list[list.length - 1];
+        }
+
+        return resolvedDeclaration.getType().describe();
+    }
+
     @Override
     public boolean isLeaf() {
         return true;
@@ -62,11 +107,11 @@ public class ParsedFieldComponent implements ParsedComponent {
 
     @Override
     public Optional<ResolvedDeclaration> getResolvedDeclaration() {
-        return Optional.of(resolvedDeclaration);
+        return Optional.ofNullable(resolvedDeclaration);
     }
 
     /**
-     * @return a resolvedFieldDeclaration belonging to this component.
+     * @return a resolvedFieldDeclaration belonging to this component, null if this component was not created from it.
      */
     public ResolvedFieldDeclaration getResolvedFieldDeclaration() {
         return resolvedDeclaration;
@@ -100,6 +145,40 @@ public class ParsedFieldComponent implements ParsedComponent {
         return typeName;
     }
 
+    /**
+     * @return name of the field, without the name of declaring type.
+     */
+    public String getSimpleName() {
+        return simpleName;
+    }
+
+    /**
+     * Resolved only once, on first call.
+     *
+     * @return simple name of the type of field if it is a reference type, described type otherwise.
+     */
+    public String getClassOfField() {
+        if (classOfField == null) classOfField = SourceComponent.resolve(this, this::produceClassOfField);
+        return classOfField;
+    }
+
+    /**
+     * @return access specifier of the field, for eg. public.
+     */
+    public String getVisibility() {
+        if (visibility == null)
+            visibility = SourceComponent.resolve(this, () -> resolvedDeclaration.accessSpecifier().asString());
+        return visibility;
+    }
+
+    /**
+     * @return true if field is static.
+     */
+    public boolean isStatic() {
+        if (isStatic == null) isStatic = SourceComponent.resolve(this, resolvedDeclaration::isStatic);
+        return isStatic;
+    }
+
     @Override
     public String toString() {
         return "ParsedFieldComponent{" +
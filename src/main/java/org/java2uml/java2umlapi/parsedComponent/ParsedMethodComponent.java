@@ -1,19 +1,32 @@
 package org.java2uml.java2umlapi.parsedComponent;
 
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.resolution.UnsolvedSymbolException;
 import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedTypeParameterDeclaration;
 import com.github.javaparser.resolution.types.ResolvedType;
 import org.java2uml.java2umlapi.visitors.Visitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * <p>
  * Leaf Component, representing method declaration, in a parsed java src code.
  * </p>
  *
+ * <p>
+ * Everything needed for generating uml, light weights and call graphs is also available without the resolved
+ * declaration, so a component restored from a snapshot behaves same as a freshly parsed one, except that
+ * {@link #getResolvedMethodDeclaration()} returns null.
+ * </p>
+ *
  * @author kawaiifox
  */
 public class ParsedMethodComponent implements ParsedComponent, ParsedMethodLikeComponent {
@@ -21,7 +34,15 @@ public class ParsedMethodComponent implements ParsedComponent, ParsedMethodLikeC
     private final ParsedComponent parent;
     private final ResolvedMethodDeclaration resolvedDeclaration;
     private final String qualifiedName;
+    private final String signature;
     private final String returnType;
+    private final String visibility;
+    private final boolean isStatic;
+    private final Supplier<Optional<String>> body;
+    private volatile List<ParsedParameter> parameters;
+    private volatile List<String> typeParameters;
+    private volatile List<String> specifiedExceptions;
+    private volatile List<String> calledMethods;
     private final Logger logger = LoggerFactory.getLogger(ParsedMethodComponent.class);
 
     /**
@@ -35,14 +56,147 @@ public class ParsedMethodComponent implements ParsedComponent, ParsedMethodLikeC
         this.parent = parent;
         this.resolvedDeclaration = resolvedDeclaration;
         this.qualifiedName = getQualifiedSignature(resolvedDeclaration);
+        this.signature = getSignature(resolvedDeclaration);
         this.returnType = getReturnType();
+        this.visibility = resolvedDeclaration.accessSpecifier().asString();
+        this.isStatic = resolvedDeclaration.isStatic();
+        this.body = () -> resolvedDeclaration.toAst().map(Node::toString);
+    }
+
+    /**
+     * Initializes ParsedMethodComponent without a resolved declaration, for eg. from a snapshot.
+     *
+     * @param parent              Parent of this component.
+     * @param qualifiedName       qualified signature of the method.
+     * @param signature           signature of the method.
+     * @param returnType          name of the return type.
+     * @param visibility          access specifier, for eg. public.
+     * @param isStatic            true if method is static.
+     * @param parameters          parameters of the method.
+     * @param typeParameters      names of the type parameters.
+     * @param specifiedExceptions qualified names of the specified exceptions.
+     * @param body                supplies source code of the method, empty if it is not available.
+     * @param calledMethods       qualified signatures of the methods called in the body of the method.
+     */
+    ParsedMethodComponent(ParsedComponent parent, String qualifiedName, String signature, String returnType,
+                          String visibility, boolean isStatic, List<ParsedParameter> parameters,
+                          List<String> typeParameters, List<String> specifiedExceptions,
+                          Supplier<Optional<String>> body, List<String> calledMethods) {
+        this.parent = parent;
+        this.resolvedDeclaration = null;
+        this.qualifiedName = qualifiedName;
+        this.signature = signature;
+        this.returnType = returnType;
+        this.visibility = visibility;
+        this.isStatic = isStatic;
+        this.parameters = parameters;
+        this.typeParameters = typeParameters;
+        this.specifiedExceptions = specifiedExceptions;
+        this.body = body;
+        this.calledMethods = calledMethods;
     }
 
     /**
      * @return Signature of the method
      */
     public String getSignature() {
-        return getSignature(resolvedDeclaration);
+        return signature;
+    }
+
+    /**
+     * @return access specifier of the method, for eg. public.
+     */
+    public String getVisibility() {
+        return visibility;
+    }
+
+    /**
+     * @return true if method is static.
+     */
+    public boolean isStatic() {
+        return isStatic;
+    }
+
+    /**
+     * @return parameters of the method, in order of declaration.
+     */
+    public List<ParsedParameter> getParameters() {
+        if (parameters == null) parameters = SourceComponent.resolve(this, () -> ParsedParameter.of(resolvedDeclaration));
+        return parameters;
+    }
+
+    /**
+     * @return names of the type parameters of the method.
+     */
+    public List<String> getTypeParameters() {
+        if (typeParameters == null) {
+            typeParameters = SourceComponent.resolve(this, () -> resolvedDeclaration.getTypeParameters().stream()
+                    .map(ResolvedTypeParameterDeclaration::getName)
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+        return typeParameters;
+    }
+
+    /**
+     * @return qualified names of the exceptions specified by the method.
+     */
+    public List<String> getSpecifiedExceptions() {
+        if (specifiedExceptions == null) {
+            specifiedExceptions = SourceComponent.resolve(this, () -> resolvedDeclaration.getSpecifiedExceptions()
+                    .stream()
+                    .filter(ResolvedType::isReferenceType)
+                    .map(exception -> exception.asReferenceType().getQualifiedName())
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+        return specifiedExceptions;
+    }
+
+    /**
+     * @return source code of the method, empty if it is not available, for eg. method of an external type.
+     */
+    public Optional<String> getBody() {
+        return body.get();
+    }
+
+    /**
+     * Finds the methods called in the body of this method, call expressions which can not be resolved are skipped,
+     * and the source component is marked as not including all of its dependencies.
+     * Called methods are resolved only once, on first call, while holding the resolution lock of the source
+     * component, see {@link SourceComponent#getResolutionLock()}.
+     *
+     * @return qualified signatures of the called methods, in order of the calls, with duplicates.
+     */
+    public List<String> getCalledMethods() {
+        if (calledMethods == null) {
+            synchronized (SourceComponent.resolutionLockOf(this)) {
+                if (calledMethods == null) calledMethods = resolveCalledMethods();
+            }
+        }
+        return calledMethods;
+    }
+
+    /**
+     * @return qualified signatures of the methods called in the body of this method.
+     */
+    private List<String> resolveCalledMethods() {
+        var methodDeclaration = resolvedDeclaration.toAst();
+        if (methodDeclaration.isEmpty()) return List.of();
+
+        return methodDeclaration.get()
+                .findAll(MethodCallExpr.class)
+                .stream()
+                .map(methodCallExpr -> {
+                    try {
+                        return methodCallExpr.resolve().getQualifiedSignature();
+                    } catch (RuntimeException exception) {
+                        logger.info("Unable to resolve method call {} in {}, it is possible that dependencies are not"
+                                + " included with the source code.", methodCallExpr, qualifiedName);
+                        SourceComponent.externalDependencyMissing(this);
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableList());
     }
 
     /**
@@ -105,9 +259,12 @@ public class ParsedMethodComponent implements ParsedComponent, ParsedMethodLikeC
      * <p>
      */
     public Optional<ResolvedMethodDeclaration> getAsResolvedMethodDeclaration() {
-        return Optional.of(resolvedDeclaration);
+        return Optional.ofNullable(resolvedDeclaration);
     }
 
+    /**
+     * @return resolved declaration of the method, null if this component was not created from it.
+     */
     public ResolvedMethodDeclaration getResolvedMethodDeclaration() {
         return resolvedDeclaration;
     }
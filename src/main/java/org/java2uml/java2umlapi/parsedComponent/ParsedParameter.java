@@ -0,0 +1,69 @@
+package org.java2uml.java2umlapi.parsedComponent;
+
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import com.github.javaparser.resolution.declarations.ResolvedMethodLikeDeclaration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Name and type name of a parameter of a method or constructor, kept independently of the resolved declaration
+ * so that it is available even after the declaration has been released.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class ParsedParameter {
+    private final String name;
+    private final String typeName;
+
+    /**
+     * Initializes ParsedParameter.
+     *
+     * @param name     name of the parameter.
+     * @param typeName described type of the parameter, or name of the type if it can not be resolved.
+     */
+    public ParsedParameter(String name, String typeName) {
+        this.name = name;
+        this.typeName = typeName;
+    }
+
+    /**
+     * @param resolvedDeclaration method or constructor whose parameters are needed.
+     * @return parameters of the resolved declaration, in order of declaration.
+     */
+    public static List<ParsedParameter> of(ResolvedMethodLikeDeclaration resolvedDeclaration) {
+        var parameters = new ArrayList<ParsedParameter>();
+
+        for (int i = 0; i < resolvedDeclaration.getNumberOfParams(); i++) {
+            var parameterDeclaration = resolvedDeclaration.getParam(i);
+            String typeName;
+            try {
+                typeName = parameterDeclaration.describeType();
+            } catch (UnsolvedSymbolException e) {
+                typeName = e.getName();
+            }
+
+            parameters.add(new ParsedParameter(parameterDeclaration.getName(), typeName));
+        }
+
+        return parameters;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    @Override
+    public String toString() {
+        return "ParsedParameter{" +
+                "name='" + name + '\'' +
+                ", typeName='" + typeName + '\'' +
+                '}';
+    }
+}
@@ -4,11 +4,19 @@ import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.resolution.UnsolvedSymbolException;
 import com.github.javaparser.resolution.declarations.ResolvedDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
-import com.github.javaparser.resolution.declarations.ResolvedParameterDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
 import com.github.javaparser.resolution.types.ResolvedType;
+import org.java2uml.java2umlapi.util.cancellation.CancellationToken;
 import org.java2uml.java2umlapi.visitors.Visitor;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.java2uml.java2umlapi.util.umlSymbols.RelationsSymbol.*;
 import static org.java2uml.java2umlapi.util.umlSymbols.RelationsSymbol.Direction.UP;
@@ -19,16 +27,19 @@ import static org.java2uml.java2umlapi.util.umlSymbols.RelationsSymbol.Direction
  * root of the whole tree.
  * </p>
  *
+ * <p>
+ * Components of a parsed project resolve some of their symbols lazily, on first request. Caches kept by java parser
+ * while resolving symbols are not safe to be used concurrently, so every lazy resolution and every update of a
+ * source component is done while holding its resolution lock, see {@link #getResolutionLock()}.
+ * </p>
+ *
  * @author kawaiifox
  */
 public class SourceComponent implements ParsedCompositeComponent {
 
-    private final Map<String, ParsedComponent> children;
-    private final Map<String, ParsedComponent> externalComponents;
-    private final List<CompilationUnit> compilationUnits;
-    private final List<ResolvedDeclaration> allParsedTypes;
-    private final List<TypeRelation> allRelations;
-    private boolean isExternalDependenciesIncluded = true;
+    private volatile State state;
+    private volatile boolean isExternalDependenciesIncluded = true;
+    private final Object resolutionLock = new Object();
 
     /**
      * Initializes {@link SourceComponent} and generates tree and all the {@link TypeRelation}s.
@@ -37,30 +48,273 @@ public class SourceComponent implements ParsedCompositeComponent {
      * @param compilationUnits List of {@link CompilationUnit}s
      */
     public SourceComponent(List<ResolvedDeclaration> allParsedTypes, List<CompilationUnit> compilationUnits) {
-        this.allParsedTypes = allParsedTypes;
-        this.compilationUnits = compilationUnits;
-        this.children = new HashMap<>();
-        this.allRelations = new ArrayList<>();
-        this.externalComponents = new HashMap<>();
+        this(allParsedTypes, compilationUnits, 1);
+    }
+
+    /**
+     * Initializes {@link SourceComponent} and generates tree and all the {@link TypeRelation}s, if parallelism is
+     * greater than 1 relations of the types are built in parallel on a dedicated {@link ForkJoinPool}. Types they
+     * refer to are always resolved on the calling thread.
+     *
+     * @param allParsedTypes   List of {@link ResolvedDeclaration}s
+     * @param compilationUnits List of {@link CompilationUnit}s
+     * @param parallelism      number of threads used for building relations.
+     */
+    public SourceComponent(List<ResolvedDeclaration> allParsedTypes, List<CompilationUnit> compilationUnits,
+                           int parallelism) {
+        this(allParsedTypes, compilationUnits, parallelism, new CancellationToken());
+    }
+
+    /**
+     * Same as {@link #SourceComponent(List, List, int)}, but generation of relations stops as soon as the project is
+     * cancelled.
+     *
+     * @param allParsedTypes    List of {@link ResolvedDeclaration}s
+     * @param compilationUnits  List of {@link CompilationUnit}s
+     * @param parallelism       number of threads used for generating relations.
+     * @param cancellationToken checked before relations of every type are generated.
+     * @throws CancellationException if the project has been cancelled.
+     */
+    public SourceComponent(List<ResolvedDeclaration> allParsedTypes, List<CompilationUnit> compilationUnits,
+                           int parallelism, CancellationToken cancellationToken) {
+        Map<String, ParsedComponent> children = new HashMap<>();
+        Map<String, ParsedComponent> externalComponents = new HashMap<>();
+        var allRelations = new TypeRelationStore();
 
         for (var resolvedDeclaration : allParsedTypes) {
-            if (resolvedDeclaration.asType().isEnum()) {
-                ParsedEnumComponent parsedEnumComponent = new ParsedEnumComponent(resolvedDeclaration.asType().asEnum(), this);
-                children.put(parsedEnumComponent.getName(), parsedEnumComponent);
-                generateParsedEnumComponentFromResoldDecl(resolvedDeclaration, parsedEnumComponent);
-            } else {
-                ParsedComponent parsedClassOrInterfaceComponent = new ParsedClassOrInterfaceComponent(resolvedDeclaration, this);
-                children.put(parsedClassOrInterfaceComponent.getName(), parsedClassOrInterfaceComponent);
-                generateParsedClassOrInterfaceComponentFromResolvedDecl(resolvedDeclaration, parsedClassOrInterfaceComponent);
-            }
+            addChild(resolvedDeclaration, children);
+        }
+
+        this.isExternalDependenciesIncluded = generateTypeRelations(children.values(), children, externalComponents,
+                allRelations, parallelism, cancellationToken);
+
+        this.state = new State(children, externalComponents, compilationUnits, allParsedTypes, allRelations, 0,
+                new Index(children.values()));
+    }
+
+    /**
+     * Initializes an empty {@link SourceComponent} without {@link CompilationUnit}s, its children, external components
+     * and {@link TypeRelation}s are added by {@link SourceComponentSnapshot} while the snapshot is read.
+     *
+     * @param isExternalDependenciesIncluded false if some of the types could not be resolved while parsing.
+     */
+    SourceComponent(boolean isExternalDependenciesIncluded) {
+        this.state = new State(new HashMap<>(), new HashMap<>(), List.of(), List.of(), new TypeRelationStore(), 0,
+                null);
+        this.isExternalDependenciesIncluded = isExternalDependenciesIncluded;
+    }
+
+    /**
+     * <p>
+     * Updates this source component in place after some of its compilation units have changed. Types declared in the
+     * removed compilation units are dropped, the provided resolved declarations replace the types with same name or
+     * are added as new types, and only the {@link TypeRelation}s from or to the updated types are generated again.
+     * External components to which no relation is left are dropped.
+     * </p>
+     *
+     * <p>
+     * Updated state is built aside and published at once as a single immutable {@link State}, so threads which are
+     * reading this source component see either the state before the update or the state after it, never a mix.
+     * </p>
+     *
+     * @param removedCompilationUnits {@link CompilationUnit}s which have been changed or removed.
+     * @param addedCompilationUnits   {@link CompilationUnit}s which have been changed or added.
+     * @param removedTypes            qualified names of the types declared in removed compilation units.
+     * @param updatedTypes            {@link ResolvedDeclaration}s of the types declared in added compilation units,
+     *                                and of every other type whose relations need to be generated again.
+     */
+    public void update(Collection<CompilationUnit> removedCompilationUnits,
+                       Collection<CompilationUnit> addedCompilationUnits,
+                       Set<String> removedTypes,
+                       List<ResolvedDeclaration> updatedTypes) {
+        update(removedCompilationUnits, addedCompilationUnits, removedTypes, updatedTypes, 1);
+    }
 
+    /**
+     * Updates this source component in place, see {@link #update(Collection, Collection, Set, List)}, if parallelism
+     * is greater than 1 relations of the updated types are generated in parallel.
+     *
+     * @param removedCompilationUnits {@link CompilationUnit}s which have been changed or removed.
+     * @param addedCompilationUnits   {@link CompilationUnit}s which have been changed or added.
+     * @param removedTypes            qualified names of the types declared in removed compilation units.
+     * @param updatedTypes            {@link ResolvedDeclaration}s of the types declared in added compilation units,
+     *                                and of every other type whose relations need to be generated again.
+     * @param parallelism             number of threads used for generating relations.
+     */
+    public void update(Collection<CompilationUnit> removedCompilationUnits,
+                       Collection<CompilationUnit> addedCompilationUnits,
+                       Set<String> removedTypes,
+                       List<ResolvedDeclaration> updatedTypes,
+                       int parallelism) {
+        update(removedCompilationUnits, addedCompilationUnits, removedTypes, updatedTypes, parallelism,
+                new CancellationToken());
+    }
+
+    /**
+     * Same as {@link #update(Collection, Collection, Set, List, int)}, but generation of relations stops as soon as
+     * the project is cancelled, in which case this source component is left as it was before the update.
+     *
+     * @param removedCompilationUnits {@link CompilationUnit}s which have been changed or removed.
+     * @param addedCompilationUnits   {@link CompilationUnit}s which have been changed or added.
+     * @param removedTypes            qualified names of the types declared in removed compilation units.
+     * @param updatedTypes            {@link ResolvedDeclaration}s of the types declared in added compilation units,
+     *                                and of every other type whose relations need to be generated again.
+     * @param parallelism             number of threads used for generating relations.
+     * @param cancellationToken       checked before relations of every updated type are generated.
+     * @throws CancellationException if the project has been cancelled.
+     */
+    public void update(Collection<CompilationUnit> removedCompilationUnits,
+                       Collection<CompilationUnit> addedCompilationUnits,
+                       Set<String> removedTypes,
+                       List<ResolvedDeclaration> updatedTypes,
+                       int parallelism,
+                       CancellationToken cancellationToken) {
+        synchronized (resolutionLock) {
+            updateResolved(removedCompilationUnits, addedCompilationUnits, removedTypes, updatedTypes, parallelism,
+                    cancellationToken);
         }
+    }
 
-        children.forEach((k, v) -> {
-            if (v.asParsedCompositeComponent().isPresent())
-                generateTypeRelations(v.asParsedCompositeComponent().get());
-        });
+    /**
+     * Same as {@link #update(Collection, Collection, Set, List, int, CancellationToken)}, called while holding the
+     * resolution lock.
+     */
+    private void updateResolved(Collection<CompilationUnit> removedCompilationUnits,
+                                Collection<CompilationUnit> addedCompilationUnits,
+                                Set<String> removedTypes,
+                                List<ResolvedDeclaration> updatedTypes,
+                                int parallelism,
+                                CancellationToken cancellationToken) {
+        var state = this.state;
+        Set<String> updatedTypeNames = new HashSet<>(removedTypes);
+        updatedTypes.forEach(type -> updatedTypeNames.add(type.asType().getQualifiedName()));
+
+        Map<String, ParsedComponent> children = new HashMap<>(state.children);
+        children.keySet().removeAll(updatedTypeNames);
+        updatedTypes.forEach(type -> addChild(type, children));
+
+        List<ResolvedDeclaration> allParsedTypes = new ArrayList<>();
+        state.allParsedTypes.stream()
+                .filter(type -> !updatedTypeNames.contains(type.asType().getQualifiedName()))
+                .forEach(allParsedTypes::add);
+        allParsedTypes.addAll(updatedTypes);
+
+        // Relations to the updated types refer to the components they are replacing, so relations of the types they
+        // are from are generated again as well, even if those types have not changed.
+        Set<String> regeneratedTypeNames = new LinkedHashSet<>(updatedTypeNames);
+        var relations = state.allRelations;
+        for (int i = 0; i < relations.size(); i++) {
+            if (updatedTypeNames.contains(relations.getTo(i).getName()))
+                regeneratedTypeNames.add(relations.getFrom(i).getName());
+        }
+
+        Map<String, ParsedComponent> externalComponents = new HashMap<>(state.externalComponents);
+        var allRelations = relations.filter(relation -> !regeneratedTypeNames.contains(relation.getFrom().getName()));
+
+        List<ParsedComponent> regeneratedComponents = new ArrayList<>();
+        updatedTypes.forEach(type -> regeneratedComponents.add(children.get(type.asType().getQualifiedName())));
+        regeneratedTypeNames.stream()
+                .filter(name -> !updatedTypeNames.contains(name) && children.containsKey(name))
+                .forEach(name -> regeneratedComponents.add(children.get(name)));
+        var isComplete = generateTypeRelations(regeneratedComponents, children, externalComponents, allRelations,
+                parallelism, cancellationToken);
+
+        // External types which are no longer referred to by any relation are dropped.
+        Set<String> referencedTypeNames = new HashSet<>();
+        for (int i = 0; i < allRelations.size(); i++) {
+            referencedTypeNames.add(allRelations.getTo(i).getName());
+        }
+        externalComponents.keySet().retainAll(referencedTypeNames);
 
+        Set<CompilationUnit> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(removedCompilationUnits);
+        List<CompilationUnit> compilationUnits = new ArrayList<>();
+        state.compilationUnits.stream().filter(cu -> !removed.contains(cu)).forEach(compilationUnits::add);
+        compilationUnits.addAll(addedCompilationUnits);
+
+        if (!isComplete) isExternalDependenciesIncluded = false;
+        this.state = new State(children, externalComponents, compilationUnits, allParsedTypes, allRelations,
+                state.modificationCount + 1, new Index(children.values()));
+    }
+
+    /**
+     * <p>
+     * Lock held while symbols of this source component are resolved after it has been initialized, either lazily by
+     * its components or while it is updated in place. Threads which resolve symbols of its components directly, for
+     * eg. through {@link ParsedMethodComponent#getResolvedMethodDeclaration()}, must hold it as well.
+     * </p>
+     *
+     * <p>
+     * Components already resolved are read without the lock, so holding it only blocks the threads which need to
+     * resolve something of the same project at the same time.
+     * </p>
+     *
+     * @return resolution lock of this source component.
+     */
+    public Object getResolutionLock() {
+        return resolutionLock;
+    }
+
+    /**
+     * Resolves a lazily resolved value of given component while holding the resolution lock of the source component
+     * it belongs to, see {@link #getResolutionLock()}.
+     *
+     * @param component  component whose value is resolved.
+     * @param resolution resolves the value.
+     * @return resolved value.
+     */
+    static <T> T resolve(ParsedComponent component, Supplier<T> resolution) {
+        synchronized (resolutionLockOf(component)) {
+            return resolution.get();
+        }
+    }
+
+    /**
+     * @param component a component.
+     * @return resolution lock of the source component given component belongs to, or the component itself if it does
+     * not belong to any.
+     */
+    static Object resolutionLockOf(ParsedComponent component) {
+        var current = component;
+        while (true) {
+            if (current.isSourceComponent()) return ((SourceComponent) current).resolutionLock;
+            if (current.isParsedExternalAncestor()) return ((ParsedExternalComponent) current).getResolutionLock();
+
+            var parent = current.getParent();
+            if (parent.isEmpty()) return current;
+            current = parent.get();
+        }
+    }
+
+    /**
+     * Marks the source component containing given component as not including all of its external dependencies, for
+     * eg. when a method call in its body can not be resolved.
+     *
+     * @param component ParsedComponent contained in a SourceComponent.
+     */
+    static void externalDependencyMissing(ParsedComponent component) {
+        var current = component;
+        while (!current.isSourceComponent()) {
+            var parent = current.getParent();
+            if (parent.isEmpty()) return;
+            current = parent.get();
+        }
+        ((SourceComponent) current).isExternalDependenciesIncluded = false;
+    }
+
+    /**
+     * @return number of times this source component has been updated in place, see {@link #update}.
+     */
+    public int getModificationCount() {
+        return state.modificationCount;
+    }
+
+    /**
+     * @return current state of this source component, which is never modified once it has been published, except
+     * while the source component is being read from a snapshot.
+     */
+    State getState() {
+        return state;
     }
 
     @Override
@@ -90,14 +344,14 @@ public class SourceComponent implements ParsedCompositeComponent {
      * @return Returns all the resolvedDeclarations contained in the sourceComponent.
      */
     public List<ResolvedDeclaration> getAllParsedTypes() {
-        return allParsedTypes;
+        return state.allParsedTypes;
     }
 
     /**
      * @return Returns all the {@link CompilationUnit}s contained in the sourceComponent.
      */
     public List<CompilationUnit> getCompilationUnits() {
-        return compilationUnits;
+        return state.compilationUnits;
     }
 
     @Override
@@ -107,7 +361,7 @@ public class SourceComponent implements ParsedCompositeComponent {
 
     @Override
     public Map<String, ParsedComponent> getChildren() {
-        return children;
+        return state.children;
     }
 
     @Override
@@ -115,6 +369,25 @@ public class SourceComponent implements ParsedCompositeComponent {
         return "SourceComponent";
     }
 
+    /**
+     * Generates {@link ParsedEnumComponent} or {@link ParsedClassOrInterfaceComponent} from ResolvedDeclaration
+     * and adds it to given children.
+     *
+     * @param resolvedDeclaration ResolvedDeclaration of the type.
+     * @param children            children to which generated component is added.
+     */
+    private void addChild(ResolvedDeclaration resolvedDeclaration, Map<String, ParsedComponent> children) {
+        if (resolvedDeclaration.asType().isEnum()) {
+            ParsedEnumComponent parsedEnumComponent = new ParsedEnumComponent(resolvedDeclaration.asType().asEnum(), this);
+            children.put(parsedEnumComponent.getName(), parsedEnumComponent);
+            generateParsedEnumComponentFromResoldDecl(resolvedDeclaration, parsedEnumComponent);
+        } else {
+            ParsedComponent parsedClassOrInterfaceComponent = new ParsedClassOrInterfaceComponent(resolvedDeclaration, this);
+            children.put(parsedClassOrInterfaceComponent.getName(), parsedClassOrInterfaceComponent);
+            generateParsedClassOrInterfaceComponentFromResolvedDecl(resolvedDeclaration, parsedClassOrInterfaceComponent);
+        }
+    }
+
     /**
      * Generates ParsedClassOrInterfaceComponent from ResolvedDeclaration and adds it children.
      *
@@ -179,131 +452,164 @@ public class SourceComponent implements ParsedCompositeComponent {
     }
 
     /**
-     * Generates all the relations for the ParsedComponent from. This ParsedComponent should not be a leaf.
+     * <p>
+     * Generates all the relations for given types. Types referred to by given types are resolved first, one type after
+     * another while holding the resolution lock, as caches kept by java parser while resolving symbols are not safe to
+     * be used concurrently. Relations are then built from the resolved types, which only requires their names.
+     * </p>
      *
-     * @param from ParsedComponent from which relations need to be generated.
+     * <p>
+     * If parallelism is greater than 1 relations of every type are built by a separate task into a store of its own,
+     * and stores are merged in order of given types, so relations are in the same order as if they were built
+     * sequentially. Newly found external components are then collected in a concurrent map, every external component
+     * is added only once so that all relations to it refer to the same instance.
+     * </p>
+     *
+     * @param types              types from which relations need to be generated.
+     * @param children           parsed types, relations are generated only to these or to external components.
+     * @param externalComponents external components, newly found external components are added to it.
+     * @param allRelations       generated relations are added to it.
+     * @param parallelism        number of threads used for building relations.
+     * @param cancellationToken  checked before types referred to by every type are resolved.
+     * @return false if some of the types referred to by given types could not be resolved.
+     * @throws CancellationException if the project has been cancelled.
+     * @throws RuntimeException      if generation is interrupted or fails.
      */
-    private void generateTypeRelations(ParsedCompositeComponent from) {
-        if (from.isParsedClassOrInterfaceComponent()) {
-            generateExtensionRelations(from);
-            generateAggregationRelations(from);
-            generateDependencyRelations(from);
+    private boolean generateTypeRelations(Collection<ParsedComponent> types,
+                                          Map<String, ParsedComponent> children,
+                                          Map<String, ParsedComponent> externalComponents,
+                                          TypeRelationStore allRelations,
+                                          int parallelism,
+                                          CancellationToken cancellationToken) {
+        List<ReferencedTypes> referencedTypes = new ArrayList<>(types.size());
+        synchronized (resolutionLock) {
+            for (var type : types) {
+                cancellationToken.throwIfCancelled();
+                type.asParsedCompositeComponent()
+                        .filter(ParsedComponent::isParsedClassOrInterfaceComponent)
+                        .ifPresent(from -> referencedTypes.add(new ReferencedTypes(from)));
+            }
+        }
+
+        var isComplete = referencedTypes.stream().allMatch(referenced -> referenced.isComplete);
+        if (parallelism < 2 || referencedTypes.size() < 2) {
+            referencedTypes.forEach(referenced ->
+                    generateTypeRelations(referenced, children, externalComponents, allRelations));
+            return isComplete;
+        }
+
+        Map<String, ParsedComponent> concurrentExternalComponents = new ConcurrentHashMap<>(externalComponents);
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            List<TypeRelationStore> relationsOfTypes = pool.submit(() -> referencedTypes.parallelStream()
+                    .map(referenced -> {
+                        var relations = new TypeRelationStore();
+                        generateTypeRelations(referenced, children, concurrentExternalComponents, relations);
+                        return relations;
+                    })
+                    .collect(Collectors.toList())).get();
+
+            relationsOfTypes.forEach(allRelations::addAll);
+            externalComponents.putAll(concurrentExternalComponents);
+            return isComplete;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("[SourceComponent] Interrupted while generating relations.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException("[SourceComponent] Unable to generate relations.", e.getCause());
+        } finally {
+            pool.shutdown();
         }
     }
 
     /**
-     * Generates dependency relation for ParsedComponent from.
+     * Generates all the relations for the type whose referenced types are given.
      *
-     * @param from ParsedComponent from which dependency relation needs to be generated.
+     * @param referenced         types referred to by the type from which relations need to be generated.
+     * @param children           parsed types, relations are generated only to these or to external components.
+     * @param externalComponents external components, newly found external components are added to it.
+     * @param allRelations       generated relations are added to it.
      */
-    private void generateDependencyRelations(ParsedCompositeComponent from) {
-
-        //noinspection OptionalGetWithoutIsPresent
-        var resolvedTypeDeclaration = from.getResolvedDeclaration().get().asType();
-
-        var dependencies = resolvedTypeDeclaration.asReferenceType().getDeclaredMethods();
-
-        dependencies.forEach(dependency -> {
-            List<ResolvedParameterDeclaration> parameterList = new ArrayList<>();
-
-            for (int i = 0; i < dependency.getNumberOfParams(); i++) {
-                parameterList.add(dependency.getParam(i));
-            }
-
-            parameterList.forEach(parameter -> {
-                ResolvedType typeOfParameter;
-                try {
-                    typeOfParameter = parameter.getType();
-                } catch (Exception e) {
-                    isExternalDependenciesIncluded = false;
-                    return;
-                }
+    private void generateTypeRelations(ReferencedTypes referenced,
+                                       Map<String, ParsedComponent> children,
+                                       Map<String, ParsedComponent> externalComponents,
+                                       TypeRelationStore allRelations) {
+        generateExtensionRelations(referenced, children, externalComponents, allRelations);
+        generateAggregationRelations(referenced, children, externalComponents, allRelations);
+        generateDependencyRelations(referenced, children, allRelations);
+    }
 
-                if (typeOfParameter.isReferenceType()) {
-                    var to = children
-                            .get(typeOfParameter
-                                    .asReferenceType()
-                                    .getQualifiedName());
+    /**
+     * Generates dependency relations to the types of parameters of the methods of the type.
+     *
+     * @param referenced   types referred to by the type from which relations need to be generated.
+     * @param children     parsed types.
+     * @param allRelations generated relations are added to it.
+     */
+    private void generateDependencyRelations(ReferencedTypes referenced,
+                                             Map<String, ParsedComponent> children,
+                                             TypeRelationStore allRelations) {
+        referenced.parameterTypes.forEach(parameterType -> {
+            var to = children.get(parameterType);
 
-                    if (to != null && to.asParsedCompositeComponent().isPresent())
-                        allRelations.add(new TypeRelation(from, to.asParsedCompositeComponent().get(), DEPENDENCY_AR.toString(), DEPENDENCY_AR));
-                }
-            });
+            if (to != null && to.asParsedCompositeComponent().isPresent())
+                allRelations.add(referenced.from, to.asParsedCompositeComponent().get(), DEPENDENCY_AR.toString(),
+                        DEPENDENCY_AR);
         });
     }
 
     /**
-     * Generates aggregation relations for ParsedComponent from.
+     * Generates aggregation relations to the types of fields of the type.
      *
-     * @param from ParsedComponent from which relations need to be generated.
+     * @param referenced         types referred to by the type from which relations need to be generated.
+     * @param children           parsed types.
+     * @param externalComponents external components, newly found external components are added to it.
+     * @param allRelations       generated relations are added to it.
      */
-    private void generateAggregationRelations(ParsedCompositeComponent from) {
-
-        //noinspection OptionalGetWithoutIsPresent
-        var resolvedTypeDeclaration = from.getResolvedDeclaration().get().asType();
-
-        var aggregations = resolvedTypeDeclaration.asReferenceType().getDeclaredFields();
-
-        aggregations.forEach(aggregation -> {
-            ResolvedType declaringType;
-            try {
-                declaringType = aggregation.getType();
-            } catch (UnsolvedSymbolException e) {
-                isExternalDependenciesIncluded = false;
-                return;
+    private void generateAggregationRelations(ReferencedTypes referenced,
+                                              Map<String, ParsedComponent> children,
+                                              Map<String, ParsedComponent> externalComponents,
+                                              TypeRelationStore allRelations) {
+        referenced.fieldTypes.forEach(fieldType -> {
+            var to = children.get(fieldType.qualifiedName);
+
+            if (to == null && !fieldType.qualifiedName.startsWith("java.lang") && fieldType.declaration != null) {
+                to = externalComponents.computeIfAbsent(fieldType.qualifiedName,
+                        name -> new ParsedExternalComponent(fieldType.declaration, resolutionLock));
             }
 
-            if (declaringType.isReferenceType()) {
-                var declaringReferenceType = declaringType.asReferenceType();
-                var to = children
-                        .get(declaringReferenceType
-                                .getQualifiedName());
-
-                if (to == null && !declaringReferenceType.getQualifiedName().startsWith("java.lang")) {
-                    if (declaringReferenceType.getTypeDeclaration().isPresent()) {
-                        to = new ParsedExternalComponent(declaringReferenceType.getTypeDeclaration().get());
-                        externalComponents.put(to.getName(), to);
-                    }
-                }
-
-                if (to != null && to.asParsedCompositeComponent().isPresent())
-                    allRelations.add(new TypeRelation(from, to.asParsedCompositeComponent().get(), AGGREGATION.toString(), AGGREGATION));
-            }
+            if (to != null && to.asParsedCompositeComponent().isPresent())
+                allRelations.add(referenced.from, to.asParsedCompositeComponent().get(), AGGREGATION.toString(),
+                        AGGREGATION);
         });
     }
 
     /**
-     * Generates extension relations from 'from'  to every ancestor of the 'from' component.
+     * Generates extension relations from the type to every ancestor of it.
      *
-     * @param from ParsedComponent from which extension relations need to be generated.
+     * @param referenced         types referred to by the type from which relations need to be generated.
+     * @param children           parsed types.
+     * @param externalComponents external components, newly found external components are added to it.
+     * @param allRelations       generated relations are added to it.
      */
-    private void generateExtensionRelations(ParsedCompositeComponent from) {
-
-        //noinspection OptionalGetWithoutIsPresent
-        var resolvedTypeDeclaration = from.getResolvedDeclaration().get().asType();
-        var ancestors = resolvedTypeDeclaration.asReferenceType().getAncestors(true);
-
-        ancestors.forEach(ancestor -> {
-
-            String ancestorName = ancestor.getQualifiedName();
-            var isInChildren = children.containsKey(ancestorName);
-            var isInChildrenOrInExternal = isInChildren
-                    || externalComponents.containsKey(ancestorName);
-
-            if (!isInChildrenOrInExternal && !ancestorName.startsWith("java.lang.Object")
-                    && ancestor.getTypeDeclaration().isPresent()) {
-                externalComponents.put(ancestorName, new ParsedExternalComponent(ancestor.getTypeDeclaration().get()));
+    private void generateExtensionRelations(ReferencedTypes referenced,
+                                            Map<String, ParsedComponent> children,
+                                            Map<String, ParsedComponent> externalComponents,
+                                            TypeRelationStore allRelations) {
+        referenced.ancestors.forEach(ancestor -> {
+            var to = children.get(ancestor.qualifiedName);
+
+            if (to == null && !ancestor.qualifiedName.startsWith("java.lang.Object") && ancestor.declaration != null) {
+                to = externalComponents.computeIfAbsent(ancestor.qualifiedName,
+                        name -> new ParsedExternalComponent(ancestor.declaration, resolutionLock));
             }
 
-            ParsedComponent to;
-            if (isInChildren) {
-                to = children.get(ancestorName);
-            } else {
-                to = externalComponents.get(ancestorName);
-            }
+            if (to == null) to = externalComponents.get(ancestor.qualifiedName);
 
             if (to != null && to.asParsedCompositeComponent().isPresent())
-                allRelations.add(new TypeRelation(from, to.asParsedCompositeComponent().get(), UP + EXTENSION.toString(), EXTENSION));
+                allRelations.add(referenced.from, to.asParsedCompositeComponent().get(), UP + EXTENSION.toString(),
+                        EXTENSION);
         });
     }
 
@@ -317,8 +623,9 @@ public class SourceComponent implements ParsedCompositeComponent {
     @Override
     public <T extends ParsedComponent> Optional<T> find(String exactName, Class<T> clazz) {
 
+        var state = this.state;
         if (clazz.equals(ParsedExternalComponent.class)) {
-            var result = externalComponents.get(exactName);
+            var result = state.externalComponents.get(exactName);
             if (result != null)
                 //noinspection unchecked
                 return (Optional<T>) result.asParsedExternalComponent();
@@ -328,7 +635,7 @@ public class SourceComponent implements ParsedCompositeComponent {
 
         if (clazz.equals(ParsedClassOrInterfaceComponent.class) ||
                 clazz.equals(ParsedEnumComponent.class)) {
-            var result = children.get(exactName);
+            var result = state.children.get(exactName);
             if (result != null && result.isParsedClassOrInterfaceComponent()) {
                 //noinspection unchecked
                 return (Optional<T>) result.asParsedClassOrInterfaceComponent();
@@ -342,7 +649,182 @@ public class SourceComponent implements ParsedCompositeComponent {
             return Optional.empty();
         }
 
-        return findInChildren(exactName, clazz);
+        return state.getIndex().find(exactName, clazz);
+    }
+
+    /**
+     * Finds all the types and members with given simple name, for eg. "toString" for every toString method and
+     * "Node" for every type named Node regardless of its package.
+     *
+     * @param simpleName simple name of the components to be found.
+     * @param clazz      class of the components.
+     * @return List of components with given simple name, empty list if there is none.
+     */
+    public <T extends ParsedComponent> List<T> findBySimpleName(String simpleName, Class<T> clazz) {
+        return state.getIndex().findBySimpleName(simpleName, clazz);
+    }
+
+    /**
+     * <p>
+     * Everything a source component consists of, published at once when it is initialized or updated, so that
+     * readers which read it once see a consistent tree, relations and compilation units.
+     * </p>
+     *
+     * <p>
+     * Index is built when source component is initialized or updated, source component restored from a snapshot
+     * builds it on first lookup as its children are added after it has been initialized.
+     * </p>
+     */
+    static class State {
+        final Map<String, ParsedComponent> children;
+        final Map<String, ParsedComponent> externalComponents;
+        final List<CompilationUnit> compilationUnits;
+        final List<ResolvedDeclaration> allParsedTypes;
+        final TypeRelationStore allRelations;
+        final int modificationCount;
+        private volatile Index index;
+
+        private State(Map<String, ParsedComponent> children, Map<String, ParsedComponent> externalComponents,
+                      List<CompilationUnit> compilationUnits, List<ResolvedDeclaration> allParsedTypes,
+                      TypeRelationStore allRelations, int modificationCount, Index index) {
+            this.children = children;
+            this.externalComponents = externalComponents;
+            this.compilationUnits = compilationUnits;
+            this.allParsedTypes = allParsedTypes;
+            this.allRelations = allRelations;
+            this.modificationCount = modificationCount;
+            this.index = index;
+        }
+
+        /**
+         * @return index of the types and members of this state.
+         */
+        private Index getIndex() {
+            var index = this.index;
+            if (index == null) {
+                index = new Index(children.values());
+                this.index = index;
+            }
+
+            return index;
+        }
+    }
+
+    /**
+     * Types and their members keyed by their class and name, so that finding a component does not require
+     * traversing the tree.
+     */
+    private static class Index {
+        private final Map<Class<?>, Map<String, ParsedComponent>> byName = new HashMap<>();
+        private final Map<String, List<ParsedComponent>> bySimpleName = new HashMap<>();
+
+        private Index(Collection<ParsedComponent> types) {
+            types.forEach(type -> {
+                add(type);
+                type.asParsedCompositeComponent()
+                        .ifPresent(composite -> composite.getChildren().values().forEach(this::add));
+            });
+        }
+
+        private void add(ParsedComponent component) {
+            byName.computeIfAbsent(component.getClass(), clazz -> new HashMap<>())
+                    .putIfAbsent(component.getName(), component);
+            bySimpleName.computeIfAbsent(simpleNameOf(component.getName()), name -> new ArrayList<>(1))
+                    .add(component);
+        }
+
+        private <T extends ParsedComponent> Optional<T> find(String exactName, Class<T> clazz) {
+            var components = byName.get(clazz);
+            if (components == null) return Optional.empty();
+
+            return Optional.ofNullable(components.get(exactName)).map(clazz::cast);
+        }
+
+        private <T extends ParsedComponent> List<T> findBySimpleName(String simpleName, Class<T> clazz) {
+            List<T> result = new ArrayList<>();
+            bySimpleName.getOrDefault(simpleName, List.of()).forEach(component -> {
+                if (clazz.equals(component.getClass())) result.add(clazz.cast(component));
+            });
+            return result;
+        }
+
+        /**
+         * @param name qualified name of a type or field, or qualified signature of a method or constructor.
+         * @return simple name of the type or member.
+         */
+        private static String simpleNameOf(String name) {
+            var end = name.indexOf('(');
+            if (end == -1) end = name.length();
+
+            return name.substring(name.lastIndexOf('.', end - 1) + 1, end);
+        }
+    }
+
+    /**
+     * Types referred to by a parsed class or interface, i.e. its ancestors, types of its fields and types of parameters
+     * of its methods. These are resolved while holding the resolution lock, relations are then built from them on any
+     * thread without resolving anything else.
+     */
+    private static class ReferencedTypes {
+        private final ParsedCompositeComponent from;
+        private final List<ReferencedType> ancestors = new ArrayList<>();
+        private final List<ReferencedType> fieldTypes = new ArrayList<>();
+        private final List<String> parameterTypes = new ArrayList<>();
+        private boolean isComplete = true;
+
+        /**
+         * Resolves the types referred to by given type, must be called while holding the resolution lock.
+         *
+         * @param from ParsedComponent of a class or interface.
+         */
+        private ReferencedTypes(ParsedCompositeComponent from) {
+            this.from = from;
+            //noinspection OptionalGetWithoutIsPresent
+            var resolvedTypeDeclaration = from.getResolvedDeclaration().get().asType().asReferenceType();
+
+            resolvedTypeDeclaration.getAncestors(true)
+                    .forEach(ancestor -> ancestors.add(new ReferencedType(ancestor)));
+
+            resolvedTypeDeclaration.getDeclaredFields().forEach(field -> {
+                ResolvedType fieldType;
+                try {
+                    fieldType = field.getType();
+                } catch (UnsolvedSymbolException e) {
+                    isComplete = false;
+                    return;
+                }
+
+                if (fieldType.isReferenceType()) fieldTypes.add(new ReferencedType(fieldType.asReferenceType()));
+            });
+
+            resolvedTypeDeclaration.getDeclaredMethods().forEach(method -> {
+                for (int i = 0; i < method.getNumberOfParams(); i++) {
+                    ResolvedType parameterType;
+                    try {
+                        parameterType = method.getParam(i).getType();
+                    } catch (Exception e) {
+                        isComplete = false;
+                        continue;
+                    }
+
+                    if (parameterType.isReferenceType())
+                        parameterTypes.add(parameterType.asReferenceType().getQualifiedName());
+                }
+            });
+        }
+    }
+
+    /**
+     * Qualified name of a resolved reference type, and its declaration if it has been found.
+     */
+    private static class ReferencedType {
+        private final String qualifiedName;
+        private final ResolvedReferenceTypeDeclaration declaration;
+
+        private ReferencedType(ResolvedReferenceType type) {
+            this.qualifiedName = type.getQualifiedName();
+            this.declaration = type.getTypeDeclaration().orElse(null);
+        }
     }
 
     /**
@@ -357,15 +839,29 @@ public class SourceComponent implements ParsedCompositeComponent {
     }
 
     public Map<String, ParsedComponent> getExternalComponents() {
-        return externalComponents;
+        return state.externalComponents;
     }
 
+    /**
+     * @return read only view of the distinct {@link TypeRelation}s.
+     */
     public Set<TypeRelation> getAllRelations() {
-        return new HashSet<>(allRelations);
+        return state.allRelations.asSet();
     }
 
+    /**
+     * @return every {@link TypeRelation} repeated as many times as it has been found, in a new list. Prefer
+     * {@link #getRelations()} which does not create a {@link TypeRelation} for every occurrence.
+     */
     public List<TypeRelation> getRelationsList() {
-        return allRelations;
+        return state.allRelations.toList();
+    }
+
+    /**
+     * @return distinct {@link TypeRelation}s with their multiplicities.
+     */
+    public TypeRelationStore getRelations() {
+        return state.allRelations;
     }
 
     public boolean isExternalDependenciesIncluded() {
@@ -374,10 +870,11 @@ public class SourceComponent implements ParsedCompositeComponent {
 
     @Override
     public String toString() {
+        var state = this.state;
         return "SourceComponent{" +
-                "children=" + children +
-                ", externalComponents=" + externalComponents +
-                ", allRelations=" + allRelations +
+                "children=" + state.children +
+                ", externalComponents=" + state.externalComponents +
+                ", allRelations=" + state.allRelations +
                 '}';
     }
 }
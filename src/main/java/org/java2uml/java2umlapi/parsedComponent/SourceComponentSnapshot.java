@@ -0,0 +1,511 @@
+package org.java2uml.java2umlapi.parsedComponent;
+
+import org.java2uml.java2umlapi.util.umlSymbols.RelationsSymbol;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Writes a {@link SourceComponent} to a compact binary snapshot and reads it back, so that a parsed project can be
+ * restored without parsing its source files again.
+ * </p>
+ *
+ * <p>
+ * Snapshot contains types, their members and signatures, distinct {@link TypeRelation}s with their multiplicities
+ * and qualified signatures of the methods called by every method. All the names are stored once in a string table
+ * and referenced by their index. Source code of a type is stored once, source code of its members refers to the part
+ * of the type's source code in which they are declared, unless it can not be found there. Source code is decoded
+ * only when it is requested, directly from the memory mapped snapshot file.
+ * </p>
+ *
+ * <p>
+ * Restored {@link SourceComponent} does not contain {@link com.github.javaparser.ast.CompilationUnit}s, so it can be
+ * used for generating uml, light weight entities, dependency matrix and call graphs, but not for reparsing. As it
+ * retains only names, signatures and encoded source code, it is also used as a compact in memory replacement of a
+ * parsed {@link SourceComponent}, see {@link #compact(SourceComponent)}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public abstract class SourceComponentSnapshot {
+    private static final int MAGIC = 0x4A32554D;
+    private static final int VERSION = 3;
+    private static final int NULL = -1;
+    /**
+     * Indentation of members in the source code of their type, as printed by java parser.
+     */
+    private static final String MEMBER_INDENTATION = "    ";
+
+    private static final byte EXTERNAL_DEPENDENCIES_INCLUDED = 1;
+
+    private static final byte CLASS = 0;
+    private static final byte INTERFACE = 1;
+    private static final byte ENUM = 2;
+
+    private static final byte FIELD = 0;
+    private static final byte CONSTRUCTOR = 1;
+    private static final byte METHOD = 2;
+    private static final byte ENUM_CONSTANT = 3;
+
+    /**
+     * Writes snapshot of given source component to the file, file is replaced if it already exists.
+     *
+     * @param sourceComponent to be written.
+     * @param file            to which snapshot is written.
+     * @throws IOException if snapshot can not be written.
+     */
+    public static void write(SourceComponent sourceComponent, Path file) throws IOException {
+        try (var out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            write(sourceComponent, out);
+        }
+    }
+
+    /**
+     * Converts given source component to a compact source component which does not retain the
+     * {@link com.github.javaparser.ast.CompilationUnit}s, every name is kept only once and source code is kept encoded
+     * in a single byte array. Methods called by every method are resolved while converting.
+     *
+     * @param sourceComponent to be converted.
+     * @return compact {@link SourceComponent} equivalent to given source component.
+     */
+    public static SourceComponent compact(SourceComponent sourceComponent) {
+        var bytes = new ByteArrayOutputStream();
+        try {
+            write(sourceComponent, bytes);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        var buffer = ByteBuffer.wrap(bytes.toByteArray());
+        buffer.position(Integer.BYTES * 2);
+        return new Reader(buffer).read();
+    }
+
+    /**
+     * Writes snapshot of given source component to the stream, stream is not closed.
+     *
+     * @param sourceComponent to be written.
+     * @param outputStream    to which snapshot is written.
+     * @throws IOException if snapshot can not be written.
+     */
+    private static void write(SourceComponent sourceComponent, OutputStream outputStream) throws IOException {
+        var writer = new Writer();
+        var records = writer.records;
+        // Types, external components and relations are written from the same state, even if the source component is
+        // updated meanwhile.
+        var state = sourceComponent.getState();
+
+        records.writeInt(state.children.size());
+        for (var type : state.children.values()) writer.writeType(type);
+
+        records.writeInt(state.externalComponents.size());
+        for (var external : state.externalComponents.values()) writer.writeExternal(external);
+
+        var relations = state.allRelations;
+        records.writeInt(relations.size());
+        for (int i = 0; i < relations.size(); i++) {
+            var relation = relations.get(i);
+            writer.writeString(relation.getFrom().getName());
+            writer.writeString(relation.getTo().getName());
+            writer.writeString(relation.getRelationsType());
+            writer.writeString(relation.getRelationsSymbol().name());
+            records.writeInt(relations.getMultiplicity(i));
+        }
+        records.flush();
+
+        var out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeByte(sourceComponent.isExternalDependenciesIncluded() ? EXTERNAL_DEPENDENCIES_INCLUDED : 0);
+
+        out.writeInt(writer.strings.size());
+        for (var string : writer.strings) {
+            var bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeInt(writer.bodies.size());
+        writer.bodies.writeTo(out);
+        writer.recordBytes.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Reads snapshot from the file, file is memory mapped and source code is decoded from it only when requested.
+     *
+     * @param file from which snapshot is read.
+     * @return restored {@link SourceComponent}.
+     * @throws IOException if file can not be read or if it is not a snapshot of the supported version.
+     */
+    public static SourceComponent read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                throw new IOException("Unsupported snapshot " + file);
+
+            return new Reader(buffer).read();
+        } catch (RuntimeException exception) {
+            throw new IOException("Corrupted snapshot " + file, exception);
+        }
+    }
+
+    /**
+     * Collects strings, source code and records of a snapshot.
+     */
+    private static class Writer {
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final ByteArrayOutputStream bodies = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        private final DataOutputStream records = new DataOutputStream(recordBytes);
+        /**
+         * Source code of the type whose members are being written, and its offset in bodies.
+         */
+        private String typeBody;
+        private int typeBodyOffset;
+
+        private void writeType(ParsedComponent type) throws IOException {
+            Map<String, ParsedComponent> children;
+            typeBody = null;
+            if (type.isParsedEnumComponent()) {
+                var enumComponent = type.asParsedEnumComponent().orElseThrow();
+                records.writeByte(ENUM);
+                writeString(enumComponent.getName());
+                writeString(enumComponent.getPackageName());
+                children = enumComponent.getChildren();
+            } else {
+                var classOrInterface = type.asParsedClassOrInterfaceComponent().orElseThrow();
+                records.writeByte(classOrInterface.isClass() ? CLASS : INTERFACE);
+                writeString(classOrInterface.getName());
+                writeString(classOrInterface.getPackageName());
+                writeString(classOrInterface.getTypeDeclarationSymbol());
+                writeStrings(classOrInterface.getTypeParameters());
+                typeBody = classOrInterface.getBody();
+                typeBodyOffset = bodies.size();
+                writeBody(Optional.of(typeBody));
+                children = classOrInterface.getChildren();
+            }
+
+            records.writeInt(children.size());
+            for (var member : children.values()) writeMember(member);
+        }
+
+        private void writeMember(ParsedComponent member) throws IOException {
+            if (member.isParsedFieldComponent()) {
+                var field = member.asParsedFieldComponent().orElseThrow();
+                records.writeByte(FIELD);
+                writeString(field.getSimpleName());
+                writeString(field.getTypeName());
+                writeString(field.getClassOfField());
+                writeString(field.getVisibility());
+                records.writeBoolean(field.isStatic());
+            } else if (member.isParsedConstructorComponent()) {
+                var constructor = member.asParsedConstructorComponent().orElseThrow();
+                records.writeByte(CONSTRUCTOR);
+                writeString(constructor.getName());
+                writeString(constructor.getSignature());
+                writeString(constructor.getVisibility());
+                writeParameters(constructor.getParameters());
+                writeStrings(constructor.getTypeParameters());
+                writeStrings(constructor.getSpecifiedExceptions());
+                writeMemberBody(constructor.getBody());
+            } else if (member.isParsedMethodComponent()) {
+                var method = member.asParsedMethodComponent().orElseThrow();
+                records.writeByte(METHOD);
+                writeString(method.getName());
+                writeString(method.getSignature());
+                writeString(method.getReturnTypeName());
+                writeString(method.getVisibility());
+                records.writeBoolean(method.isStatic());
+                writeParameters(method.getParameters());
+                writeStrings(method.getTypeParameters());
+                writeStrings(method.getSpecifiedExceptions());
+                writeMemberBody(method.getBody());
+                writeStrings(method.getCalledMethods());
+            } else {
+                var enumConstant = member.asParsedEnumConstantComponent().orElseThrow();
+                records.writeByte(ENUM_CONSTANT);
+                writeString(enumConstant.getSimpleName());
+            }
+        }
+
+        private void writeExternal(ParsedComponent component) throws IOException {
+            var external = component.asParsedExternalComponent().orElseThrow();
+            writeString(external.getName());
+            writeString(external.getPackageName());
+            records.writeBoolean(external.isClass());
+            writeString(external.getTypeDeclarationSymbol());
+            writeStrings(external.getTypeParameters());
+        }
+
+        private void writeParameters(List<ParsedParameter> parameters) throws IOException {
+            records.writeInt(parameters.size());
+            for (var parameter : parameters) {
+                writeString(parameter.getName());
+                writeString(parameter.getTypeName());
+            }
+        }
+
+        private void writeStrings(List<String> strings) throws IOException {
+            records.writeInt(strings.size());
+            for (var string : strings) writeString(string);
+        }
+
+        private void writeString(String string) throws IOException {
+            if (string == null) {
+                records.writeInt(NULL);
+                return;
+            }
+
+            var index = stringIndexes.get(string);
+            if (index == null) {
+                index = strings.size();
+                strings.add(string);
+                stringIndexes.put(string, index);
+            }
+            records.writeInt(index);
+        }
+
+        private void writeBody(Optional<String> body) throws IOException {
+            if (body.isEmpty()) {
+                records.writeInt(NULL);
+                records.writeInt(0);
+                records.writeBoolean(false);
+                return;
+            }
+
+            var bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            records.writeInt(bodies.size());
+            records.writeInt(bytes.length);
+            records.writeBoolean(false);
+            bodies.write(bytes);
+        }
+
+        /**
+         * Writes reference to the source code of a member in the source code of its type, in which it is indented
+         * by {@link #MEMBER_INDENTATION}. Source code is written separately if it can not be found there.
+         *
+         * @param body source code of the member.
+         * @throws IOException if body can not be written.
+         */
+        private void writeMemberBody(Optional<String> body) throws IOException {
+            if (body.isEmpty() || typeBody == null) {
+                writeBody(body);
+                return;
+            }
+
+            var indented = indent(body.get());
+            var index = typeBody.indexOf(indented);
+            if (index < 0) {
+                writeBody(body);
+                return;
+            }
+
+            records.writeInt(typeBodyOffset + typeBody.substring(0, index).getBytes(StandardCharsets.UTF_8).length);
+            records.writeInt(indented.getBytes(StandardCharsets.UTF_8).length);
+            records.writeBoolean(true);
+        }
+
+        /**
+         * @param body source code of a member.
+         * @return given source code with every line which is not blank indented by {@link #MEMBER_INDENTATION}.
+         */
+        private static String indent(String body) {
+            var indented = new StringBuilder(body.length() + body.length() / 8);
+            var lineStart = true;
+            for (int i = 0; i < body.length(); i++) {
+                var c = body.charAt(i);
+                if (lineStart && c != '\n' && c != '\r') indented.append(MEMBER_INDENTATION);
+                lineStart = c == '\n';
+                indented.append(c);
+            }
+            return indented.toString();
+        }
+    }
+
+    /**
+     * Restores {@link SourceComponent} from a memory mapped snapshot.
+     */
+    private static class Reader {
+        private final ByteBuffer buffer;
+        private final SourceComponent sourceComponent;
+        private final String[] strings;
+        private final ByteBuffer bodies;
+
+        private Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.sourceComponent = new SourceComponent((buffer.get() & EXTERNAL_DEPENDENCIES_INCLUDED) != 0);
+
+            this.strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                var bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            var bodiesLength = buffer.getInt();
+            this.bodies = buffer.slice().limit(bodiesLength);
+            buffer.position(buffer.position() + bodiesLength);
+        }
+
+        private SourceComponent read() {
+            var children = sourceComponent.getChildren();
+            var typeCount = buffer.getInt();
+            for (int i = 0; i < typeCount; i++) {
+                var type = readType();
+                children.put(type.getName(), type);
+            }
+
+            var externalComponents = sourceComponent.getExternalComponents();
+            var externalCount = buffer.getInt();
+            for (int i = 0; i < externalCount; i++) {
+                var external = new ParsedExternalComponent(readString(), readString(), buffer.get() != 0,
+                        readString(), readStrings());
+                externalComponents.put(external.getName(), external);
+            }
+
+            var relations = sourceComponent.getRelations();
+            var relationCount = buffer.getInt();
+            for (int i = 0; i < relationCount; i++) {
+                var from = findType(readString());
+                var to = findType(readString());
+                var relationsType = readString();
+                var relationsSymbol = RelationsSymbol.valueOf(readString());
+                relations.add(from, to, relationsType, relationsSymbol, buffer.getInt());
+            }
+
+            return sourceComponent;
+        }
+
+        private ParsedComponent readType() {
+            var kind = buffer.get();
+            var name = readString();
+            var packageName = readString();
+
+            if (kind == ENUM) {
+                var enumComponent = new ParsedEnumComponent(name, packageName, sourceComponent);
+                readMembers(enumComponent, enumComponent::addChild);
+                return enumComponent;
+            }
+
+            var classOrInterface = new ParsedClassOrInterfaceComponent(name, packageName, kind == CLASS,
+                    readString(), readStrings(), bodySupplier(name + " {}"), sourceComponent);
+            readMembers(classOrInterface, classOrInterface::addChild);
+            return classOrInterface;
+        }
+
+        private void readMembers(ParsedComponent parent, Consumer<ParsedComponent> addChild) {
+            var memberCount = buffer.getInt();
+            for (int i = 0; i < memberCount; i++) {
+                var kind = buffer.get();
+                ParsedComponent member;
+                if (kind == FIELD) {
+                    member = new ParsedFieldComponent(parent, readString(), readString(), readString(), readString(),
+                            buffer.get() != 0);
+                } else if (kind == CONSTRUCTOR) {
+                    member = new ParsedConstructorComponent(parent, readString(), readString(), readString(),
+                            readParameters(), readStrings(), readStrings(), optionalBodySupplier());
+                } else if (kind == METHOD) {
+                    member = new ParsedMethodComponent(parent, readString(), readString(), readString(),
+                            readString(), buffer.get() != 0, readParameters(), readStrings(), readStrings(),
+                            optionalBodySupplier(), readStrings());
+                } else {
+                    member = new ParsedEnumConstantComponent(readString(), parent);
+                }
+                addChild.accept(member);
+            }
+        }
+
+        private ParsedCompositeComponent findType(String name) {
+            var type = sourceComponent.getChildren().get(name);
+            if (type == null) type = sourceComponent.getExternalComponents().get(name);
+
+            return type.asParsedCompositeComponent()
+                    .orElseThrow(() -> new IllegalStateException("Relation refers to unknown type " + name));
+        }
+
+        private List<ParsedParameter> readParameters() {
+            var parameters = new ParsedParameter[buffer.getInt()];
+            for (int i = 0; i < parameters.length; i++) parameters[i] = new ParsedParameter(readString(), readString());
+            return List.of(parameters);
+        }
+
+        private List<String> readStrings() {
+            var strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) strings[i] = readString();
+            return List.of(strings);
+        }
+
+        private String readString() {
+            var index = buffer.getInt();
+            return index == NULL ? null : strings[index];
+        }
+
+        /**
+         * @param defaultBody body used if snapshot does not contain one.
+         * @return supplier decoding the body from the snapshot each time it is called.
+         */
+        private Supplier<String> bodySupplier(String defaultBody) {
+            var body = optionalBodySupplier();
+            return () -> body.get().orElse(defaultBody);
+        }
+
+        /**
+         * @return supplier decoding the body from the snapshot each time it is called.
+         */
+        private Supplier<Optional<String>> optionalBodySupplier() {
+            var offset = buffer.getInt();
+            var length = buffer.getInt();
+            var isIndented = buffer.get() != 0;
+            if (offset == NULL) return Optional::empty;
+
+            return () -> {
+                var bytes = new byte[length];
+                bodies.duplicate().position(offset).get(bytes);
+                var body = new String(bytes, StandardCharsets.UTF_8);
+                return Optional.of(isIndented ? unindent(body) : body);
+            };
+        }
+
+        /**
+         * @param body source code of a member as it is in the source code of its type.
+         * @return given source code with {@link #MEMBER_INDENTATION} removed from the start of every line.
+         */
+        private static String unindent(String body) {
+            var unindented = new StringBuilder(body.length());
+            var lineStart = 0;
+            while (lineStart < body.length()) {
+                var lineEnd = body.indexOf('\n', lineStart) + 1;
+                if (lineEnd == 0) lineEnd = body.length();
+                var start = body.startsWith(MEMBER_INDENTATION, lineStart)
+                        ? lineStart + MEMBER_INDENTATION.length() : lineStart;
+                unindented.append(body, start, lineEnd);
+                lineStart = lineEnd;
+            }
+            return unindented.toString();
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package org.java2uml.java2umlapi.parsedComponent;
+
+import org.java2uml.java2umlapi.util.umlSymbols.RelationsSymbol;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * Stores {@link TypeRelation}s of a {@link SourceComponent} without duplicates. A relation is kept as a single long
+ * packing indexes of its from and to components and of its kind i.e. relations type and {@link RelationsSymbol},
+ * adding a relation which is already present only increments its multiplicity, for eg. a class with many methods
+ * taking the same type as parameter has a single dependency relation to it whose multiplicity is number of those
+ * parameters.
+ * </p>
+ *
+ * <p>
+ * Relations are kept in the order in which they were first added. {@link TypeRelation} instances are created only
+ * when they are requested, see {@link #get(int)} and {@link #asSet()}.
+ * </p>
+ *
+ * <p>
+ * Store is not thread safe, it is built by a single thread and only read after it has been published by
+ * {@link SourceComponent}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class TypeRelationStore {
+    private static final int KIND_BITS = 4;
+    private static final int INDEX_BITS = 30;
+    private static final int MAX_KINDS = 1 << KIND_BITS;
+    private static final int MAX_COMPONENTS = 1 << INDEX_BITS;
+    private static final long INDEX_MASK = MAX_COMPONENTS - 1;
+    private static final long KIND_MASK = MAX_KINDS - 1;
+
+    private final List<ParsedCompositeComponent> components = new ArrayList<>();
+    private final Map<ParsedCompositeComponent, Integer> componentIndexes = new IdentityHashMap<>();
+    private final List<String> relationsTypes = new ArrayList<>();
+    private final List<RelationsSymbol> relationsSymbols = new ArrayList<>();
+    private long[] relations = new long[16];
+    private int[] multiplicities = new int[16];
+    /**
+     * Open addressing hash table of relations, each slot holds index of a relation plus one, 0 if slot is empty.
+     */
+    private int[] slots = new int[32];
+    private int size;
+    private long totalMultiplicity;
+
+    /**
+     * Adds a relation or increments its multiplicity if it is already present.
+     *
+     * @param from            ParsedCompositeComponent from which relation is defined.
+     * @param to              ParsedCompositeComponent to which relation is defined.
+     * @param relationsType   type of relation, for e.g. ASSOCIATION, AGGREGATION, DEPENDENCY, EXTENSION.
+     * @param relationsSymbol symbol of relation.
+     */
+    void add(ParsedCompositeComponent from, ParsedCompositeComponent to, String relationsType,
+             RelationsSymbol relationsSymbol) {
+        add(from, to, relationsType, relationsSymbol, 1);
+    }
+
+    /**
+     * Adds a relation with given multiplicity or increments its multiplicity if it is already present.
+     *
+     * @param from            ParsedCompositeComponent from which relation is defined.
+     * @param to              ParsedCompositeComponent to which relation is defined.
+     * @param relationsType   type of relation, for e.g. ASSOCIATION, AGGREGATION, DEPENDENCY, EXTENSION.
+     * @param relationsSymbol symbol of relation.
+     * @param multiplicity    number of times relation occurs, must be positive.
+     * @throws IllegalArgumentException if multiplicity is not positive.
+     * @throws IllegalStateException    if store can not hold any more components or kinds of relations.
+     */
+    void add(ParsedCompositeComponent from, ParsedCompositeComponent to, String relationsType,
+             RelationsSymbol relationsSymbol, int multiplicity) {
+        if (multiplicity < 1) throw new IllegalArgumentException("Multiplicity must be positive: " + multiplicity);
+
+        var relation = pack(indexOf(from), indexOf(to), kindOf(relationsType, relationsSymbol));
+        totalMultiplicity += multiplicity;
+
+        var slot = slotOf(relation);
+        if (slots[slot] != 0) {
+            multiplicities[slots[slot] - 1] += multiplicity;
+            return;
+        }
+
+        if (size == relations.length) {
+            relations = Arrays.copyOf(relations, size * 2);
+            multiplicities = Arrays.copyOf(multiplicities, size * 2);
+        }
+
+        relations[size] = relation;
+        multiplicities[size] = multiplicity;
+        size++;
+        slots[slot] = size;
+        if (size * 2 > slots.length) rehash(slots.length * 2);
+    }
+
+    /**
+     * Adds every relation of given store with its multiplicity, in order of given store.
+     *
+     * @param other store whose relations are to be added.
+     */
+    void addAll(TypeRelationStore other) {
+        for (int i = 0; i < other.size; i++) {
+            var kind = other.kindAt(i);
+            add(other.getFrom(i), other.getTo(i), other.relationsTypes.get(kind), other.relationsSymbols.get(kind),
+                    other.multiplicities[i]);
+        }
+    }
+
+    /**
+     * @param predicate which relations have to satisfy.
+     * @return new store containing the relations which satisfy given predicate, with their multiplicity.
+     */
+    TypeRelationStore filter(Predicate<TypeRelation> predicate) {
+        var filtered = new TypeRelationStore();
+        for (int i = 0; i < size; i++) {
+            var relation = get(i);
+            if (predicate.test(relation))
+                filtered.add(relation.getFrom(), relation.getTo(), relation.getRelationsType(),
+                        relation.getRelationsSymbol(), multiplicities[i]);
+        }
+        return filtered;
+    }
+
+    /**
+     * @return number of distinct relations.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of relations including duplicates, i.e. sum of multiplicities of all the relations.
+     */
+    public long getTotalMultiplicity() {
+        return totalMultiplicity;
+    }
+
+    /**
+     * @param i index of the relation, in order in which relations were first added.
+     * @return new {@link TypeRelation} instance for the relation.
+     */
+    public TypeRelation get(int i) {
+        var kind = kindAt(i);
+        return new TypeRelation(getFrom(i), getTo(i), relationsTypes.get(kind), relationsSymbols.get(kind));
+    }
+
+    /**
+     * @param i index of the relation.
+     * @return ParsedCompositeComponent from which relation is defined.
+     */
+    public ParsedCompositeComponent getFrom(int i) {
+        checkIndex(i);
+        return components.get((int) (relations[i] >>> (INDEX_BITS + KIND_BITS)));
+    }
+
+    /**
+     * @param i index of the relation.
+     * @return ParsedCompositeComponent to which relation is defined.
+     */
+    public ParsedCompositeComponent getTo(int i) {
+        checkIndex(i);
+        return components.get((int) ((relations[i] >>> KIND_BITS) & INDEX_MASK));
+    }
+
+    /**
+     * @param i index of the relation.
+     * @return number of times relation has been added.
+     */
+    public int getMultiplicity(int i) {
+        checkIndex(i);
+        return multiplicities[i];
+    }
+
+    /**
+     * @return read only view of the distinct relations, {@link TypeRelation} instances are created while iterating.
+     */
+    public Set<TypeRelation> asSet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<TypeRelation> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public TypeRelation next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return get(next++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof TypeRelation && TypeRelationStore.this.contains((TypeRelation) o);
+            }
+        };
+    }
+
+    /**
+     * @return every relation repeated as many times as its multiplicity, in a new list.
+     */
+    public List<TypeRelation> toList() {
+        List<TypeRelation> list = new ArrayList<>((int) Math.min(Integer.MAX_VALUE - 8, totalMultiplicity));
+        for (int i = 0; i < size; i++) {
+            var relation = get(i);
+            for (int j = 0; j < multiplicities[i]; j++) list.add(relation);
+        }
+        return list;
+    }
+
+    /**
+     * @param relation to be looked for.
+     * @return true if store contains a relation with same components and relations type.
+     */
+    private boolean contains(TypeRelation relation) {
+        var from = componentIndexes.get(relation.getFrom());
+        var to = componentIndexes.get(relation.getTo());
+        if (from == null || to == null) return false;
+
+        for (int kind = 0; kind < relationsTypes.size(); kind++) {
+            if (relationsTypes.get(kind).equals(relation.getRelationsType())
+                    && slots[slotOf(pack(from, to, kind))] != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param component a ParsedCompositeComponent.
+     * @return index of the component, component is added if it is not present.
+     */
+    private int indexOf(ParsedCompositeComponent component) {
+        var index = componentIndexes.get(component);
+        if (index != null) return index;
+
+        if (components.size() == MAX_COMPONENTS)
+            throw new IllegalStateException("[TypeRelationStore] Too many components.");
+
+        components.add(component);
+        componentIndexes.put(component, components.size() - 1);
+        return components.size() - 1;
+    }
+
+    /**
+     * @param relationsType   type of relation.
+     * @param relationsSymbol symbol of relation.
+     * @return index of the kind, kind is added if it is not present.
+     */
+    private int kindOf(String relationsType, RelationsSymbol relationsSymbol) {
+        for (int kind = 0; kind < relationsTypes.size(); kind++) {
+            if (relationsTypes.get(kind).equals(relationsType) && relationsSymbols.get(kind) == relationsSymbol)
+                return kind;
+        }
+
+        if (relationsTypes.size() == MAX_KINDS)
+            throw new IllegalStateException("[TypeRelationStore] Too many kinds of relations.");
+
+        relationsTypes.add(relationsType);
+        relationsSymbols.add(relationsSymbol);
+        return relationsTypes.size() - 1;
+    }
+
+    private int kindAt(int i) {
+        checkIndex(i);
+        return (int) (relations[i] & KIND_MASK);
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+    }
+
+    private static long pack(long from, long to, long kind) {
+        return from << (INDEX_BITS + KIND_BITS) | to << KIND_BITS | kind;
+    }
+
+    /**
+     * @param relation packed relation.
+     * @return slot holding given relation, or empty slot where it should be added.
+     */
+    private int slotOf(long relation) {
+        var mask = slots.length - 1;
+        var slot = hash(relation) & mask;
+        while (slots[slot] != 0 && relations[slots[slot] - 1] != relation) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        var mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            var slot = hash(relations[i]) & mask;
+            while (slots[slot] != 0) slot = (slot + 1) & mask;
+            slots[slot] = i + 1;
+        }
+    }
+
+    private static int hash(long relation) {
+        var h = relation * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,171 @@
+package org.java2uml.java2umlapi.parsedComponent.service;
+
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Keeps track of the content hashes of parsed projects, so that parse results can be reused when the
+ * same archive or an archive with mostly the same java files is uploaded again.
+ * </p>
+ *
+ * <p>
+ * Every entry is keyed by the SHA-256 hash of the uploaded archive, and additionally records the SHA-256 hash
+ * of every java file present in it. Entries are only valid as long as the {@link
+ * org.java2uml.java2umlapi.parsedComponent.SourceComponent} of the corresponding project is alive, which is
+ * ensured by {@link SourceComponentService}.
+ * </p>
+ *
+ * <p>
+ * Entries are kept in memory only. Parse results are reused by sharing compilation units of live source components,
+ * which do not survive restarts, see {@link SourceComponentSnapshotService}, so persisted entries could not be used
+ * after a restart anyway. Every java file of an entry is indexed by its relative path and content hash, so that
+ * closest entry is found by looking up the files of the new project instead of comparing it with every entry.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@Service
+public class ParseCacheService {
+    private final Map<Long, Entry> entries;
+    private final Map<String, Set<Long>> projectsByArchiveHash;
+    /**
+     * Projects containing a java file, keyed by relative path and content hash of the file.
+     */
+    private final Map<Map.Entry<String, String>, Set<Long>> projectsByFile;
+
+    public ParseCacheService() {
+        this.entries = new ConcurrentHashMap<>();
+        this.projectsByArchiveHash = new ConcurrentHashMap<>();
+        this.projectsByFile = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds an entry for the project with given id, existing entry is replaced.
+     *
+     * @param projectInfoId id of the corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @param archiveHash   SHA-256 hash of the uploaded archive.
+     * @param sourceRoot    directory which was parsed.
+     * @param fileHashes    SHA-256 hashes of the java files, keyed by their path relative to sourceRoot.
+     */
+    public void put(Long projectInfoId, String archiveHash, Path sourceRoot, Map<String, String> fileHashes) {
+        delete(projectInfoId);
+        var entry = new Entry(projectInfoId, archiveHash, sourceRoot, fileHashes);
+        entries.put(projectInfoId, entry);
+        projectsByArchiveHash.computeIfAbsent(archiveHash, hash -> ConcurrentHashMap.newKeySet()).add(projectInfoId);
+        entry.getFileHashes().entrySet().forEach(file -> projectsByFile
+                .computeIfAbsent(Map.entry(file.getKey(), file.getValue()), key -> ConcurrentHashMap.newKeySet())
+                .add(projectInfoId));
+    }
+
+    /**
+     * @param projectInfoId id of the corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @return Optional of {@link Entry}, empty if project has no entry.
+     */
+    public Optional<Entry> get(Long projectInfoId) {
+        return Optional.ofNullable(entries.get(projectInfoId));
+    }
+
+    /**
+     * @param archiveHash SHA-256 hash of the archive.
+     * @return Optional of {@link Entry} of any project which was parsed from an identical archive.
+     */
+    public Optional<Entry> findByArchiveHash(String archiveHash) {
+        var projects = projectsByArchiveHash.get(archiveHash);
+        if (projects == null) return Optional.empty();
+
+        return projects.stream()
+                .map(entries::get)
+                .filter(entry -> entry != null && entry.getArchiveHash().equals(archiveHash))
+                .findFirst();
+    }
+
+    /**
+     * Finds the entry which has most java files in common with the given file hashes, a file is common if
+     * it has same relative path and same content hash.
+     *
+     * @param fileHashes SHA-256 hashes of the java files, keyed by their relative path.
+     * @return Optional of {@link Entry}, empty if no entry has any file in common.
+     */
+    public Optional<Entry> findClosest(Map<String, String> fileHashes) {
+        Map<Long, Integer> commonFiles = new HashMap<>();
+        fileHashes.forEach((file, hash) -> {
+            var projects = projectsByFile.get(Map.entry(file, hash));
+            if (projects != null) projects.forEach(project -> commonFiles.merge(project, 1, Integer::sum));
+        });
+
+        return commonFiles.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                .map(project -> entries.get(project.getKey()))
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    /**
+     * Deletes the entry of the project with given id, if present.
+     *
+     * @param projectInfoId id of the corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     */
+    public void delete(Long projectInfoId) {
+        var entry = entries.remove(projectInfoId);
+        if (entry == null) return;
+
+        projectsByArchiveHash.computeIfPresent(entry.getArchiveHash(), (hash, projects) -> {
+            projects.remove(projectInfoId);
+            return projects.isEmpty() ? null : projects;
+        });
+        entry.getFileHashes().entrySet().forEach(file -> projectsByFile
+                .computeIfPresent(Map.entry(file.getKey(), file.getValue()), (key, projects) -> {
+                    projects.remove(projectInfoId);
+                    return projects.isEmpty() ? null : projects;
+                }));
+    }
+
+    /**
+     * <p>
+     * Content hashes recorded for a parsed project.
+     * </p>
+     */
+    public static class Entry {
+        private final Long projectInfoId;
+        private final String archiveHash;
+        private final Path sourceRoot;
+        private final Map<String, String> fileHashes;
+
+        public Entry(Long projectInfoId, String archiveHash, Path sourceRoot, Map<String, String> fileHashes) {
+            this.projectInfoId = projectInfoId;
+            this.archiveHash = archiveHash;
+            this.sourceRoot = sourceRoot;
+            this.fileHashes = Map.copyOf(fileHashes);
+        }
+
+        public Long getProjectInfoId() {
+            return projectInfoId;
+        }
+
+        public String getArchiveHash() {
+            return archiveHash;
+        }
+
+        /**
+         * @return directory which was parsed.
+         */
+        public Path getSourceRoot() {
+            return sourceRoot;
+        }
+
+        /**
+         * @return SHA-256 hashes of the java files, keyed by their path relative to source root.
+         */
+        public Map<String, String> getFileHashes() {
+            return fileHashes;
+        }
+    }
+}
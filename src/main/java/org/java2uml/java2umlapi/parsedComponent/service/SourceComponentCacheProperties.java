@@ -0,0 +1,97 @@
+package org.java2uml.java2umlapi.parsedComponent.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * Stores configuration properties which bound the memory used by source components kept by
+ * {@link SourceComponentService}. Evicted source components are restored from their snapshot or parsed again when
+ * they are requested.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@ConfigurationProperties(prefix = "parsed-component.cache")
+public class SourceComponentCacheProperties {
+    /**
+     * Max number of distinct source components kept in memory, projects sharing a source component count once.
+     */
+    private int maxEntries = 64;
+    /**
+     * Max estimated size of all source components kept in memory.
+     */
+    private DataSize maxRetainedSize = DataSize.ofGigabytes(1);
+    /**
+     * Source components which have not been requested for this long are evicted.
+     */
+    private Duration idleTtl = Duration.ofHours(1);
+    /**
+     * How often idle source components are looked for.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    /**
+     * Whether snapshots of parsed projects are written to disk, so that evicted projects are restored from their
+     * snapshot instead of being parsed again. Snapshots do not survive a restart.
+     */
+    private boolean snapshotEnabled = true;
+    /**
+     * Whether parsed projects are replaced by their compact form once it is ready, so that their ASTs can be garbage
+     * collected. Compact projects keep only their types, members and relations, so this trades memory for the cost of
+     * updates and uploads: an update of a compact project parses the whole project again instead of only the changed
+     * files, and its ASTs can not be reused for parsing near-identical projects. It is disabled by default, as keeping
+     * the ASTs is what makes both cheap. Method calls are resolved while converting, holding the resolution lock of the
+     * project, so requests for the same project wait for the conversion.
+     */
+    private boolean releaseAst = false;
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public DataSize getMaxRetainedSize() {
+        return maxRetainedSize;
+    }
+
+    public void setMaxRetainedSize(DataSize maxRetainedSize) {
+        this.maxRetainedSize = maxRetainedSize;
+    }
+
+    public Duration getIdleTtl() {
+        return idleTtl;
+    }
+
+    public void setIdleTtl(Duration idleTtl) {
+        this.idleTtl = idleTtl;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public void setSweepInterval(Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+
+    public void setSnapshotEnabled(boolean snapshotEnabled) {
+        this.snapshotEnabled = snapshotEnabled;
+    }
+
+    public boolean isReleaseAst() {
+        return releaseAst;
+    }
+
+    public void setReleaseAst(boolean releaseAst) {
+        this.releaseAst = releaseAst;
+    }
+}
@@ -1,47 +1,152 @@
 package org.java2uml.java2umlapi.parsedComponent.service;
 
+import com.github.javaparser.ast.CompilationUnit;
 import org.java2uml.java2umlapi.exceptions.EmptySourceDirectoryException;
+import org.java2uml.java2umlapi.executor.JobRegistry;
+import org.java2uml.java2umlapi.executor.Lane;
+import org.java2uml.java2umlapi.executor.Priority;
+import org.java2uml.java2umlapi.executor.SingleFlight;
+import org.java2uml.java2umlapi.fileStorage.exceptions.FileStorageException;
+import org.java2uml.java2umlapi.fileStorage.SourceFilterProperties;
 import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
 import org.java2uml.java2umlapi.parser.Parser;
+import org.java2uml.java2umlapi.parser.ParserProperties;
 import org.java2uml.java2umlapi.restControllers.exceptions.BadRequest;
+import org.java2uml.java2umlapi.restControllers.exceptions.ParsedComponentNotFoundException;
+import org.java2uml.java2umlapi.util.cancellation.CancellationService;
+import org.java2uml.java2umlapi.util.hash.ContentHash;
+import org.java2uml.java2umlapi.util.metrics.MetricSource;
+import org.java2uml.java2umlapi.util.sourceFilter.SourceFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>
  * A service class for managing source component instances. provides basic crud operations.
  * </p>
  *
+ * <p>
+ * Memory used by source components is bounded by {@link SourceComponentCacheProperties}, least recently requested
+ * source components are evicted when there are too many of them, when their estimated retained size exceeds the
+ * budget or when they have been idle for too long. Only source components which were parsed from a path or whose
+ * snapshot has been written can be evicted, they are restored from their snapshot or parsed again from the same path
+ * when they are requested after eviction. Parsing again is done by a job on {@link Lane#PARSE}, so that the caller,
+ * for eg. a request thread, is not held up by it, only one such job of a project runs at a time.
+ * </p>
+ *
+ * <p>
+ * Snapshots are written by {@link SourceComponentSnapshotService} after a project has been parsed and are keyed by
+ * its content hash. Only projects whose content hash is known are restored, so a deleted project is never restored
+ * from snapshot of another project having the same content.
+ * </p>
+ *
+ * <p>
+ * Parsing of a project checks its {@link org.java2uml.java2umlapi.util.cancellation.CancellationToken} between its
+ * stages and before the result is stored, so that a project deleted while it is being parsed neither keeps being
+ * parsed nor is stored afterwards, see {@link CancellationService}.
+ * </p>
+ *
+ * <p>
+ * If enabled by {@link SourceComponentCacheProperties#isReleaseAst()}, parsed source component is replaced by
+ * its compact form once it has been converted in background, so that its {@link CompilationUnit}s can be garbage
+ * collected. Compact source component can not be updated in place, so it is parsed again on update.
+ * </p>
+ *
  * @author kawaiifox
  */
 @Service
-public class SourceComponentService {
+public class SourceComponentService implements MetricSource {
+    private static final String REPARSE = "reparse";
+    /**
+     * Rough estimate of the heap retained by a single AST node, including its tokens, range and the
+     * data cached on it by symbol solver.
+     */
+    private static final long ESTIMATED_BYTES_PER_NODE = 512;
+    /**
+     * Rough estimate of the heap retained by a single component of a compact source component, source code of
+     * compact components is not counted as it is either read from the snapshot when requested or kept encoded.
+     */
+    private static final long ESTIMATED_BYTES_PER_COMPONENT = 256;
+
     private final Map<Long, SourceComponent> sourceComponents;
-    private final Set<Long> toBeDeleted;
+    private final Map<Long, ParseSource> parseSources;
+    private final Map<Long, Long> estimatedSizes;
+    private final Map<Long, Long> lastAccessTimes;
+    private final Map<Long, String> contentHashes;
+    private final List<Consumer<Long>> evictionListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Long>> deletionListeners = new CopyOnWriteArrayList<>();
+    private final ParserProperties parserProperties;
+    private final SourceFilter sourceFilter;
+    private final SourceComponentCacheProperties cacheProperties;
+    private final ParseCacheService parseCacheService;
+    private final SourceComponentSnapshotService snapshotService;
+    private final CancellationService cancellationService;
+    private final JobRegistry jobRegistry;
+    private final SingleFlight singleFlight;
+    private final Object restoreLock = new Object();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+    private final Logger logger = LoggerFactory.getLogger(SourceComponentService.class);
 
-    public SourceComponentService() {
+    public SourceComponentService(ParserProperties parserProperties, SourceFilterProperties sourceFilterProperties,
+                                  SourceComponentCacheProperties cacheProperties,
+                                  ParseCacheService parseCacheService,
+                                  SourceComponentSnapshotService snapshotService,
+                                  CancellationService cancellationService, JobRegistry jobRegistry,
+                                  SingleFlight singleFlight) {
+        this.parserProperties = parserProperties;
+        this.sourceFilter = sourceFilterProperties.toSourceFilter();
+        this.cacheProperties = cacheProperties;
+        this.parseCacheService = parseCacheService;
+        this.snapshotService = snapshotService;
+        this.cancellationService = cancellationService;
+        this.jobRegistry = jobRegistry;
+        this.singleFlight = singleFlight;
         this.sourceComponents = new ConcurrentHashMap<>();
-        this.toBeDeleted = ConcurrentHashMap.newKeySet();
+        this.parseSources = new ConcurrentHashMap<>();
+        this.estimatedSizes = new ConcurrentHashMap<>();
+        this.lastAccessTimes = new ConcurrentHashMap<>();
+        this.contentHashes = new ConcurrentHashMap<>();
     }
 
     /**
      * Returns a Optional of SourceComponent, Optional is empty
-     * if source component has not been found with given index.
+     * if source component has not been found with given index. Source component which has been evicted
+     * is restored from its snapshot before returning it, if it has no snapshot it is parsed again in background and
+     * Optional is empty until it has been parsed, see {@link #isAvailable(Long)}.
      *
      * @param index of source component to be fetched.
      * @return Optional of SourceComponent
      */
     public Optional<SourceComponent> get(Long index) {
-        if (!sourceComponents.containsKey(index)) {
-            return Optional.empty();
+        var sourceComponent = sourceComponents.get(index);
+        if (sourceComponent == null) {
+            return reload(index);
         }
 
-        return Optional.of(sourceComponents.get(index));
+        lastAccessTimes.put(index, System.nanoTime());
+        return Optional.of(sourceComponent);
     }
 
     /**
@@ -49,14 +154,10 @@ public class SourceComponentService {
      *
      * @param sourceComponent to be saved
      * @param projectInfoId   id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @throws CancellationException if project has been deleted.
      */
     public void save(Long projectInfoId, SourceComponent sourceComponent) {
-        if (toBeDeleted.contains(projectInfoId)) {
-            toBeDeleted.remove(projectInfoId);
-            return;
-        }
-
-        sourceComponents.put(projectInfoId, sourceComponent);
+        put(projectInfoId, sourceComponent, null);
     }
 
     /**
@@ -64,28 +165,609 @@ public class SourceComponentService {
      *
      * @param path          on which source files located for parsing
      * @param projectInfoId id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
-     * @throws BadRequest if source directory does not contain any .java files.
+     * @throws BadRequest            if source directory does not contain any .java files.
+     * @throws CancellationException if project has been deleted.
      */
     public void save(Long projectInfoId, Path path) {
-        if (toBeDeleted.contains(projectInfoId)) {
-            toBeDeleted.remove(projectInfoId);
-            return;
+        var cancellationToken = cancellationService.tokenOf(projectInfoId);
+        cancellationToken.throwIfCancelled();
+
+        SourceComponent sourceComponent;
+        try {
+            sourceComponent = Parser.parse(path, List.of(), SourceFilter.ACCEPT_ALL,
+                    parserProperties.getResolutionParallelism(), Map.of(), cancellationToken);
+        } catch (EmptySourceDirectoryException exception) {
+            throw new BadRequest(exception.getMessage(), exception);
+        }
+
+        put(projectInfoId, sourceComponent, new ParseSource(path, List.of()));
+    }
+
+    /**
+     * <p>
+     * tries to generate a source component by parsing files on the provided path, and records content hashes
+     * of the archive and of every java file in {@link ParseCacheService}. Snapshot of the source component is
+     * written under the hash of the archive.
+     * </p>
+     *
+     * <p>
+     * If a previously parsed project has java files in common with this one, i.e. files with same relative path
+     * and same content, then compilation units of those files are reused instead of parsing them again.
+     * </p>
+     *
+     * @param projectInfoId id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @param path          on which source files located for parsing
+     * @param archiveHash   SHA-256 hash of the archive from which files were extracted.
+     * @throws BadRequest            if source directory does not contain any .java files.
+     * @throws CancellationException if project has been deleted.
+     */
+    public void save(Long projectInfoId, Path path, String archiveHash) {
+        save(projectInfoId, path, List.of(), archiveHash);
+    }
+
+    /**
+     * <p>
+     * Same as {@link #save(Long, Path, String)}, but .jar files present in given dependency directories are also
+     * used for resolving declarations. Path can be the root of a zip file system, in which case java files are
+     * read directly from the archive and jar files need to be provided as dependency directories.
+     * </p>
+     *
+     * @param projectInfoId   id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @param path            on which source files located for parsing
+     * @param dependencyPaths directories on default file system containing .jar files of the project.
+     * @param archiveHash     SHA-256 hash of the archive from which files were extracted.
+     * @throws BadRequest            if source directory does not contain any .java files.
+     * @throws CancellationException if project has been deleted.
+     */
+    public void save(Long projectInfoId, Path path, Collection<Path> dependencyPaths, String archiveHash) {
+        var cancellationToken = cancellationService.tokenOf(projectInfoId);
+        cancellationToken.throwIfCancelled();
+
+        Map<String, String> fileHashes = null;
+        try {
+            fileHashes = ContentHash.sha256OfJavaFiles(path);
+        } catch (IOException exception) {
+            logger.warn("Unable to hash java files at {}, parsing without cache.", path, exception);
+        }
+
+        SourceComponent sourceComponent;
+        try {
+            sourceComponent = Parser.parse(path, dependencyPaths, sourceFilter,
+                    parserProperties.getResolutionParallelism(),
+                    fileHashes == null ? Map.of() : findReusableCompilationUnits(path, fileHashes),
+                    cancellationToken);
+        } catch (EmptySourceDirectoryException exception) {
+            throw new BadRequest(exception.getMessage(), exception);
+        }
+
+        put(projectInfoId, sourceComponent, new ParseSource(path, dependencyPaths));
+        writeSnapshot(projectInfoId, archiveHash, sourceComponent);
+        if (fileHashes != null) parseCacheService.put(projectInfoId, archiveHash, path, fileHashes);
+    }
+
+    /**
+     * Reuses the source component of an already parsed project for the project with given id. Both projects must
+     * have been uploaded as identical archives, as source component is shared between them.
+     *
+     * @param projectInfoId       id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @param parsedProjectInfoId id of the {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     *                            whose source component will be reused.
+     * @return true if source component has been reused, false if there is no parsed source component for
+     * parsedProjectInfoId.
+     * @throws CancellationException if project with given id has been deleted.
+     */
+    public boolean reuse(Long projectInfoId, Long parsedProjectInfoId) {
+        var sourceComponent = get(parsedProjectInfoId);
+        var entry = parseCacheService.get(parsedProjectInfoId);
+        if (sourceComponent.isEmpty() || entry.isEmpty()) return false;
+
+        put(projectInfoId, sourceComponent.get(), parseSources.get(parsedProjectInfoId));
+        writeSnapshot(projectInfoId, contentHashes.getOrDefault(parsedProjectInfoId, entry.get().getArchiveHash()),
+                sourceComponent.get());
+        parseCacheService.put(projectInfoId,
+                entry.get().getArchiveHash(), entry.get().getSourceRoot(), entry.get().getFileHashes());
+        return true;
+    }
+
+    /**
+     * <p>
+     * Updates the source component of the project with given id after files in its source directory have changed,
+     * and records new content hashes in {@link ParseCacheService}.
+     * </p>
+     *
+     * <p>
+     * If only .java files have changed and the source component is not shared with another project, it is updated
+     * in place by reparsing only the changed files, see {@link Parser#reparse}. Otherwise the directory is parsed
+     * again, reusing the compilation units of unchanged files. Directory is also parsed again if the project was
+     * parsed from a different file system, for eg. directly from its archive before it was extracted for update,
+     * or if it has been restored from a snapshot, as restored source component does not contain compilation units.
+     * </p>
+     *
+     * @param projectInfoId id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @param path          on which source files are located, must not be shared with another project.
+     * @param changedFiles  files which have been added or modified.
+     * @param removedFiles  files which have been removed.
+     * @return content hash of the java files present at path after update.
+     * @throws ParsedComponentNotFoundException if project with given id has not been parsed.
+     * @throws FileStorageException             if source files of the project can not be read.
+     * @throws BadRequest                       if source directory does not contain any .java files after update.
+     * @throws CancellationException            if project has been deleted.
+     */
+    public String update(Long projectInfoId, Path path, Collection<Path> changedFiles, Collection<Path> removedFiles) {
+        var current = Optional.ofNullable(sourceComponents.get(projectInfoId)).or(() -> restore(projectInfoId));
+        var parseSource = parseSources.get(projectInfoId);
+        if (current.isEmpty() && parseSource == null)
+            throw new ParsedComponentNotFoundException("Project with id " + projectInfoId + " has not been parsed.");
+
+        Map<String, String> fileHashes;
+        try {
+            fileHashes = ContentHash.sha256OfJavaFiles(path);
+        } catch (IOException exception) {
+            throw new FileStorageException("Unable to read source files of project " + projectInfoId, exception);
+        }
+        var contentHash = ContentHash.sha256(fileHashes);
+
+        var isMoved = parseCacheService.get(projectInfoId)
+                .map(entry -> !entry.getSourceRoot().getFileSystem().equals(path.getFileSystem()))
+                .orElse(true);
+        // Dependencies of a project parsed from its archive have been extracted to path along with its sources.
+        Collection<Path> dependencyPaths = parseSource == null || isMoved ? List.of() : parseSource.dependencyPaths;
+
+        // Evicted project which can not be restored is parsed again from the updated files.
+        if (current.isEmpty()) {
+            save(projectInfoId, path, dependencyPaths, contentHash);
+            return contentHash;
+        }
+
+        var sourceComponent = current.get();
+        var onlyJavaFilesChanged = Stream.concat(changedFiles.stream(), removedFiles.stream())
+                .allMatch(file -> file.toString().endsWith(".java"));
+        var isShared = sourceComponents.entrySet().stream()
+                .anyMatch(entry -> entry.getValue() == sourceComponent && !entry.getKey().equals(projectInfoId));
+
+        var isRestored = sourceComponent.getCompilationUnits().isEmpty();
+
+        if (!onlyJavaFilesChanged || isShared || isMoved || isRestored) {
+            save(projectInfoId, path, dependencyPaths, contentHash);
+            return contentHash;
         }
 
         try {
-            sourceComponents.put(projectInfoId, Parser.parse(path));
+            Parser.reparse(sourceComponent, path, changedFiles, removedFiles, sourceFilter,
+                    parserProperties.getResolutionParallelism(), cancellationService.tokenOf(projectInfoId));
         } catch (EmptySourceDirectoryException exception) {
             throw new BadRequest(exception.getMessage(), exception);
         }
+
+        put(projectInfoId, sourceComponent, new ParseSource(path, dependencyPaths));
+        writeSnapshot(projectInfoId, contentHash, sourceComponent);
+        parseCacheService.put(projectInfoId, contentHash, path, fileHashes);
+        return contentHash;
     }
 
     /**
-     * Deletes the source component with provided id.
+     * Deletes the source component with provided id, and its snapshot unless it is shared with another project.
+     * Project is cancelled, so that it is not stored if it is still being parsed.
      *
      * @param projectInfoId id of the project info for which you want to delete the source component.
      */
     public void delete(Long projectInfoId) {
-        if (sourceComponents.remove(projectInfoId) == null)
-            toBeDeleted.add(projectInfoId);
+        cancellationService.cancel(projectInfoId);
+        parseCacheService.delete(projectInfoId);
+        String contentHash;
+        synchronized (restoreLock) {
+            parseSources.remove(projectInfoId);
+            contentHash = contentHashes.remove(projectInfoId);
+            estimatedSizes.remove(projectInfoId);
+            lastAccessTimes.remove(projectInfoId);
+            sourceComponents.remove(projectInfoId);
+        }
+
+        if (contentHash != null && !contentHashes.containsValue(contentHash))
+            snapshotService.delete(projectInfoId, contentHash);
+        deletionListeners.forEach(listener -> listener.accept(projectInfoId));
+    }
+
+    /**
+     * Registers a listener which is notified with the id of every project whose source component has been evicted,
+     * so that data derived from the source component can be dropped along with it.
+     *
+     * @param listener called with the projectInfo id of the evicted source component.
+     */
+    public void addEvictionListener(Consumer<Long> listener) {
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Registers a listener which is notified with the id of every deleted project, once its project has been
+     * cancelled, so that data derived from the project can be dropped along with it.
+     *
+     * @param listener called with the projectInfo id of the deleted project.
+     */
+    public void addDeletionListener(Consumer<Long> listener) {
+        deletionListeners.add(listener);
+    }
+
+    /**
+     * Evicts source components which have been idle for longer than configured idle ttl, it is run periodically
+     * so that idle source components are evicted even if no other project is parsed or requested.
+     */
+    @Scheduled(fixedDelayString = "${parsed-component.cache.sweep-interval:PT1M}")
+    public void evictIdle() {
+        evict(null);
+    }
+
+    /**
+     * <p>
+     * Reports the current memory footprint of source components.
+     * </p>
+     *
+     * <p>
+     * Estimated size of a source component is proportional to the number of AST nodes in its compilation units, it is
+     * not measured, so it should only be used for comparing projects and for tuning the budget.
+     * </p>
+     *
+     * @return metrics prefixed with "source-components".
+     */
+    @Override
+    public Map<String, Number> getMetrics() {
+        var groups = groupByIdentity();
+        var evicted = Stream.concat(parseSources.keySet().stream(), contentHashes.keySet().stream())
+                .distinct()
+                .filter(id -> !sourceComponents.containsKey(id))
+                .count();
+
+        return Map.of(
+                "source-components.loaded", groups.size(),
+                "source-components.projects", sourceComponents.size(),
+                "source-components.evicted-projects", evicted,
+                "source-components.estimated-retained-bytes",
+                groups.values().stream().mapToLong(group -> group.estimatedSize).sum(),
+                "source-components.max-retained-bytes", cacheProperties.getMaxRetainedSize().toBytes(),
+                "source-components.evictions", evictions.get(),
+                "source-components.reloads", reloads.get()
+        );
+    }
+
+    /**
+     * Keeps the source component of given project in memory, and evicts least recently requested source components
+     * if limits are exceeded.
+     *
+     * @param projectInfoId   id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @param sourceComponent to be kept.
+     * @param parseSource     from where source component can be parsed again, null if it can not be evicted.
+     * @throws CancellationException if project has been deleted.
+     */
+    private void put(Long projectInfoId, SourceComponent sourceComponent, ParseSource parseSource) {
+        var estimatedSize = sourceComponents.entrySet().stream()
+                .filter(entry -> entry.getValue() == sourceComponent && !entry.getKey().equals(projectInfoId))
+                .map(entry -> estimatedSizes.get(entry.getKey()))
+                .filter(size -> size != null)
+                .findFirst()
+                .orElseGet(() -> estimateRetainedSize(sourceComponent));
+
+        synchronized (restoreLock) {
+            // Checked under the lock of delete, so that a project deleted while it was parsed is never stored.
+            cancellationService.tokenOf(projectInfoId).throwIfCancelled();
+            estimatedSizes.put(projectInfoId, estimatedSize);
+            lastAccessTimes.put(projectInfoId, System.nanoTime());
+            if (parseSource == null) parseSources.remove(projectInfoId);
+            else parseSources.put(projectInfoId, parseSource);
+            sourceComponents.put(projectInfoId, sourceComponent);
+        }
+
+        evict(projectInfoId);
+    }
+
+    /**
+     * Restores the source component of a project from its snapshot, or schedules parsing it again if there is no
+     * snapshot, after it has been evicted.
+     *
+     * @param projectInfoId id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @return Optional of restored SourceComponent, empty if project has not been evicted, can not be restored or is
+     * being parsed again.
+     */
+    private Optional<SourceComponent> reload(Long projectInfoId) {
+        var sourceComponent = restore(projectInfoId);
+        if (sourceComponent.isEmpty()) scheduleReparse(projectInfoId);
+        return sourceComponent;
+    }
+
+    /**
+     * Submits a job to parse lane, which parses the source component of a project again after it has been evicted,
+     * unless it is already being parsed. If the lane is saturated it is scheduled again on a later request.
+     *
+     * @param projectInfoId id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     */
+    private void scheduleReparse(Long projectInfoId) {
+        if (!parseSources.containsKey(projectInfoId)) return;
+
+        try {
+            singleFlight.execute(projectInfoId, REPARSE, () -> jobRegistry.submit(projectInfoId, REPARSE, null,
+                    Lane.PARSE, Priority.INTERACTIVE, job -> {
+                        job.progress("parsing", 0);
+                        return reparse(projectInfoId).orElse(null);
+                    }));
+        } catch (RejectedExecutionException exception) {
+            logger.info("Evicted project {} will be parsed again on a later request: {}", projectInfoId,
+                    exception.getMessage());
+        }
+    }
+
+    /**
+     * Restores the source component of a project from its snapshot, projects whose content hash is not known, for eg.
+     * deleted or unknown projects, are never restored.
+     *
+     * @param projectInfoId id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @return Optional of restored SourceComponent, empty if project has no readable snapshot.
+     */
+    private Optional<SourceComponent> restore(Long projectInfoId) {
+        var contentHash = contentHashes.get(projectInfoId);
+        if (!snapshotService.exists(contentHash)) return Optional.empty();
+
+        synchronized (restoreLock) {
+            var sourceComponent = sourceComponents.get(projectInfoId);
+            if (sourceComponent != null) return Optional.of(sourceComponent);
+            // Project may have been deleted or updated meanwhile.
+            if (!contentHash.equals(contentHashes.get(projectInfoId))) return Optional.empty();
+
+            var restored = contentHashes.entrySet().stream()
+                    .filter(entry -> entry.getValue().equals(contentHash))
+                    .map(entry -> sourceComponents.get(entry.getKey()))
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .or(() -> snapshotService.read(contentHash));
+            if (restored.isEmpty()) return Optional.empty();
+
+            reloads.incrementAndGet();
+            logger.info("Restored project {} from snapshot.", projectInfoId);
+            contentHashes.put(projectInfoId, contentHash);
+            put(projectInfoId, restored.get(), parseSources.get(projectInfoId));
+            return restored;
+        }
+    }
+
+    /**
+     * Parses the source component of a project again after it has been evicted.
+     *
+     * @param projectInfoId id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @return Optional of parsed SourceComponent, empty if project has not been evicted or can not be parsed again.
+     */
+    private Optional<SourceComponent> reparse(Long projectInfoId) {
+        var parseSource = parseSources.get(projectInfoId);
+        if (parseSource == null) return Optional.empty();
+
+        synchronized (parseSource) {
+            var sourceComponent = sourceComponents.get(projectInfoId);
+            if (sourceComponent != null) return Optional.of(sourceComponent);
+            if (parseSources.get(projectInfoId) != parseSource) return Optional.empty();
+
+            try {
+                var fileHashes = parseCacheService.get(projectInfoId)
+                        .map(ParseCacheService.Entry::getFileHashes)
+                        .orElse(Map.of());
+                sourceComponent = Parser.parse(parseSource.path, parseSource.dependencyPaths, sourceFilter,
+                        parserProperties.getResolutionParallelism(),
+                        findReusableCompilationUnits(parseSource.path, fileHashes),
+                        cancellationService.tokenOf(projectInfoId));
+            } catch (CancellationException exception) {
+                throw exception;
+            } catch (RuntimeException exception) {
+                logger.warn("Unable to parse evicted project {} again from {}.", projectInfoId, parseSource.path,
+                        exception);
+                parseSources.remove(projectInfoId, parseSource);
+                return Optional.empty();
+            }
+
+            if (parseSources.get(projectInfoId) != parseSource) return Optional.empty();
+
+            reloads.incrementAndGet();
+            logger.info("Parsed evicted project {} again.", projectInfoId);
+            put(projectInfoId, sourceComponent, parseSource);
+            writeSnapshot(projectInfoId, contentHashes.get(projectInfoId), sourceComponent);
+            return Optional.of(sourceComponent);
+        }
+    }
+
+    /**
+     * Records content hash of the project and writes snapshot of its source component, then releases its
+     * {@link CompilationUnit}s if enabled. Snapshot of previous content hash of the project is deleted, unless it is
+     * shared with another project.
+     *
+     * @param projectInfoId   id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @param contentHash     content hash of the project, snapshot is not written if it is null.
+     * @param sourceComponent whose snapshot is written.
+     */
+    private void writeSnapshot(Long projectInfoId, String contentHash, SourceComponent sourceComponent) {
+        if (cacheProperties.isReleaseAst() && !sourceComponent.getCompilationUnits().isEmpty())
+            releaseAst(contentHash, sourceComponent);
+        else
+            snapshotService.write(contentHash, sourceComponent);
+
+        if (contentHash == null) return;
+
+        var previousContentHash = contentHashes.put(projectInfoId, contentHash);
+        if (previousContentHash != null && !previousContentHash.equals(contentHash)
+                && !contentHashes.containsValue(previousContentHash))
+            snapshotService.delete(projectInfoId, previousContentHash);
+    }
+
+    /**
+     * Converts given source component to its compact form in background, and replaces it for every project which
+     * still uses it. Source component is not replaced if it has been updated in place while it was being converted,
+     * as update schedules a conversion of its own.
+     *
+     * @param contentHash     content hash of the project, may be null.
+     * @param sourceComponent to be replaced by its compact form.
+     */
+    private void releaseAst(String contentHash, SourceComponent sourceComponent) {
+        var modificationCount = sourceComponent.getModificationCount();
+        snapshotService.compact(contentHash, sourceComponent).whenComplete((compact, exception) -> {
+            if (exception != null) {
+                if (!(exception instanceof CancellationException))
+                    logger.warn("Unable to convert source component to its compact form.", exception);
+                return;
+            }
+
+            List<Long> projectInfoIds = new ArrayList<>();
+            synchronized (restoreLock) {
+                if (sourceComponent.getModificationCount() != modificationCount) return;
+
+                var estimatedSize = estimateRetainedSize(compact);
+                sourceComponents.forEach((projectInfoId, value) -> {
+                    if (value == sourceComponent && sourceComponents.replace(projectInfoId, sourceComponent, compact)) {
+                        estimatedSizes.put(projectInfoId, estimatedSize);
+                        projectInfoIds.add(projectInfoId);
+                    }
+                });
+            }
+            if (!projectInfoIds.isEmpty())
+                logger.info("Released compilation units of projects {}.", projectInfoIds);
+        });
+    }
+
+    /**
+     * <p>
+     * Evicts source components which have been idle for longer than idle ttl, then evicts least recently requested
+     * source components until their number and estimated size are within limits.
+     * </p>
+     *
+     * <p>
+     * A source component shared between projects is evicted only if all of them can be parsed again, and it is
+     * evicted for all of them at once, as its memory can not be reclaimed otherwise.
+     * </p>
+     *
+     * @param projectInfoId id of the project whose source component must not be evicted, can be null.
+     */
+    private synchronized void evict(Long projectInfoId) {
+        var now = System.nanoTime();
+        var idleTtl = cacheProperties.getIdleTtl().toNanos();
+        var maxRetainedSize = cacheProperties.getMaxRetainedSize().toBytes();
+        var groups = groupByIdentity();
+        var retainedSize = groups.values().stream().mapToLong(group -> group.estimatedSize).sum();
+        var loaded = groups.size();
+
+        var candidates = new ArrayList<>(groups.values());
+        candidates.removeIf(group -> group.projectInfoIds.contains(projectInfoId)
+                || !group.projectInfoIds.stream().allMatch(this::isReloadable));
+        candidates.sort(Comparator.comparingLong(group -> group.lastAccessTime));
+
+        for (var group : candidates) {
+            if (now - group.lastAccessTime <= idleTtl
+                    && loaded <= cacheProperties.getMaxEntries() && retainedSize <= maxRetainedSize) break;
+
+            group.projectInfoIds.forEach(sourceComponents::remove);
+            group.projectInfoIds.forEach(id -> evictionListeners.forEach(listener -> listener.accept(id)));
+            retainedSize -= group.estimatedSize;
+            loaded--;
+            evictions.incrementAndGet();
+            logger.info("Evicted source component of projects {}, estimated size {} bytes.",
+                    group.projectInfoIds, group.estimatedSize);
+        }
+    }
+
+    /**
+     * Checks whether source component of a project is available without restoring or parsing it, so that callers can
+     * answer before handing the lookup over to another thread.
+     *
+     * @param projectInfoId id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @return true if source component of the project is in memory, or if it can be restored or parsed again.
+     */
+    public boolean isAvailable(Long projectInfoId) {
+        return sourceComponents.containsKey(projectInfoId) || isReloadable(projectInfoId);
+    }
+
+    /**
+     * @param projectInfoId id of corresponding {@link org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo}
+     * @return true if source component of the project can be parsed again or restored from its snapshot.
+     */
+    private boolean isReloadable(Long projectInfoId) {
+        return parseSources.containsKey(projectInfoId) || snapshotService.exists(contentHashes.get(projectInfoId));
+    }
+
+    /**
+     * @return projects kept in memory, grouped by the source component they share.
+     */
+    private Map<SourceComponent, Group> groupByIdentity() {
+        Map<SourceComponent, Group> groups = new IdentityHashMap<>();
+        sourceComponents.forEach((projectInfoId, sourceComponent) -> {
+            var group = groups.computeIfAbsent(sourceComponent, key -> new Group());
+            var lastAccessTime = lastAccessTimes.get(projectInfoId);
+            if (lastAccessTime != null && (group.projectInfoIds.isEmpty() || lastAccessTime > group.lastAccessTime))
+                group.lastAccessTime = lastAccessTime;
+            group.projectInfoIds.add(projectInfoId);
+            group.estimatedSize = Math.max(group.estimatedSize, estimatedSizes.getOrDefault(projectInfoId, 0L));
+        });
+        return groups;
+    }
+
+    /**
+     * @param sourceComponent whose size is to be estimated.
+     * @return estimated number of bytes retained by the compilation units of source component, or by its components
+     * if it is compact.
+     */
+    private static long estimateRetainedSize(SourceComponent sourceComponent) {
+        if (sourceComponent.getCompilationUnits().isEmpty()) {
+            var components = sourceComponent.getExternalComponents().size() + sourceComponent.getRelations().size()
+                    + sourceComponent.getChildren().values().stream()
+                    .mapToLong(type -> 1 + type.asParsedCompositeComponent()
+                            .map(composite -> composite.getChildren().size())
+                            .orElse(0))
+                    .sum();
+            return components * ESTIMATED_BYTES_PER_COMPONENT;
+        }
+
+        return sourceComponent.getCompilationUnits().stream()
+                .mapToLong(compilationUnit -> compilationUnit.stream().count())
+                .sum() * ESTIMATED_BYTES_PER_NODE;
+    }
+
+    /**
+     * Finds the parsed project which has most java files in common with the files at given path, and collects
+     * compilation units of the common files.
+     *
+     * @param path       on which source files are located.
+     * @param fileHashes SHA-256 hashes of the java files at path, keyed by their relative path.
+     * @return {@link CompilationUnit}s keyed by absolute normalized path of the file at given path.
+     */
+    private Map<Path, CompilationUnit> findReusableCompilationUnits(Path path, Map<String, String> fileHashes) {
+        var closest = parseCacheService.findClosest(fileHashes);
+        if (closest.isEmpty()) return Map.of();
+
+        var entry = closest.get();
+        var sourceComponent = sourceComponents.get(entry.getProjectInfoId());
+        if (sourceComponent == null) return Map.of();
+
+        Map<Path, CompilationUnit> reusableCompilationUnits = new HashMap<>();
+        sourceComponent.getCompilationUnits().forEach(compilationUnit -> compilationUnit.getStorage()
+                .map(storage -> ContentHash.toRelativeName(entry.getSourceRoot(), storage.getPath()))
+                .filter(file -> fileHashes.containsKey(file)
+                        && fileHashes.get(file).equals(entry.getFileHashes().get(file)))
+                .ifPresent(file -> reusableCompilationUnits
+                        .put(path.resolve(file).toAbsolutePath().normalize(), compilationUnit)));
+
+        return reusableCompilationUnits;
+    }
+
+    /**
+     * Path and dependency paths from which a source component was parsed.
+     */
+    private static class ParseSource {
+        private final Path path;
+        private final Collection<Path> dependencyPaths;
+
+        private ParseSource(Path path, Collection<Path> dependencyPaths) {
+            this.path = path;
+            this.dependencyPaths = List.copyOf(dependencyPaths);
+        }
+    }
+
+    /**
+     * Projects sharing a source component.
+     */
+    private static class Group {
+        private final List<Long> projectInfoIds = new ArrayList<>();
+        private long estimatedSize;
+        private long lastAccessTime = System.nanoTime();
     }
 }
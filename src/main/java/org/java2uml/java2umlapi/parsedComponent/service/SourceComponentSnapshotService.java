@@ -0,0 +1,247 @@
+package org.java2uml.java2umlapi.parsedComponent.service;
+
+import org.java2uml.java2umlapi.fileStorage.FileStorageProperties;
+import org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo;
+import org.java2uml.java2umlapi.fileStorage.exceptions.FileStorageException;
+import org.java2uml.java2umlapi.fileStorage.repository.ProjectInfoRepository;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponentSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>
+ * Stores snapshots of parsed projects on disk, see {@link SourceComponentSnapshot}. Snapshots are keyed by content
+ * hash of the project, so a snapshot can only ever be restored for a project with identical sources, and projects
+ * uploaded from identical archives share a single snapshot.
+ * </p>
+ *
+ * <p>
+ * Content hashes of projects are known only to the running instance, so snapshots can not be restored after a restart.
+ * Snapshots left in the snapshot directory by a previous run are therefore deleted on startup.
+ * </p>
+ *
+ * <p>
+ * Snapshots are written in background on a single thread, so that parsing is not slowed down by writing them. The
+ * same thread also converts parsed projects to their compact form, see {@link #compact(String, SourceComponent)}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@Service
+public class SourceComponentSnapshotService {
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private final Path snapshotLocation;
+    private final boolean isEnabled;
+    private final ProjectInfoRepository projectInfoRepository;
+    private final Map<String, CompletableFuture<Void>> pendingWrites;
+    private final ExecutorService executorService;
+    private final Logger logger = LoggerFactory.getLogger(SourceComponentSnapshotService.class);
+
+    public SourceComponentSnapshotService(FileStorageProperties fileStorageProperties,
+                                          SourceComponentCacheProperties cacheProperties,
+                                          ProjectInfoRepository projectInfoRepository) {
+        this.isEnabled = cacheProperties.isSnapshotEnabled() && fileStorageProperties.getSnapshotDir() != null;
+        this.projectInfoRepository = projectInfoRepository;
+        this.pendingWrites = new ConcurrentHashMap<>();
+        this.executorService = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "source-component-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (!isEnabled) {
+            this.snapshotLocation = null;
+            return;
+        }
+
+        this.snapshotLocation = Paths.get(fileStorageProperties.getSnapshotDir()).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(snapshotLocation);
+        } catch (IOException exception) {
+            throw new FileStorageException(
+                    "Could not create the directory where the snapshots of parsed projects will be stored.", exception
+            );
+        }
+        deleteOrphans();
+    }
+
+    /**
+     * Deletes snapshots and partially written snapshots left by a previous run, as these can never be restored.
+     */
+    private void deleteOrphans() {
+        try (var files = Files.list(snapshotLocation)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SNAPSHOT_EXTENSION)
+                            || file.getFileName().toString().endsWith(TEMP_EXTENSION))
+                    .forEach(file -> {
+                        try {
+                            Files.deleteIfExists(file);
+                        } catch (IOException exception) {
+                            logger.warn("Unable to delete snapshot {} left by a previous run.", file, exception);
+                        }
+                    });
+        } catch (IOException exception) {
+            logger.warn("Unable to delete snapshots left by a previous run.", exception);
+        }
+    }
+
+    /**
+     * Writes snapshot of given source component in background, nothing is written if snapshot with given content
+     * hash already exists or is being written.
+     *
+     * @param contentHash     content hash of the project.
+     * @param sourceComponent to be written.
+     * @return future which completes once snapshot has been written or writing it has failed.
+     */
+    public CompletableFuture<Void> write(String contentHash, SourceComponent sourceComponent) {
+        if (!isEnabled || contentHash == null || exists(contentHash)) return CompletableFuture.completedFuture(null);
+
+        var token = new CompletableFuture<Void>();
+        var pending = pendingWrites.putIfAbsent(contentHash, token);
+        if (pending != null) return pending;
+
+        executeOrComplete(token, () -> {
+            try {
+                var file = getSnapshotFile(contentHash);
+                var tempFile = Files.createTempFile(snapshotLocation, contentHash, TEMP_EXTENSION);
+                try {
+                    SourceComponentSnapshot.write(sourceComponent, tempFile);
+                    synchronized (pendingWrites) {
+                        if (pendingWrites.get(contentHash) == token)
+                            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE,
+                                    StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(tempFile);
+                }
+            } catch (IOException | RuntimeException exception) {
+                logger.warn("Unable to write snapshot {}.", contentHash, exception);
+            } finally {
+                pendingWrites.remove(contentHash, token);
+                token.complete(null);
+            }
+        });
+        return token;
+    }
+
+    /**
+     * <p>
+     * Converts given source component to its compact form in background, see
+     * {@link SourceComponentSnapshot#compact(SourceComponent)}.
+     * </p>
+     *
+     * <p>
+     * If snapshots are enabled the snapshot is written first and the compact source component is read from it, so
+     * that source code of the project is mapped from the snapshot file instead of being kept on heap.
+     * </p>
+     *
+     * @param contentHash     content hash of the project, may be null.
+     * @param sourceComponent to be converted.
+     * @return future of compact {@link SourceComponent}, completed exceptionally if conversion fails.
+     */
+    public CompletableFuture<SourceComponent> compact(String contentHash, SourceComponent sourceComponent) {
+        var compacted = new CompletableFuture<SourceComponent>();
+        write(contentHash, sourceComponent).whenComplete((ignored, exception) -> executeOrComplete(compacted, () -> {
+            try {
+                compacted.complete(read(contentHash)
+                        .orElseGet(() -> SourceComponentSnapshot.compact(sourceComponent)));
+            } catch (RuntimeException conversionException) {
+                compacted.completeExceptionally(conversionException);
+            }
+        }));
+        return compacted;
+    }
+
+    /**
+     * Reads snapshot with given content hash.
+     *
+     * @param contentHash content hash of the project.
+     * @return Optional of restored {@link SourceComponent}, empty if there is no readable snapshot.
+     */
+    public Optional<SourceComponent> read(String contentHash) {
+        if (!exists(contentHash)) return Optional.empty();
+
+        try {
+            return Optional.of(SourceComponentSnapshot.read(getSnapshotFile(contentHash)));
+        } catch (IOException exception) {
+            logger.warn("Unable to read snapshot {}.", contentHash, exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param contentHash content hash of the project.
+     * @return true if snapshot with given content hash has been written.
+     */
+    public boolean exists(String contentHash) {
+        return isEnabled && contentHash != null && Files.exists(getSnapshotFile(contentHash));
+    }
+
+    /**
+     * Deletes snapshot of the project with given id, unless another project has the same content hash.
+     *
+     * @param projectInfoId id of corresponding {@link ProjectInfo}
+     * @param contentHash   content hash of the project.
+     */
+    public void delete(Long projectInfoId, String contentHash) {
+        if (!isEnabled || contentHash == null || projectInfoRepository.existsByContentHashAndIdNot(contentHash,
+                projectInfoId)) return;
+
+        synchronized (pendingWrites) {
+            pendingWrites.remove(contentHash);
+            try {
+                Files.deleteIfExists(getSnapshotFile(contentHash));
+            } catch (IOException exception) {
+                logger.warn("Unable to delete snapshot {}.", contentHash, exception);
+            }
+        }
+    }
+
+    /**
+     * Stops writing snapshots, snapshots which have not been written yet are dropped.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Executes given task on the snapshot thread, if the task is rejected because the service has been shutdown
+     * then given future is cancelled.
+     *
+     * @param future completed by the task.
+     * @param task   to be executed.
+     */
+    private void executeOrComplete(CompletableFuture<?> future, Runnable task) {
+        try {
+            executorService.execute(task);
+        } catch (RejectedExecutionException exception) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * @param contentHash content hash of the project.
+     * @return path of the snapshot file.
+     */
+    private Path getSnapshotFile(String contentHash) {
+        return snapshotLocation.resolve(contentHash + SNAPSHOT_EXTENSION);
+    }
+}
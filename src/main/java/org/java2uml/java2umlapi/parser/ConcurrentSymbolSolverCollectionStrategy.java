@@ -0,0 +1,209 @@
+package org.java2uml.java2umlapi.parser;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.nodeTypes.NodeWithName;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import com.github.javaparser.symbolsolver.utils.SymbolSolverCollectionStrategy;
+import com.github.javaparser.utils.CollectionStrategy;
+import com.github.javaparser.utils.ProjectRoot;
+import org.java2uml.java2umlapi.util.hash.ContentHash;
+import org.java2uml.java2umlapi.util.sourceFilter.SourceFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+/**
+ * <p>
+ * Same as {@link SymbolSolverCollectionStrategy}, collects all the source roots and jar files present in a directory,
+ * but the symbol resolver it configures uses a {@link ConcurrentTypeSolver} as the root of every type solver it
+ * collects, so that lookups of types are memoized and serialized, see {@link ConcurrentTypeSolver} for what it does
+ * not make safe.
+ * </p>
+ *
+ * <p>
+ * Directories can be collected from any file system, for eg. a zip file system, and {@link #collect(Path)} can be
+ * called multiple times to add jar files present in other directories to the same type solver.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class ConcurrentSymbolSolverCollectionStrategy implements CollectionStrategy {
+    private final ParserConfiguration parserConfiguration;
+    private final CombinedTypeSolver typeSolver;
+    private final ConcurrentTypeSolver concurrentTypeSolver;
+    private final SourceFilter sourceFilter;
+    private final Logger logger = LoggerFactory.getLogger(ConcurrentSymbolSolverCollectionStrategy.class);
+
+    public ConcurrentSymbolSolverCollectionStrategy() {
+        this(new ParserConfiguration());
+    }
+
+    /**
+     * Initializes {@link ConcurrentSymbolSolverCollectionStrategy} and sets up the symbol resolver of
+     * provided {@link ParserConfiguration}.
+     *
+     * @param parserConfiguration {@link ParserConfiguration} to be used for parsing source roots.
+     */
+    public ConcurrentSymbolSolverCollectionStrategy(ParserConfiguration parserConfiguration) {
+        this(parserConfiguration, SourceFilter.ACCEPT_ALL);
+    }
+
+    /**
+     * Initializes {@link ConcurrentSymbolSolverCollectionStrategy} and sets up the symbol resolver of
+     * provided {@link ParserConfiguration}, only the files accepted by given {@link SourceFilter} are collected.
+     *
+     * @param parserConfiguration {@link ParserConfiguration} to be used for parsing source roots.
+     * @param sourceFilter        {@link SourceFilter} which is matched against path of the file relative to
+     *                            the directory being walked.
+     */
+    public ConcurrentSymbolSolverCollectionStrategy(ParserConfiguration parserConfiguration,
+                                                    SourceFilter sourceFilter) {
+        this.parserConfiguration = parserConfiguration;
+        this.sourceFilter = sourceFilter;
+        this.typeSolver = new CombinedTypeSolver(new ReflectionTypeSolver(false));
+        this.concurrentTypeSolver = new ConcurrentTypeSolver(typeSolver);
+        this.parserConfiguration.setSymbolResolver(new JavaSymbolSolver(concurrentTypeSolver));
+    }
+
+    @Override
+    public ParserConfiguration getParserConfiguration() {
+        return parserConfiguration;
+    }
+
+    /**
+     * @return {@link ConcurrentTypeSolver} used by the configured symbol resolver.
+     */
+    public ConcurrentTypeSolver getTypeSolver() {
+        return concurrentTypeSolver;
+    }
+
+    /**
+     * Walks the given directory, every directory containing java source files is added as a source root
+     * and every .jar file is added to the type solver. Files rejected by the {@link SourceFilter} are ignored.
+     *
+     * @param path directory to be walked.
+     * @return {@link ProjectRoot} containing all the source roots.
+     */
+    @Override
+    public ProjectRoot collect(Path path) {
+        ProjectRoot projectRoot = new ProjectRoot(path, parserConfiguration);
+
+        try {
+            Files.walkFileTree(path, new SimpleFileVisitor<>() {
+                private Path currentRoot = null;
+                private final PathMatcher javaMatcher = path.getFileSystem().getPathMatcher("glob:**.java");
+                private final PathMatcher jarMatcher = path.getFileSystem().getPathMatcher("glob:**.jar");
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (!sourceFilter.accepts(ContentHash.toRelativeName(path, file), attrs.size())) {
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    if (javaMatcher.matches(file)) {
+                        if (currentRoot == null || !file.startsWith(currentRoot)) {
+                            currentRoot = getSourceRoot(file).orElse(null);
+                        }
+                    } else if (jarMatcher.matches(file)) {
+                        addJar(file);
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    var dirName = dir.getFileName();
+                    if (Files.isHidden(dir) || (dirName != null && dirName.toString().startsWith("."))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                    if (currentRoot != null && Files.isSameFile(dir, currentRoot)) {
+                        projectRoot.addSourceRoot(dir);
+                        typeSolver.add(dir.getFileSystem().equals(FileSystems.getDefault())
+                                ? new JavaParserTypeSolver(currentRoot, parserConfiguration)
+                                : new FileSystemTypeSolver(currentRoot, parserConfiguration));
+                        currentRoot = null;
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.error("Unable to walk {}", path, e);
+        }
+
+        return projectRoot;
+    }
+
+    /**
+     * Same as {@link #getRoot(Path)}, but also works for files which are not present on default file system, for eg.
+     * inside a zip file system, as {@link #getRoot(Path)} resolves package of the file against default file system.
+     *
+     * @param file path of the java file.
+     * @return Optional of source root of the file, empty if file can not be parsed or is not in its package directory.
+     */
+    private Optional<Path> getSourceRoot(Path file) {
+        if (file.getFileSystem().equals(FileSystems.getDefault())) return getRoot(file);
+
+        try {
+            var parseResult = new JavaParser(parserConfiguration).parse(file);
+            if (!parseResult.isSuccessful() || parseResult.getResult().isEmpty()) {
+                logger.debug("Unable to parse {}, skipping it.", file);
+                return Optional.empty();
+            }
+
+            var packageName = parseResult.getResult().get().getPackageDeclaration()
+                    .map(NodeWithName::getNameAsString)
+                    .orElse("");
+            var root = file.getParent();
+            var packageNames = packageName.isEmpty() ? new String[0] : packageName.split("\\.");
+            for (int i = packageNames.length - 1; i >= 0; i--) {
+                if (root == null || root.getFileName() == null
+                        || !root.getFileName().toString().equals(packageNames[i])) {
+                    return Optional.empty();
+                }
+                root = root.getParent();
+            }
+
+            return Optional.ofNullable(root);
+        } catch (IOException e) {
+            logger.warn("Unable to read {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Adds a jar file to the type solver, jar files which cannot be read are skipped. Jar files which are not present
+     * on the default file system, for eg. inside a zip file system, cannot be read by {@link JarTypeSolver}, these
+     * need to be materialised on the default file system and collected from there.
+     *
+     * @param jar path of the jar file.
+     */
+    private void addJar(Path jar) {
+        if (!jar.getFileSystem().equals(FileSystems.getDefault())) {
+            logger.debug("Skipping jar {}, it is not present on default file system.", jar);
+            return;
+        }
+
+        try {
+            typeSolver.add(new JarTypeSolver(jar.toString()));
+        } catch (IOException e) {
+            logger.warn("Unable to add jar {} to type solver.", jar, e);
+        }
+    }
+}
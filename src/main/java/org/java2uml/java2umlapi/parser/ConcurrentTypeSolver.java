@@ -0,0 +1,111 @@
+package org.java2uml.java2umlapi.parser;
+
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * A {@link TypeSolver} which wraps another {@link TypeSolver} and memoizes every lookup made through it, so that
+ * declarations being resolved on different threads share the same results.
+ * </p>
+ *
+ * <p>
+ * Memoized lookups are served without locking, lookups for a name which has not been solved yet are forwarded to the
+ * wrapped type solver one at a time, as type solvers of java parser are not safe to be used concurrently. Wrapped
+ * type solver should have this type solver as its parent, so that lookups made by its children through
+ * {@link TypeSolver#getRoot()} are memoized and serialized as well.
+ * </p>
+ *
+ * <p>
+ * Only the type solver is made safe this way, caches kept by java parser for every node, for eg. by
+ * {@link com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade}, are not. Resolution of the symbols of
+ * a parsed project is therefore serialized by {@link org.java2uml.java2umlapi.parsedComponent.SourceComponent},
+ * which leaves the lock of this type solver, of which every project has its own, mostly uncontended. Declarations
+ * themselves do not look up any type while being resolved, so they are still resolved in parallel, see
+ * {@link Parser}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class ConcurrentTypeSolver implements TypeSolver {
+    /**
+     * Key under which the type solver used for resolving a {@link com.github.javaparser.ast.CompilationUnit} is
+     * stored in its data, so that it can be invalidated once the compilation unit is bound to another type solver.
+     */
+    public static final DataKey<ConcurrentTypeSolver> TYPE_SOLVER_KEY = new DataKey<>() {
+    };
+
+    private volatile TypeSolver typeSolver;
+    private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> solvedTypes;
+    private final Object lock = new Object();
+    private TypeSolver parent;
+
+    /**
+     * Initializes {@link ConcurrentTypeSolver} with the {@link TypeSolver} to be wrapped, and makes itself parent of
+     * the wrapped type solver.
+     *
+     * @param typeSolver {@link TypeSolver} to which lookups are forwarded.
+     */
+    public ConcurrentTypeSolver(TypeSolver typeSolver) {
+        this.typeSolver = typeSolver;
+        this.solvedTypes = new ConcurrentHashMap<>();
+        typeSolver.setParent(this);
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Tries to solve the type with given name, results are cached and shared between threads.
+     *
+     * @param name qualified name of the type.
+     * @return {@link SymbolReference} which may or may not be solved.
+     */
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        var symbolReference = solvedTypes.get(name);
+        if (symbolReference != null) return symbolReference;
+
+        synchronized (lock) {
+            symbolReference = solvedTypes.get(name);
+            if (symbolReference != null) return symbolReference;
+
+            symbolReference = typeSolver.tryToSolveType(name);
+            solvedTypes.put(name, symbolReference);
+            return symbolReference;
+        }
+    }
+
+    /**
+     * Drops every memoized lookup and forwards further lookups to given type solver, for eg. after the project has
+     * been updated and type solvers have been collected again, so that declarations which were resolved before the
+     * update no longer see the types as they were before it.
+     *
+     * @param typeSolver {@link TypeSolver} to which lookups are forwarded from now on.
+     */
+    public void invalidate(TypeSolver typeSolver) {
+        synchronized (lock) {
+            this.typeSolver = typeSolver;
+            solvedTypes.clear();
+        }
+    }
+
+    /**
+     * @return wrapped {@link TypeSolver}.
+     */
+    public TypeSolver getTypeSolver() {
+        return typeSolver;
+    }
+}
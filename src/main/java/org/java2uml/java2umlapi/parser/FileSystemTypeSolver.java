@@ -0,0 +1,114 @@
+package org.java2uml.java2umlapi.parser;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.javaparser.Navigator;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Same as {@link JavaParserTypeSolver}, solves types declared in the java source files of a source root, but source
+ * root can be present on any file system, for eg. inside a zip file system. {@link JavaParserTypeSolver} resolves
+ * every file against default file system, so it can only be used for source roots present on default file system.
+ * </p>
+ *
+ * <p>
+ * Parsed files are cached, and a file is parsed only once even if multiple threads are looking up types in it.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class FileSystemTypeSolver implements TypeSolver {
+    private final Path srcDir;
+    private final ParserConfiguration parserConfiguration;
+    private final Map<Path, Optional<CompilationUnit>> parsedFiles;
+    private TypeSolver parent;
+
+    /**
+     * Initializes {@link FileSystemTypeSolver}.
+     *
+     * @param srcDir              source root, on any file system.
+     * @param parserConfiguration {@link ParserConfiguration} to be used for parsing the files.
+     */
+    public FileSystemTypeSolver(Path srcDir, ParserConfiguration parserConfiguration) {
+        this.srcDir = srcDir;
+        this.parserConfiguration = parserConfiguration;
+        this.parsedFiles = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        if (this.parent != null) {
+            throw new IllegalStateException("This TypeSolver already has a parent.");
+        }
+        if (parent == this) {
+            throw new IllegalStateException("The parent of this TypeSolver cannot be itself.");
+        }
+
+        this.parent = parent;
+    }
+
+    /**
+     * Tries to solve the type with given name, every prefix of the name is tried as the file in which it could be
+     * declared, for eg. for <code>a.b.C.D</code> files <code>a/b/C/D.java</code>, <code>a/b/C.java</code> and so
+     * on are looked up.
+     *
+     * @param name qualified name of the type.
+     * @return {@link SymbolReference} which may or may not be solved.
+     */
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        var nameElements = name.split("\\.");
+
+        for (int i = nameElements.length; i > 0; i--) {
+            var file = srcDir;
+            for (int j = 0; j < i - 1; j++) {
+                file = file.resolve(nameElements[j]);
+            }
+            file = file.resolve(nameElements[i - 1] + ".java");
+
+            var typeName = String.join(".", Arrays.copyOfRange(nameElements, i - 1, nameElements.length));
+            var typeDeclaration = parse(file).flatMap(compilationUnit -> Navigator.findType(compilationUnit, typeName));
+            if (typeDeclaration.isPresent()) {
+                return SymbolReference.solved(JavaParserFacade.get(this).getTypeDeclaration(typeDeclaration.get()));
+            }
+        }
+
+        return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+    }
+
+    /**
+     * @param file path of the java file.
+     * @return Optional of {@link CompilationUnit}, empty if file is not present or can not be parsed.
+     */
+    private Optional<CompilationUnit> parse(Path file) {
+        return parsedFiles.computeIfAbsent(file.normalize(), javaFile -> {
+            if (!Files.isRegularFile(javaFile)) return Optional.empty();
+
+            try {
+                var parseResult = new JavaParser(parserConfiguration).parse(javaFile);
+                return parseResult.isSuccessful() ? parseResult.getResult() : Optional.empty();
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        });
+    }
+}
@@ -1,23 +1,37 @@
 package org.java2uml.java2umlapi.parser;
 
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.nodeTypes.NodeWithSimpleName;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.github.javaparser.resolution.SymbolResolver;
 import com.github.javaparser.resolution.declarations.ResolvedDeclaration;
-import com.github.javaparser.symbolsolver.utils.SymbolSolverCollectionStrategy;
 import com.github.javaparser.utils.ProjectRoot;
 import com.github.javaparser.utils.SourceRoot;
 import org.java2uml.java2umlapi.exceptions.EmptySourceDirectoryException;
 import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+import org.java2uml.java2umlapi.util.cancellation.CancellationToken;
+import org.java2uml.java2umlapi.util.hash.ContentHash;
+import org.java2uml.java2umlapi.util.sourceFilter.SourceFilter;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -35,6 +49,7 @@ public abstract class Parser {
     /**
      * <p>
      * resolves all reference types in given java source directory and returns a SourceComponent.
+     * Declarations are resolved using as many threads as there are available processors.
      * </p>
      *
      * @param PATH path to the source directory to be parsed.
@@ -42,7 +57,111 @@ public abstract class Parser {
      * @throws EmptySourceDirectoryException if there is no .java files in given directory or its subdirectories.
      */
     public static SourceComponent parse(Path PATH) throws EmptySourceDirectoryException {
-        ProjectRoot projectRoot = new SymbolSolverCollectionStrategy().collect(PATH);
+        return parse(PATH, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * <p>
+     * resolves all reference types in given java source directory and returns a SourceComponent.
+     * </p>
+     *
+     * @param PATH                  path to the source directory to be parsed.
+     * @param resolutionParallelism number of threads used for resolving declarations,
+     *                              if it is less than 2 declarations are resolved on the calling thread.
+     * @return returns SourceComponent instance for corresponding java source directory.
+     * @throws EmptySourceDirectoryException if there is no .java files in given directory or its subdirectories.
+     */
+    public static SourceComponent parse(Path PATH, int resolutionParallelism) throws EmptySourceDirectoryException {
+        return parse(PATH, resolutionParallelism, Map.of());
+    }
+
+    /**
+     * <p>
+     * resolves all reference types in given java source directory and returns a SourceComponent.
+     * </p>
+     *
+     * <p>
+     * Files for which a reusable {@link CompilationUnit} is provided are not parsed again, instead a copy of the
+     * provided {@link CompilationUnit} is used. Reusable compilation units must have been parsed from a file with
+     * exactly the same content. Every declaration is still resolved against the given directory.
+     * </p>
+     *
+     * @param PATH                     path to the source directory to be parsed.
+     * @param resolutionParallelism    number of threads used for resolving declarations,
+     *                                 if it is less than 2 declarations are resolved on the calling thread.
+     * @param reusableCompilationUnits {@link CompilationUnit}s keyed by absolute normalized path of the file
+     *                                 in given directory for which they can be reused.
+     * @return returns SourceComponent instance for corresponding java source directory.
+     * @throws EmptySourceDirectoryException if there is no .java files in given directory or its subdirectories.
+     */
+    public static SourceComponent parse(
+            Path PATH, int resolutionParallelism, Map<Path, CompilationUnit> reusableCompilationUnits
+    ) throws EmptySourceDirectoryException {
+        return parse(PATH, List.of(), SourceFilter.ACCEPT_ALL, resolutionParallelism, reusableCompilationUnits);
+    }
+
+    /**
+     * <p>
+     * resolves all reference types in given java source directory and returns a SourceComponent.
+     * </p>
+     *
+     * <p>
+     * Source directory can be present on any file system, for eg. root of a zip file system, in which case
+     * .java files are read directly from the archive. Since jar files can only be read from the default file system,
+     * jar files which are needed for resolving declarations can be provided separately as dependency directories,
+     * every .jar file present in them is added to the type solver.
+     * </p>
+     *
+     * <p>
+     * Files rejected by given {@link SourceFilter} are neither parsed nor used for resolving declarations, filter is
+     * matched against path of the file relative to given directory, or to the dependency directory it is in.
+     * </p>
+     *
+     * @param PATH                     path to the source directory to be parsed.
+     * @param dependencyPaths          directories containing .jar files to be used for resolving declarations.
+     * @param sourceFilter             {@link SourceFilter} deciding which files are parsed.
+     * @param resolutionParallelism    number of threads used for resolving declarations,
+     *                                 if it is less than 2 declarations are resolved on the calling thread.
+     * @param reusableCompilationUnits {@link CompilationUnit}s keyed by absolute normalized path of the file
+     *                                 in given directory for which they can be reused.
+     * @return returns SourceComponent instance for corresponding java source directory.
+     * @throws EmptySourceDirectoryException if there is no .java files in given directory or its subdirectories.
+     */
+    public static SourceComponent parse(
+            Path PATH, Collection<Path> dependencyPaths, SourceFilter sourceFilter, int resolutionParallelism,
+            Map<Path, CompilationUnit> reusableCompilationUnits
+    ) throws EmptySourceDirectoryException {
+        return parse(PATH, dependencyPaths, sourceFilter, resolutionParallelism, reusableCompilationUnits,
+                new CancellationToken());
+    }
+
+    /**
+     * <p>
+     * Same as {@link #parse(Path, Collection, SourceFilter, int, Map)}, but given {@link CancellationToken} is
+     * checked while files are parsed, while declarations are resolved and before and after relations are generated,
+     * parsing stops with {@link CancellationException} once it is cancelled.
+     * </p>
+     *
+     * @param PATH                     path to the source directory to be parsed.
+     * @param dependencyPaths          directories containing .jar files to be used for resolving declarations.
+     * @param sourceFilter             {@link SourceFilter} deciding which files are parsed.
+     * @param resolutionParallelism    number of threads used for resolving declarations,
+     *                                 if it is less than 2 declarations are resolved on the calling thread.
+     * @param reusableCompilationUnits {@link CompilationUnit}s keyed by absolute normalized path of the file
+     *                                 in given directory for which they can be reused.
+     * @param cancellationToken        {@link CancellationToken} of the project being parsed.
+     * @return returns SourceComponent instance for corresponding java source directory.
+     * @throws EmptySourceDirectoryException if there is no .java files in given directory or its subdirectories.
+     * @throws CancellationException         if given token has been cancelled.
+     * @throws UncheckedIOException          if a java file can not be read.
+     */
+    public static SourceComponent parse(
+            Path PATH, Collection<Path> dependencyPaths, SourceFilter sourceFilter, int resolutionParallelism,
+            Map<Path, CompilationUnit> reusableCompilationUnits, CancellationToken cancellationToken
+    ) throws EmptySourceDirectoryException {
+        var collectionStrategy = new ConcurrentSymbolSolverCollectionStrategy(new ParserConfiguration(), sourceFilter);
+        ProjectRoot projectRoot = collectionStrategy.collect(PATH);
+        dependencyPaths.forEach(collectionStrategy::collect);
 
         var sourceRoots = projectRoot.getSourceRoots();
 
@@ -52,34 +171,259 @@ public abstract class Parser {
             );
         }
 
-        var compilationUnits = getAllCompilationUnits(sourceRoots);
         var symbolResolver = sourceRoots.get(0).getParserConfiguration().getSymbolResolver()
                 .orElseThrow(() -> new RuntimeException("[Parser] Unable to get symbolResolver."));
+        cancellationToken.throwIfCancelled();
+        // SourceRoot can only parse files present on default file system, and parses every file.
+        var compilationUnits = reusableCompilationUnits.isEmpty() && sourceFilter == SourceFilter.ACCEPT_ALL
+                && PATH.getFileSystem().equals(FileSystems.getDefault())
+                ? getAllCompilationUnits(sourceRoots, cancellationToken)
+                : getAllCompilationUnits(sourceRoots, PATH, sourceFilter, reusableCompilationUnits, symbolResolver,
+                cancellationToken);
+
+        compilationUnits.forEach(compilationUnit -> compilationUnit
+                .setData(ConcurrentTypeSolver.TYPE_SOLVER_KEY, collectionStrategy.getTypeSolver()));
 
-        List<ResolvedDeclaration> resolvedDeclarations = getResolvedDeclarations(compilationUnits, symbolResolver);
-        return new SourceComponent(resolvedDeclarations, compilationUnits);
+        List<ResolvedDeclaration> resolvedDeclarations =
+                getResolvedDeclarations(compilationUnits, symbolResolver, resolutionParallelism, cancellationToken);
+        cancellationToken.throwIfCancelled();
+        var sourceComponent = new SourceComponent(resolvedDeclarations, compilationUnits, resolutionParallelism,
+                cancellationToken);
+        cancellationToken.throwIfCancelled();
+        return sourceComponent;
+    }
+
+    /**
+     * <p>
+     * Updates given {@link SourceComponent} after some of the java files in its source directory have changed.
+     * Only the changed files are parsed, and only the types declared in them and the types which refer to them
+     * are resolved again, see {@link SourceComponent#update}.
+     * </p>
+     *
+     * <p>
+     * Type solvers are collected again from the source directory, so that the types which are resolved again see
+     * the changed files. Every compilation unit which is kept is bound to the new symbol resolver, and the type solver
+     * it was bound to is invalidated, so that declarations which are not resolved again stop seeing the types as they
+     * were before the update.
+     * </p>
+     *
+     * <p>
+     * Given source component is updated while holding its resolution lock, see
+     * {@link SourceComponent#getResolutionLock()}, so that no symbol of it is resolved while it is being updated.
+     * </p>
+     *
+     * @param sourceComponent       {@link SourceComponent} which was parsed from given directory.
+     * @param PATH                  path to the source directory.
+     * @param changedFiles          .java files which have been added or modified.
+     * @param removedFiles          .java files which have been removed.
+     * @param sourceFilter          {@link SourceFilter} deciding which files are parsed, changed files rejected by
+     *                              it are not parsed.
+     * @param resolutionParallelism number of threads used for resolving declarations,
+     *                              if it is less than 2 declarations are resolved on the calling thread.
+     * @throws EmptySourceDirectoryException if there is no .java files left in given directory.
+     */
+    public static void reparse(SourceComponent sourceComponent, Path PATH, Collection<Path> changedFiles,
+                               Collection<Path> removedFiles, SourceFilter sourceFilter, int resolutionParallelism)
+            throws EmptySourceDirectoryException {
+        reparse(sourceComponent, PATH, changedFiles, removedFiles, sourceFilter, resolutionParallelism,
+                new CancellationToken());
     }
 
     /**
-     * @param compilationUnits List of {@link CompilationUnit}.
-     * @param symbolResolver   a {@link SymbolResolver}
+     * Same as {@link #reparse(SourceComponent, Path, Collection, Collection, SourceFilter, int)}, but given
+     * {@link CancellationToken} is checked before given {@link SourceComponent} is updated, so that a cancelled
+     * update leaves it as it was.
+     *
+     * @param sourceComponent       {@link SourceComponent} which was parsed from given directory.
+     * @param PATH                  path to the source directory.
+     * @param changedFiles          .java files which have been added or modified.
+     * @param removedFiles          .java files which have been removed.
+     * @param sourceFilter          {@link SourceFilter} deciding which files are parsed.
+     * @param resolutionParallelism number of threads used for resolving declarations.
+     * @param cancellationToken     {@link CancellationToken} of the project being updated.
+     * @throws EmptySourceDirectoryException if there is no .java files left in given directory.
+     * @throws CancellationException         if given token has been cancelled.
+     * @throws UncheckedIOException          if a changed java file can not be read.
+     */
+    public static void reparse(SourceComponent sourceComponent, Path PATH, Collection<Path> changedFiles,
+                               Collection<Path> removedFiles, SourceFilter sourceFilter, int resolutionParallelism,
+                               CancellationToken cancellationToken)
+            throws EmptySourceDirectoryException {
+        var collectionStrategy = new ConcurrentSymbolSolverCollectionStrategy(new ParserConfiguration(), sourceFilter);
+        ProjectRoot projectRoot = collectionStrategy.collect(PATH);
+
+        var sourceRoots = projectRoot.getSourceRoots();
+
+        if (sourceRoots.isEmpty()) {
+            throw new EmptySourceDirectoryException(
+                    "Source directory is empty i.e it does not contain any .java or .jar files."
+            );
+        }
+
+        var parserConfiguration = sourceRoots.get(0).getParserConfiguration();
+        var symbolResolver = parserConfiguration.getSymbolResolver()
+                .orElseThrow(() -> new RuntimeException("[Parser] Unable to get symbolResolver."));
+
+        Set<Path> affectedFiles = new HashSet<>();
+        changedFiles.forEach(file -> affectedFiles.add(file.toAbsolutePath().normalize()));
+        removedFiles.forEach(file -> affectedFiles.add(file.toAbsolutePath().normalize()));
+
+        List<CompilationUnit> addedCompilationUnits = changedFiles.parallelStream()
+                .map(file -> file.toAbsolutePath().normalize())
+                .filter(file -> file.toString().endsWith(".java") && Files.isRegularFile(file)
+                        && shouldAddCU(file.getParent()) && accepts(sourceFilter, PATH, file))
+                .map(file -> tryToParse(file, parserConfiguration))
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+
+        synchronized (sourceComponent.getResolutionLock()) {
+            List<CompilationUnit> removedCompilationUnits = new ArrayList<>();
+            List<CompilationUnit> keptCompilationUnits = new ArrayList<>();
+            sourceComponent.getCompilationUnits().forEach(compilationUnit -> {
+                var isAffected = compilationUnit.getStorage()
+                        .map(storage -> affectedFiles.contains(storage.getPath().toAbsolutePath().normalize()))
+                        .orElse(false);
+                (isAffected ? removedCompilationUnits : keptCompilationUnits).add(compilationUnit);
+            });
+
+            var typeSolver = collectionStrategy.getTypeSolver();
+            Set<ConcurrentTypeSolver> previousTypeSolvers = Collections.newSetFromMap(new IdentityHashMap<>());
+            keptCompilationUnits.forEach(compilationUnit -> {
+                if (compilationUnit.containsData(ConcurrentTypeSolver.TYPE_SOLVER_KEY))
+                    previousTypeSolvers.add(compilationUnit.getData(ConcurrentTypeSolver.TYPE_SOLVER_KEY));
+                compilationUnit.setData(Node.SYMBOL_RESOLVER_KEY, symbolResolver);
+                compilationUnit.setData(ConcurrentTypeSolver.TYPE_SOLVER_KEY, typeSolver);
+            });
+            addedCompilationUnits.forEach(compilationUnit ->
+                    compilationUnit.setData(ConcurrentTypeSolver.TYPE_SOLVER_KEY, typeSolver));
+
+            Set<String> removedTypes = getTypeNames(getTypeDeclarations(removedCompilationUnits));
+            Set<String> simpleNamesOfChangedTypes = new HashSet<>();
+            removedTypes.forEach(name -> simpleNamesOfChangedTypes.add(name.substring(name.lastIndexOf('.') + 1)));
+            getTypeDeclarations(addedCompilationUnits).forEach(declaration -> simpleNamesOfChangedTypes
+                    .add(((NodeWithSimpleName<?>) declaration).getNameAsString()));
+
+            List<Node> declarationsToResolve = getTypeDeclarations(addedCompilationUnits);
+            getTypeDeclarations(keptCompilationUnits).stream()
+                    .filter(declaration -> refersToAny(declaration, simpleNamesOfChangedTypes))
+                    .forEach(declarationsToResolve::add);
+
+            var resolvedDeclarations =
+                    resolveDeclarations(declarationsToResolve, symbolResolver, resolutionParallelism, cancellationToken);
+            cancellationToken.throwIfCancelled();
+            previousTypeSolvers.forEach(previousTypeSolver -> previousTypeSolver.invalidate(typeSolver));
+            sourceComponent.update(removedCompilationUnits, addedCompilationUnits, removedTypes, resolvedDeclarations,
+                    resolutionParallelism, cancellationToken);
+        }
+    }
+
+    /**
+     * @param compilationUnits List of compilation units.
+     * @return every class, interface and enum declaration present in compilation units, classes and interfaces first.
+     */
+    private static List<Node> getTypeDeclarations(List<CompilationUnit> compilationUnits) {
+        List<Node> declarations = new ArrayList<>(getClassOrInterfaceDeclarations(compilationUnits));
+        declarations.addAll(getEnumDeclaration(compilationUnits));
+        return declarations;
+    }
+
+    /**
+     * @param declarations class, interface and enum declarations.
+     * @return fully qualified names of the declarations.
+     */
+    private static Set<String> getTypeNames(List<Node> declarations) {
+        return declarations.stream()
+                .map(declaration -> ((TypeDeclaration<?>) declaration).getFullyQualifiedName())
+                .flatMap(Optional::stream)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * @param declaration a type declaration.
+     * @param simpleNames simple names of types.
+     * @return true if declaration refers to a type with any of the given simple names.
+     */
+    private static boolean refersToAny(Node declaration, Set<String> simpleNames) {
+        return declaration.findFirst(ClassOrInterfaceType.class,
+                type -> simpleNames.contains(type.getNameAsString())).isPresent();
+    }
+
+    /**
+     * Resolves every class, interface and enum declaration present in the compilation units, if resolutionParallelism
+     * is greater than 1 declarations are resolved in parallel on a dedicated {@link ForkJoinPool}.
+     * Order of returned declarations is same as that of sequential resolution.
+     *
+     * @param compilationUnits      List of {@link CompilationUnit}.
+     * @param symbolResolver        a {@link SymbolResolver}.
+     * @param resolutionParallelism number of threads used for resolution.
+     * @param cancellationToken     checked before every declaration is resolved.
      * @return return a List<ResolvedDeclaration>.
-     * @throws RuntimeException if passed sourceRoots is empty.
+     * @throws RuntimeException      if resolution is interrupted or fails.
+     * @throws CancellationException if given token has been cancelled.
      */
     private static List<ResolvedDeclaration> getResolvedDeclarations(
-            List<CompilationUnit> compilationUnits, SymbolResolver symbolResolver
+            List<CompilationUnit> compilationUnits, SymbolResolver symbolResolver, int resolutionParallelism,
+            CancellationToken cancellationToken
     ) {
-        var resolvedDeclarations = getClassOrInterfaceDeclarations(compilationUnits).stream()
-                .map(classOrInterfaceDeclaration ->
-                        symbolResolver.resolveDeclaration(classOrInterfaceDeclaration, ResolvedDeclaration.class))
-                .collect(Collectors.toList());
+        return resolveDeclarations(getTypeDeclarations(compilationUnits), symbolResolver, resolutionParallelism,
+                cancellationToken);
+    }
 
-        var resolvedEnumDecls = getEnumDeclaration(compilationUnits).stream()
-                .map(it -> symbolResolver.resolveDeclaration(it, ResolvedDeclaration.class))
-                .collect(Collectors.toList());
+    /**
+     * <p>
+     * Resolves given declarations, if resolutionParallelism is greater than 1 declarations are resolved in
+     * parallel on a dedicated {@link ForkJoinPool}. Order of returned declarations is same as that of given ones.
+     * </p>
+     *
+     * <p>
+     * Resolving a type declaration only wraps its node in a declaration bound to the type solver, without looking up
+     * any type or touching caches of java parser, so declarations can be resolved on any thread. Types referred to by
+     * the declarations are resolved later, while holding the resolution lock of the source component, see
+     * {@link SourceComponent#getResolutionLock()}.
+     * </p>
+     *
+     * @param declarations          class, interface and enum declarations.
+     * @param symbolResolver        a {@link SymbolResolver}.
+     * @param resolutionParallelism number of threads used for resolution.
+     * @param cancellationToken     checked before every declaration is resolved.
+     * @return return a List<ResolvedDeclaration>.
+     * @throws RuntimeException      if resolution is interrupted or fails.
+     * @throws CancellationException if given token has been cancelled.
+     */
+    private static List<ResolvedDeclaration> resolveDeclarations(
+            List<Node> declarations, SymbolResolver symbolResolver, int resolutionParallelism,
+            CancellationToken cancellationToken
+    ) {
+        if (resolutionParallelism < 2) {
+            return resolve(declarations.stream(), symbolResolver, cancellationToken);
+        }
 
-        resolvedDeclarations.addAll(resolvedEnumDecls);
-        return resolvedDeclarations;
+        var pool = new ForkJoinPool(resolutionParallelism);
+        try {
+            return pool.submit(() -> resolve(declarations.parallelStream(), symbolResolver, cancellationToken)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("[Parser] Interrupted while resolving declarations.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException("[Parser] Unable to resolve declarations.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @param declarations      stream of declarations to be resolved.
+     * @param symbolResolver    a {@link SymbolResolver}
+     * @param cancellationToken checked before every declaration is resolved.
+     * @return List of {@link ResolvedDeclaration} in encounter order of the stream.
+     */
+    private static List<ResolvedDeclaration> resolve(Stream<Node> declarations, SymbolResolver symbolResolver,
+                                                     CancellationToken cancellationToken) {
+        return declarations
+                .peek(declaration -> cancellationToken.throwIfCancelled())
+                .map(declaration -> symbolResolver.resolveDeclaration(declaration, ResolvedDeclaration.class))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -128,14 +472,18 @@ public abstract class Parser {
      * Takes a list of SourceRoot and try to parse parallelly each .java file on success add them to list of compilationUnit.
      * Unsuccessful parse results are ignored.
      *
-     * @param sourceRoots List of SourceRoot.
+     * @param sourceRoots       List of SourceRoot.
+     * @param cancellationToken checked before every source root is parsed.
      * @return Returns all the compilation units from the source directory.
+     * @throws CancellationException if given token has been cancelled.
      */
     @SuppressWarnings("OptionalGetWithoutIsPresent")
-    private static List<CompilationUnit> getAllCompilationUnits(List<SourceRoot> sourceRoots) {
+    private static List<CompilationUnit> getAllCompilationUnits(List<SourceRoot> sourceRoots,
+                                                                CancellationToken cancellationToken) {
         List<CompilationUnit> compilationUnits = new ArrayList<>();
 
         sourceRoots.forEach(sourceRoot -> {
+            cancellationToken.throwIfCancelled();
             var parseResults = sourceRoot.tryToParseParallelized();
             parseResults.forEach(parseResult -> {
                 if (parseResult.isSuccessful() &&
@@ -149,6 +497,95 @@ public abstract class Parser {
         return compilationUnits;
     }
 
+    /**
+     * Same as {@link #getAllCompilationUnits(List, CancellationToken)}, but files for which a reusable {@link CompilationUnit}
+     * is present are not parsed, a copy of reusable {@link CompilationUnit} bound to the given symbol resolver
+     * is used instead. Files rejected by given {@link SourceFilter} are skipped before parsing.
+     *
+     * @param sourceRoots              List of SourceRoot.
+     * @param PATH                     path to the source directory, against which source filter is matched.
+     * @param sourceFilter             {@link SourceFilter} deciding which files are parsed.
+     * @param reusableCompilationUnits {@link CompilationUnit}s keyed by absolute normalized path of the file.
+     * @param symbolResolver           {@link SymbolResolver} to which reused {@link CompilationUnit}s are bound.
+     * @param cancellationToken        checked before every file is parsed.
+     * @return Returns all the compilation units from the source directory.
+     * @throws RuntimeException      if unable to walk any of the source roots.
+     * @throws CancellationException if given token has been cancelled.
+     * @throws UncheckedIOException  if a java file can not be read.
+     */
+    private static List<CompilationUnit> getAllCompilationUnits(
+            List<SourceRoot> sourceRoots, Path PATH, SourceFilter sourceFilter,
+            Map<Path, CompilationUnit> reusableCompilationUnits, SymbolResolver symbolResolver,
+            CancellationToken cancellationToken
+    ) {
+        List<CompilationUnit> compilationUnits = new ArrayList<>();
+
+        for (var sourceRoot : sourceRoots) {
+            List<Path> javaFiles;
+            try (var paths = Files.walk(sourceRoot.getRoot())) {
+                javaFiles = paths.filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path))
+                        .map(path -> path.toAbsolutePath().normalize())
+                        .filter(path -> shouldAddCU(path.getParent()) && accepts(sourceFilter, PATH, path))
+                        .collect(Collectors.toList());
+            } catch (IOException e) {
+                throw new RuntimeException("[Parser] Unable to walk source root " + sourceRoot.getRoot(), e);
+            }
+
+            javaFiles.parallelStream()
+                    .map(javaFile -> {
+                        cancellationToken.throwIfCancelled();
+                        var reusable = reusableCompilationUnits.get(javaFile);
+                        if (reusable == null) return tryToParse(javaFile, sourceRoot.getParserConfiguration());
+
+                        var compilationUnit = reusable.clone();
+                        compilationUnit.setStorage(javaFile);
+                        compilationUnit.setData(Node.SYMBOL_RESOLVER_KEY, symbolResolver);
+                        return Optional.of(compilationUnit);
+                    })
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.toList())
+                    .forEach(compilationUnits::add);
+        }
+
+        return compilationUnits;
+    }
+
+    /**
+     * Tries to parse given java file, unsuccessful parse results are ignored.
+     *
+     * @param javaFile            path of the file to be parsed.
+     * @param parserConfiguration {@link ParserConfiguration} to be used for parsing.
+     * @return Optional of {@link CompilationUnit}, empty if the file can not be parsed.
+     * @throws UncheckedIOException if the file can not be read, so that a project is never parsed with some of its
+     *                              files silently missing.
+     */
+    private static Optional<CompilationUnit> tryToParse(Path javaFile, ParserConfiguration parserConfiguration) {
+        ParseResult<CompilationUnit> parseResult;
+        try {
+            parseResult = new JavaParser(parserConfiguration).parse(javaFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("[Parser] Unable to read " + javaFile, e);
+        }
+
+        return parseResult.isSuccessful() ? parseResult.getResult() : Optional.empty();
+    }
+
+    /**
+     * @param sourceFilter {@link SourceFilter} to be matched.
+     * @param PATH         path to the source directory.
+     * @param javaFile     java file present in source directory.
+     * @return true if java file is accepted by source filter, files which can not be read are rejected.
+     */
+    private static boolean accepts(SourceFilter sourceFilter, Path PATH, Path javaFile) {
+        if (sourceFilter == SourceFilter.ACCEPT_ALL) return true;
+
+        try {
+            return sourceFilter.accepts(ContentHash.toRelativeName(PATH, javaFile), Files.size(javaFile));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     /**
      * Checks whether the {@link CompilationUnit} should be added to the list of {@link CompilationUnit}
      *
@@ -156,18 +593,10 @@ public abstract class Parser {
      * @return true if all checks have passed.
      */
     private static boolean shouldAddCU(Path path) {
-        var directory = path.normalize();
-        var dirNameList = Arrays.asList(directory.toString().split(getFileSeparatorForSplit()));
-        return dirNameList.stream()
-                .map(name -> !name.startsWith("."))
-                .reduce(true, (x, y) -> x && y);
-    }
+        for (var name : path.normalize()) {
+            if (name.toString().startsWith(".")) return false;
+        }
 
-    /**
-     * @return File separator for splitting.
-     */
-    private static String getFileSeparatorForSplit() {
-        if (File.separator.equals("\\")) return "\\\\";
-        return File.separator;
+        return true;
     }
 }
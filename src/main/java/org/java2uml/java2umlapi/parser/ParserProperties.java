@@ -0,0 +1,27 @@
+package org.java2uml.java2umlapi.parser;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * <p>
+ * Stores configuration properties for {@link Parser}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@ConfigurationProperties(prefix = "parser")
+public class ParserProperties {
+    /**
+     * Number of threads used for resolving declarations and building relations between them, 1 does both on the
+     * calling thread. Types referred to by the declarations are always resolved one at a time.
+     */
+    private int resolutionParallelism = Runtime.getRuntime().availableProcessors();
+
+    public int getResolutionParallelism() {
+        return resolutionParallelism;
+    }
+
+    public void setResolutionParallelism(int resolutionParallelism) {
+        this.resolutionParallelism = resolutionParallelism;
+    }
+}
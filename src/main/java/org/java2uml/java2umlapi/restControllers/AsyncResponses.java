@@ -0,0 +1,156 @@
+package org.java2uml.java2umlapi.restControllers;
+
+import org.java2uml.java2umlapi.executor.Job;
+import org.java2uml.java2umlapi.restControllers.exceptions.JobInProgressException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Utility class for answering requests asynchronously. Handler methods which wait for generation of an artefact
+ * return a {@link DeferredResult} of the response instead of blocking in {@code future.get(TIME_OUT, TIME_UNIT)},
+ * so the request thread is released immediately and the response is written once the generation completes.
+ * </p>
+ *
+ * <p>
+ * Generation which does not complete within the deadline is left running, and the future completes with
+ * {@link java.util.concurrent.TimeoutException}, which handler methods answer with "202 Accepted" pointing to the job
+ * generating the artefact, see {@link #stillInProgress(String, Optional)}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public abstract class AsyncResponses {
+    /**
+     * @param future future of the response.
+     * @param <T>    type of the response.
+     * @return {@link DeferredResult} set once given future completes, exception with which the future completes is
+     * handled like an exception thrown by the handler method.
+     */
+    public static <T> DeferredResult<T> deferred(CompletableFuture<T> future) {
+        var result = new DeferredResult<T>();
+        future.whenComplete((value, exception) -> {
+            if (exception == null) result.setResult(value);
+            else result.setErrorResult(unwrap(exception));
+        });
+        return result;
+    }
+
+    /**
+     * @param value response which is already available, for eg. a cached artefact.
+     * @param <T>   type of the response.
+     * @return {@link DeferredResult} which is already set.
+     */
+    public static <T> DeferredResult<T> completed(T value) {
+        var result = new DeferredResult<T>();
+        result.setResult(value);
+        return result;
+    }
+
+    /**
+     * @param future  future of the generation.
+     * @param timeout how long to wait for the generation.
+     * @param unit    unit of the timeout.
+     * @param <T>     type of the artefact.
+     * @return a future completed with the outcome of given future, unwrapped from {@link CompletionException}, or
+     * with {@link java.util.concurrent.TimeoutException} if deadline elapses first. Given future is not affected.
+     */
+    public static <T> CompletableFuture<T> within(CompletableFuture<T> future, long timeout, TimeUnit unit) {
+        var result = new CompletableFuture<T>();
+        future.whenComplete((value, exception) -> {
+            if (exception == null) result.complete(value);
+            else result.completeExceptionally(unwrap(exception));
+        });
+        return result.orTimeout(timeout, unit);
+    }
+
+    /**
+     * @param reason reason of the "202 Accepted" response.
+     * @param job    job generating requested artefact, see {@link org.java2uml.java2umlapi.executor.JobRegistry}.
+     * @return exception answered with "202 Accepted" and "Location" header of the job, if it is present. Must be
+     * called with attributes of the request, see {@link #inRequestContext(BiFunction)}.
+     */
+    public static JobInProgressException stillInProgress(String reason, Optional<Job> job) {
+        return new JobInProgressException(reason, job.map(Job::getId).map(JobController::uriOf).orElse(null));
+    }
+
+    /**
+     * @return uri of the current request including its query, used as link to the result of a job submitted by it.
+     */
+    public static URI currentRequestUri() {
+        return ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    }
+
+    /**
+     * Binds given handler to the current request, so that it can build links with
+     * {@link org.springframework.hateoas.server.mvc.WebMvcLinkBuilder} even if it is called by the thread which has
+     * completed the generation. Must be called on the request thread.
+     *
+     * @param handler handler of the outcome of a generation, see {@link CompletableFuture#handle(BiFunction)}.
+     * @param <T>     type of the artefact.
+     * @param <R>     type of the response.
+     * @return handler which is called with attributes of the current request.
+     */
+    public static <T, R> BiFunction<T, Throwable, R> inRequestContext(BiFunction<T, Throwable, R> handler) {
+        var request = getCurrentRequest();
+        return (value, exception) -> callInContextOf(request, () -> handler.apply(value, exception));
+    }
+
+    /**
+     * Same as {@link #inRequestContext(BiFunction)}, for mapping a generated artefact, see
+     * {@link CompletableFuture#thenApply(Function)}.
+     *
+     * @param function maps the generated artefact to the response.
+     * @param <T>      type of the artefact.
+     * @param <R>      type of the response.
+     * @return function which is called with attributes of the current request.
+     */
+    public static <T, R> Function<T, R> inRequestContext(Function<T, R> function) {
+        var request = getCurrentRequest();
+        return value -> callInContextOf(request, () -> function.apply(value));
+    }
+
+    private static HttpServletRequest getCurrentRequest() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest()
+                : null;
+    }
+
+    private static <R> R callInContextOf(HttpServletRequest request, Supplier<R> call) {
+        if (request == null) return call.get();
+
+        var previous = RequestContextHolder.getRequestAttributes();
+        // Attributes of the request thread are marked as completed once it is released, so they are not reused.
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            return call.get();
+        } finally {
+            RequestContextHolder.setRequestAttributes(previous);
+        }
+    }
+
+    /**
+     * @param exception exception with which a future has completed.
+     * @return cause of the exception if it only wraps the cause, else the exception itself.
+     */
+    public static Throwable unwrap(Throwable exception) {
+        if ((exception instanceof CompletionException || exception instanceof ExecutionException)
+                && exception.getCause() != null) {
+            return exception.getCause();
+        }
+        return exception;
+    }
+}
@@ -0,0 +1,81 @@
+package org.java2uml.java2umlapi.restControllers;
+
+import org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * <p>
+ * Utility class for answering conditional requests for artefacts generated from a project, for eg. svgs polled by
+ * dashboards. ETag of an artefact is derived from content hash of the project and type of the artefact, so it is
+ * known before the artefact is generated or read from cache, and a repeated request can be answered with
+ * "304 Not Modified" at cost of looking up the content hash.
+ * </p>
+ *
+ * <p>
+ * Artefacts are sent with "Cache-Control: private, no-cache", clients can keep them but have to revalidate them on
+ * every use, because an artefact changes as soon as its project is updated.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public abstract class ConditionalRequests {
+    /**
+     * Cache control of every artefact.
+     */
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    /**
+     * @param projectInfo {@link ProjectInfo} of the project from which artefact is generated.
+     * @param artefact    type of the artefact, it has to differ for every representation of the artefact, for eg.
+     *                    for its gzip encoded representation.
+     * @return strong ETag of the artefact, null if content hash of the project is not known.
+     */
+    public static String eTagOf(ProjectInfo projectInfo, String artefact) {
+        return eTagOf(projectInfo.getContentHash(), artefact);
+    }
+
+    /**
+     * @param contentHash content hash of the project from which artefact is generated, may be null.
+     * @param artefact    type of the artefact.
+     * @return strong ETag of the artefact, null if content hash is null.
+     */
+    public static String eTagOf(String contentHash, String artefact) {
+        return contentHash == null ? null : "\"" + artefact + "-" + contentHash + "\"";
+    }
+
+    /**
+     * Checks "If-None-Match" header of the request against given ETag, if it matches then status of the response is
+     * set to 304 and ETag header is added to it.
+     *
+     * @param request request being answered, may be null.
+     * @param eTag    ETag of the requested artefact, may be null.
+     * @return true if client already has the artefact.
+     */
+    public static boolean isNotModified(WebRequest request, String eTag) {
+        return request != null && eTag != null && request.checkNotModified(eTag);
+    }
+
+    /**
+     * @param eTag ETag of the requested artefact.
+     * @param <T>  type of the body.
+     * @return "304 Not Modified" response without body.
+     */
+    public static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CACHE_CONTROL).build();
+    }
+
+    /**
+     * Adds validators of an artefact to given response.
+     *
+     * @param response builder of "200 OK" response.
+     * @param eTag     ETag of the artefact, may be null.
+     * @return given builder.
+     */
+    public static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response, String eTag) {
+        response.cacheControl(CACHE_CONTROL);
+        return eTag == null ? response : response.eTag(eTag);
+    }
+}
@@ -1,41 +1,64 @@
 package org.java2uml.java2umlapi.restControllers;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.java2uml.java2umlapi.executor.ExecutorWrapper;
+import org.java2uml.java2umlapi.callGraph.service.CallGraphIndexService;
+import org.java2uml.java2umlapi.executor.Job;
+import org.java2uml.java2umlapi.executor.JobRegistry;
+import org.java2uml.java2umlapi.executor.Lane;
+import org.java2uml.java2umlapi.executor.Priority;
+import org.java2uml.java2umlapi.fileStorage.FileStorageProperties;
 import org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo;
 import org.java2uml.java2umlapi.fileStorage.repository.ProjectInfoRepository;
+import org.java2uml.java2umlapi.fileStorage.service.ClassDiagramSVGService;
+import org.java2uml.java2umlapi.fileStorage.service.FocusedClassDiagramSVGService;
 import org.java2uml.java2umlapi.fileStorage.service.FileStorageService;
+import org.java2uml.java2umlapi.fileStorage.service.UMLCodeCacheService;
 import org.java2uml.java2umlapi.fileStorage.service.UnzippedFileStorageService;
+import org.java2uml.java2umlapi.lightWeight.repository.SourceRepository;
+import org.java2uml.java2umlapi.lightWeight.service.MethodSignatureToMethodIdMapService;
 import org.java2uml.java2umlapi.modelAssemblers.ProjectInfoAssembler;
+import org.java2uml.java2umlapi.parsedComponent.service.ParseCacheService;
 import org.java2uml.java2umlapi.parsedComponent.service.SourceComponentService;
 import org.java2uml.java2umlapi.restControllers.exceptions.BadRequest;
+import org.java2uml.java2umlapi.restControllers.exceptions.ProjectInfoNotFoundException;
 import org.java2uml.java2umlapi.restControllers.response.ErrorResponse;
 import org.java2uml.java2umlapi.restControllers.services.SSEEmitterCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.Set;
+import java.util.concurrent.*;
 
-import static org.java2uml.java2umlapi.restControllers.SwaggerDescription.ERR_RESPONSE_MEDIA_TYPE;
-import static org.java2uml.java2umlapi.restControllers.SwaggerDescription.INTERNAL_SERVER_ERROR_DESC;
+import static org.java2uml.java2umlapi.restControllers.AsyncResponses.*;
+import static org.java2uml.java2umlapi.restControllers.SwaggerDescription.*;
 import static org.java2uml.java2umlapi.restControllers.services.SSEEmitterCache.SSEventType.PARSE;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 /**
  * <p>
@@ -57,9 +80,20 @@ public class FileController {
     private final ProjectInfoRepository projectInfoRepository;
     private final UnzippedFileStorageService unzippedFileStorageService;
     private final SourceComponentService sourceComponentService;
+    private final ParseCacheService parseCacheService;
+    private final SourceRepository sourceRepository;
+    private final UMLCodeCacheService umlCodeCacheService;
+    private final ClassDiagramSVGService classDiagramSVGService;
+    private final FocusedClassDiagramSVGService focusedClassDiagramSVGService;
+    private final MethodSignatureToMethodIdMapService methodSignatureToMethodIdMapService;
     private final SSEEmitterCache emitterCache;
-    private final ExecutorWrapper executor;
+    private final JobRegistry jobRegistry;
+    private final CallGraphIndexService callGraphIndexService;
+    private final Set<Long> projectsBeingUpdated;
+    private final boolean parseFromArchive;
+    private final long maxUploadSize;
     private static final Long TIME_OUT = 4L;
+    private static final String PARSE_JOB = "parse";
     private final Logger logger = LoggerFactory.getLogger(FileController.class);
 
     public FileController(FileStorageService fileStorageService,
@@ -67,24 +101,43 @@ public class FileController {
                           ProjectInfoRepository projectInfoRepository,
                           UnzippedFileStorageService unzippedFileStorageService,
                           SourceComponentService sourceComponentService,
+                          ParseCacheService parseCacheService,
+                          SourceRepository sourceRepository,
+                          UMLCodeCacheService umlCodeCacheService,
+                          ClassDiagramSVGService classDiagramSVGService,
+                          FocusedClassDiagramSVGService focusedClassDiagramSVGService,
+                          MethodSignatureToMethodIdMapService methodSignatureToMethodIdMapService,
                           SSEEmitterCache emitterCache,
-                          ExecutorWrapper executor) {
+                          JobRegistry jobRegistry,
+                          CallGraphIndexService callGraphIndexService,
+                          FileStorageProperties fileStorageProperties,
+                          MultipartProperties multipartProperties) {
         this.fileStorageService = fileStorageService;
         this.assembler = assembler;
         this.projectInfoRepository = projectInfoRepository;
         this.unzippedFileStorageService = unzippedFileStorageService;
         this.sourceComponentService = sourceComponentService;
+        this.parseCacheService = parseCacheService;
+        this.sourceRepository = sourceRepository;
+        this.umlCodeCacheService = umlCodeCacheService;
+        this.classDiagramSVGService = classDiagramSVGService;
+        this.focusedClassDiagramSVGService = focusedClassDiagramSVGService;
+        this.methodSignatureToMethodIdMapService = methodSignatureToMethodIdMapService;
         this.emitterCache = emitterCache;
-        this.executor = executor;
+        this.jobRegistry = jobRegistry;
+        this.callGraphIndexService = callGraphIndexService;
+        this.projectsBeingUpdated = ConcurrentHashMap.newKeySet();
+        this.parseFromArchive = fileStorageProperties.isParseFromArchive();
+        this.maxUploadSize = multipartProperties.getMaxFileSize() == null ?
+                -1 : multipartProperties.getMaxFileSize().toBytes();
     }
 
     /**
      * Provides post mapping for "/api/files" endpoint
      *
      * @param file Multipart file should be a zip file.
-     * @return ProjectInfo containing meta data and useful links.
+     * @return deferred ProjectInfo containing meta data and useful links.
      * @throws HttpMediaTypeNotSupportedException if file format is not "application/zip".
-     * @throws InterruptedException               if {@link ExecutorWrapper} is interrupted.
      */
     @Operation(summary = "Upload Source",
             description = "upload source file, to explore, generate UML diagrams and much more.")
@@ -98,68 +151,342 @@ public class FileController {
     })
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public EntityModel<ProjectInfo> upload(@RequestPart @RequestParam("file") MultipartFile file)
-            throws HttpMediaTypeNotSupportedException, InterruptedException {
+    public DeferredResult<EntityModel<ProjectInfo>> upload(@RequestPart @RequestParam("file") MultipartFile file)
+            throws HttpMediaTypeNotSupportedException {
         if (!Objects.requireNonNull(file.getContentType()).contains("zip")) {
             throw new HttpMediaTypeNotSupportedException("please upload file with zip format.");
         }
 
         String fileName = fileStorageService.store(file);
         ProjectInfo projectInfo = projectInfoRepository
-                .save(new ProjectInfo(fileName, file.getSize(), file.getContentType()));
+                .save(new ProjectInfo(StringUtils.getFilename(StringUtils.cleanPath(file.getOriginalFilename())),
+                        file.getSize(), file.getContentType()));
 
         return getProjectInfoResponse(fileName, projectInfo);
     }
 
     /**
-     * Generate response for project info.
+     * Provides post mapping for "/api/files" endpoint, for uploading zip file as the raw body of the request.
+     * Body is streamed directly to the file system while its hash is computed, so unlike multipart upload it is
+     * neither buffered by the servlet container nor read again for hashing. Body is limited to the same size as a
+     * multipart upload, i.e. "spring.servlet.multipart.max-file-size".
      *
-     * @param fileName    name of the file to be parsed.
-     * @param projectInfo project info for which response needs to be generated.
-     * @return Generated response.
-     * @throws InterruptedException if any of {@link ExecutorWrapper}' s thread is interrupted b/w activity.
+     * @param inputStream   body of the request, should be a zip file.
+     * @param name          name of the uploaded file.
+     * @param contentType   content type of the request.
+     * @param contentLength length of the body, if known.
+     * @return deferred ProjectInfo containing meta data and useful links.
+     * @throws MaxUploadSizeExceededException if the body is larger than the limit.
      */
-    private EntityModel<ProjectInfo> getProjectInfoResponse(String fileName, ProjectInfo projectInfo) throws InterruptedException {
-        var future = executor.submit(() -> {
-            var unzippedFile = unzippedFileStorageService.unzipAndStore(projectInfo.getId(), fileName);
-            fileStorageService.delete(fileName);
-            try {
-                sourceComponentService.save(projectInfo.getId(), unzippedFile.toPath());
-                sourceComponentService.get(projectInfo.getId()).ifPresent(sourceComponent -> {
-                    if (!sourceComponent.isExternalDependenciesIncluded())
-                        projectInfo.addMessage(
-                                "Please add all the project dependencies in zip file for better parsing results.");
-                });
-            } catch (BadRequest e) {
-                projectInfo.setBadRequest(true);
-                projectInfoRepository.save(projectInfo);
-                notifyAboutParse(ParseState.PARSE_FAILED, projectInfo.getId());
-                throw e;
+    @Operation(summary = "Upload Source Stream",
+            description = "upload source file as raw request body, to explore, generate UML diagrams and much more.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Upload Successful"),
+            @ApiResponse(responseCode = "500", description = INTERNAL_SERVER_ERROR_DESC,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "413", description = "Uploaded file is too large.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "415", description = "Please upload a zip file.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(consumes = {"application/zip", "application/x-zip-compressed"})
+    public DeferredResult<EntityModel<ProjectInfo>> upload(
+            InputStream inputStream,
+            @Parameter(description = "name of the uploaded file.")
+            @RequestParam(value = "name", defaultValue = "source.zip") String name,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength
+    ) {
+        if (maxUploadSize >= 0 && contentLength != null && contentLength > maxUploadSize) {
+            throw new MaxUploadSizeExceededException(maxUploadSize);
+        }
+
+        String projectName = StringUtils.getFilename(StringUtils.cleanPath(name));
+        if (!StringUtils.hasText(projectName) || projectName.contains("..")) projectName = "source.zip";
+        String fileName = fileStorageService.store(inputStream, projectName, maxUploadSize);
+        ProjectInfo projectInfo = projectInfoRepository
+                .save(new ProjectInfo(projectName,
+                        fileStorageService.size(fileName), contentType.getType() + "/" + contentType.getSubtype()));
+
+        return getProjectInfoResponse(fileName, projectInfo);
+    }
+
+    /**
+     * Provides patch mapping for "/api/files/{projectInfoId}" endpoint, updates an already parsed project with
+     * changed, added or removed files. Only the changed .java files are parsed again, and only the types affected
+     * by them are resolved again.
+     *
+     * @param projectInfoId id of the {@link ProjectInfo} to be updated.
+     * @param file          zip file containing added and changed files, with same layout as uploaded zip file.
+     * @param removed       paths of removed files, relative to the root of uploaded zip file.
+     * @return deferred ProjectInfo containing meta data and useful links.
+     * @throws HttpMediaTypeNotSupportedException if file format is not "application/zip".
+     */
+    @Operation(summary = "Update Source",
+            description = "update an uploaded project with changed, added or removed files, " +
+                    "only the affected files are parsed again.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Update Successful"),
+            @ApiResponse(responseCode = "400", description = "Neither changed files nor removed files are provided.",
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = NOT_FOUND_404,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Project is still being parsed or updated.",
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "415", description = "Please upload a zip file.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PatchMapping(value = "/{projectInfoId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public DeferredResult<EntityModel<ProjectInfo>> update(
+            @Parameter(description = PROJECT_ID_DESC) @PathVariable Long projectInfoId,
+            @RequestPart(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "removed", required = false) List<String> removed)
+            throws HttpMediaTypeNotSupportedException {
+        var removedFiles = removed == null ? List.<String>of() : removed;
+        if ((file == null || file.isEmpty()) && removedFiles.isEmpty()) {
+            throw new BadRequest("Please provide a zip file with changed files, or files to be removed.");
+        }
+
+        if (file != null && !Objects.requireNonNull(file.getContentType()).contains("zip")) {
+            throw new HttpMediaTypeNotSupportedException("please upload file with zip format.");
+        }
+
+        var projectInfo = projectInfoRepository.findById(projectInfoId).orElseThrow(
+                () -> new ProjectInfoNotFoundException("The information about file you were looking " +
+                        "for is not present. please consider, uploading the given file again."));
+
+        if (!projectInfo.isParsed() || !projectsBeingUpdated.add(projectInfoId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Project is still being parsed or updated, please try again in a few seconds.");
+        }
+
+        CompletableFuture<ProjectInfo> future;
+        try {
+            String fileName = file == null || file.isEmpty() ? null : fileStorageService.store(file);
+            // Updates are not awaited by anyone browsing the project, so they give way to uploads.
+            future = jobRegistry.submit(projectInfoId, PARSE_JOB, resultUriOf(projectInfo),
+                    Lane.PARSE, Priority.BATCH, job -> {
+                try {
+                    job.progress("applying changes", 0);
+                    updateProject(projectInfo, fileName, removedFiles, job);
+                    return projectInfo;
+                } finally {
+                    projectsBeingUpdated.remove(projectInfoId);
+                }
+            });
+        } catch (RuntimeException e) {
+            projectsBeingUpdated.remove(projectInfoId);
+            throw e;
+        }
+
+        return deferred(within(future, TIME_OUT, TIME_UNIT).handle(inRequestContext((updated, exception) -> {
+            if (exception instanceof TimeoutException) {
+                logger.info("Time Out occurred, proceeding with task at hand.");
+            } else if (exception instanceof BadRequest) {
+                throw (BadRequest) exception;
+            } else if (exception instanceof CancellationException) {
+                throw new ProjectInfoNotFoundException("Project has been deleted while it was being updated.");
+            } else if (exception != null) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "an unknown error occurred.");
+            }
+            return assembler.toModel(projectInfo);
+        })));
+    }
+
+    /**
+     * Applies changed and removed files to the unzipped files of the project, updates its source component and
+     * invalidates everything that was generated from the previous source component.
+     *
+     * @param projectInfo project info of the project to be updated.
+     * @param fileName    name of the stored zip file containing changed files, null if no file has changed.
+     * @param removed     paths of removed files, relative to the root of uploaded zip file.
+     * @param job         job updating the project, checked for cancellation between stages.
+     * @throws CancellationException if project has been deleted while it was being updated.
+     */
+    private void updateProject(ProjectInfo projectInfo, String fileName, List<String> removed, Job job) {
+        var projectInfoId = projectInfo.getId();
+        projectInfo.setParsed(false);
+        projectInfoRepository.save(projectInfo);
+
+        try {
+            var path = unzippedFileStorageService.detach(projectInfoId).toPath();
+            List<Path> changedFiles = List.of();
+            if (fileName != null) {
+                changedFiles = unzippedFileStorageService.unzipInto(projectInfoId, fileName);
+                fileStorageService.delete(fileName);
             }
+            var removedFiles = unzippedFileStorageService.deleteFiles(projectInfoId, removed);
+            job.throwIfCancelled();
+
+            projectInfo.setContentHash(
+                    sourceComponentService.update(projectInfoId, path, changedFiles, removedFiles));
+            // New content hash is stored before artefacts are invalidated, so that every artefact generated after
+            // the invalidation is sent with the ETag of the updated source.
+            projectInfoRepository.save(projectInfo);
+            job.throwIfCancelled();
+            invalidateGeneratedArtefacts(projectInfo);
+        } catch (BadRequest e) {
+            job.throwIfCancelled();
+            projectInfo.setBadRequest(true);
+            projectInfoRepository.save(projectInfo);
+            notifyAboutParse(ParseState.PARSE_FAILED, projectInfoId);
+            throw e;
+        }
+
+        notifyAboutParse(ParseState.PARSE_SUCCEEDED, projectInfoId);
+        callGraphIndexService.schedule(projectInfoId);
+        projectInfo.setParsed(true);
+        projectInfoRepository.save(projectInfo);
+    }
+
+    /**
+     * Invalidates uml code, svg, method signature map and source which were generated for given project,
+     * so that they are generated again from updated source component. Evicting cached artefacts starts a new
+     * generation of them, so an artefact still being generated from the previous source component is not cached.
+     *
+     * @param projectInfo project info whose generated artefacts need to be invalidated.
+     */
+    private void invalidateGeneratedArtefacts(ProjectInfo projectInfo) {
+        umlCodeCacheService.evict(projectInfo.getId());
+        classDiagramSVGService.evict(projectInfo.getId());
+        focusedClassDiagramSVGService.evict(projectInfo.getId());
+        methodSignatureToMethodIdMapService.delete(projectInfo.getId());
 
-            notifyAboutParse(ParseState.PARSE_SUCCEEDED, projectInfo.getId());
-            projectInfo.setParsed(true);
+        var source = projectInfo.getSource();
+        if (source != null) {
+            projectInfo.setSource(null);
             projectInfoRepository.save(projectInfo);
-        });
+            sourceRepository.delete(source);
+        }
+    }
 
+    /**
+     * Generate response for project info, once the project is parsed or the time frame elapses. Request thread is
+     * not held while the project is parsed, see {@link AsyncResponses}.
+     *
+     * @param fileName    name of the file to be parsed.
+     * @param projectInfo project info for which response needs to be generated.
+     * @return future of Generated response.
+     */
+    private DeferredResult<EntityModel<ProjectInfo>> getProjectInfoResponse(String fileName, ProjectInfo projectInfo) {
+        CompletableFuture<ProjectInfo> future;
         try {
-            future.get(TIME_OUT, TIME_UNIT);
-        } catch (InterruptedException e) {
-            logger.warn("ExecutorWrapper's thread was interrupted while parsing project.");
+            future = jobRegistry.submit(projectInfo.getId(), PARSE_JOB, resultUriOf(projectInfo),
+                    Lane.PARSE, Priority.INTERACTIVE, job -> parse(fileName, projectInfo, job));
+        } catch (RejectedExecutionException e) {
+            // Project can not be parsed, so it is forgotten rather than left unparsed.
+            fileStorageService.delete(fileName);
+            projectInfoRepository.delete(projectInfo);
             throw e;
-        } catch (ExecutionException e) {
-            if (e.getCause() instanceof BadRequest) {
+        }
+
+        return deferred(within(future, TIME_OUT, TIME_UNIT).handle(inRequestContext((parsed, exception) -> {
+            if (exception instanceof TimeoutException) {
+                logger.info("Time Out occurred, proceeding with task at hand.");
+            } else if (exception instanceof BadRequest) {
+                unzippedFileStorageService.delete(projectInfo.getId());
+                throw (BadRequest) exception;
+            } else if (exception instanceof CancellationException) {
+                throw new ProjectInfoNotFoundException("Project has been deleted while it was being parsed.");
+            } else if (exception != null) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "an unknown error occurred.");
+            }
+            return assembler.toModel(projectInfo);
+        })));
+    }
+
+    /**
+     * Parses uploaded project, reusing an identical project which has already been parsed if any.
+     *
+     * @param fileName    name of the file to be parsed.
+     * @param projectInfo project info of the uploaded project.
+     * @param job         job parsing the project, to which progress is reported.
+     * @return parsed project info.
+     * @throws CancellationException if project has been deleted while it was being parsed.
+     */
+    private ProjectInfo parse(String fileName, ProjectInfo projectInfo, Job job) {
+        try {
+            job.progress("hashing", 0);
+            projectInfo.setContentHash(fileStorageService.hash(fileName));
+            job.throwIfCancelled();
+            if (reuseParsedProject(projectInfo)) {
+                fileStorageService.delete(fileName);
+            } else if (parseFromArchive) {
+                job.progress("parsing", 10);
+                var archiveRoot = unzippedFileStorageService.storeArchive(projectInfo.getId(), fileName);
+                var dependencyDir = unzippedFileStorageService.find(projectInfo.getId()).toPath();
+                sourceComponentService.save(projectInfo.getId(), archiveRoot, List.of(dependencyDir),
+                        projectInfo.getContentHash());
+            } else {
+                job.progress("unzipping", 10);
+                var unzippedFile = unzippedFileStorageService.unzipAndStore(projectInfo.getId(), fileName);
+                fileStorageService.delete(fileName);
+                job.throwIfCancelled();
+                job.progress("parsing", 30);
+                sourceComponentService.save(projectInfo.getId(), unzippedFile.toPath(), projectInfo.getContentHash());
+            }
+            sourceComponentService.get(projectInfo.getId()).ifPresent(sourceComponent -> {
+                if (!sourceComponent.isExternalDependenciesIncluded())
+                    projectInfo.addMessage(
+                            "Please add all the project dependencies in zip file for better parsing results.");
+            });
+            job.throwIfCancelled();
+        } catch (RuntimeException e) {
+            if (job.isCancelled()) {
+                // Files may have been stored after the project was deleted, so they are freed here.
+                fileStorageService.delete(fileName);
                 unzippedFileStorageService.delete(projectInfo.getId());
-                throw (BadRequest) e.getCause();
+                job.throwIfCancelled();
+            }
+            if (e instanceof BadRequest) {
+                projectInfo.setBadRequest(true);
+                projectInfoRepository.save(projectInfo);
+                notifyAboutParse(ParseState.PARSE_FAILED, projectInfo.getId());
             }
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "an unknown error occurred.");
-        } catch (TimeoutException ignored) {
-            logger.info("Time Out occurred, proceeding with task at hand.");
+            throw e;
         }
 
-        return assembler.toModel(projectInfo);
+        notifyAboutParse(ParseState.PARSE_SUCCEEDED, projectInfo.getId());
+        callGraphIndexService.schedule(projectInfo.getId());
+        projectInfo.setParsed(true);
+        return projectInfoRepository.save(projectInfo);
     }
 
+    /**
+     * @param projectInfo project info of the project being parsed.
+     * @return uri of the project info, which is the result of parsing the project.
+     */
+    private static URI resultUriOf(ProjectInfo projectInfo) {
+        return linkTo(methodOn(ProjectInfoController.class).one(projectInfo.getId())).toUri();
+    }
+
+    /**
+     * Reuses unzipped files and source component of a project which was uploaded as an identical archive, so that
+     * the uploaded archive does not need to be unzipped and parsed again.
+     *
+     * @param projectInfo project info of the uploaded archive, content hash must be set.
+     * @return true if parsed project has been reused, false if no project with identical archive has been parsed.
+     */
+    private boolean reuseParsedProject(ProjectInfo projectInfo) {
+        var parsedProject = parseCacheService.findByArchiveHash(projectInfo.getContentHash());
+        if (parsedProject.isEmpty()) return false;
+
+        var parsedProjectId = parsedProject.get().getProjectInfoId();
+        if (unzippedFileStorageService.share(projectInfo.getId(), parsedProjectId).isEmpty()) return false;
+
+        if (!sourceComponentService.reuse(projectInfo.getId(), parsedProjectId)) {
+            unzippedFileStorageService.delete(projectInfo.getId());
+            return false;
+        }
+
+        logger.info("Reusing parsed project {} for project {}.", parsedProjectId, projectInfo.getId());
+        return true;
+    }
 
     private void notifyAboutParse(ParseState state, Long id) {
         var emitter = emitterCache.get(id, PARSE);
@@ -0,0 +1,94 @@
+package org.java2uml.java2umlapi.restControllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.java2uml.java2umlapi.executor.Job;
+import org.java2uml.java2umlapi.executor.JobRegistry;
+import org.java2uml.java2umlapi.modelAssemblers.JobAssembler;
+import org.java2uml.java2umlapi.restControllers.exceptions.JobNotFoundException;
+import org.java2uml.java2umlapi.restControllers.response.ErrorResponse;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+import static org.java2uml.java2umlapi.restControllers.SwaggerDescription.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * <p>
+ * The {@link JobController} is a spring mvc rest controller for {@link Job}, it lets clients poll generations
+ * submitted by other endpoints instead of retrying them.<br>
+ * All the requests at "/api/jobs" endpoint will be routed to this controller.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@Tag(name = "Jobs", description = "Query state and progress of parsing and generations.")
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+    private final JobRegistry jobRegistry;
+    private final JobAssembler assembler;
+
+    public JobController(JobRegistry jobRegistry, JobAssembler assembler) {
+        this.jobRegistry = jobRegistry;
+        this.assembler = assembler;
+    }
+
+    /**
+     * @param jobId id of the job.
+     * @return uri of the job with given id.
+     */
+    public static URI uriOf(Long jobId) {
+        return linkTo(methodOn(JobController.class).one(jobId)).toUri();
+    }
+
+    /**
+     * Defines a get mapping for "/api/jobs/{jobId}" endpoint, this method retrieves the job with given id.
+     *
+     * @param jobId id of the job.
+     * @return {@link EntityModel} of {@link Job} with link to its result.
+     * @throws JobNotFoundException if job has not been found.
+     */
+    @Operation(summary = "Query a job.", description = "Query state, stage and percent complete of a job.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = OK_200_RESPONSE),
+            @ApiResponse(responseCode = "404", description = NOT_FOUND_404,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/{jobId}")
+    public EntityModel<Job> one(@Parameter(description = "id of job.") @PathVariable("jobId") Long jobId) {
+        return assembler.toModel(jobRegistry.get(jobId).orElseThrow(
+                () -> new JobNotFoundException("Job with id " + jobId + " is not present, finished jobs are " +
+                        "forgotten after a while.")));
+    }
+
+    /**
+     * Defines a get mapping for "/api/jobs" endpoint, this method retrieves jobs of a project or of every project.
+     *
+     * @param projectInfoId id of the project, optional.
+     * @return {@link CollectionModel} of jobs, most recently submitted first.
+     */
+    @Operation(summary = "Query jobs.", description = "Query jobs of a project, or of every project if project " +
+            "id is not given.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = OK_200_RESPONSE)
+    })
+    @GetMapping
+    public CollectionModel<EntityModel<Job>> all(
+            @Parameter(description = PROJECT_ID_DESC) @RequestParam(value = "projectId", required = false)
+                    Long projectInfoId) {
+        return assembler.toCollectionModel(jobRegistry.findAll(projectInfoId))
+                .add(linkTo(methodOn(JobController.class).all(projectInfoId)).withSelfRel());
+    }
+}
@@ -7,7 +7,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.java2uml.java2umlapi.executor.ExecutorWrapper;
+import org.java2uml.java2umlapi.executor.JobRegistry;
+import org.java2uml.java2umlapi.executor.Lane;
+import org.java2uml.java2umlapi.executor.Priority;
+import org.java2uml.java2umlapi.executor.SingleFlight;
 import org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo;
 import org.java2uml.java2umlapi.fileStorage.repository.ProjectInfoRepository;
 import org.java2uml.java2umlapi.lightWeight.Source;
@@ -15,6 +18,7 @@ import org.java2uml.java2umlapi.lightWeight.repository.MethodRepository;
 import org.java2uml.java2umlapi.lightWeight.repository.SourceRepository;
 import org.java2uml.java2umlapi.lightWeight.service.MethodSignatureToMethodIdMapService;
 import org.java2uml.java2umlapi.modelAssemblers.SourceAssembler;
+import org.java2uml.java2umlapi.restControllers.AsyncResponses;
 import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
 import org.java2uml.java2umlapi.parsedComponent.service.SourceComponentService;
 import org.java2uml.java2umlapi.restControllers.exceptions.CannotGenerateSourceException;
@@ -32,16 +36,16 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import static org.java2uml.java2umlapi.restControllers.AsyncResponses.*;
 import static org.java2uml.java2umlapi.restControllers.SwaggerDescription.*;
 import static org.java2uml.java2umlapi.restControllers.services.SSEEmitterCache.SSEventType.SOURCE_GENERATION;
 
@@ -60,6 +64,7 @@ public class SourceController {
 
     private static final Long TIME_OUT = 4L;
     private static final TimeUnit TIME_UNIT = TimeUnit.SECONDS;
+    private static final String SOURCE = "source";
     private final Logger logger = LoggerFactory.getLogger(SourceController.class);
     private final SourceRepository sourceRepository;
     private final SourceAssembler assembler;
@@ -68,8 +73,8 @@ public class SourceController {
     private final SourceComponentService sourceComponentService;
     private final MethodSignatureToMethodIdMapService methodIdMapService;
     private final SSEEmitterCache emitterCache;
-    private final Set<Long> submittedTasks;
-    private final ExecutorWrapper executor;
+    private final JobRegistry jobRegistry;
+    private final SingleFlight singleFlight;
 
     public SourceController(
             SourceRepository sourceRepository,
@@ -79,7 +84,8 @@ public class SourceController {
             SourceComponentService sourceComponentService,
             MethodSignatureToMethodIdMapService methodIdMapService,
             SSEEmitterCache emitterCache,
-            ExecutorWrapper executor) {
+            JobRegistry jobRegistry,
+            SingleFlight singleFlight) {
         this.sourceRepository = sourceRepository;
         this.assembler = assembler;
         this.projectInfoRepository = projectInfoRepository;
@@ -87,8 +93,8 @@ public class SourceController {
         this.sourceComponentService = sourceComponentService;
         this.methodIdMapService = methodIdMapService;
         this.emitterCache = emitterCache;
-        this.executor = executor;
-        submittedTasks = ConcurrentHashMap.newKeySet();
+        this.jobRegistry = jobRegistry;
+        this.singleFlight = singleFlight;
     }
 
     /**
@@ -120,9 +126,10 @@ public class SourceController {
 
     /**
      * Retrieves {@link Source} by {@link ProjectInfo} id if present, else this method tries to generate {@link Source}.
+     * Request thread is not held while {@link Source} is generated, see {@link AsyncResponses}.
      *
      * @param projectInfoId id of {@link ProjectInfo}
-     * @return {@link EntityModel} of {@link Source} with useful links.
+     * @return deferred {@link EntityModel} of {@link Source} with useful links.
      * @throws ProjectInfoNotFoundException     if {@link ProjectInfo} is not found.
      * @throws CannotGenerateSourceException    if {@link Source} cannot be generated.
      * @throws ParsedComponentNotFoundException if {@link SourceComponent} is not found.
@@ -136,12 +143,12 @@ public class SourceController {
             )
     })
     @GetMapping("/by-project-info/{projectInfoId}")
-    public EntityModel<Source> findByProjectId(
+    public DeferredResult<EntityModel<Source>> findByProjectId(
             @Parameter(description = PROJECT_ID_DESC) @PathVariable("projectInfoId") Long projectInfoId) {
         var projectInfo = projectInfoRepository.findById(projectInfoId)
                 .orElseThrow(() -> new ProjectInfoNotFoundException("The information about file you are looking " +
                         "for is not present. please consider, uploading the given file again."));
-        return assembler.toModel(getSource(projectInfo));
+        return deferred(getSource(projectInfo).thenApply(inRequestContext(assembler::toModel)));
     }
 
     /**
@@ -150,47 +157,46 @@ public class SourceController {
      * {@link Source} was not present.
      *
      * @param projectInfo for which {@link Source} is needed.
-     * @return {@link Source}
+     * @return future of {@link Source}
      */
-    protected Source getSource(ProjectInfo projectInfo) {
+    protected CompletableFuture<Source> getSource(ProjectInfo projectInfo) {
         //Extract source if not present.
         if (projectInfo.getSource() == null) {
-            submitTask(projectInfo);
+            return submitTask(projectInfo);
         }
-        return projectInfo.getSource();
+        return CompletableFuture.completedFuture(projectInfo.getSource());
     }
 
     /**
-     * Submits tasks to {@link ExecutorWrapper} if the task is already not in the queue.
+     * Submits extraction of {@link Source} as a job to {@link JobRegistry}, if extraction for the same project is
+     * already in progress then it is joined instead, see {@link SingleFlight}.
      *
      * @param projectInfo {@link ProjectInfo} for which {@link Source} needs to be generated.
+     * @return future of extracted {@link Source}, completed exceptionally with {@link ResponseStatusException} with
+     * status 202 pointing to the job if {@link Source} is not extracted within the time frame.
      */
-    protected void submitTask(ProjectInfo projectInfo) {
-        if (submittedTasks.contains(projectInfo.getId())) {
-            throw new ResponseStatusException(HttpStatus.ACCEPTED, "Please wait, your request is being processed.");
-        }
-
+    protected CompletableFuture<Source> submitTask(ProjectInfo projectInfo) {
+        var future = singleFlight.execute(projectInfo.getId(), SOURCE,
+                () -> jobRegistry.submit(projectInfo.getId(), SOURCE, currentRequestUri(),
+                        Lane.EXTRACT, Priority.INTERACTIVE, job -> {
+                    job.progress("extracting source", 0);
+                    extractSource(projectInfo);
+                    return projectInfo.getSource();
+                }));
 
-        submittedTasks.add(projectInfo.getId());
-        var future = executor.submit(() -> extractSource(projectInfo));
+        return within(future, TIME_OUT, TIME_UNIT).handle(inRequestContext((source, exception) -> {
+            if (exception == null) return source;
 
-        try {
-            future.get(TIME_OUT, TIME_UNIT);
-        } catch (ExecutionException e) {
-            logger.warn("One of threads in executor service threw exception with message: {}", e.getMessage());
-            submittedTasks.remove(projectInfo.getId());
-            if (e.getCause() instanceof ResponseStatusException) {
-                throw (ResponseStatusException) e.getCause();
+            if (exception instanceof TimeoutException) {
+                logger.info("Timed Out, proceeding with task at hand");
+                throw stillInProgress("Please wait, your request is being processed.",
+                        jobRegistry.findActive(projectInfo.getId(), SOURCE));
             }
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unknown error occurred", e);
-        } catch (InterruptedException e) {
-            submittedTasks.remove(projectInfo.getId());
-            logger.info("Thread interrupted in between.");
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Task Interrupted in between.");
-        } catch (TimeoutException e) {
-            logger.info("Timed Out, proceeding with task at hand");
-            throw new ResponseStatusException(HttpStatus.ACCEPTED, "Please wait, your request is being processed.");
-        }
+            logger.warn("One of threads in executor service threw exception with message: {}",
+                    exception.getMessage());
+            if (exception instanceof ResponseStatusException) throw (ResponseStatusException) exception;
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unknown error occurred", exception);
+        }));
     }
 
     /**
@@ -203,29 +209,25 @@ public class SourceController {
      * @throws CannotGenerateSourceException if source cannot be generated for some reason.
      */
     protected void extractSource(ProjectInfo projectInfo) {
-        try {
-            SourceComponent sourceComponent = getSourceComponent(projectInfo);
-            var extractor = new LightWeightExtractorWithMethodSignatureCache(methodRepository);
-            projectInfo.setSource(
-                    sourceRepository.save(
-                            sourceComponent.accept(extractor)
-                                    .asSource()
-                                    .orElseThrow(
-                                            () -> new CannotGenerateSourceException(
-                                                    "Unable to fetch source," + " Please try again later."
-                                            )
-                                    )
-                    )
-            );
+        SourceComponent sourceComponent = getSourceComponent(projectInfo);
+        var extractor = new LightWeightExtractorWithMethodSignatureCache(methodRepository);
+        projectInfo.setSource(
+                sourceRepository.save(
+                        sourceComponent.accept(extractor)
+                                .asSource()
+                                .orElseThrow(
+                                        () -> new CannotGenerateSourceException(
+                                                "Unable to fetch source," + " Please try again later."
+                                        )
+                                )
+                )
+        );
 
-            var source = projectInfo.getSource();
-            source.setProjectInfo(projectInfo);
-            projectInfoRepository.save(projectInfo);
-            methodIdMapService.save(projectInfo.getId(), extractor.getSignatureToIdMap());
-            notifyAboutSourceGeneration(projectInfo.getId());
-        } finally {
-            submittedTasks.remove(projectInfo.getId());
-        }
+        var source = projectInfo.getSource();
+        source.setProjectInfo(projectInfo);
+        projectInfoRepository.save(projectInfo);
+        methodIdMapService.save(projectInfo.getId(), extractor.getSignatureToIdMap());
+        notifyAboutSourceGeneration(projectInfo.getId());
     }
 
     /**
@@ -0,0 +1,54 @@
+package org.java2uml.java2umlapi.restControllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.java2uml.java2umlapi.util.metrics.MetricSource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.java2uml.java2umlapi.restControllers.SwaggerDescription.OK_200_RESPONSE;
+
+/**
+ * <p>
+ * The {@link MetricsController} is a spring mvc rest controller which reports metrics of every
+ * {@link MetricSource}.<br>
+ * All the requests at "/api/metrics" endpoint will be routed to this controller.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@Tag(name = "Metrics", description = "Query current resource usage of the api.")
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+    private final List<MetricSource> metricSources;
+
+    public MetricsController(List<MetricSource> metricSources) {
+        this.metricSources = metricSources;
+    }
+
+    /**
+     * Defines a get mapping for "/api/metrics" endpoint, this method collects current values of the metrics
+     * of every {@link MetricSource}.
+     *
+     * @return metrics keyed by their name, sorted by name.
+     */
+    @Operation(summary = "Query metrics.", description = "Query current values of the metrics, for eg. " +
+            "number of parsed projects kept in memory and their estimated size.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = OK_200_RESPONSE)
+    })
+    @GetMapping
+    public Map<String, Number> all() {
+        var metrics = new TreeMap<String, Number>();
+        metricSources.forEach(metricSource -> metrics.putAll(metricSource.getMetrics()));
+        return metrics;
+    }
+}
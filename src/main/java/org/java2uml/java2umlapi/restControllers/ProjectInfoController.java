@@ -7,9 +7,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.java2uml.java2umlapi.callGraph.service.CallGraphIndexService;
+import org.java2uml.java2umlapi.executor.JobRegistry;
+import org.java2uml.java2umlapi.executor.SVGRenderScheduler;
 import org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo;
 import org.java2uml.java2umlapi.fileStorage.repository.ProjectInfoRepository;
 import org.java2uml.java2umlapi.fileStorage.service.ClassDiagramSVGService;
+import org.java2uml.java2umlapi.fileStorage.service.FocusedClassDiagramSVGService;
+import org.java2uml.java2umlapi.fileStorage.service.UMLCodeCacheService;
 import org.java2uml.java2umlapi.fileStorage.service.UnzippedFileStorageService;
 import org.java2uml.java2umlapi.lightWeight.service.MethodSignatureToMethodIdMapService;
 import org.java2uml.java2umlapi.modelAssemblers.ProjectInfoAssembler;
@@ -40,6 +45,11 @@ public class ProjectInfoController {
     private final SourceComponentService sourceComponentService;
     private final MethodSignatureToMethodIdMapService methodSignatureToMethodIdMapService;
     private final ClassDiagramSVGService classDiagramSVGService;
+    private final FocusedClassDiagramSVGService focusedClassDiagramSVGService;
+    private final UMLCodeCacheService umlCodeCacheService;
+    private final SVGRenderScheduler renderScheduler;
+    private final JobRegistry jobRegistry;
+    private final CallGraphIndexService callGraphIndexService;
 
     public ProjectInfoController(
             ProjectInfoRepository projectInfoRepository,
@@ -47,13 +57,23 @@ public class ProjectInfoController {
             UnzippedFileStorageService unzippedFileStorageService,
             SourceComponentService sourceComponentService,
             MethodSignatureToMethodIdMapService methodSignatureToMethodIdMapService,
-            ClassDiagramSVGService classDiagramSVGService) {
+            ClassDiagramSVGService classDiagramSVGService,
+            FocusedClassDiagramSVGService focusedClassDiagramSVGService,
+            UMLCodeCacheService umlCodeCacheService,
+            SVGRenderScheduler renderScheduler,
+            JobRegistry jobRegistry,
+            CallGraphIndexService callGraphIndexService) {
         this.projectInfoRepository = projectInfoRepository;
         this.assembler = assembler;
         this.unzippedFileStorageService = unzippedFileStorageService;
         this.sourceComponentService = sourceComponentService;
         this.methodSignatureToMethodIdMapService = methodSignatureToMethodIdMapService;
         this.classDiagramSVGService = classDiagramSVGService;
+        this.focusedClassDiagramSVGService = focusedClassDiagramSVGService;
+        this.umlCodeCacheService = umlCodeCacheService;
+        this.renderScheduler = renderScheduler;
+        this.jobRegistry = jobRegistry;
+        this.callGraphIndexService = callGraphIndexService;
     }
 
     /**
@@ -83,7 +103,8 @@ public class ProjectInfoController {
 
     /**
      * Defines a delete mapping for "/api/project-info" endpoint, this method deletes the {@link ProjectInfo} instance
-     * as well as files related to the project, sourceComponent, methodSignatureToMethodIdMap.
+     * as well as files related to the project, sourceComponent, methodSignatureToMethodIdMap, cached uml code and
+     * diagrams.
      *
      * @param projectId id of the {@link ProjectInfo} you want to delete.
      * @return Http no content response.
@@ -118,10 +139,16 @@ public class ProjectInfoController {
      * @param projectInfo resources associated to this {@link ProjectInfo} will be freed.
      */
     private void performCleanUp(ProjectInfo projectInfo) {
+        jobRegistry.cancel(projectInfo.getId());
+        renderScheduler.cancel(projectInfo.getId());
         classDiagramSVGService.delete(projectInfo.getId());
+        focusedClassDiagramSVGService.delete(projectInfo.getId());
+        umlCodeCacheService.delete(projectInfo.getId());
         sourceComponentService.delete(projectInfo.getId());
         unzippedFileStorageService.delete(projectInfo.getId());
         methodSignatureToMethodIdMapService.delete(projectInfo.getId());
+        callGraphIndexService.delete(projectInfo.getId());
         projectInfoRepository.delete(projectInfo);
+        jobRegistry.release(projectInfo.getId());
     }
 }
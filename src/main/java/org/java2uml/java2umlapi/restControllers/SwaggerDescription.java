@@ -24,4 +24,5 @@ abstract public class SwaggerDescription {
     public static final String ENUM_ID_DESC = "id of enum.";
     public static final String FIELD_ID_DESC = "id of field.";
     public static final String ACCEPTED_DESC_202 = "Your request is currently being processed please wait.";
+    public static final String NOT_MODIFIED_DESC_304 = "Client already has the latest version, as given in If-None-Match.";
 }
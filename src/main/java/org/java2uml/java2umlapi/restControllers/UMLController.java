@@ -10,24 +10,38 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import net.sourceforge.plantuml.FileFormat;
 import net.sourceforge.plantuml.FileFormatOption;
 import net.sourceforge.plantuml.SourceStringReader;
-import org.java2uml.java2umlapi.executor.ExecutorWrapper;
+import org.apache.commons.io.IOUtils;
+import org.java2uml.java2umlapi.executor.Job;
+import org.java2uml.java2umlapi.executor.JobRegistry;
+import org.java2uml.java2umlapi.executor.Lane;
+import org.java2uml.java2umlapi.executor.LaneSaturatedException;
+import org.java2uml.java2umlapi.executor.Priority;
+import org.java2uml.java2umlapi.executor.SVGRenderScheduler;
+import org.java2uml.java2umlapi.executor.SingleFlight;
 import org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo;
 import org.java2uml.java2umlapi.fileStorage.repository.ProjectInfoRepository;
 import org.java2uml.java2umlapi.fileStorage.service.ClassDiagramSVGService;
+import org.java2uml.java2umlapi.fileStorage.service.FocusedClassDiagramSVGService;
 import org.java2uml.java2umlapi.fileStorage.service.UMLCodeCacheService;
 import org.java2uml.java2umlapi.lightWeight.UMLBody;
 import org.java2uml.java2umlapi.modelAssemblers.UMLBodyAssembler;
 import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
 import org.java2uml.java2umlapi.parsedComponent.service.SourceComponentService;
+import org.java2uml.java2umlapi.restControllers.exceptions.BadRequest;
 import org.java2uml.java2umlapi.restControllers.exceptions.CannotGenerateSVGException;
 import org.java2uml.java2umlapi.restControllers.exceptions.ParsedComponentNotFoundException;
 import org.java2uml.java2umlapi.restControllers.exceptions.ProjectInfoNotFoundException;
 import org.java2uml.java2umlapi.restControllers.response.ErrorResponse;
 import org.java2uml.java2umlapi.restControllers.response.TryAgainResponse;
 import org.java2uml.java2umlapi.restControllers.services.SSEEmitterCache;
-import org.java2uml.java2umlapi.visitors.umlExtractor.UMLExtractor;
+import org.java2uml.java2umlapi.util.cache.TieredCacheService;
+import org.java2uml.java2umlapi.visitors.umlExtractor.DiagramScope;
+import org.java2uml.java2umlapi.visitors.umlExtractor.UMLWriter;
+import org.java2uml.java2umlapi.visitors.umlExtractor.service.UMLWriterService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -35,18 +49,36 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import static org.java2uml.java2umlapi.restControllers.AsyncResponses.*;
+import static org.java2uml.java2umlapi.restControllers.ConditionalRequests.*;
 import static org.java2uml.java2umlapi.restControllers.SwaggerDescription.*;
 import static org.java2uml.java2umlapi.restControllers.services.SSEEmitterCache.SSEventType.UML_CODE_GENERATION;
 import static org.java2uml.java2umlapi.restControllers.services.SSEEmitterCache.SSEventType.UML_SVG_GENERATION;
@@ -72,10 +104,21 @@ public class UMLController {
     private final SourceComponentService sourceComponentService;
     private final ClassDiagramSVGService classDiagramSVGService;
     private final UMLCodeCacheService umlCodeCacheService;
+    private final FocusedClassDiagramSVGService focusedClassDiagramSVGService;
     private final SSEEmitterCache emitterCache;
-    private final ExecutorWrapper executor;
+    private final JobRegistry jobRegistry;
+    private final SingleFlight singleFlight;
+    private final UMLWriterService umlWriterService;
     private final Logger logger = LoggerFactory.getLogger(UMLController.class);
     private static final Long TIME_OUT = 2L;
+    /*
+     * Types of the artefacts, used in their ETags, every representation of an artefact has a type of its own.
+     */
+    private static final String UML_CODE = "uml-code";
+    private static final String UML_CODE_TEXT = "uml-code.txt";
+    private static final String UML_CODE_TEXT_GZIP = "uml-code.txt.gz";
+    private static final String SVG = "svg";
+    private static final String SVG_GZIP = "svg.gz";
 
     public UMLController(
             UMLBodyAssembler umlBodyAssembler,
@@ -83,25 +126,34 @@ public class UMLController {
             SourceComponentService sourceComponentService,
             ClassDiagramSVGService classDiagramSVGService,
             UMLCodeCacheService umlCodeCacheService,
+            FocusedClassDiagramSVGService focusedClassDiagramSVGService,
             SSEEmitterCache emitterCache,
-            ExecutorWrapper executor
+            JobRegistry jobRegistry,
+            SingleFlight singleFlight,
+            UMLWriterService umlWriterService
     ) {
         this.umlBodyAssembler = umlBodyAssembler;
         this.projectInfoRepository = projectInfoRepository;
         this.sourceComponentService = sourceComponentService;
         this.classDiagramSVGService = classDiagramSVGService;
         this.umlCodeCacheService = umlCodeCacheService;
+        this.focusedClassDiagramSVGService = focusedClassDiagramSVGService;
         this.emitterCache = emitterCache;
-        this.executor = executor;
+        this.jobRegistry = jobRegistry;
+        this.singleFlight = singleFlight;
+        this.umlWriterService = umlWriterService;
     }
 
 
     /**
      * This method defines get mapping for "/api/uml/plant-uml-code/{projectInfoId}"<br>
-     * uml code is generated and then {@link EntityModel} containing uml code and useful links is returned.
+     * uml code is generated and then {@link EntityModel} containing uml code and useful links is returned.<br>
+     * Responses carry an ETag derived from content hash of the project, see {@link ConditionalRequests}.<br>
+     * Request thread is not held while uml code is generated, see {@link AsyncResponses}.
      *
      * @param projectInfoId id of {@link ProjectInfo}
-     * @return {@link EntityModel} of {@link UMLBody}
+     * @param request       request being answered, to check "If-None-Match" header.
+     * @return deferred {@link EntityModel} of {@link UMLBody}, or of "304 Not Modified" if client already has it.
      * @throws ProjectInfoNotFoundException     if {@link ProjectInfo} is not found.
      * @throws ParsedComponentNotFoundException if {@link SourceComponent} is not found.
      */
@@ -109,6 +161,7 @@ public class UMLController {
             description = "generate plant uml code from uploaded java source code.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Generation Successful"),
+            @ApiResponse(responseCode = "304", description = NOT_MODIFIED_DESC_304),
             @ApiResponse(responseCode = "500", description = INTERNAL_SERVER_ERROR_DESC,
                     content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
                             schema = @Schema(implementation = ErrorResponse.class))),
@@ -120,28 +173,212 @@ public class UMLController {
                             schema = @Schema(implementation = TryAgainResponse.class)))
     })
     @GetMapping("/plant-uml-code/{projectInfoId}")
-    public EntityModel<UMLBody> getPUMLCode(@Parameter(description = PROJECT_ID_DESC) @PathVariable Long projectInfoId) {
-        if (umlCodeCacheService.contains(projectInfoId))
-            return umlBodyAssembler.toModel(new UMLBody(umlCodeCacheService.get(projectInfoId), projectInfoId));
+    public DeferredResult<ResponseEntity<EntityModel<UMLBody>>> getPUMLCode(
+            @Parameter(description = PROJECT_ID_DESC) @PathVariable Long projectInfoId,
+            @Parameter(hidden = true) WebRequest request) {
+        var projectInfo = getProjectInfo(projectInfoId);
+        var eTag = eTagOf(projectInfo, UML_CODE);
+        if (isNotModified(request, eTag)) return completed(notModified(eTag));
+
+        var pUMLCode = umlCodeCacheService.get(projectInfoId);
+        if (pUMLCode != null) {
+            return completed(toPUMLCodeResponse(pUMLCode, projectInfo, eTag));
+        }
+
+        requireSourceComponent(projectInfo);
+        return deferred(whenGenerated(projectInfo, UML_CODE, submitPUMLCodeGeneration(projectInfo),
+                code -> toPUMLCodeResponse(code, projectInfo, eTag)));
+    }
+
+    /**
+     * Submits generation of uml code of the project as a job, which caches the uml code once it is generated. If uml
+     * code of the project is already being generated, the pending generation is joined instead, see
+     * {@link SingleFlight}.
+     *
+     * @param projectInfo {@link ProjectInfo} whose uml code is generated.
+     * @return a {@link CompletableFuture} representing pending completion of the generation.
+     * @throws LaneSaturatedException if too many generations, or too many generations of the client, are waiting.
+     */
+    private CompletableFuture<String> submitPUMLCodeGeneration(ProjectInfo projectInfo) {
+        return singleFlight.execute(projectInfo.getId(), flightOf(projectInfo, UML_CODE),
+                () -> jobRegistry.submit(projectInfo.getId(), UML_CODE, currentRequestUri(),
+                        Lane.ANALYSIS, Priority.INTERACTIVE, job -> {
+                    job.progress("generating uml code", 0);
+                    var generation = umlCodeCacheService.generationOf(projectInfo.getId());
+                    var generated = generatePUMLCode(getSourceComponent(projectInfo));
+                    job.throwIfCancelled();
+                    var code = umlCodeCacheService.save(projectInfo.getId(), generated, generation);
+                    notifyAboutPUMLCodeGeneration(projectInfo.getId());
+                    return code;
+                }));
+    }
+
+    /**
+     * @param pUMLCode    uml code of the project.
+     * @param projectInfo {@link ProjectInfo} of the project.
+     * @param eTag        ETag of the uml code, may be null.
+     * @return {@link ResponseEntity} containing {@link EntityModel} of {@link UMLBody}
+     */
+    private ResponseEntity<EntityModel<UMLBody>> toPUMLCodeResponse(String pUMLCode, ProjectInfo projectInfo,
+                                                                    String eTag) {
+        return withValidators(ResponseEntity.ok(), eTag)
+                .body(umlBodyAssembler.toModel(new UMLBody(pUMLCode, projectInfo.getId())));
+    }
 
+    /**
+     * This method defines get mapping for "/api/uml/plant-uml-code/{projectInfoId}" with "Accept: text/plain"<br>
+     * cached uml code is written to the response as is, if it is not cached yet it is generated by the same job as
+     * for {@link #getPUMLCode}, and written once the job has completed. If client accepts gzip encoding, cached uml
+     * code is sent as stored in compressed form, without decompressing it.
+     *
+     * @param projectInfoId  id of {@link ProjectInfo}
+     * @param acceptEncoding value of "Accept-Encoding" header.
+     * @param request        request being answered, to check "If-None-Match" header.
+     * @return deferred {@link ResponseEntity} streaming plant uml code, or "304 Not Modified" if client already has
+     * it.
+     * @throws ProjectInfoNotFoundException if {@link ProjectInfo} is not found.
+     * @throws ResponseStatusException      with status 202 if {@link SourceComponent} is not yet available.
+     */
+    @Operation(summary = "Stream Plant UML.",
+            description = "stream plant uml code generated from uploaded java source code as plain text.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Generation Successful"),
+            @ApiResponse(responseCode = "304", description = NOT_MODIFIED_DESC_304),
+            @ApiResponse(responseCode = "404", description = SOURCE_CODE_NOT_FOUND_DESC,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "202", description = SwaggerDescription.ACCEPTED_DESC_202,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = TryAgainResponse.class)))
+    })
+    @GetMapping(value = "/plant-uml-code/{projectInfoId}", produces = MediaType.TEXT_PLAIN_VALUE)
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> streamPUMLCode(
+            @Parameter(description = PROJECT_ID_DESC) @PathVariable Long projectInfoId,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                    String acceptEncoding,
+            @Parameter(hidden = true) WebRequest request) {
         var projectInfo = getProjectInfo(projectInfoId);
-        SourceComponent sourceComponent = getSourceComponent(projectInfo);
+        var compressedFile = getCompressedFile(umlCodeCacheService, projectInfoId, acceptEncoding);
+        var eTag = eTagOf(projectInfo, compressedFile.isPresent() ? UML_CODE_TEXT_GZIP : UML_CODE_TEXT);
+        if (isNotModified(request, eTag)) return completed(notModified(eTag));
 
-        var pUMLCode = getFromFuture(executor.submit(() -> {
-            var code = umlCodeCacheService.save(projectInfo.getId(), sourceComponent.accept(new UMLExtractor()));
-            notifyAboutPUMLCodeGeneration(projectInfo.getId());
-            return code;
-        }));
-        return umlBodyAssembler.toModel(new UMLBody(pUMLCode, projectInfo.getId()));
+        var compressed = compressedFile.flatMap(this::open);
+        if (compressed.isPresent()) {
+            var channel = compressed.get();
+            return completed(toPUMLCodeResponse(eTag).header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(outputStream -> transferTo(channel, outputStream)));
+        }
+
+        var textETag = eTagOf(projectInfo, UML_CODE_TEXT);
+        var code = umlCodeCacheService.get(projectInfoId);
+        if (code != null) return completed(toPUMLCodeResponse(textETag).body(bodyOf(code)));
+
+        requireSourceComponent(projectInfo);
+        return deferred(whenGenerated(projectInfo, UML_CODE, submitPUMLCodeGeneration(projectInfo),
+                generated -> toPUMLCodeResponse(textETag).body(bodyOf(generated))));
+    }
+
+    /**
+     * @param code uml code to be sent.
+     * @return {@link StreamingResponseBody} writing given uml code.
+     */
+    private static StreamingResponseBody bodyOf(String code) {
+        return outputStream -> outputStream.write(code.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param eTag ETag of the uml code, may be null.
+     * @return builder of "200 OK" response containing uml code as plain text.
+     */
+    private ResponseEntity.BodyBuilder toPUMLCodeResponse(String eTag) {
+        return withValidators(ResponseEntity.ok(), eTag)
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * @param cache          cache in which value is looked for.
+     * @param projectInfoId  id of {@link ProjectInfo}
+     * @param acceptEncoding value of "Accept-Encoding" header, may be null.
+     * @return Optional of gzip compressed file of the value cached with given id, empty if client does not accept
+     * gzip or value is not stored on disk.
+     */
+    private static Optional<Path> getCompressedFile(TieredCacheService<Long> cache, Long projectInfoId,
+                                                    String acceptEncoding) {
+        return acceptsGzip(acceptEncoding) ? cache.getCompressedFile(projectInfoId) : Optional.empty();
+    }
+
+    /**
+     * Opens given compressed file eagerly, so that it can still be sent if its value is evicted in the meantime.
+     *
+     * @param file gzip compressed file of a cached value.
+     * @return Optional of {@link FileChannel} of the file, empty if the file has been deleted.
+     */
+    private Optional<FileChannel> open(Path file) {
+        try {
+            return Optional.of(FileChannel.open(file, StandardOpenOption.READ));
+        } catch (IOException exception) {
+            logger.info("Compressed file {} is no longer available.", file.getFileName());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param acceptEncoding value of "Accept-Encoding" header, may be null.
+     * @return true if gzip encoding is accepted, either explicitly or by wildcard, with non zero quality.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            var name = parameters[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) continue;
+
+            return parameters.length < 2 || !parameters[1].replace(" ", "").matches("[qQ]=0(\\.0*)?");
+        }
+        return false;
+    }
+
+    /**
+     * Sends whole content of given file to given {@link OutputStream} using {@link FileChannel#transferTo}, so that
+     * file is not copied to heap buffers by the application, file is closed afterwards.
+     *
+     * @param channel      file to be sent.
+     * @param outputStream to which file is sent.
+     * @throws IOException if file can not be read or sent.
+     */
+    private static void transferTo(FileChannel channel, OutputStream outputStream) throws IOException {
+        try (channel) {
+            var target = Channels.newChannel(outputStream);
+            long size = channel.size();
+            for (long position = 0; position < size; ) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * @param sourceComponent {@link SourceComponent} from which uml code is generated.
+     * @return uml code of the given {@link SourceComponent}, generated by {@link UMLWriter} in a single buffer.
+     */
+    private String generatePUMLCode(SourceComponent sourceComponent) {
+        return sourceComponent.accept(
+                umlWriterService.writerOf(new StringBuilder())).toString();
     }
 
     /**
      * This method defines get mapping for "/api/uml/svg/{projectInfoId}"<br>
      * Svg is generated from plant uml code and {@link ResponseEntity} containing this svg is returned
-     * content type "image/svg+xml"
+     * content type "image/svg+xml"<br>
+     * If client accepts gzip encoding, cached svg is sent as stored in compressed form, without decompressing it.
      *
-     * @param projectInfoId id of the {@link ProjectInfo}
-     * @return UML in form of SVG
+     * @param projectInfoId  id of the {@link ProjectInfo}
+     * @param acceptEncoding value of "Accept-Encoding" header.
+     * @param request        request being answered, to check "If-None-Match" header.
+     * @return deferred UML in form of SVG, either as {@link String} or as {@link Resource} of compressed svg, or
+     * "304 Not Modified" if client already has it.
      * @throws ParsedComponentNotFoundException if {@link SourceComponent} is not found.
      * @throws CannotGenerateSVGException       if Svg cannot be generated.
      */
@@ -149,6 +386,7 @@ public class UMLController {
             description = "generate plant uml class diagram svg from uploaded java source code.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Generation Successful"),
+            @ApiResponse(responseCode = "304", description = NOT_MODIFIED_DESC_304),
             @ApiResponse(responseCode = "500", description = INTERNAL_SERVER_ERROR_DESC,
                     content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
                             schema = @Schema(implementation = ErrorResponse.class))),
@@ -160,71 +398,372 @@ public class UMLController {
                             schema = @Schema(implementation = TryAgainResponse.class)))
     })
     @GetMapping(value = "/svg/{projectInfoId}", produces = {"image/svg+xml", "application/json", "application/json+hal"})
-    public ResponseEntity<String> getSvg(@Parameter(description = PROJECT_ID_DESC) @PathVariable Long projectInfoId) {
+    public DeferredResult<ResponseEntity<?>> getSvg(
+            @Parameter(description = PROJECT_ID_DESC) @PathVariable Long projectInfoId,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                    String acceptEncoding,
+            @Parameter(hidden = true) WebRequest request) {
+        ProjectInfo projectInfo = getProjectInfo(projectInfoId);
+        var compressedFile = getCompressedFile(classDiagramSVGService, projectInfoId, acceptEncoding);
+        var eTag = eTagOf(projectInfo, compressedFile.isPresent() ? SVG_GZIP : SVG);
+        if (isNotModified(request, eTag)) return completed(notModified(eTag));
+
+        var compressed = compressedFile.flatMap(this::open);
+        if (compressed.isPresent()) {
+            return completed(toCompressedSvgResponse(compressed.get(), getFileName(projectInfo), eTag));
+        }
+
+        var svg = classDiagramSVGService.get(projectInfoId);
+        if (svg != null) return completed(toSvgResponse(svg, projectInfo));
+
+        requireSourceComponent(projectInfo);
+        return deferred(generateResponse(projectInfo).<ResponseEntity<?>>thenApply(response -> response));
+    }
+
+    /**
+     * @param channel  compressed svg, closed once it has been sent.
+     * @param fileName name of the svg file.
+     * @param eTag     ETag of the compressed svg, may be null.
+     * @return {@link ResponseEntity} streaming compressed svg with "Content-Encoding: gzip".
+     * @throws CannotGenerateSVGException if size of compressed svg can not be read.
+     */
+    private ResponseEntity<Resource> toCompressedSvgResponse(FileChannel channel, String fileName, String eTag) {
+        long size;
+        try {
+            size = channel.size();
+        } catch (IOException exception) {
+            IOUtils.closeQuietly(channel);
+            throw new CannotGenerateSVGException("Unable to read compressed svg, please try again later.", exception);
+        }
+
+        return withValidators(ResponseEntity.ok(), eTag)
+                .contentType(MediaType.parseMediaType("image/svg+xml"))
+                .contentLength(size)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachmentOf(fileName))
+                .body(new InputStreamResource(Channels.newInputStream(channel)));
+    }
+
+    /**
+     * This method defines get mapping for "/api/uml/svg/{projectInfoId}/package/{packageName}"<br>
+     * Svg of a class diagram containing only the types of given package and of its sub packages is generated and
+     * {@link ResponseEntity} containing this svg is returned, content type "image/svg+xml"
+     *
+     * @param projectInfoId id of the {@link ProjectInfo}
+     * @param packageName   fully qualified name of the package.
+     * @param request       request being answered, to check "If-None-Match" header.
+     * @return deferred UML of the package in form of SVG, or "304 Not Modified" if client already has it.
+     * @throws ResponseStatusException    with status 404 if package is not present in the project.
+     * @throws CannotGenerateSVGException if Svg cannot be generated.
+     */
+    @Operation(summary = "Generate Package Class Diagram",
+            description = "generate plant uml class diagram svg of a package and its sub packages.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Generation Successful"),
+            @ApiResponse(responseCode = "304", description = NOT_MODIFIED_DESC_304),
+            @ApiResponse(responseCode = "500", description = INTERNAL_SERVER_ERROR_DESC,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = SOURCE_CODE_NOT_FOUND_DESC,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "202", description = SwaggerDescription.ACCEPTED_DESC_202,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = TryAgainResponse.class)))
+    })
+    @GetMapping(value = "/svg/{projectInfoId}/package/{packageName}",
+            produces = {"image/svg+xml", "application/json", "application/json+hal"})
+    public DeferredResult<ResponseEntity<String>> getPackageSvg(
+            @Parameter(description = PROJECT_ID_DESC) @PathVariable Long projectInfoId,
+            @Parameter(description = "fully qualified name of the package.") @PathVariable String packageName,
+            @Parameter(hidden = true) WebRequest request) {
+        ProjectInfo projectInfo = getProjectInfo(projectInfoId);
+        var scopeKey = DiagramScope.packageKeyOf(packageName);
+        var eTag = eTagOf(projectInfo, focusedSvgOf(scopeKey));
+        if (isNotModified(request, eTag)) return completed(notModified(eTag));
+
+        requireSourceComponent(projectInfo);
+        return deferred(generateResponse(projectInfo, scopeKey,
+                sourceComponent -> DiagramScope.ofPackage(sourceComponent, packageName), packageName));
+    }
+
+    /**
+     * This method defines get mapping for "/api/uml/svg/{projectInfoId}/class/{className}"<br>
+     * Svg of a class diagram containing given class and every type reachable from it by following at most given
+     * number of relations is generated and {@link ResponseEntity} containing this svg is returned,
+     * content type "image/svg+xml"
+     *
+     * @param projectInfoId id of the {@link ProjectInfo}
+     * @param className     fully qualified name of the class, interface or enum.
+     * @param hops          maximum number of relations followed from the class.
+     * @param request       request being answered, to check "If-None-Match" header.
+     * @return deferred UML of the neighbourhood of class in form of SVG, or "304 Not Modified" if client already has
+     * it.
+     * @throws BadRequest                 if hops is not between 0 and {@link DiagramScope#MAX_HOPS}.
+     * @throws ResponseStatusException    with status 404 if class is not present in the project.
+     * @throws CannotGenerateSVGException if Svg cannot be generated.
+     */
+    @Operation(summary = "Generate Class Neighbourhood Diagram",
+            description = "generate plant uml class diagram svg of a class and the types related to it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Generation Successful"),
+            @ApiResponse(responseCode = "304", description = NOT_MODIFIED_DESC_304),
+            @ApiResponse(responseCode = "400", description = "Number of hops is negative or too large.",
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = INTERNAL_SERVER_ERROR_DESC,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = SOURCE_CODE_NOT_FOUND_DESC,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "202", description = SwaggerDescription.ACCEPTED_DESC_202,
+                    content = @Content(mediaType = ERR_RESPONSE_MEDIA_TYPE,
+                            schema = @Schema(implementation = TryAgainResponse.class)))
+    })
+    @GetMapping(value = "/svg/{projectInfoId}/class/{className}",
+            produces = {"image/svg+xml", "application/json", "application/json+hal"})
+    public DeferredResult<ResponseEntity<String>> getClassSvg(
+            @Parameter(description = PROJECT_ID_DESC) @PathVariable Long projectInfoId,
+            @Parameter(description = "fully qualified name of the class.") @PathVariable String className,
+            @Parameter(description = "maximum number of relations followed from the class.")
+            @RequestParam(value = "hops", defaultValue = "1") int hops,
+            @Parameter(hidden = true) WebRequest request) {
+        String scopeKey;
+        try {
+            scopeKey = DiagramScope.neighbourhoodKeyOf(className, hops);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequest(exception.getMessage(), exception);
+        }
+
         ProjectInfo projectInfo = getProjectInfo(projectInfoId);
-        SourceComponent sourceComponent = getSourceComponent(projectInfo);
-        return generateResponse(projectInfo, sourceComponent);
+        var eTag = eTagOf(projectInfo, focusedSvgOf(scopeKey));
+        if (isNotModified(request, eTag)) return completed(notModified(eTag));
+
+        requireSourceComponent(projectInfo);
+        return deferred(generateResponse(projectInfo, scopeKey,
+                sourceComponent -> DiagramScope.ofNeighbourhood(sourceComponent, className, hops), className));
+    }
+
+    /**
+     * @param scopeSupplier supplies {@link DiagramScope} of a diagram.
+     * @return supplied {@link DiagramScope}
+     * @throws ResponseStatusException with status 404 if package or class of the scope is not present.
+     */
+    private DiagramScope getScope(Supplier<DiagramScope> scopeSupplier) {
+        try {
+            return scopeSupplier.get();
+        } catch (IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Generates svg of a focused class diagram if possible within the time frame else
+     * generates an intermediate response asking the client to wait. {@link SourceComponent} and the scope are
+     * looked up by the render, so that the request thread is not held up if the project has to be restored.
+     *
+     * @param projectInfo {@link ProjectInfo} for which response needs to generated.
+     * @param scopeKey    key of the {@link DiagramScope}, see {@link DiagramScope#getKey()}.
+     * @param scopeOf     selects types of the diagram from the {@link SourceComponent} of the project.
+     * @param scopeName   name of the package or class, used in the file name.
+     * @return future of Generated {@link ResponseEntity}
+     */
+    private CompletableFuture<ResponseEntity<String>> generateResponse(ProjectInfo projectInfo, String scopeKey,
+                                                                       Function<SourceComponent, DiagramScope> scopeOf,
+                                                                       String scopeName) {
+        var artefact = focusedSvgOf(scopeKey);
+        var future = submitRender(projectInfo, artefact, job -> {
+            var generation = focusedClassDiagramSVGService.generationOf(projectInfo.getId());
+            var sourceComponent = getSourceComponent(projectInfo);
+            var scope = getScope(() -> scopeOf.apply(sourceComponent));
+            return generateSVG(sourceComponent, scope, projectInfo.getId(), generation, job);
+        });
+
+        return whenGenerated(projectInfo, artefact, future, svg -> withValidators(ResponseEntity.ok(), eTagOf(projectInfo, artefact))
+                .contentType(MediaType.parseMediaType("image/svg+xml"))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        attachmentOf(scopeName + ".svg")
+                ).body(svg));
     }
 
     /**
      * Generates an svg if possible within the time frame else
-     * generates an intermediate response asking the client to wait.
+     * generates an intermediate response asking the client to wait. {@link SourceComponent} is looked up by the
+     * render, so that the request thread is not held up if the project has to be restored.
      *
-     * @param projectInfo     {@link ProjectInfo} for which response needs to generated.
-     * @param sourceComponent {@link SourceComponent} from which svg will be generated.
-     * @return Generated {@link ResponseEntity}
+     * @param projectInfo {@link ProjectInfo} for which response needs to generated.
+     * @return future of Generated {@link ResponseEntity}
      */
-    private ResponseEntity<String> generateResponse(ProjectInfo projectInfo, SourceComponent sourceComponent) {
-        String svg = getFromFuture(executor.submit(() -> generateSVG(sourceComponent, projectInfo.getId())));
+    private CompletableFuture<ResponseEntity<String>> generateResponse(ProjectInfo projectInfo) {
+        var future = submitRender(projectInfo, SVG, job -> {
+            var generation = classDiagramSVGService.generationOf(projectInfo.getId());
+            return generateSVG(getSourceComponent(projectInfo), projectInfo.getId(), generation, job);
+        });
+        return whenGenerated(projectInfo, SVG, future, svg -> toSvgResponse(svg, projectInfo));
+    }
 
-        return ResponseEntity.ok().contentType(MediaType.parseMediaType("image/svg+xml"))
+    /**
+     * @param svg         svg of the class diagram of the project.
+     * @param projectInfo {@link ProjectInfo} of the project, used in the file name and ETag.
+     * @return {@link ResponseEntity} containing svg, content type "image/svg+xml"
+     */
+    private ResponseEntity<String> toSvgResponse(String svg, ProjectInfo projectInfo) {
+        return withValidators(ResponseEntity.ok(), eTagOf(projectInfo, SVG))
+                .contentType(MediaType.parseMediaType("image/svg+xml"))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
                 .header(
                         HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment;filename=\"" + getFileName(projectInfo) + "\""
+                        attachmentOf(getFileName(projectInfo))
                 ).body(svg);
     }
 
     /**
-     * Get the generated response from the provided future Object.
+     * Submits rendering of an svg to {@link SVGRenderScheduler} as a job, so that it does not hold up parsing of
+     * projects. If the same svg is already being rendered, the pending render is joined instead, see
+     * {@link SingleFlight}.
      *
-     * @param future from which response will be extracted.
-     * @return a {@link String} extracted from future.
-     * @throws ResponseStatusException if {@link ExecutionException} or {@link InterruptedException} or
-     *                                 {@link TimeoutException} occurs while extracting from {@link Future}
-     *                                 this exception is thrown.
+     * @param projectInfo {@link ProjectInfo} whose svg is rendered.
+     * @param artefact    type of the svg, for eg. {@link #SVG}, also used as type of the job.
+     * @param render      task rendering the svg.
+     * @return a {@link CompletableFuture} representing pending completion of the render.
+     * @throws LaneSaturatedException  if too many svgs, or too many svgs of the client, are waiting to be rendered.
+     * @throws ResponseStatusException with status 503 if renders are no longer accepted.
      */
-    private String getFromFuture(Future<String> future) {
+    private CompletableFuture<String> submitRender(ProjectInfo projectInfo, String artefact,
+                                                   JobRegistry.Task<String> render) {
         try {
-            return future.get(TIME_OUT, TIME_UNIT);
-        } catch (ExecutionException e) {
-            logger.warn("Exception caused due to {}", e.getMessage());
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
-        } catch (InterruptedException e) {
-            logger.warn("Executor thread interrupted in b/w.");
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
-        } catch (TimeoutException e) {
-            logger.info("Timed Out, moving on with task at hand.");
-            throw new ResponseStatusException(HttpStatus.ACCEPTED,
-                    "Your, request is being processed check back in a few seconds.");
+            return singleFlight.execute(projectInfo.getId(), flightOf(projectInfo, artefact),
+                    () -> jobRegistry.submit(projectInfo.getId(), artefact, currentRequestUri(),
+                            Lane.RENDER, Priority.INTERACTIVE, render));
+        } catch (LaneSaturatedException e) {
+            logger.warn("Render of project {} rejected, render lane is saturated.", projectInfo.getId());
+            throw e;
+        } catch (RejectedExecutionException e) {
+            logger.warn("Render of project {} rejected.", projectInfo.getId());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Diagrams are no longer being generated, please try again later.");
         }
     }
 
+    /**
+     * @param projectInfo {@link ProjectInfo} whose artefact is generated.
+     * @param artefact    type of the artefact.
+     * @return key under which generation of the artefact is single flighted, it contains content hash of the project
+     * so that a request made after the project has been updated never joins a generation from its previous source.
+     */
+    private static String flightOf(ProjectInfo projectInfo, String artefact) {
+        return artefact + "@" + projectInfo.getContentHash();
+    }
+
+    /**
+     * @param scopeKey key of the {@link DiagramScope} of a focused class diagram.
+     * @return type of the svg of the focused class diagram, scope key is url encoded so that it is a valid part of an
+     * ETag.
+     */
+    private static String focusedSvgOf(String scopeKey) {
+        return SVG + "-" + URLEncoder.encode(scopeKey, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Maps the generated artefact to a response once it is generated, without holding the request thread.
+     *
+     * @param projectInfo {@link ProjectInfo} whose artefact is generated.
+     * @param artefact    type of the artefact, used to look up the job generating it.
+     * @param future      of the artefact being generated.
+     * @param toResponse  maps the artefact to the response, called with attributes of the request.
+     * @param <T>         type of the response.
+     * @return future of the response, completed exceptionally with {@link ResponseStatusException} with status 202
+     * pointing to the job if artefact is not generated within the time frame, with the
+     * {@link ResponseStatusException} thrown by the generation, with status 500 if generation has failed otherwise,
+     * or with
+     * {@link ProjectInfoNotFoundException} if generation has been cancelled because its project has been deleted.
+     */
+    private <T> CompletableFuture<T> whenGenerated(ProjectInfo projectInfo, String artefact,
+                                                   CompletableFuture<String> future, Function<String, T> toResponse) {
+        return within(future, TIME_OUT, TIME_UNIT).handle(inRequestContext((generated, exception) -> {
+            if (exception == null) return toResponse.apply(generated);
+
+            if (exception instanceof CancellationException) {
+                throw new ProjectInfoNotFoundException(
+                        "The project has been deleted while its " + artefact + " was being generated.");
+            }
+            if (exception instanceof TimeoutException) {
+                logger.info("Timed Out, moving on with task at hand.");
+                throw stillInProgress("Your, request is being processed check back in a few seconds.",
+                        jobRegistry.findActive(projectInfo.getId(), artefact));
+            }
+            // For eg. project has not been parsed yet, or package or class of the diagram is not present.
+            if (exception instanceof ResponseStatusException) throw (ResponseStatusException) exception;
+            logger.warn("Exception caused due to {}", exception.toString());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, exception.toString());
+        }));
+    }
+
     /**
      * Generates svg from given plant uml code.
      *
      * @param sourceComponent SourceComponent from which uml will be extracted.
      * @param projectInfoId   id of {@link ProjectInfo} to check if project info is present.
+     * @param generation      generation of the cached svg observed before sourceComponent was looked up, svg is not
+     *                        cached if the project has been updated since.
+     * @param job             job of the render, to which progress is reported.
      * @return Generated svg
      * @throws CannotGenerateSVGException if svg cannot be generated.
      */
-    private String generateSVG(SourceComponent sourceComponent, Long projectInfoId) {
-        if (classDiagramSVGService.contains(projectInfoId)) {
-            return classDiagramSVGService.get(projectInfoId);
-        }
+    private String generateSVG(SourceComponent sourceComponent, Long projectInfoId, long generation, Job job) {
+        var cachedSvg = classDiagramSVGService.get(projectInfoId);
+        if (cachedSvg != null) return cachedSvg;
+
+        job.progress("generating uml code", 0);
+        var umlCode = generatePUMLCode(sourceComponent);
+        job.throwIfCancelled();
+        job.progress("rendering svg", 50);
+        var svg = renderSVG(umlCode);
+        job.throwIfCancelled();
+        notifyAboutSVGGeneration(projectInfoId);
+        return classDiagramSVGService.save(projectInfoId, svg, generation);
+    }
 
+    /**
+     * Generates svg of a focused class diagram, containing only the types in given scope.
+     *
+     * @param sourceComponent SourceComponent from which uml will be extracted.
+     * @param scope           {@link DiagramScope} selecting types of the diagram.
+     * @param projectInfoId   id of {@link ProjectInfo} for which svg is cached.
+     * @param generation      generation of the cached svgs observed before sourceComponent was looked up, svg is
+     *                        not cached if the project has been updated since.
+     * @param job             job of the render, to which progress is reported.
+     * @return Generated svg
+     * @throws CannotGenerateSVGException if svg cannot be generated.
+     */
+    private String generateSVG(SourceComponent sourceComponent, DiagramScope scope, Long projectInfoId,
+                               long generation, Job job) {
+        var cachedSvg = focusedClassDiagramSVGService.get(projectInfoId, scope.getKey());
+        if (cachedSvg != null) return cachedSvg;
+
+        job.progress("generating uml code", 0);
+        var umlCode = umlWriterService.writerOf(new StringBuilder()).write(sourceComponent, scope).toString();
+        job.throwIfCancelled();
+        job.progress("rendering svg", 50);
+        var svg = renderSVG(umlCode);
+        job.throwIfCancelled();
+        return focusedClassDiagramSVGService.save(projectInfoId, scope.getKey(), svg, generation);
+    }
+
+    /**
+     * Renders given plant uml code as svg.
+     *
+     * @param umlCode plant uml code to be rendered.
+     * @return Generated svg
+     * @throws CannotGenerateSVGException if svg cannot be generated.
+     */
+    private String renderSVG(String umlCode) {
         final ByteArrayOutputStream os;
         try {
-            var reader = new SourceStringReader(sourceComponent.accept(new UMLExtractor()));
+            var reader = new SourceStringReader(umlCode);
             os = new ByteArrayOutputStream();
             //noinspection deprecation
             reader.generateImage(os, new FileFormatOption(FileFormat.SVG));
@@ -235,9 +774,7 @@ public class UMLController {
                     exception
             );
         }
-
-        notifyAboutSVGGeneration(projectInfoId);
-        return classDiagramSVGService.save(projectInfoId, os.toString());
+        return os.toString();
     }
 
     /**
@@ -246,8 +783,22 @@ public class UMLController {
      */
     private SourceComponent getSourceComponent(ProjectInfo projectInfo) {
         return sourceComponentService.get(projectInfo.getId()).
-                orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.ACCEPTED, "Please, wait, files have not been parsed yet."));
+                orElseThrow(UMLController::notParsedYet);
+    }
+
+    /**
+     * Checks that {@link SourceComponent} of the project is available, without restoring or parsing it on the
+     * request thread.
+     *
+     * @param projectInfo Used to retrieve {@link ProjectInfo} id
+     * @throws ResponseStatusException with status 202 if files of the project have not been parsed yet.
+     */
+    private void requireSourceComponent(ProjectInfo projectInfo) {
+        if (!sourceComponentService.isAvailable(projectInfo.getId())) throw notParsedYet();
+    }
+
+    private static ResponseStatusException notParsedYet() {
+        return new ResponseStatusException(HttpStatus.ACCEPTED, "Please, wait, files have not been parsed yet.");
     }
 
     /**
@@ -277,6 +828,15 @@ public class UMLController {
         return fileName;
     }
 
+    /**
+     * @param fileName name of the file, for eg. taken from a path variable.
+     * @return value of "Content-Disposition" header of an attachment with given file name, characters which could
+     * break out of the quoted file name or of the header are replaced by '_'.
+     */
+    private static String attachmentOf(String fileName) {
+        return "attachment;filename=\"" + fileName.replaceAll("[^\\w .$-]", "_") + "\"";
+    }
+
 
     /**
      * @param id {@link ProjectInfo} id
@@ -1,6 +1,5 @@
 package org.java2uml.java2umlapi.restControllers.callGraphControllers;
 
-import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,6 +10,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.java2uml.java2umlapi.callGraph.CallGraphRelation;
 import org.java2uml.java2umlapi.callGraph.MethodCallGraph;
 import org.java2uml.java2umlapi.callGraph.MethodCallGraphImpl;
+import org.java2uml.java2umlapi.callGraph.service.CallGraphIndexService;
 import org.java2uml.java2umlapi.lightWeight.Method;
 import org.java2uml.java2umlapi.lightWeight.Source;
 import org.java2uml.java2umlapi.lightWeight.repository.MethodRepository;
@@ -26,7 +26,9 @@ import org.java2uml.java2umlapi.restControllers.exceptions.ParsedComponentNotFou
 import org.java2uml.java2umlapi.restControllers.response.ErrorResponse;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Map;
@@ -50,17 +52,20 @@ public class CallGraphController {
     private final CallGraphRelationAssembler assembler;
     private final MethodRepository methodRepository;
     private final SourceComponentService sourceComponentService;
+    private final CallGraphIndexService callGraphIndexService;
 
     public CallGraphController(
             MethodSignatureToMethodIdMapService methodIdMapService,
             CallGraphRelationAssembler assembler,
             MethodRepository methodRepository,
-            SourceComponentService sourceComponentService
+            SourceComponentService sourceComponentService,
+            CallGraphIndexService callGraphIndexService
     ) {
         this.methodIdMapService = methodIdMapService;
         this.assembler = assembler;
         this.methodRepository = methodRepository;
         this.sourceComponentService = sourceComponentService;
+        this.callGraphIndexService = callGraphIndexService;
     }
 
     /**
@@ -98,7 +103,9 @@ public class CallGraphController {
     }
 
     /**
-     * Generates {@link CallGraphRelation} list  from {@link MethodCallGraph}.
+     * Generates {@link CallGraphRelation} list  from {@link MethodCallGraph}, by traversing the call graph index
+     * of the project. If the index has not been built yet, only the methods reachable from given method are resolved
+     * and the index is built in background.
      *
      * @param method      {@link Method} for which the {@link CallGraphRelation}s  are needed.
      * @param packageName name of the package to limit the search.
@@ -107,8 +114,10 @@ public class CallGraphController {
     private List<CallGraphRelation> getCallGraphRelations(Method method, String packageName) {
         var source = getSource(method);
         var sourceComponent = getSourceComponent(method.getId(), source);
-        var resolvedMethodDecl = getResolvedMethodDeclaration(method, sourceComponent);
-        MethodCallGraph methodCallGraph = new MethodCallGraphImpl(resolvedMethodDecl, packageName);
+        var parsedMethodComponent = getParsedMethodComponent(method, sourceComponent);
+        MethodCallGraph methodCallGraph = callGraphIndexService.find(source.getProjectInfo().getId(), sourceComponent)
+                .map(index -> new MethodCallGraphImpl(parsedMethodComponent.getName(), index, packageName))
+                .orElseGet(() -> new MethodCallGraphImpl(parsedMethodComponent, sourceComponent, packageName));
         return methodCallGraph.getCallGraphRelations(getMethodNameToMethodIdMap(method.getId(), source));
     }
 
@@ -130,19 +139,18 @@ public class CallGraphController {
     }
 
     /**
-     * {@link ResolvedMethodDeclaration} for provided method and source component.
+     * {@link ParsedMethodComponent} for provided method and source component.
      *
-     * @param method          for which {@link ResolvedMethodDeclaration} is needed.
-     * @param sourceComponent from which {@link ResolvedMethodDeclaration} will be fetched.
-     * @return {@link ResolvedMethodDeclaration}
+     * @param method          for which {@link ParsedMethodComponent} is needed.
+     * @param sourceComponent from which {@link ParsedMethodComponent} will be fetched.
+     * @return {@link ParsedMethodComponent}
      * @throws ParsedComponentNotFoundException if {@link ParsedMethodComponent} for given method is  not available.
      */
-    private ResolvedMethodDeclaration getResolvedMethodDeclaration(Method method, SourceComponent sourceComponent) {
+    private ParsedMethodComponent getParsedMethodComponent(Method method, SourceComponent sourceComponent) {
         return sourceComponent.
                 find(method.getSignature(), ParsedMethodComponent.class)
                 .orElseThrow(() -> new ParsedComponentNotFoundException(
-                        "Unable to find paredMethodComponent with signature " + method.getSignature()))
-                .getResolvedMethodDeclaration();
+                        "Unable to find paredMethodComponent with signature " + method.getSignature()));
     }
 
     /**
@@ -153,11 +161,15 @@ public class CallGraphController {
      * @return {@link SourceComponent}
      * @throws ParsedComponentNotFoundException if {@link SourceComponent} was not found
      *                                          for given {@link Method} id and {@link Source}.
+     * @throws ResponseStatusException          with status 202 if {@link SourceComponent} is being parsed again.
      */
     private SourceComponent getSourceComponent(Long methodId, Source source) {
         var projectInfo = source.getProjectInfo();
         return sourceComponentService.get(projectInfo.getId())
-                .orElseThrow(() -> new ParsedComponentNotFoundException(
+                .orElseThrow(() -> sourceComponentService.isAvailable(projectInfo.getId())
+                        ? new ResponseStatusException(HttpStatus.ACCEPTED,
+                        "Files are being parsed, please check back in a few seconds.")
+                        : new ParsedComponentNotFoundException(
                         "Unable to fetch source component for method id: " + methodId));
     }
 
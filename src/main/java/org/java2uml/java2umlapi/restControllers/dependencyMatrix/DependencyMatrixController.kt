@@ -8,14 +8,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse
 import io.swagger.v3.oas.annotations.responses.ApiResponses
 import io.swagger.v3.oas.annotations.tags.Tag
 import org.java2uml.java2umlapi.dependencyMatrix.DefaultDependencyMatrix
-import org.java2uml.java2umlapi.executor.ExecutorWrapper
+import org.java2uml.java2umlapi.executor.JobRegistry
+import org.java2uml.java2umlapi.executor.Lane
+import org.java2uml.java2umlapi.executor.Priority
+import org.java2uml.java2umlapi.executor.SingleFlight
+import org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo
+import org.java2uml.java2umlapi.fileStorage.repository.ProjectInfoRepository
 import org.java2uml.java2umlapi.parsedComponent.ParsedComponent
 import org.java2uml.java2umlapi.parsedComponent.SourceComponent
 import org.java2uml.java2umlapi.parsedComponent.service.SourceComponentService
+import org.java2uml.java2umlapi.restControllers.AsyncResponses.completed
+import org.java2uml.java2umlapi.restControllers.AsyncResponses.currentRequestUri
+import org.java2uml.java2umlapi.restControllers.AsyncResponses.deferred
+import org.java2uml.java2umlapi.restControllers.AsyncResponses.inRequestContext
+import org.java2uml.java2umlapi.restControllers.AsyncResponses.stillInProgress
+import org.java2uml.java2umlapi.restControllers.AsyncResponses.within
+import org.java2uml.java2umlapi.restControllers.ConditionalRequests.eTagOf
+import org.java2uml.java2umlapi.restControllers.ConditionalRequests.isNotModified
+import org.java2uml.java2umlapi.restControllers.ConditionalRequests.notModified
+import org.java2uml.java2umlapi.restControllers.ConditionalRequests.withValidators
 import org.java2uml.java2umlapi.restControllers.LWControllers.SourceController
 import org.java2uml.java2umlapi.restControllers.ProjectInfoController
 import org.java2uml.java2umlapi.restControllers.SwaggerDescription
 import org.java2uml.java2umlapi.restControllers.UMLController
+import org.java2uml.java2umlapi.restControllers.exceptions.ProjectInfoNotFoundException
 import org.java2uml.java2umlapi.restControllers.response.ErrorResponse
 import org.java2uml.java2umlapi.restControllers.services.SSEEmitterCache
 import org.java2uml.java2umlapi.restControllers.services.SSEEmitterCache.SSEventType
@@ -24,21 +40,30 @@ import org.springframework.hateoas.EntityModel
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn
 import org.springframework.http.HttpStatus
+import org.springframework.http.ResponseEntity
 import org.springframework.web.bind.annotation.GetMapping
 import org.springframework.web.bind.annotation.PathVariable
 import org.springframework.web.bind.annotation.RequestMapping
 import org.springframework.web.bind.annotation.RestController
+import org.springframework.web.context.request.WebRequest
+import org.springframework.web.context.request.async.DeferredResult
 import org.springframework.web.server.ResponseStatusException
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter
 import java.io.IOException
+import java.util.concurrent.CancellationException
 import java.util.concurrent.ConcurrentHashMap
-import java.util.concurrent.ExecutionException
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.TimeoutException
 
 /**
  * Endpoint for generating dependency matrix.
  *
+ * Generated matrices are cached along with content hash of the project they were generated from, a cached matrix is
+ * generated again once content hash of its project changes. Responses carry an ETag derived from the same content
+ * hash, see [org.java2uml.java2umlapi.restControllers.ConditionalRequests]. Request thread is not held while a matrix
+ * is generated, see [org.java2uml.java2umlapi.restControllers.AsyncResponses]. Cached matrix of a project is dropped
+ * once the project is deleted, see [SourceComponentService.addDeletionListener].
+ *
  * @author kawaiifoxx
  * @since 1.2.0
  */
@@ -47,17 +72,26 @@ import java.util.concurrent.TimeoutException
 @RequestMapping("/api/dependency-matrix")
 class DependencyMatrixController(
     private val sourceComponentService: SourceComponentService,
-    private val executor: ExecutorWrapper,
+    private val projectInfoRepository: ProjectInfoRepository,
+    private val jobRegistry: JobRegistry,
+    private val singleFlight: SingleFlight,
     private val emitterCache: SSEEmitterCache
 ) {
     private enum class Result { SUCCEEDED }
 
-    private val dependencyMatrixCache: MutableMap<Long, DefaultDependencyMatrix> = ConcurrentHashMap()
+    /**
+     * Dependency matrix along with content hash of the project it was generated from.
+     */
+    private class GeneratedMatrix(val contentHash: String?, val dependencyMatrix: DefaultDependencyMatrix)
+
+    private val dependencyMatrixCache: MutableMap<Long, GeneratedMatrix> = ConcurrentHashMap()
     private val logger = LoggerFactory.getLogger(DependencyMatrixController::class.java)
-    private val submittedTasks: MutableSet<Long> = HashSet()
     private val timeOut = 3L
     private val timeUnit = TimeUnit.SECONDS
 
+    init {
+        sourceComponentService.addDeletionListener { projectId -> dependencyMatrixCache.remove(projectId) }
+    }
 
     @Operation(
         summary = "Get Dependency Matrix",
@@ -67,6 +101,9 @@ class DependencyMatrixController(
         value = [ApiResponse(
             responseCode = "200",
             description = SwaggerDescription.OK_200_RESPONSE
+        ), ApiResponse(
+            responseCode = "304",
+            description = SwaggerDescription.NOT_MODIFIED_DESC_304
         ), ApiResponse(
             responseCode = "202",
             description = SwaggerDescription.ACCEPTED_DESC_202,
@@ -86,43 +123,67 @@ class DependencyMatrixController(
     @GetMapping("/{projectId}")
     fun get(
         @Parameter(description = SwaggerDescription.PROJECT_ID_DESC) @PathVariable("projectId")
-        projectId: Long
-    ): EntityModel<DefaultDependencyMatrix> {
-
-        if (dependencyMatrixCache.contains(projectId)) return getEntityModelOf(
-            dependencyMatrixCache[projectId]!!,
-            projectId
-        )
-
-        val result = executor.submit<DefaultDependencyMatrix> {
-            dependencyMatrixCache[projectId] = generateDependencyMatrix(projectId)
-            notifyAboutDependencyMatrixGeneration(projectId)
-            dependencyMatrixCache[projectId]!!
+        projectId: Long,
+        @Parameter(hidden = true) request: WebRequest?
+    ): DeferredResult<ResponseEntity<EntityModel<DefaultDependencyMatrix>>> {
+        val contentHash = projectInfoRepository.findById(projectId).map(ProjectInfo::getContentHash).orElse(null)
+        val eTag = eTagOf(contentHash, DEPENDENCY_MATRIX)
+        if (isNotModified(request, eTag)) return completed(notModified(eTag))
+
+        val cached = dependencyMatrixCache[projectId]
+        if (cached != null && cached.contentHash == contentHash)
+            return completed(getResponseOf(cached, projectId))
+
+        val result = singleFlight.execute(projectId, flightOf(contentHash)) {
+            jobRegistry.submit(
+                projectId, DEPENDENCY_MATRIX, currentRequestUri(), Lane.ANALYSIS, Priority.INTERACTIVE
+            ) { job ->
+                job.progress("generating dependency matrix", 0)
+                val generated = GeneratedMatrix(contentHash, generateDependencyMatrix(projectId))
+                job.throwIfCancelled()
+                dependencyMatrixCache[projectId] = generated
+                // Project may have been deleted while its matrix was being stored.
+                if (job.isCancelled) dependencyMatrixCache.remove(projectId)
+                notifyAboutDependencyMatrixGeneration(projectId)
+                generated
+            }
         }
 
-        return try {
-            getEntityModelOf(result.get(timeOut, timeUnit), projectId)
-        } catch (ex: ExecutionException) {
-            logger.warn("One of threads in executor service threw exception with message: {}", ex.message)
-            submittedTasks.remove(projectId)
-            if (ex.cause is ResponseStatusException) {
-                throw (ex.cause as ResponseStatusException)
+        return deferred(within(result, timeOut, timeUnit).handle(inRequestContext { generated, ex ->
+            when (ex) {
+                null -> getResponseOf(generated, projectId)
+                is TimeoutException -> {
+                    logger.info("Timed Out, proceeding with task at hand")
+
+                    throw stillInProgress(
+                        "Please wait, your request is being processed.",
+                        jobRegistry.findActive(projectId, DEPENDENCY_MATRIX)
+                    )
+                }
+                is CancellationException ->
+                    throw ProjectInfoNotFoundException("The project has been deleted while its matrix was being generated.")
+                is ResponseStatusException -> {
+                    logger.warn("One of threads in executor service threw exception with message: {}", ex.message)
+
+                    throw ex
+                }
+                else -> {
+                    logger.warn("One of threads in executor service threw exception with message: {}", ex.message)
+
+                    throw ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unknown error occurred", ex)
+                }
             }
-
-            throw ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unknown error occurred", ex)
-        } catch (ex: InterruptedException) {
-            submittedTasks.remove(projectId)
-            logger.info("Thread interrupted in between.")
-
-            throw ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Task Interrupted in between.")
-        } catch (ex: TimeoutException) {
-            logger.info("Timed Out, proceeding with task at hand")
-
-            throw ResponseStatusException(HttpStatus.ACCEPTED, "Please wait, your request is being processed.")
-        }
+        }))
     }
 
 
+    /**
+     * @param contentHash content hash of the project whose matrix is generated.
+     * @return key under which generation of the matrix is single flighted, it contains content hash of the project
+     * so that a request made after the project has been updated never joins a generation from its previous source.
+     */
+    private fun flightOf(contentHash: String?): String = "$DEPENDENCY_MATRIX@$contentHash"
+
     private fun generateDependencyMatrix(projectId: Long): DefaultDependencyMatrix {
         val sourceComponent = getSourceComponent(projectId)
 
@@ -134,7 +195,7 @@ class DependencyMatrixController(
                 .map(ParsedComponent::asParsedCompositeComponent).map { it.get() }
         )
 
-        return DefaultDependencyMatrix(allParsedCompositeComponents, sourceComponent.relationsList)
+        return DefaultDependencyMatrix(allParsedCompositeComponents, sourceComponent.relations)
     }
 
 
@@ -146,13 +207,17 @@ class DependencyMatrixController(
             )
         }
 
+    private fun getResponseOf(generated: GeneratedMatrix, id: Long) =
+        withValidators(ResponseEntity.ok(), eTagOf(generated.contentHash, DEPENDENCY_MATRIX))
+            .body(getEntityModelOf(generated.dependencyMatrix, id))
+
     private fun getEntityModelOf(dependencyMatrix: DefaultDependencyMatrix, id: Long) =
         EntityModel.of(dependencyMatrix)
-            .add(linkTo(methodOn(DependencyMatrixController::class.java).get(id)).withSelfRel())
+            .add(linkTo(methodOn(DependencyMatrixController::class.java).get(id, null)).withSelfRel())
             .add(linkTo(methodOn(ProjectInfoController::class.java).one(id)).withRel("projectInfo"))
             .add(linkTo(methodOn(SourceController::class.java).findByProjectId(id)).withRel("projectModel"))
-            .add(linkTo(methodOn(UMLController::class.java).getPUMLCode(id)).withRel("umlText"))
-            .add(linkTo(methodOn(UMLController::class.java).getSvg(id)).withRel("umlSvg"))
+            .add(linkTo(methodOn(UMLController::class.java).getPUMLCode(id, null)).withRel("umlText"))
+            .add(linkTo(methodOn(UMLController::class.java).getSvg(id, null, null)).withRel("umlSvg"))
 
 
     private fun notifyAboutDependencyMatrixGeneration(id: Long) {
@@ -167,4 +232,11 @@ class DependencyMatrixController(
             emitter.complete()
         }
     }
-}
\ No newline at end of file
+
+    companion object {
+        /**
+         * Type of the artefact, used in its ETag.
+         */
+        private const val DEPENDENCY_MATRIX = "dependency-matrix"
+    }
+}
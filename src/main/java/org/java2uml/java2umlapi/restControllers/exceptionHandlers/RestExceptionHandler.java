@@ -1,5 +1,6 @@
 package org.java2uml.java2umlapi.restControllers.exceptionHandlers;
 
+import org.java2uml.java2umlapi.executor.LaneSaturatedException;
 import org.java2uml.java2umlapi.restControllers.exceptions.*;
 import org.java2uml.java2umlapi.restControllers.response.ErrorResponse;
 import org.java2uml.java2umlapi.restControllers.response.TryAgainResponse;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
@@ -271,6 +273,19 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, new HttpHeaders(), errorResponse.getHttpStatus());
     }
 
+    /**
+     * Specialized handler for {@link JobNotFoundException}
+     *
+     * @param ex {@link JobNotFoundException}
+     * @return {@link ResponseEntity} with {@link ErrorResponse} in the body.
+     */
+    @ExceptionHandler({JobNotFoundException.class})
+    public ResponseEntity<Object> handleJobNotFound(JobNotFoundException ex) {
+        ErrorResponse errorResponse = getErrorResponse("Job not found.",
+                HttpStatus.NOT_FOUND, ex.getLocalizedMessage());
+        return new ResponseEntity<>(errorResponse, new HttpHeaders(), errorResponse.getHttpStatus());
+    }
+
     /**
      * Specialized handler for {@link MethodNameToMethodIdNotFoundException}
      *
@@ -299,7 +314,39 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
     }
 
     /**
-     * This method is called when a ResponseStatusException is thrown.
+     * Specialized handler for {@link MaxUploadSizeExceededException}
+     *
+     * @param ex {@link MaxUploadSizeExceededException}
+     * @return {@link ResponseEntity} with {@link ErrorResponse} in the body.
+     */
+    @ExceptionHandler({MaxUploadSizeExceededException.class})
+    public ResponseEntity<Object> handleMaxUploadSizeExceeded(MaxUploadSizeExceededException ex) {
+        ErrorResponse errorResponse = getErrorResponse("Uploaded file is too large.",
+                HttpStatus.PAYLOAD_TOO_LARGE, ex.getLocalizedMessage());
+        return new ResponseEntity<>(errorResponse, new HttpHeaders(), errorResponse.getHttpStatus());
+    }
+
+    /**
+     * Specialized handler for {@link LaneSaturatedException}, client is asked to retry after the time given in
+     * "Retry-After" header.
+     *
+     * @param ex {@link LaneSaturatedException}
+     * @return {@link ResponseEntity} with {@link TryAgainResponse} in the body.
+     */
+    @ExceptionHandler({LaneSaturatedException.class})
+    public ResponseEntity<Object> handleLaneSaturated(LaneSaturatedException ex) {
+        logger.warn(ex.getMessage());
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())));
+        return new ResponseEntity<>(
+                new TryAgainResponse(ex.getLocalizedMessage(), HttpStatus.TOO_MANY_REQUESTS),
+                headers, HttpStatus.TOO_MANY_REQUESTS
+        );
+    }
+
+    /**
+     * This method is called when a ResponseStatusException is thrown, headers of the exception are added to the
+     * response, for eg. "Location" header of {@link JobInProgressException}.
      *
      * @param ex {@link ResponseStatusException} which needs to be handled.
      * @return {@link ResponseEntity}
@@ -311,7 +358,7 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         }
         return new ResponseEntity<>(
                 new TryAgainResponse(ex.getLocalizedMessage(), ex.getStatus()),
-                new HttpHeaders(), ex.getStatus()
+                ex.getResponseHeaders(), ex.getStatus()
         );
     }
 
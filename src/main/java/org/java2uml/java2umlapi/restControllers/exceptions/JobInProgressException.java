@@ -0,0 +1,43 @@
+package org.java2uml.java2umlapi.restControllers.exceptions;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+
+/**
+ * <p>
+ * This exception can be thrown when requested artefact is still being generated, it is answered with
+ * "202 Accepted" and "Location" header pointing to the job generating the artefact, so that clients can poll the job
+ * instead of retrying the request.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class JobInProgressException extends ResponseStatusException {
+    private final URI job;
+
+    /**
+     * @param reason the associated reason.
+     * @param job    uri of the job generating requested artefact, null if it is not known.
+     */
+    public JobInProgressException(String reason, URI job) {
+        super(HttpStatus.ACCEPTED, reason);
+        this.job = job;
+    }
+
+    /**
+     * @return uri of the job generating requested artefact, null if it is not known.
+     */
+    public URI getJob() {
+        return job;
+    }
+
+    @Override
+    public HttpHeaders getResponseHeaders() {
+        var headers = new HttpHeaders();
+        if (job != null) headers.setLocation(job);
+        return headers;
+    }
+}
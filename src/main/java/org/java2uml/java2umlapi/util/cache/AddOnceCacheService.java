@@ -13,6 +13,10 @@ import java.util.concurrent.ConcurrentHashMap;
  * if you delete a key and that key has not been added to this class yet,
  * after doing delete, with that key if you try to do a save,  then that
  * key value pair will not be saved.
+ * <p>
+ * Every evict or delete of a key starts a new generation of that key, a value generated from a stale source can be
+ * saved with the generation observed before it was generated, see {@link #save(Object, Object, long)}, so that it is
+ * dropped if the key has been evicted in the meantime.
  *
  * @author kawaiifox
  */
@@ -26,6 +30,10 @@ public abstract class AddOnceCacheService<K, V> {
      * remain there hogging memory.
      */
     private final Set<K> toBeDeletedSet = ConcurrentHashMap.newKeySet();
+    /**
+     * Number of times each key has been evicted or deleted, updated atomically with the cache.
+     */
+    private final Map<K, Long> generations = new ConcurrentHashMap<>();
 
 
     /**
@@ -68,14 +76,55 @@ public abstract class AddOnceCacheService<K, V> {
         return value;
     }
 
+    /**
+     * Saves given mapping in the repository unless the key has been evicted or deleted since given generation was
+     * observed, and returns the value in either case.
+     *
+     * @param id         key for saving value.
+     * @param value      value to be saved.
+     * @param generation generation of the key observed before value was generated, see {@link #generationOf(Object)}.
+     * @return given value
+     */
+    public V save(K id, V value, long generation) {
+        generations.compute(id, (key, current) -> {
+            if (current == null ? generation == 0 : current == generation) save(id, value);
+            return current;
+        });
+        return value;
+    }
+
+    /**
+     * @param id key whose generation is needed.
+     * @return number of times given key has been evicted or deleted.
+     */
+    public long generationOf(K id) {
+        return generations.getOrDefault(id, 0L);
+    }
+
+    /**
+     * Removes mapping from the repository if present, unlike {@link #delete(Object)} a value saved
+     * later with same id is not ignored, use this when cached value becomes stale.
+     *
+     * @param id id to be removed from repository.
+     */
+    public void evict(K id) {
+        generations.compute(id, (key, current) -> {
+            cache.remove(id);
+            return current == null ? 1 : current + 1;
+        });
+    }
+
     /**
      * Removes mapping form the repository.
      *
      * @param id id to be removed from repository.
      */
     public void delete(K id) {
-        if (cache.remove(id) == null) {
-            toBeDeletedSet.add(id);
-        }
+        generations.compute(id, (key, current) -> {
+            if (cache.remove(id) == null) {
+                toBeDeletedSet.add(id);
+            }
+            return current == null ? 1 : current + 1;
+        });
     }
 }
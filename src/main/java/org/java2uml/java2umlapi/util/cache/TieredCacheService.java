@@ -0,0 +1,317 @@
+package org.java2uml.java2umlapi.util.cache;
+
+import org.java2uml.java2umlapi.fileStorage.exceptions.FileStorageException;
+import org.java2uml.java2umlapi.util.metrics.MetricSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An abstract class for a two tier cache of large strings, for eg. of generated svgs.
+ * <p>
+ * Every value is stored gzip compressed in a file of its own on disk, so that it can be sent as is to the clients
+ * accepting gzip encoding, see {@link #getCompressedFile(Object)}. Values not larger than max heap entry size are
+ * also kept on heap, least recently requested values are dropped from heap once values on heap exceed max heap
+ * size, dropped values are read back from disk when they are requested. Size of a value is estimated by its length.
+ * <p>
+ * If no directory is given, or a value can not be written to disk, the value is only kept on heap, regardless of
+ * its size, until it is dropped.
+ * <p>
+ * Deletes behave like those of {@link AddOnceCacheService}, if a key is deleted before it has been saved then the
+ * value saved later with that key is ignored. So do generations, a value saved with a generation observed before the
+ * key was last evicted or deleted is ignored, see {@link #save(Object, String, long)}.
+ * <p>
+ * Files are named after {@link Object#toString()} of the keys, so it has to be a valid file name. Files left by
+ * previous runs are deleted at initialization, because keys are not expected to survive restarts.
+ *
+ * @author kawaiifox
+ */
+public abstract class TieredCacheService<K> implements MetricSource {
+    private static final String FILE_EXTENSION = ".gz";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+    private final String name;
+    private final Path directory;
+    private final long maxHeapSize;
+    private final long maxHeapEntrySize;
+    /**
+     * Values kept on heap in order of their access, guarded by this cache.
+     */
+    private final LinkedHashMap<K, String> heap = new LinkedHashMap<>(16, 0.75f, true);
+    private long heapSize;
+    /**
+     * Keys of the values stored on disk, modified only while holding lock on this cache.
+     */
+    private final Set<K> onDisk = ConcurrentHashMap.newKeySet();
+    /**
+     * Contains keys deleted before their value has been saved, see {@link AddOnceCacheService}.
+     */
+    private final Set<K> toBeDeletedSet = ConcurrentHashMap.newKeySet();
+    /**
+     * Number of times each key has been evicted or deleted, modified only while holding lock on this cache.
+     */
+    private final Map<K, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong heapHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Logger logger = LoggerFactory.getLogger(TieredCacheService.class);
+
+    /**
+     * Initializes the cache, creates the directory and deletes the files left in it by previous runs.
+     *
+     * @param name             name of the cache, prefixes its metrics.
+     * @param directory        directory in which values are stored, null keeps values on heap only.
+     * @param maxHeapSize      max size of the values kept on heap.
+     * @param maxHeapEntrySize values larger than this are kept on disk only.
+     * @throws FileStorageException if directory can not be created or cleared.
+     */
+    protected TieredCacheService(String name, Path directory, DataSize maxHeapSize, DataSize maxHeapEntrySize) {
+        this.name = name;
+        this.directory = directory == null ? null : directory.toAbsolutePath().normalize();
+        this.maxHeapSize = maxHeapSize.toBytes();
+        this.maxHeapEntrySize = maxHeapEntrySize.toBytes();
+
+        if (this.directory == null) return;
+
+        try {
+            Files.createDirectories(this.directory);
+            try (Stream<Path> files = Files.list(this.directory)) {
+                for (var file : (Iterable<Path>) files::iterator) Files.deleteIfExists(file);
+            }
+        } catch (IOException | UncheckedIOException exception) {
+            throw new FileStorageException("Could not prepare the directory where " + name + " is stored.",
+                    exception);
+        }
+    }
+
+    /**
+     * @param id id whose presence in the cache is to be tested
+     * @return true if id is present else false.
+     */
+    public synchronized boolean contains(K id) {
+        return heap.containsKey(id) || onDisk.contains(id);
+    }
+
+    /**
+     * Returns value of given key from heap, or reads it from disk if it has been dropped from heap.
+     *
+     * @param id key for which value is needed
+     * @return value if key has mapping and it can be read else null.
+     */
+    public String get(K id) {
+        synchronized (this) {
+            var value = heap.get(id);
+            if (value != null) {
+                heapHits.incrementAndGet();
+                return value;
+            }
+        }
+
+        if (!onDisk.contains(id)) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        String value;
+        try (var in = new GZIPInputStream(Files.newInputStream(getFile(id)))) {
+            value = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            logger.warn("Unable to read {} of {}.", id, name, exception);
+            misses.incrementAndGet();
+            return null;
+        }
+
+        diskHits.incrementAndGet();
+        synchronized (this) {
+            if (onDisk.contains(id) && value.length() <= maxHeapEntrySize) putOnHeap(id, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns gzip compressed file containing UTF-8 encoded value of given key, the file may be deleted at any time
+     * if the key is evicted.
+     *
+     * @param id key for which compressed value is needed.
+     * @return Optional of the file, empty if value of key is not stored on disk.
+     */
+    public Optional<Path> getCompressedFile(K id) {
+        return onDisk.contains(id) ? Optional.of(getFile(id)) : Optional.empty();
+    }
+
+    /**
+     * Saves given mapping in the cache and returns the saved value, value is compressed and written to disk before
+     * it is saved.
+     *
+     * @param id    key for saving value.
+     * @param value value to be saved.
+     * @return saved value
+     */
+    public String save(K id, String value) {
+        return save(id, value, null);
+    }
+
+    /**
+     * Saves given mapping in the cache unless the key has been evicted or deleted since given generation was
+     * observed, and returns the value in either case.
+     *
+     * @param id         key for saving value.
+     * @param value      value to be saved.
+     * @param generation generation of the key observed before value was generated, see {@link #generationOf(Object)}.
+     * @return given value
+     */
+    public String save(K id, String value, long generation) {
+        return save(id, value, Long.valueOf(generation));
+    }
+
+    /**
+     * @param id key whose generation is needed.
+     * @return number of times given key has been evicted or deleted.
+     */
+    public long generationOf(K id) {
+        return generations.getOrDefault(id, 0L);
+    }
+
+    private String save(K id, String value, Long generation) {
+        if (toBeDeletedSet.remove(id)) return value;
+        if (generation != null && generationOf(id) != generation) return value;
+
+        var tempFile = directory == null ? null : write(id, value);
+        try {
+            synchronized (this) {
+                if (toBeDeletedSet.remove(id)) return value;
+                if (generation != null && generationOf(id) != generation) return value;
+
+                if (tempFile != null && move(tempFile, getFile(id))) onDisk.add(id);
+                else removeFromDisk(id);
+
+                if (value.length() <= maxHeapEntrySize || !onDisk.contains(id)) putOnHeap(id, value);
+                else removeFromHeap(id);
+            }
+        } finally {
+            deleteIfExists(tempFile);
+        }
+        return value;
+    }
+
+    /**
+     * Removes mapping from the cache if present, unlike {@link #delete(Object)} a value saved later with same id is
+     * not ignored, use this when cached value becomes stale.
+     *
+     * @param id id to be removed from cache.
+     */
+    public synchronized void evict(K id) {
+        generations.merge(id, 1L, Long::sum);
+        removeFromHeap(id);
+        removeFromDisk(id);
+    }
+
+    /**
+     * Removes mapping form the cache, if mapping is not present then value saved later with same id is ignored.
+     *
+     * @param id id to be removed from cache.
+     */
+    public synchronized void delete(K id) {
+        if (!contains(id)) toBeDeletedSet.add(id);
+        evict(id);
+    }
+
+    @Override
+    public synchronized Map<String, Number> getMetrics() {
+        return Map.of(
+                name + ".heap-entries", heap.size(),
+                name + ".heap-size", heapSize,
+                name + ".disk-entries", onDisk.size(),
+                name + ".heap-hits", heapHits.get(),
+                name + ".disk-hits", diskHits.get(),
+                name + ".misses", misses.get()
+        );
+    }
+
+    /**
+     * Puts given value on heap and drops least recently requested values until max heap size is not exceeded, the
+     * value itself is never dropped.
+     */
+    private void putOnHeap(K id, String value) {
+        removeFromHeap(id);
+        heap.put(id, value);
+        heapSize += value.length();
+
+        var iterator = heap.entrySet().iterator();
+        while (heapSize > maxHeapSize && heap.size() > 1) {
+            var eldest = iterator.next();
+            heapSize -= eldest.getValue().length();
+            iterator.remove();
+        }
+    }
+
+    private void removeFromHeap(K id) {
+        var removed = heap.remove(id);
+        if (removed != null) heapSize -= removed.length();
+    }
+
+    private void removeFromDisk(K id) {
+        if (onDisk.remove(id)) deleteIfExists(getFile(id));
+    }
+
+    /**
+     * Writes compressed value to a temporary file, so that a partially written file is never read.
+     *
+     * @return temporary file, null if value can not be written.
+     */
+    private Path write(K id, String value) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(directory, id.toString(), TEMP_FILE_EXTENSION);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+                out.write(value.getBytes(StandardCharsets.UTF_8));
+            }
+            return tempFile;
+        } catch (IOException exception) {
+            logger.warn("Unable to write {} of {}, keeping it on heap.", id, name, exception);
+            deleteIfExists(tempFile);
+            return null;
+        }
+    }
+
+    private boolean move(Path tempFile, Path file) {
+        try {
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException exception) {
+            logger.warn("Unable to store {} of {}, keeping it on heap.", file.getFileName(), name, exception);
+            return false;
+        }
+    }
+
+    private void deleteIfExists(Path file) {
+        if (file == null) return;
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            logger.warn("Unable to delete {} of {}.", file.getFileName(), name, exception);
+        }
+    }
+
+    private Path getFile(K id) {
+        return directory.resolve(id + FILE_EXTENSION);
+    }
+}
@@ -0,0 +1,60 @@
+package org.java2uml.java2umlapi.util.cancellation;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Keeps a {@link CancellationToken} for every project, the token is cancelled when the project is deleted so that
+ * parsing, generation and rendering of the project stop at their next stage.
+ * </p>
+ *
+ * <p>
+ * Token of a deleted project is released once no work of the project is running any more, see
+ * {@link org.java2uml.java2umlapi.executor.JobRegistry#release(Long)}. Work which has already been submitted holds
+ * the cancelled token, work submitted later is refused because the project no longer exists.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@Service
+public class CancellationService {
+    private final Map<Long, CancellationToken> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * @param projectInfoId id of the project.
+     * @return token of given project, cancelled if the project has been deleted.
+     */
+    public CancellationToken tokenOf(Long projectInfoId) {
+        return tokens.computeIfAbsent(projectInfoId, ignored -> new CancellationToken());
+    }
+
+    /**
+     * Cancels the token of given project.
+     *
+     * @param projectInfoId id of the deleted project.
+     */
+    public void cancel(Long projectInfoId) {
+        tokenOf(projectInfoId).cancel("Project " + projectInfoId + " has been deleted.");
+    }
+
+    /**
+     * Forgets the token of given project, only tokens of deleted projects should be released.
+     *
+     * @param projectInfoId id of the deleted project.
+     */
+    public void release(Long projectInfoId) {
+        tokens.remove(projectInfoId);
+    }
+
+    /**
+     * @param projectInfoId id of the project.
+     * @return true if given project has been deleted.
+     */
+    public boolean isCancelled(Long projectInfoId) {
+        var token = tokens.get(projectInfoId);
+        return token != null && token.isCancelled();
+    }
+}
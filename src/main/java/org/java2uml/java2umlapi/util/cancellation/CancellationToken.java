@@ -0,0 +1,41 @@
+package org.java2uml.java2umlapi.util.cancellation;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * <p>
+ * Tells long running work, for eg. parsing of a project, that its result is no longer needed. Work checks the token
+ * between its stages and stops with {@link CancellationException} once the token is cancelled, so that it neither
+ * keeps burning cpu nor stores its result.
+ * </p>
+ *
+ * <p>
+ * A token can not be reset, once cancelled it stays cancelled.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class CancellationToken {
+    private volatile String reason;
+
+    /**
+     * Cancels work checking this token, has no effect if it is already cancelled.
+     *
+     * @param reason message of the {@link CancellationException} thrown by {@link #throwIfCancelled()}.
+     */
+    public synchronized void cancel(String reason) {
+        if (this.reason == null) this.reason = reason;
+    }
+
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    /**
+     * @throws CancellationException if this token has been cancelled.
+     */
+    public void throwIfCancelled() throws CancellationException {
+        var reason = this.reason;
+        if (reason != null) throw new CancellationException(reason);
+    }
+}
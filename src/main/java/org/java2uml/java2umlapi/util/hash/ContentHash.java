@@ -0,0 +1,156 @@
+package org.java2uml.java2umlapi.util.hash;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Utility class for computing SHA-256 content hashes of files and of the java source files present in a directory.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public abstract class ContentHash {
+    private static final String ALGORITHM = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Computes SHA-256 hash of the content of given file.
+     *
+     * @param file {@link Path} of the file to be hashed.
+     * @return lower case hex encoded hash.
+     * @throws IOException if unable to read the file.
+     */
+    public static String sha256(Path file) throws IOException {
+        try (var inputStream = Files.newInputStream(file)) {
+            return sha256(inputStream);
+        }
+    }
+
+    /**
+     * Computes SHA-256 hash of everything that can be read from given {@link InputStream}, stream is not closed.
+     *
+     * @param inputStream {@link InputStream} to be hashed.
+     * @return lower case hex encoded hash.
+     * @throws IOException if unable to read from the stream.
+     */
+    public static String sha256(InputStream inputStream) throws IOException {
+        var digest = newDigest();
+        byte[] buffer = new byte[8192];
+
+        int len;
+        while ((len = inputStream.read(buffer)) > 0) {
+            digest.update(buffer, 0, len);
+        }
+
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Copies everything that can be read from given {@link InputStream} to target file, computing SHA-256 hash
+     * of the copied content on the fly, so that content is read only once. Stream is not closed.
+     *
+     * @param inputStream {@link InputStream} to be copied.
+     * @param target      {@link Path} of the file to be written, existing file is replaced.
+     * @return lower case hex encoded hash of the copied content.
+     * @throws IOException if unable to read from the stream or to write the file.
+     */
+    public static String copyAndHash(InputStream inputStream, Path target) throws IOException {
+        var digest = newDigest();
+        Files.copy(new DigestInputStream(inputStream, digest), target, StandardCopyOption.REPLACE_EXISTING);
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes a single SHA-256 hash of file hashes, which does not depend on the order of the files.
+     *
+     * @param fileHashes hashes keyed by relative path of the file, as returned by {@link #sha256OfJavaFiles(Path)}.
+     * @return lower case hex encoded hash.
+     */
+    public static String sha256(Map<String, String> fileHashes) {
+        var digest = newDigest();
+
+        new TreeMap<>(fileHashes).forEach((file, hash) -> {
+            digest.update(file.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(hash.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        });
+
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes SHA-256 hash of every .java file present in given directory or its subdirectories.
+     *
+     * @param root directory to be walked.
+     * @return {@link Map} with path of the file relative to root, separated by '/', as key and hash as value.
+     * @throws IOException if unable to walk the directory or read any of the files.
+     */
+    public static Map<String, String> sha256OfJavaFiles(Path root) throws IOException {
+        List<Path> javaFiles;
+        try (var paths = Files.walk(root)) {
+            javaFiles = paths.filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path))
+                    .collect(Collectors.toList());
+        }
+
+        Map<String, String> hashes = new HashMap<>();
+        for (var javaFile : javaFiles) {
+            hashes.put(toRelativeName(root, javaFile), sha256(javaFile));
+        }
+
+        return hashes;
+    }
+
+    /**
+     * @param root root directory.
+     * @param file file present in root directory or its subdirectories.
+     * @return path of the file relative to root, with '/' as separator irrespective of the platform.
+     */
+    public static String toRelativeName(Path root, Path file) {
+        return root.toAbsolutePath().normalize()
+                .relativize(file.toAbsolutePath().normalize())
+                .toString()
+                .replace('\\', '/');
+    }
+
+    /**
+     * @param bytes bytes to be encoded.
+     * @return lower case hex encoding of given bytes.
+     */
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+
+        return new String(hex);
+    }
+
+    /**
+     * @return new instance of SHA-256 {@link MessageDigest}.
+     * @throws IllegalStateException if SHA-256 is not supported by the platform, every java platform is
+     *                               required to support it.
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not supported.", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.java2uml.java2umlapi.util.metrics;
+
+import java.util.Map;
+
+/**
+ * <p>
+ * Implemented by beans which expose their current state as metrics, every {@link MetricSource} bean is
+ * reported at "/api/metrics" endpoint.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public interface MetricSource {
+    /**
+     * @return current values of the metrics keyed by their name, names should be prefixed with name of the source.
+     */
+    Map<String, Number> getMetrics();
+}
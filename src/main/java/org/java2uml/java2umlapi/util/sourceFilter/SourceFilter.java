@@ -0,0 +1,84 @@
+package org.java2uml.java2umlapi.util.sourceFilter;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Decides which files of an uploaded project are worth extracting and parsing, files are matched by their path
+ * relative to the root of the project, for eg. <code>project/src/main/java/Main.java</code>, and by their size.
+ * </p>
+ *
+ * <p>
+ * A file is accepted if it matches at least one of the include glob patterns, none of the exclude glob patterns,
+ * and is not larger than max size. Patterns use the syntax of {@link java.nio.file.FileSystem#getPathMatcher} glob,
+ * so <code>**.java</code> matches java files in any directory and <code>**&#47;target/**</code> matches every file
+ * in a <code>target</code> directory which is not at the root of the project.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class SourceFilter {
+    /**
+     * Filter which accepts every file.
+     */
+    public static final SourceFilter ACCEPT_ALL = new SourceFilter(List.of("**"), List.of(), -1);
+
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+    private final long maxSize;
+
+    /**
+     * Initializes {@link SourceFilter}.
+     *
+     * @param includes glob patterns of the files to be accepted.
+     * @param excludes glob patterns of the files to be rejected, even if they match any of the includes.
+     * @param maxSize  max size of the accepted files in bytes, files of any size are accepted if it is negative.
+     */
+    public SourceFilter(List<String> includes, List<String> excludes, long maxSize) {
+        this.includes = toPathMatchers(includes);
+        this.excludes = toPathMatchers(excludes);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param name path of the file relative to the root of the project, separated by '/'.
+     * @param size size of the file in bytes, negative if it is not known.
+     * @return true if the file should be extracted and parsed.
+     */
+    public boolean accepts(String name, long size) {
+        if (maxSize >= 0 && size > maxSize) return false;
+
+        var path = Path.of(name);
+        return includes.stream().anyMatch(matcher -> matcher.matches(path))
+                && excludes.stream().noneMatch(matcher -> matcher.matches(path));
+    }
+
+    /**
+     * @param name path of the file relative to the root of the project, separated by '/'.
+     * @return true if the file should be extracted and parsed, irrespective of its size.
+     */
+    public boolean accepts(String name) {
+        return accepts(name, -1);
+    }
+
+    /**
+     * @return max size of the accepted files in bytes, negative if files of any size are accepted.
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param globs glob patterns.
+     * @return {@link PathMatcher} for every glob pattern.
+     */
+    private static List<PathMatcher> toPathMatchers(List<String> globs) {
+        return globs.stream()
+                .map(glob -> FileSystems.getDefault().getPathMatcher("glob:" + glob))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,11 +1,25 @@
 package org.java2uml.java2umlapi.util.unzipper;
 
+import org.java2uml.java2umlapi.util.sourceFilter.SourceFilter;
+
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 /**
@@ -13,9 +27,18 @@ import java.util.zip.ZipInputStream;
  * Utility class to unzip files from a given folder to a given folder.
  * </p>
  *
+ * <p>
+ * Unfiltered unzipping streams through the zip file sequentially, while unzipping filtered by a {@link SourceFilter}
+ * uses random access to the entries of the zip file, and can unzip them in parallel.
+ * </p>
+ *
  * @author kawaiifox
  */
 public abstract class Unzipper {
+    /**
+     * Default size of the buffer used by parallel unzipping, in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
 
     /**
      * unzip a given file from srcZipPath and generate unzipped files in destDirPath.
@@ -26,39 +49,200 @@ public abstract class Unzipper {
      * @throws IOException if unable to create directory.
      */
     public static File unzipDir(Path srcZipPath, Path destDirPath) throws IOException {
+        return unzipDir(srcZipPath, destDirPath, zipEntry -> true);
+    }
+
+    /**
+     * unzip entries of a given file from srcZipPath which are accepted by given filter,
+     * and generate unzipped files in destDirPath.
+     *
+     * @param srcZipPath  {@link Path} of source zip file.
+     * @param destDirPath {@link Path} of destination where output needs to be generated.
+     * @param filter      only the entries for which filter returns true are unzipped.
+     * @return {@link File} directory containing unzipped files.
+     * @throws IOException if unable to create directory.
+     */
+    public static File unzipDir(Path srcZipPath, Path destDirPath, Predicate<ZipEntry> filter) throws IOException {
+        return unzipDir(srcZipPath, destDirPath, filter, -1);
+    }
+
+    /**
+     * unzip entries of a given file from srcZipPath which are accepted by given {@link SourceFilter},
+     * and generate unzipped files in destDirPath. Directory entries are skipped, directories are only created
+     * for the files which are unzipped.
+     *
+     * @param srcZipPath   {@link Path} of source zip file.
+     * @param destDirPath  {@link Path} of destination where output needs to be generated.
+     * @param sourceFilter only the entries accepted by it are unzipped, entries which turn out to be larger than
+     *                     its max size while being unzipped are deleted.
+     * @return {@link File} directory containing unzipped files.
+     * @throws IOException if unable to create directory.
+     */
+    public static File unzipDir(Path srcZipPath, Path destDirPath, SourceFilter sourceFilter) throws IOException {
+        return unzipDir(srcZipPath, destDirPath, sourceFilter, Runtime.getRuntime().availableProcessors(),
+                DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * <p>
+     * unzip entries of a given file from srcZipPath which are accepted by given {@link SourceFilter},
+     * and generate unzipped files in destDirPath. Directory entries are skipped, directories are only created
+     * for the files which are unzipped.
+     * </p>
+     *
+     * <p>
+     * Entries are read from the central directory of the zip file using {@link ZipFile}, so they can be unzipped
+     * independently of each other. If parallelism is greater than 1 entries are unzipped in parallel on a dedicated
+     * {@link ForkJoinPool}, every entry is written through a {@link FileChannel} using a buffer of given size.
+     * Every entry is checked for zip slip before anything is written.
+     * </p>
+     *
+     * @param srcZipPath   {@link Path} of source zip file.
+     * @param destDirPath  {@link Path} of destination where output needs to be generated.
+     * @param sourceFilter only the entries accepted by it are unzipped, entries which turn out to be larger than
+     *                     its max size while being unzipped are deleted.
+     * @param parallelism  number of threads used for unzipping, entries are unzipped on the calling thread
+     *                     if it is less than 2.
+     * @param bufferSize   size of the buffer in bytes used for writing every entry.
+     * @return {@link File} directory containing unzipped files.
+     * @throws IOException if unable to read the zip file or to write any of the entries, or in case of zip slip.
+     */
+    public static File unzipDir(Path srcZipPath, Path destDirPath, SourceFilter sourceFilter, int parallelism,
+                                int bufferSize) throws IOException {
+        return unzipDir(srcZipPath, destDirPath,
+                zipEntry -> sourceFilter.accepts(zipEntry.getName(), zipEntry.getSize()),
+                sourceFilter.getMaxSize(), parallelism, bufferSize);
+    }
+
+    /**
+     * unzip entries of a given file from srcZipPath which are accepted by given filter, and generate unzipped files
+     * in destDirPath, in the same way as {@link #unzipDir(Path, Path, SourceFilter, int, int)}. Size of every entry is
+     * checked against maxEntrySize while it is being unzipped, as the size recorded in the zip file may be missing.
+     *
+     * @param srcZipPath   {@link Path} of source zip file.
+     * @param destDirPath  {@link Path} of destination where output needs to be generated.
+     * @param filter       only the entries for which filter returns true are unzipped.
+     * @param maxEntrySize files larger than this many bytes are deleted, no limit if it is negative.
+     * @param parallelism  number of threads used for unzipping, entries are unzipped on the calling thread
+     *                     if it is less than 2.
+     * @param bufferSize   size of the buffer in bytes used for writing every entry.
+     * @return {@link File} directory containing unzipped files.
+     * @throws IOException if unable to read the zip file or to write any of the entries, or in case of zip slip.
+     */
+    public static File unzipDir(Path srcZipPath, Path destDirPath, Predicate<ZipEntry> filter, long maxEntrySize,
+                                int parallelism, int bufferSize) throws IOException {
+        File destDir = new File(destDirPath.toAbsolutePath().toString());
+
+        try (var zipFile = new ZipFile(srcZipPath.toFile())) {
+            Map<ZipEntry, File> newFiles = new LinkedHashMap<>();
+            for (var zipEntry : Collections.list(zipFile.entries())) {
+                if (!zipEntry.isDirectory() && filter.test(zipEntry)) {
+                    newFiles.put(zipEntry, newFile(destDir, zipEntry));
+                }
+            }
+
+            // directories are created upfront, so that threads do not race on creating same directory.
+            if (!destDir.isDirectory() && !destDir.mkdirs()) {
+                throw new IOException("Failed to create directory " + destDir);
+            }
+            for (var newFile : newFiles.values()) {
+                File parent = newFile.getParentFile();
+                if (!parent.isDirectory() && !parent.mkdirs()) {
+                    throw new IOException("Failed to create directory " + parent);
+                }
+            }
+
+            if (parallelism < 2) {
+                for (var newFile : newFiles.entrySet()) {
+                    writeData(zipFile, newFile.getKey(), newFile.getValue(), maxEntrySize, bufferSize);
+                }
+                return destDir;
+            }
+
+            var pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> newFiles.entrySet().parallelStream().forEach(newFile -> {
+                    try {
+                        writeData(zipFile, newFile.getKey(), newFile.getValue(), maxEntrySize, bufferSize);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while unzipping " + srcZipPath, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                }
+                throw new IOException("Unable to unzip " + srcZipPath, e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        return destDir;
+    }
+
+    /**
+     * unzip entries of a given file from srcZipPath which are accepted by given filter,
+     * and generate unzipped files in destDirPath.
+     *
+     * @param srcZipPath   {@link Path} of source zip file.
+     * @param destDirPath  {@link Path} of destination where output needs to be generated.
+     * @param filter       only the entries for which filter returns true are unzipped.
+     * @param maxEntrySize files larger than this many bytes are deleted, no limit if it is negative.
+     * @return {@link File} directory containing unzipped files.
+     * @throws IOException if unable to create directory.
+     */
+    private static File unzipDir(Path srcZipPath, Path destDirPath, Predicate<ZipEntry> filter, long maxEntrySize)
+            throws IOException {
         File zipFile = new File(srcZipPath.toAbsolutePath().toString());
         File destDir = new File(destDirPath.toAbsolutePath().toString());
-        ZipInputStream zis = new ZipInputStream(new FileInputStream(zipFile));
-        ZipEntry zipEntry = zis.getNextEntry();
 
-        while (zipEntry != null) {
-            File newFile = newFile(destDir, zipEntry);
+        if (!destDir.isDirectory() && !destDir.mkdirs()) {
+            throw new IOException("Failed to create directory " + destDir);
+        }
+
+        try (var zis = new ZipInputStream(new FileInputStream(zipFile))) {
+            ZipEntry zipEntry = zis.getNextEntry();
 
-            if (zipEntry.isDirectory()) {
-                if (!newFile.isDirectory() && !newFile.mkdirs()) {
-                    throw new IOException("Failed to create directory " + newFile);
+            while (zipEntry != null) {
+                if (!filter.test(zipEntry)) {
+                    zipEntry = zis.getNextEntry();
+                    continue;
                 }
-            } else {
-                writeData(zis, newFile);
+
+                File newFile = newFile(destDir, zipEntry);
+
+                if (zipEntry.isDirectory()) {
+                    if (!newFile.isDirectory() && !newFile.mkdirs()) {
+                        throw new IOException("Failed to create directory " + newFile);
+                    }
+                } else if (!writeData(zis, newFile, maxEntrySize) && !newFile.delete()) {
+                    throw new IOException("Failed to delete oversized file " + newFile);
+                }
+
+                zipEntry = zis.getNextEntry();
             }
 
-            zipEntry = zis.getNextEntry();
+            zis.closeEntry();
         }
 
-        zis.closeEntry();
-        zis.close();
         return destDir;
     }
 
     /**
      * Writes the data from {@link ZipInputStream} in to the specified {@link File} newFile until
-     * the end of stream is reached.
+     * the end of stream is reached, or until more than maxSize bytes have been written.
      *
      * @param zis     {@link ZipInputStream} from which the data will be read.
      * @param newFile {@link File} in which data will be written.
+     * @param maxSize max number of bytes to be written, no limit if it is negative.
+     * @return false if entry is larger than maxSize, in which case newFile is incomplete.
      * @throws IOException if unable to create directory.
      */
-    private static void writeData(ZipInputStream zis, File newFile) throws IOException {
+    private static boolean writeData(ZipInputStream zis, File newFile, long maxSize) throws IOException {
         byte[] buffer = new byte[1024];
         File parent = newFile.getParentFile();
 
@@ -66,14 +250,59 @@ public abstract class Unzipper {
             throw new IOException("Failed to create directory " + parent);
         }
 
-        FileOutputStream fos = new FileOutputStream(newFile);
+        try (var fos = new FileOutputStream(newFile)) {
+            int len;
+            long written = 0;
+            while ((len = zis.read(buffer)) > 0) {
+                written += len;
+                if (maxSize >= 0 && written > maxSize) return false;
+
+                fos.write(buffer, 0, len);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the data of given entry of {@link ZipFile} in to the specified {@link File} newFile through a
+     * {@link FileChannel}, entries larger than maxSize are deleted.
+     *
+     * @param zipFile    {@link ZipFile} from which the data will be read.
+     * @param zipEntry   entry of the zip file to be written.
+     * @param newFile    {@link File} in which data will be written, its parent directory must exist.
+     * @param maxSize    max number of bytes to be written, no limit if it is negative.
+     * @param bufferSize size of the buffer in bytes.
+     * @throws IOException if unable to read the entry or to write the file.
+     */
+    private static void writeData(ZipFile zipFile, ZipEntry zipEntry, File newFile, long maxSize, int bufferSize)
+            throws IOException {
+        boolean isOversized = false;
+
+        try (var source = Channels.newChannel(zipFile.getInputStream(zipEntry));
+             var target = FileChannel.open(newFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            var buffer = ByteBuffer.allocate(bufferSize);
+            long written = 0;
 
-        int len;
-        while ((len = zis.read(buffer)) > 0) {
-            fos.write(buffer, 0, len);
+            while (source.read(buffer) >= 0) {
+                buffer.flip();
+                written += buffer.remaining();
+                if (maxSize >= 0 && written > maxSize) {
+                    isOversized = true;
+                    break;
+                }
+
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                buffer.clear();
+            }
         }
 
-        fos.close();
+        if (isOversized && !newFile.delete()) {
+            throw new IOException("Failed to delete oversized file " + newFile);
+        }
     }
 
     /**
@@ -89,9 +89,9 @@ public class LightWeightExtractor implements Visitor<LightWeight> {
         );
         classOrInterface.setClassFields(getFieldList(children, this, classOrInterface));
         classOrInterface.setClassOrInterfaceTypeParameters(
-                getTypeParamList(parsedClassOrInterfaceComponent, classOrInterface)
+                getTypeParamList(parsedClassOrInterfaceComponent.getTypeParameters(), classOrInterface)
         );
-        classOrInterface.setBody(getBody(parsedClassOrInterfaceComponent, classOrInterface));
+        classOrInterface.setBody(new Body(parsedClassOrInterfaceComponent.getBody(), classOrInterface));
 
         return classOrInterface;
     }
@@ -104,12 +104,10 @@ public class LightWeightExtractor implements Visitor<LightWeight> {
      */
     @Override
     public LightWeight visit(ParsedExternalComponent parsedExternalComponent) {
-        var resolvedDeclaration = getResolvedDeclaration(parsedExternalComponent)
-                .asType().asReferenceType();
         var classOrInterface = new ClassOrInterface.Builder()
                 .withName(parsedExternalComponent.getName())
                 .withPackageName(parsedExternalComponent.getPackageName())
-                .withIsClass(resolvedDeclaration.isClass())
+                .withIsClass(parsedExternalComponent.isClass())
                 .withIsExternal(true)
                 .build();
 
@@ -117,9 +115,9 @@ public class LightWeightExtractor implements Visitor<LightWeight> {
         classOrInterface.setClassOrInterfaceMethods(new ArrayList<>());
         classOrInterface.setClassFields(new ArrayList<>());
         classOrInterface.setClassOrInterfaceTypeParameters(
-                getTypeParametersFromRTPD(resolvedDeclaration.getTypeParameters(), classOrInterface)
+                getTypeParamList(parsedExternalComponent.getTypeParameters(), classOrInterface)
         );
-        classOrInterface.setBody(new Body(resolvedDeclaration.getQualifiedName() + " {\n}"));
+        classOrInterface.setBody(new Body(parsedExternalComponent.getName() + " {\n}"));
         return classOrInterface;
     }
 
@@ -152,35 +150,26 @@ public class LightWeightExtractor implements Visitor<LightWeight> {
      */
     @Override
     public LightWeight visit(ParsedMethodComponent parsedMethodComponent) {
-        var resolvedMethodDeclaration =
-                parsedMethodComponent
-                        .getAsResolvedMethodDeclaration()
-                        .orElseThrow(() -> new IllegalStateException("parsedMethodComponent should" +
-                                " contain resolvedMethodDeclaration."));
         var method = new Method.Builder()
                 .withName(parsedMethodComponent.getName())
                 .withSignature(parsedMethodComponent.getName())
                 .withReturnType(parsedMethodComponent.getReturnTypeName())
-                .withVisibility(resolvedMethodDeclaration.accessSpecifier().asString())
-                .withStatic(resolvedMethodDeclaration.isStatic())
+                .withVisibility(parsedMethodComponent.getVisibility())
+                .withStatic(parsedMethodComponent.isStatic())
                 .build();
 
-        method.setMethodParameters(
-                getParamList(resolvedMethodDeclaration.getNumberOfParams(), resolvedMethodDeclaration::getParam, method)
-        );
-        method.setMethodTypeParameters(
-                getTypeParametersFromRTPD(resolvedMethodDeclaration.getTypeParameters(), method)
-        );
+        method.setMethodParameters(getParamList(parsedMethodComponent.getParameters(), method));
+        method.setMethodTypeParameters(getTypeParamList(parsedMethodComponent.getTypeParameters(), method));
         method.setSpecifiedExceptions(
-                getSpecifiedExceptions(resolvedMethodDeclaration.getSpecifiedExceptions(), method)
+                getSpecifiedExceptions(parsedMethodComponent.getSpecifiedExceptions(), method)
         );
         try {
             method.setBody(
-                    new Body(resolvedMethodDeclaration.toAst()
+                    new Body(parsedMethodComponent.getBody()
                             .orElseThrow(
                                     () -> new RuntimeException("unable to get ast of method," +
                                             " body cannot be generated")
-                            ).toString(),
+                            ),
                             method
                     )
             );
@@ -199,25 +188,24 @@ public class LightWeightExtractor implements Visitor<LightWeight> {
      */
     @Override
     public LightWeight visit(ParsedConstructorComponent parsedConstructorComponent) {
-        var resolvedDeclaration =
-                parsedConstructorComponent.getResolvedConstructorDeclaration();
+        var body = parsedConstructorComponent.getBody();
 
         var constructor = new Constructor(
                 parsedConstructorComponent.getName(),
                 parsedConstructorComponent.getSignature(),
-                resolvedDeclaration.accessSpecifier().asString(),
-                resolvedDeclaration.toAst().isEmpty()
-        );
-        constructor.setConstructorParameters(
-                getParamList(resolvedDeclaration.getNumberOfParams(), resolvedDeclaration::getParam, constructor)
+                parsedConstructorComponent.getVisibility(),
+                body.isEmpty()
         );
+        constructor.setConstructorParameters(getParamList(parsedConstructorComponent.getParameters(), constructor));
         constructor.setConstructorTypeParameters(
-                getTypeParametersFromRTPD(resolvedDeclaration.getTypeParameters(), constructor)
+                getTypeParamList(parsedConstructorComponent.getTypeParameters(), constructor)
         );
         constructor.setConstructorSpecifiedExceptions(
-                getSpecifiedExceptions(resolvedDeclaration.getSpecifiedExceptions(), constructor)
+                getSpecifiedExceptions(parsedConstructorComponent.getSpecifiedExceptions(), constructor)
+        );
+        constructor.setBody(
+                new Body(body.orElse(parsedConstructorComponent.getSignature() + " {\n}"), constructor)
         );
-        constructor.setBody(getBody(resolvedDeclaration, constructor));
         return constructor;
     }
 
@@ -229,12 +217,11 @@ public class LightWeightExtractor implements Visitor<LightWeight> {
      */
     @Override
     public LightWeight visit(ParsedFieldComponent parsedFieldComponent) {
-        var resolvedDeclaration = parsedFieldComponent.getResolvedFieldDeclaration();
         return new Field(
                 parsedFieldComponent.getTypeName(),
-                resolvedDeclaration.getName(),
-                resolvedDeclaration.accessSpecifier().asString(),
-                resolvedDeclaration.isStatic()
+                parsedFieldComponent.getSimpleName(),
+                parsedFieldComponent.getVisibility(),
+                parsedFieldComponent.isStatic()
         );
     }
 
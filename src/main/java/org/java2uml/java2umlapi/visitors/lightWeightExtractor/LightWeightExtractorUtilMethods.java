@@ -1,15 +1,11 @@
 package org.java2uml.java2umlapi.visitors.lightWeightExtractor;
 
-import com.github.javaparser.resolution.UnsolvedSymbolException;
-import com.github.javaparser.resolution.declarations.*;
-import com.github.javaparser.resolution.types.ResolvedType;
 import org.java2uml.java2umlapi.lightWeight.*;
-import org.java2uml.java2umlapi.parsedComponent.ParsedClassOrInterfaceComponent;
 import org.java2uml.java2umlapi.parsedComponent.ParsedComponent;
+import org.java2uml.java2umlapi.parsedComponent.ParsedParameter;
 import org.java2uml.java2umlapi.parsedComponent.TypeRelation;
 
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -110,86 +106,15 @@ public abstract class LightWeightExtractorUtilMethods {
     }
 
     /**
-     * @param parsedClassOrInterfaceComponent component of which you want body of.
-     * @param parent                          parent to injected into the body.
-     * @return body of component.
-     */
-    static Body getBody(ParsedClassOrInterfaceComponent parsedClassOrInterfaceComponent, LightWeight parent) {
-        var resolvedDeclaration =
-                getResolvedReferenceTypeDeclaration(parsedClassOrInterfaceComponent);
-        if (resolvedDeclaration.isClass() && resolvedDeclaration.asClass().toAst().isPresent()) {
-            return new Body(resolvedDeclaration.asClass().toAst().get().toString(), parent);
-        } else if (resolvedDeclaration.isInterface() && resolvedDeclaration.asInterface().toAst().isPresent()) {
-            return new Body(resolvedDeclaration.asInterface().toAst().get().toString(), parent);
-        }
-        return new Body(resolvedDeclaration.getName() + " {}", parent);
-    }
-
-    /**
-     * @param resolvedDeclaration ResolvedConstructorDeclaration of which you want body of.
-     * @param parent              parent to be injected in body.
-     * @return body of parent.
-     */
-    static Body getBody(ResolvedConstructorDeclaration resolvedDeclaration, Constructor parent) {
-        Body body;
-        if (resolvedDeclaration.toAst().isPresent()) {
-            body = new Body(resolvedDeclaration.toAst().get().toString(), parent);
-        } else {
-            body = new Body(resolvedDeclaration.getSignature() + " {\n}", parent);
-        }
-        return body;
-    }
-
-    /**
-     * @param parsedClassOrInterfaceComponent takes parsed class or interface
-     * @return a resolvedReferenceTypeDeclaration
-     */
-    private static ResolvedReferenceTypeDeclaration getResolvedReferenceTypeDeclaration(
-            ParsedClassOrInterfaceComponent parsedClassOrInterfaceComponent) {
-        return getResolvedDeclaration(parsedClassOrInterfaceComponent)
-                .asType()
-                .asReferenceType();
-    }
-
-    /**
-     * @param parsedComponent parsedComponent of which resolvedDeclaration you want to get.
-     * @return ResolvedDeclaration of given parsedComponent.
-     */
-    static ResolvedDeclaration getResolvedDeclaration(ParsedComponent parsedComponent) {
-        return parsedComponent
-                .getResolvedDeclaration()
-                .orElseThrow(() -> new IllegalStateException("parsedComponent should" +
-                        " contain resolved declaration."));
-    }
-
-    /**
-     * @param parsedClassOrInterfaceComponent component of which you want type parameters of.
-     * @param parent                          parent to be injected in all the type parameters.
-     * @return a list of type parameters.
-     */
-    static List<TypeParam> getTypeParamList(
-            ParsedClassOrInterfaceComponent parsedClassOrInterfaceComponent, LightWeight parent
-    ) {
-        var resolvedDeclaration =
-                getResolvedReferenceTypeDeclaration(parsedClassOrInterfaceComponent);
-
-        if (!resolvedDeclaration.isGeneric()) {
-            return new ArrayList<>();
-        }
-
-        return getTypeParametersFromRTPD(resolvedDeclaration.getTypeParameters(), parent);
-    }
-
-    /**
-     * Get a list of TypeParameters from ResolvedTypeParameterDeclaration
+     * Get a list of TypeParameters from names of the type parameters.
      *
-     * @param list   list of ResolvedTypeParameterDeclaration
-     * @param parent parent to be injected in all the type parameters.
+     * @param typeParameters names of the type parameters.
+     * @param parent         parent to be injected in all the type parameters.
      * @return List of TypeParameters
      */
-    static List<TypeParam> getTypeParametersFromRTPD(List<ResolvedTypeParameterDeclaration> list, LightWeight parent) {
-        return list.stream()
-                .map(rTPD -> new TypeParam(rTPD.getName()))
+    static List<TypeParam> getTypeParamList(List<String> typeParameters, LightWeight parent) {
+        return typeParameters.stream()
+                .map(TypeParam::new)
                 .peek(typeParam -> typeParam.setParent(parent))
                 .collect(Collectors.toList());
     }
@@ -293,45 +218,29 @@ public abstract class LightWeightExtractorUtilMethods {
     /**
      * Get all the exceptions specified by a signature.
      *
-     * @param exceptionList list of exception classes
+     * @param exceptionList qualified names of exception classes
      * @param parent        parent to be injected in type parameters.
      * @return list of SpecifiedException
      */
-    static List<SpecifiedException> getSpecifiedExceptions(List<ResolvedType> exceptionList, LightWeight parent) {
+    static List<SpecifiedException> getSpecifiedExceptions(List<String> exceptionList, LightWeight parent) {
         return exceptionList
                 .stream()
-                .filter(ResolvedType::isReferenceType)
-                .map(ResolvedType::asReferenceType)
-                .map(resolvedReferenceType -> new SpecifiedException(resolvedReferenceType.getQualifiedName(), parent))
+                .map(qualifiedName -> new SpecifiedException(qualifiedName, parent))
                 .collect(Collectors.toList());
     }
 
     /**
      * Get a List of all the parameters specified by a signature
      *
-     * @param numberOfParameters number of parameters in a signature
-     * @param getParameter       Function with mapping i -> ResolvedParameterDeclaration, i.e get ith parameter from the
-     *                           list of all the parameters.
-     * @param parent             parent to be injected in each parameter.
+     * @param parameters parameters specified by a signature, in order of declaration.
+     * @param parent     parent to be injected in each parameter.
      * @return List of all the parameters(Param).
      */
-    static List<Param> getParamList(int numberOfParameters,
-                                    Function<Integer, ResolvedParameterDeclaration> getParameter, LightWeight parent) {
-        var parametersList = new ArrayList<Param>();
-
-        for (int i = 0; i < numberOfParameters; i++) {
-            ResolvedParameterDeclaration parameterDeclaration = getParameter.apply(i);
-            String paramType;
-            try {
-                paramType = parameterDeclaration.describeType();
-            } catch (UnsolvedSymbolException e) {
-                paramType = e.getName();
-            }
-
-            parametersList.add(new Param(paramType, parameterDeclaration.getName(), parent));
-        }
-
-        return parametersList;
+    static List<Param> getParamList(List<ParsedParameter> parameters, LightWeight parent) {
+        return parameters
+                .stream()
+                .map(parameter -> new Param(parameter.getTypeName(), parameter.getName(), parent))
+                .collect(Collectors.toList());
     }
 
 }
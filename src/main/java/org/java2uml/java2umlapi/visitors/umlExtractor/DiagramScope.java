@@ -0,0 +1,167 @@
+package org.java2uml.java2umlapi.visitors.umlExtractor;
+
+import org.java2uml.java2umlapi.dependencyMatrix.DefaultPackageTree;
+import org.java2uml.java2umlapi.parsedComponent.ParsedComponent;
+import org.java2uml.java2umlapi.parsedComponent.ParsedCompositeComponent;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * DiagramScope selects the types of a project which have to be included in a focused class diagram, pass it to
+ * {@link UMLWriter#write(SourceComponent, Predicate)} to generate uml code of the diagram.
+ * </p>
+ *
+ * <p>
+ * A scope is either a package subtree, containing every parsed type of the package and of its sub packages, or the
+ * neighbourhood of a type, containing every parsed or external type reachable from it by following at most given
+ * number of relations in either direction.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class DiagramScope implements Predicate<ParsedComponent> {
+    /**
+     * Max number of relations followed from a type, as every number of hops is a diagram of its own.
+     */
+    public static final int MAX_HOPS = 8;
+
+    private final String key;
+    private final Set<ParsedComponent> types;
+
+    private DiagramScope(String key, Set<ParsedComponent> types) {
+        this.key = key;
+        this.types = types;
+    }
+
+    /**
+     * Selects every parsed type whose fully qualified name lies in the given package subtree, types are looked up by
+     * index range of the package in {@link DefaultPackageTree}.
+     *
+     * @param sourceComponent sourceComponent representing project.
+     * @param packageName     fully qualified name of the package, or of a type to include it with its nested types.
+     * @return scope of the package.
+     * @throws IllegalArgumentException if package is not present in the project.
+     */
+    public static DiagramScope ofPackage(SourceComponent sourceComponent, String packageName) {
+        List<ParsedCompositeComponent> compositeComponents = new ArrayList<>();
+        sourceComponent.getChildren().values()
+                .forEach(child -> child.asParsedCompositeComponent().ifPresent(compositeComponents::add));
+
+        var packageTree = new DefaultPackageTree(compositeComponents);
+        if (packageName.isBlank() || !packageTree.contains(packageName))
+            throw new IllegalArgumentException("Package " + packageName + " is not present in the project.");
+
+        var range = packageTree.getRange(packageName);
+        var componentToIndexMap = packageTree.getComponentToIndexMap();
+        Set<ParsedComponent> types = Collections.newSetFromMap(new IdentityHashMap<>());
+        compositeComponents.forEach(component -> {
+            if (range.contains(componentToIndexMap.get(component.getName()))) types.add(component);
+        });
+
+        return new DiagramScope(packageKeyOf(packageName), types);
+    }
+
+    /**
+     * @param packageName fully qualified name of the package.
+     * @return key of the scope of the package, see {@link #getKey()}.
+     */
+    public static String packageKeyOf(String packageName) {
+        return "package:" + packageName;
+    }
+
+    /**
+     * Selects the given type and every type reachable from it by following at most given number of relations, in
+     * either direction.
+     *
+     * @param sourceComponent sourceComponent representing project.
+     * @param typeName        fully qualified name of a parsed or external type.
+     * @param hops            maximum number of relations followed from the given type.
+     * @return scope of the neighbourhood.
+     * @throws IllegalArgumentException if hops is not between 0 and {@link #MAX_HOPS} or type is not present in the
+     *                                  project.
+     */
+    public static DiagramScope ofNeighbourhood(SourceComponent sourceComponent, String typeName, int hops) {
+        var key = neighbourhoodKeyOf(typeName, hops);
+
+        var type = sourceComponent.getChildren().get(typeName);
+        if (type == null) type = sourceComponent.getExternalComponents().get(typeName);
+        if (type == null)
+            throw new IllegalArgumentException("Type " + typeName + " is not present in the project.");
+
+        var neighbours = getNeighbours(sourceComponent);
+        Set<ParsedComponent> types = Collections.newSetFromMap(new IdentityHashMap<>());
+        types.add(type);
+
+        List<ParsedComponent> frontier = List.of(type);
+        for (int hop = 0; hop < hops && !frontier.isEmpty(); hop++) {
+            List<ParsedComponent> next = new ArrayList<>();
+            for (var component : frontier) {
+                for (var neighbour : neighbours.getOrDefault(component, List.of())) {
+                    if (types.add(neighbour)) next.add(neighbour);
+                }
+            }
+            frontier = next;
+        }
+
+        return new DiagramScope(key, types);
+    }
+
+    /**
+     * @param typeName fully qualified name of the type.
+     * @param hops     maximum number of relations followed from the type.
+     * @return key of the scope of the neighbourhood, see {@link #getKey()}.
+     * @throws IllegalArgumentException if hops is not between 0 and {@link #MAX_HOPS}.
+     */
+    public static String neighbourhoodKeyOf(String typeName, int hops) {
+        if (hops < 0 || hops > MAX_HOPS)
+            throw new IllegalArgumentException("Number of hops must be between 0 and " + MAX_HOPS + ": " + hops);
+
+        return "type:" + typeName + ":" + hops;
+    }
+
+    /**
+     * @return types related to each type of the project, in either direction.
+     */
+    private static Map<ParsedComponent, List<ParsedComponent>> getNeighbours(SourceComponent sourceComponent) {
+        Map<ParsedComponent, List<ParsedComponent>> neighbours = new IdentityHashMap<>();
+        var relations = sourceComponent.getRelations();
+        for (int i = 0; i < relations.size(); i++) {
+            var from = relations.getFrom(i);
+            var to = relations.getTo(i);
+            neighbours.computeIfAbsent(from, component -> new ArrayList<>()).add(to);
+            neighbours.computeIfAbsent(to, component -> new ArrayList<>()).add(from);
+        }
+        return neighbours;
+    }
+
+    /**
+     * @return key identifying this scope within its project, for e.g. for caching generated diagrams.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return number of types in this scope.
+     */
+    public int size() {
+        return types.size();
+    }
+
+    /**
+     * @param type a parsed or external type.
+     * @return true if type has to be included in the diagram.
+     */
+    @Override
+    public boolean test(ParsedComponent type) {
+        return types.contains(type);
+    }
+}
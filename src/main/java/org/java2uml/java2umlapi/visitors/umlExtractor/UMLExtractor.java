@@ -1,157 +1,121 @@
 package org.java2uml.java2umlapi.visitors.umlExtractor;
 
 import org.java2uml.java2umlapi.parsedComponent.*;
-import org.java2uml.java2umlapi.util.umlSymbols.StartEnd;
-import org.java2uml.java2umlapi.util.umlSymbols.UMLModifier;
-import org.java2uml.java2umlapi.util.umlSymbols.VisibilityModifierSymbol;
 import org.java2uml.java2umlapi.visitors.Visitor;
 
-import static org.java2uml.java2umlapi.util.umlSymbols.Separator.DOTTED;
-import static org.java2uml.java2umlapi.util.umlSymbols.TypeDeclarationSymbol.getTypeDeclarationSymbol;
-import static org.java2uml.java2umlapi.visitors.umlExtractor.UMLExtractorUtilMethods.*;
-
 /**
  * <p>
  * UMLExtractor is visitor class which extracts plant uml code from ParsedComponents.
  * </p>
  *
+ * <p>
+ * Uml code of every component is written by {@link UMLWriter} to a {@link StringBuilder}, use {@link UMLWriter}
+ * directly to write uml code of a project to a {@link java.io.Writer} without holding it as a {@link String}.
+ * </p>
+ *
  * @author kawaiifox
  */
 public class UMLExtractor implements Visitor<String> {
     /**
-     * Visits passed component and performs some operation on it.
+     * Generates uml code of passed component.
      *
      * @param sourceComponent sourceComponent representing project.
-     * @return Object of type R
+     * @return uml code of passed component.
      */
     @Override
     public String visit(SourceComponent sourceComponent) {
-        return StartEnd.START
-                + "\n" + generateUMLClasses(sourceComponent.getChildren(),
-                sourceComponent.getExternalComponents(),
-                this)
-                + "\n" + generateUMLTypeRelations(sourceComponent.getAllRelations(), this)
-                + "\n" + StartEnd.END;
+        return sourceComponent.accept(newWriter()).toString();
     }
 
     /**
-     * Visits passed component and performs some operation on it.
+     * Generates uml code of passed component.
      *
      * @param parsedClassOrInterfaceComponent parsedClassOrInterfaceComponent representing ClassOrInterface.
-     * @return Object of type R
+     * @return uml code of passed component.
      */
     @Override
     public String visit(ParsedClassOrInterfaceComponent parsedClassOrInterfaceComponent) {
-        var resolvedDeclaration = getResolvedDeclaration(parsedClassOrInterfaceComponent);
-        var children = parsedClassOrInterfaceComponent.getChildren();
-
-        return getTypeDeclarationSymbol(resolvedDeclaration.asType()) + " {\n"
-                + generateUMLFieldDeclarations(children, this)
-                + generateUMLConstructorSignatures(children, this)
-                + generateUMLMethodSignatures(children, this)
-                + "}";
+        return parsedClassOrInterfaceComponent.accept(newWriter()).toString();
     }
 
-
     /**
-     * Visits passed component and performs some operation on it.
+     * Generates uml code of passed component.
      *
      * @param parsedEnumComponent parsedEnumComponent representing Enum.
-     * @return Object of type R
+     * @return uml code of passed component.
      */
     @Override
     public String visit(ParsedEnumComponent parsedEnumComponent) {
-        var children = parsedEnumComponent.getChildren();
-
-        return "enum " + parsedEnumComponent.getName() + " {\n"
-                + DOTTED + "Enum Constants" + DOTTED + "\n"
-                + generateUMLEnumConstantDecl(children, this)
-                + DOTTED + "Fields" + DOTTED + "\n"
-                + generateUMLFieldDeclarations(children, this)
-                + DOTTED + "Methods" + DOTTED + "\n"
-                + generateUMLConstructorSignatures(children, this)
-                + generateUMLMethodSignatures(children, this)
-                + "}";
+        return parsedEnumComponent.accept(newWriter()).toString();
     }
 
     /**
-     * Visits passed component and performs some operation on it.
+     * Generates uml code of passed component.
      *
      * @param parsedMethodComponent parsedMethodComponent representing Method.
-     * @return Object of type R
+     * @return uml code of passed component.
      */
     @Override
     public String visit(ParsedMethodComponent parsedMethodComponent) {
-        var resolvedDeclaration = parsedMethodComponent.getResolvedMethodDeclaration();
-
-        return VisibilityModifierSymbol.of(resolvedDeclaration.accessSpecifier().asString()) + " "
-                + UMLModifier.METHOD + " "
-                + (resolvedDeclaration.isStatic() ? UMLModifier.STATIC + " " : "")
-                + parsedMethodComponent.getSignature() + ": " + parsedMethodComponent.getReturnTypeName();
+        return parsedMethodComponent.accept(newWriter()).toString();
     }
 
     /**
-     * Visits passed component and performs some operation on it.
+     * Generates uml code of passed component.
      *
      * @param parsedFieldComponent parsedFieldComponent representing Field.
-     * @return Object of type R
+     * @return uml code of passed component.
      */
     @Override
     public String visit(ParsedFieldComponent parsedFieldComponent) {
-        var resolvedDeclaration = parsedFieldComponent.getResolvedFieldDeclaration();
-
-        return VisibilityModifierSymbol.of(resolvedDeclaration.accessSpecifier().asString()) + " " +
-                getClassOfField(resolvedDeclaration) + " "
-                + (resolvedDeclaration.isStatic() ? UMLModifier.STATIC : "")
-                + " " + resolvedDeclaration.getName();
+        return parsedFieldComponent.accept(newWriter()).toString();
     }
 
-
     /**
-     * Visits passed component and performs some operation on it.
+     * Generates uml code of passed component.
      *
      * @param parsedConstructorComponent parsedConstructorComponent representing Constructor.
-     * @return Object of type R
+     * @return uml code of passed component.
      */
     @Override
     public String visit(ParsedConstructorComponent parsedConstructorComponent) {
-        var resolvedDeclaration = parsedConstructorComponent
-                .getResolvedConstructorDeclaration();
-
-        return VisibilityModifierSymbol.of(resolvedDeclaration.accessSpecifier().asString()) + " "
-                + UMLModifier.METHOD + " [Constructor] " + parsedConstructorComponent.getSignature();
+        return parsedConstructorComponent.accept(newWriter()).toString();
     }
 
     /**
-     * Visits passed component and performs some operation on it.
+     * Generates uml code of passed component.
      *
      * @param parsedExternalComponent parsedExternalComponent representing External Class or interface or enum.
-     * @return Object of type R
+     * @return uml code of passed component.
      */
     @Override
     public String visit(ParsedExternalComponent parsedExternalComponent) {
-        return getTypeDeclarationSymbol(parsedExternalComponent.getResolvedTypeDeclaration()) + " {\n}";
+        return parsedExternalComponent.accept(newWriter()).toString();
     }
 
     /**
-     * Visits passed component and performs some operation on it.
+     * Generates uml code of passed component.
      *
      * @param parsedEnumConstantComponent parsedEnumConstantComponent representing Enum constant.
-     * @return Object of type R
+     * @return uml code of passed component.
      */
     @Override
     public String visit(ParsedEnumConstantComponent parsedEnumConstantComponent) {
-        return parsedEnumConstantComponent.getResolvedEnumConstantDeclaration().getName();
+        return parsedEnumConstantComponent.accept(newWriter()).toString();
     }
 
     /**
-     * Visits passed TypeRelation and performs some operation on it.
+     * Generates uml code of passed component.
      *
      * @param typeRelation typeRelation representing relation b/w two classes.
+     * @return uml code of passed component.
      */
     @Override
     public String visit(TypeRelation typeRelation) {
-        return typeRelation.getFrom().getName() + " " +
-                typeRelation.getRelationsType() + " " + typeRelation.getTo().getName();
+        return typeRelation.accept(newWriter()).toString();
+    }
+
+    private static UMLWriter newWriter() {
+        return new UMLWriter(new StringBuilder());
     }
 }
@@ -0,0 +1,28 @@
+package org.java2uml.java2umlapi.visitors.umlExtractor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * <p>
+ * Stores configuration properties for generation of plant uml code by {@link UMLWriter}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@ConfigurationProperties(prefix = "uml")
+public class UMLProperties {
+    /**
+     * Number of threads shared by all the requests for generating uml code of the types of a project, 1 generates it
+     * on the calling thread while streaming it. Types are resolved one at a time, so more threads help only once
+     * types of the project have been resolved.
+     */
+    private int generationParallelism = 1;
+
+    public int getGenerationParallelism() {
+        return generationParallelism;
+    }
+
+    public void setGenerationParallelism(int generationParallelism) {
+        this.generationParallelism = generationParallelism;
+    }
+}
@@ -0,0 +1,338 @@
+package org.java2uml.java2umlapi.visitors.umlExtractor;
+
+import org.java2uml.java2umlapi.parsedComponent.*;
+import org.java2uml.java2umlapi.util.umlSymbols.StartEnd;
+import org.java2uml.java2umlapi.util.umlSymbols.UMLModifier;
+import org.java2uml.java2umlapi.util.umlSymbols.VisibilityModifierSymbol;
+import org.java2uml.java2umlapi.visitors.Visitor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+import static org.java2uml.java2umlapi.util.umlSymbols.Separator.DOTTED;
+
+/**
+ * <p>
+ * UMLWriter is visitor class which writes plant uml code of ParsedComponents directly to an {@link Appendable}, for
+ * eg. to a {@link java.io.Writer} of a http response, so that uml code of a whole project is never materialized as
+ * a single {@link String}. Every visit returns the {@link Appendable} to which it has written.
+ * </p>
+ *
+ * <p>
+ * Types of a project are written in order of their fully qualified names, so that generated uml code is stable for
+ * diffing and caching. By default uml code is generated on the calling thread and written as it is generated. If an
+ * {@link ExecutorService} is given, uml code of up to twice the parallelism types is generated concurrently on it and
+ * written in the same order, so only uml code of those types is held in memory at once. Whatever uml code of those
+ * types needs to be resolved is resolved on the writing thread before they are generated, holding the resolution lock
+ * once for all of them, so that the tasks generating uml code never wait for each other on that lock, see
+ * {@link org.java2uml.java2umlapi.parsedComponent.SourceComponent#getResolutionLock()}.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+public class UMLWriter implements Visitor<Appendable> {
+    private static final Comparator<ParsedComponent> BY_NAME = Comparator.comparing(ParsedComponent::getName);
+
+    private final Appendable out;
+    private final ExecutorService executorService;
+    private final int parallelism;
+
+    /**
+     * Initializes UMLWriter which generates uml code on the calling thread.
+     *
+     * @param out to which uml code is written.
+     */
+    public UMLWriter(Appendable out) {
+        this(out, null, 1);
+    }
+
+    /**
+     * Initializes UMLWriter.
+     *
+     * @param out             to which uml code is written.
+     * @param executorService shared executor on which uml code of the types of a project is generated, null generates
+     *                        it on the calling thread.
+     * @param parallelism     number of threads of the executor, at most twice as many types are generated ahead of
+     *                        the one being written.
+     */
+    public UMLWriter(Appendable out, ExecutorService executorService, int parallelism) {
+        this.out = out;
+        this.executorService = executorService;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Writes uml code of the whole project.
+     *
+     * @param sourceComponent sourceComponent representing project.
+     * @return Appendable to which uml code has been written.
+     * @throws UncheckedIOException if uml code can not be written.
+     */
+    @Override
+    public Appendable visit(SourceComponent sourceComponent) {
+        return write(sourceComponent, type -> true);
+    }
+
+    /**
+     * Writes uml code of a diagram containing only the types of the project accepted by given predicate, and the
+     * relations between them.
+     *
+     * @param sourceComponent sourceComponent representing project.
+     * @param included        predicate accepting parsed and external types which have to be included in diagram.
+     * @return Appendable to which uml code has been written.
+     * @throws UncheckedIOException if uml code can not be written.
+     */
+    public Appendable write(SourceComponent sourceComponent, Predicate<ParsedComponent> included) {
+        append(StartEnd.START).append("\n");
+        writeTypes(sortedByName(sourceComponent.getChildren(), included), sourceComponent.getResolutionLock());
+        sortedByName(sourceComponent.getExternalComponents(), included).forEach(this::writeLine);
+        append("\n");
+
+        var relations = sourceComponent.getRelations();
+        for (int i = 0; i < relations.size(); i++) {
+            var from = relations.getFrom(i);
+            var to = relations.getTo(i);
+            if (!included.test(from) || !included.test(to)) continue;
+
+            writeTypeRelation(from, to, relations.get(i).getRelationsType());
+            append("\n");
+        }
+
+        append("\n").append(StartEnd.END);
+        return out;
+    }
+
+    /**
+     * Writes uml code of a class or interface.
+     *
+     * @param parsedClassOrInterfaceComponent parsedClassOrInterfaceComponent representing ClassOrInterface.
+     * @return Appendable to which uml code has been written.
+     */
+    @Override
+    public Appendable visit(ParsedClassOrInterfaceComponent parsedClassOrInterfaceComponent) {
+        var children = parsedClassOrInterfaceComponent.getChildren();
+
+        append(parsedClassOrInterfaceComponent.getTypeDeclarationSymbol()).append(" {\n");
+        writeChildren(children, ParsedComponent::isParsedFieldComponent);
+        writeChildren(children, ParsedComponent::isParsedConstructorComponent);
+        writeChildren(children, ParsedComponent::isParsedMethodComponent);
+        append("}");
+        return out;
+    }
+
+    /**
+     * Writes uml code of an enum.
+     *
+     * @param parsedEnumComponent parsedEnumComponent representing Enum.
+     * @return Appendable to which uml code has been written.
+     */
+    @Override
+    public Appendable visit(ParsedEnumComponent parsedEnumComponent) {
+        var children = parsedEnumComponent.getChildren();
+
+        append("enum ").append(parsedEnumComponent.getName()).append(" {\n");
+        append(DOTTED).append("Enum Constants").append(DOTTED).append("\n");
+        writeChildren(children, ParsedComponent::isParsedEnumConstantComponent);
+        append(DOTTED).append("Fields").append(DOTTED).append("\n");
+        writeChildren(children, ParsedComponent::isParsedFieldComponent);
+        append(DOTTED).append("Methods").append(DOTTED).append("\n");
+        writeChildren(children, ParsedComponent::isParsedConstructorComponent);
+        writeChildren(children, ParsedComponent::isParsedMethodComponent);
+        append("}");
+        return out;
+    }
+
+    /**
+     * Writes uml code of a method.
+     *
+     * @param parsedMethodComponent parsedMethodComponent representing Method.
+     * @return Appendable to which uml code has been written.
+     */
+    @Override
+    public Appendable visit(ParsedMethodComponent parsedMethodComponent) {
+        append(VisibilityModifierSymbol.of(parsedMethodComponent.getVisibility())).append(" ")
+                .append(UMLModifier.METHOD).append(" ");
+        if (parsedMethodComponent.isStatic()) append(UMLModifier.STATIC).append(" ");
+        append(parsedMethodComponent.getSignature()).append(": ").append(parsedMethodComponent.getReturnTypeName());
+        return out;
+    }
+
+    /**
+     * Writes uml code of a field.
+     *
+     * @param parsedFieldComponent parsedFieldComponent representing Field.
+     * @return Appendable to which uml code has been written.
+     */
+    @Override
+    public Appendable visit(ParsedFieldComponent parsedFieldComponent) {
+        append(VisibilityModifierSymbol.of(parsedFieldComponent.getVisibility())).append(" ")
+                .append(parsedFieldComponent.getClassOfField()).append(" ");
+        if (parsedFieldComponent.isStatic()) append(UMLModifier.STATIC);
+        append(" ").append(parsedFieldComponent.getSimpleName());
+        return out;
+    }
+
+    /**
+     * Writes uml code of a constructor.
+     *
+     * @param parsedConstructorComponent parsedConstructorComponent representing Constructor.
+     * @return Appendable to which uml code has been written.
+     */
+    @Override
+    public Appendable visit(ParsedConstructorComponent parsedConstructorComponent) {
+        append(VisibilityModifierSymbol.of(parsedConstructorComponent.getVisibility())).append(" ")
+                .append(UMLModifier.METHOD).append(" [Constructor] ")
+                .append(parsedConstructorComponent.getSignature());
+        return out;
+    }
+
+    /**
+     * Writes uml code of an external type.
+     *
+     * @param parsedExternalComponent parsedExternalComponent representing External Class or interface or enum.
+     * @return Appendable to which uml code has been written.
+     */
+    @Override
+    public Appendable visit(ParsedExternalComponent parsedExternalComponent) {
+        append(parsedExternalComponent.getTypeDeclarationSymbol()).append(" {\n}");
+        return out;
+    }
+
+    /**
+     * Writes uml code of an enum constant.
+     *
+     * @param parsedEnumConstantComponent parsedEnumConstantComponent representing Enum constant.
+     * @return Appendable to which uml code has been written.
+     */
+    @Override
+    public Appendable visit(ParsedEnumConstantComponent parsedEnumConstantComponent) {
+        append(parsedEnumConstantComponent.getSimpleName());
+        return out;
+    }
+
+    /**
+     * Writes uml code of a relation.
+     *
+     * @param typeRelation typeRelation representing relation b/w two classes.
+     * @return Appendable to which uml code has been written.
+     */
+    @Override
+    public Appendable visit(TypeRelation typeRelation) {
+        writeTypeRelation(typeRelation.getFrom(), typeRelation.getTo(), typeRelation.getRelationsType());
+        return out;
+    }
+
+    private void writeTypeRelation(ParsedComponent from, ParsedComponent to, String relationsType) {
+        append(from.getName()).append(" ").append(relationsType).append(" ").append(to.getName());
+    }
+
+    /**
+     * Writes uml code of given types followed by a newline character each. If there is an executor, uml code of
+     * every type is generated by a separate task, at most twice the parallelism tasks are pending at once, and it is
+     * written in order of given types. Types are resolved holding given lock before their tasks are submitted.
+     *
+     * @param types          types whose uml code has to be written.
+     * @param resolutionLock resolution lock of the source component containing the types.
+     * @throws RuntimeException if generation is interrupted or fails.
+     */
+    private void writeTypes(List<ParsedComponent> types, Object resolutionLock) {
+        if (executorService == null || parallelism < 2 || types.size() < 2) {
+            types.forEach(this::writeLine);
+            return;
+        }
+
+        var window = parallelism * 2;
+        Deque<Future<String>> pending = new ArrayDeque<>(window);
+        var next = 0;
+        try {
+            while (next < types.size() || !pending.isEmpty()) {
+                synchronized (resolutionLock) {
+                    for (int i = next; i < types.size() && i < next + window - pending.size(); i++) {
+                        resolve(types.get(i));
+                    }
+                }
+                while (next < types.size() && pending.size() < window) {
+                    var type = types.get(next++);
+                    pending.add(executorService.submit(
+                            () -> type.accept(new UMLWriter(new StringBuilder())).toString()));
+                }
+                append(pending.remove().get()).append("\n");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("[UMLWriter] Interrupted while generating uml code.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException("[UMLWriter] Unable to generate uml code.", e.getCause());
+        } finally {
+            pending.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * Resolves every lazily resolved value of given type which is needed to generate its uml code, the caller must
+     * hold the resolution lock. Values of methods, constructors and enum constants are resolved while parsing.
+     *
+     * @param type class, interface or enum.
+     */
+    private static void resolve(ParsedComponent type) {
+        type.asParsedClassOrInterfaceComponent().ifPresent(ParsedClassOrInterfaceComponent::getTypeDeclarationSymbol);
+        type.getChildren().values().forEach(child -> child.asParsedFieldComponent().ifPresent(field -> {
+            field.getVisibility();
+            field.getClassOfField();
+            field.isStatic();
+        }));
+    }
+
+    private static List<ParsedComponent> sortedByName(Map<String, ParsedComponent> components,
+                                                      Predicate<ParsedComponent> included) {
+        List<ParsedComponent> sorted = new ArrayList<>();
+        components.values().forEach(component -> {
+            if (included.test(component)) sorted.add(component);
+        });
+        sorted.sort(BY_NAME);
+        return sorted;
+    }
+
+    /**
+     * Writes uml code of the children accepted by given filter, every child is followed by a newline character.
+     */
+    private void writeChildren(Map<String, ParsedComponent> children, Predicate<ParsedComponent> filter) {
+        children.values().forEach(child -> {
+            if (filter.test(child)) writeLine(child);
+        });
+    }
+
+    /**
+     * Writes uml code of given component followed by a newline character.
+     */
+    private void writeLine(ParsedComponent component) {
+        component.accept(this);
+        append("\n");
+    }
+
+    /**
+     * Appends string representation of given value, calls can be chained without handling {@link IOException} at
+     * each of them.
+     *
+     * @throws UncheckedIOException if value can not be appended.
+     */
+    private UMLWriter append(Object value) {
+        try {
+            out.append(String.valueOf(value));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return this;
+    }
+}
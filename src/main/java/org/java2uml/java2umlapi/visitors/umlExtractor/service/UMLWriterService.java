@@ -0,0 +1,56 @@
+package org.java2uml.java2umlapi.visitors.umlExtractor.service;
+
+import org.java2uml.java2umlapi.visitors.umlExtractor.UMLProperties;
+import org.java2uml.java2umlapi.visitors.umlExtractor.UMLWriter;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Creates {@link UMLWriter}s configured by {@link UMLProperties}. If generation parallelism is greater than 1, all
+ * the writers share a single fixed pool of that many threads, so the number of threads generating uml code does not
+ * grow with the number of requests.
+ * </p>
+ *
+ * @author kawaiifox
+ */
+@Service
+public class UMLWriterService {
+    private final ExecutorService executorService;
+    private final int parallelism;
+
+    public UMLWriterService(UMLProperties umlProperties) {
+        this.parallelism = umlProperties.getGenerationParallelism();
+        if (parallelism < 2) {
+            this.executorService = null;
+            return;
+        }
+
+        var threadCount = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(parallelism, runnable -> {
+            var thread = new Thread(runnable, "uml-generation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param out to which uml code is written.
+     * @return {@link UMLWriter} writing to given {@link Appendable}.
+     */
+    public UMLWriter writerOf(Appendable out) {
+        return new UMLWriter(out, executorService, parallelism);
+    }
+
+    /**
+     * Stops the threads generating uml code.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executorService != null) executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package org.java2uml.java2umlapi.callGraph;
+
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import org.apache.commons.io.FileDeleteStrategy;
+import org.java2uml.java2umlapi.parsedComponent.ParsedMethodComponent;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+import org.java2uml.java2umlapi.parser.Parser;
+import org.java2uml.java2umlapi.util.cancellation.CancellationToken;
+import org.java2uml.java2umlapi.util.unzipper.Unzipper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("When using CallGraphIndex,")
+class CallGraphIndexTest {
+    private static final String PROJECT_ZIP_PATH = "src/test/testSources/callGraphTest/test.zip";
+    private static final String DST = "src/test/testSources/callGraphTest/testIndexOutput";
+    private static SourceComponent sourceComponent;
+    private static CallGraphIndex index;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        File generatedSourceFiles = Unzipper.unzipDir(Path.of(PROJECT_ZIP_PATH), Path.of(DST));
+        sourceComponent = Parser.parse(generatedSourceFiles.toPath());
+        index = CallGraphIndex.of(sourceComponent, new CancellationToken());
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        JarTypeSolver.ResourceRegistry.getRegistry().cleanUp();
+        FileDeleteStrategy.FORCE.delete(Path.of(DST).toFile());
+    }
+
+    @Test
+    @DisplayName("relations found by traversing the index should be same as the ones found from parsed methods.")
+    void testGetCallGraphRelations() {
+        assertSameRelations("co.test.callGraphTest.normal.Test5.test2()", "co.test.callGraphTest.normal");
+        assertSameRelations("co.test.callGraphTest.recursion.Recursion.recurse()", "co.test.callGraphTest.recursion");
+        assertSameRelations("co.test.callGraphTest.cyclicDep.ClassA.methodA()", "co.test.callGraphTest.cyclicDep");
+    }
+
+    @Test
+    @DisplayName("methods reachable from a method should be found by bfs over the index.")
+    void testReachableFrom() {
+        var root = index.indexOf("co.test.callGraphTest.cyclicDep.ClassA.methodA()").orElseThrow();
+
+        var reachable = Arrays.stream(index.reachableFrom(root))
+                .mapToObj(index::signatureOf)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        assertThat(reachable).containsExactlyInAnyOrder(
+                "co.test.callGraphTest.cyclicDep.ClassA.methodA()",
+                "co.test.callGraphTest.cyclicDep.ClassB.methodB()",
+                "co.test.callGraphTest.cyclicDep.ClassC.methodC()",
+                "co.test.callGraphTest.cyclicDep.ClassD.methodD()",
+                "co.test.callGraphTest.cyclicDep.ClassE.methodE()");
+        assertThat(index.isBuiltFrom(sourceComponent)).isTrue();
+        assertThat(index.indexOf("co.test.DoesNotExist.method()")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("methods which are not in the base package should be left out.")
+    void testBasePackage() {
+        var signature = "co.test.callGraphTest.cyclicDep.ClassA.methodA()";
+        var root = index.indexOf(signature).orElseThrow();
+
+        assertThat(index.reachableFrom(root, method -> false)).containsExactly(root);
+        assertThat(new MethodCallGraphImpl(signature, index, "co.test.callGraphTest.normal")
+                .getCallGraphRelations(new HashMap<>())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("cancelled index should not be built.")
+    void testCancelled() {
+        var token = new CancellationToken();
+        token.cancel("Project 1 has been deleted.");
+
+        assertThatThrownBy(() -> CallGraphIndex.of(sourceComponent, token))
+                .isInstanceOf(CancellationException.class)
+                .hasMessage("Project 1 has been deleted.");
+    }
+
+    private void assertSameRelations(String signature, String basePackage) {
+        var method = sourceComponent.find(signature, ParsedMethodComponent.class).orElseThrow();
+        var expected = new MethodCallGraphImpl(method, sourceComponent, basePackage)
+                .getCallGraphRelations(new HashMap<>());
+
+        var actual = new MethodCallGraphImpl(signature, index, basePackage)
+                .getCallGraphRelations(new HashMap<>());
+
+        assertThat(actual).isNotEmpty().containsExactlyInAnyOrderElementsOf(expected);
+    }
+}
@@ -6,6 +6,7 @@ import org.assertj.core.api.Assertions.assertThat
 import org.java2uml.java2umlapi.parsedComponent.ParsedComponent
 import org.java2uml.java2umlapi.parsedComponent.ParsedCompositeComponent
 import org.java2uml.java2umlapi.parsedComponent.TypeRelation
+import org.java2uml.java2umlapi.parsedComponent.TypeRelationStore
 import org.java2uml.java2umlapi.parser.Parser
 import org.java2uml.java2umlapi.util.unzipper.Unzipper
 import org.junit.jupiter.api.AfterEach
@@ -22,6 +23,8 @@ internal class DefaultDependencyMatrixTest {
     private val dst = "src/test/testOutput"
     private lateinit var dependencyMatrix: DependencyMatrix
     private lateinit var relationList: List<TypeRelation>
+    private lateinit var allTypes: List<ParsedCompositeComponent>
+    private lateinit var relations: TypeRelationStore
 
     @BeforeEach
     fun setUp() {
@@ -33,6 +36,8 @@ internal class DefaultDependencyMatrixTest {
 
         dependencyMatrix = DefaultDependencyMatrix(allTypes, sC.relationsList)
         relationList = sC.relationsList
+        relations = sC.relations
+        this.allTypes = allTypes
     }
 
     @Test
@@ -44,6 +49,17 @@ internal class DefaultDependencyMatrixTest {
             assertThat(dependencyMatrix[relation.to.name][relation.from.name]).isEqualTo(value)
     }
 
+    @Test
+    @DisplayName("using distinct relations, should count every relation as many times as its multiplicity.")
+    fun `should count multiplicities of distinct relations`() {
+        val fromDistinctRelations = DefaultDependencyMatrix(allTypes, relations)
+
+        assertThat(relations.totalMultiplicity).isEqualTo(relationList.size.toLong())
+        for (from in allTypes)
+            for (to in allTypes)
+                assertThat(fromDistinctRelations[to.name][from.name]).isEqualTo(dependencyMatrix[to.name][from.name])
+    }
+
     @AfterEach
     @Throws(IOException::class)
     fun tearDown() {
@@ -0,0 +1,109 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("When using FairLaneExecutor,")
+class FairLaneExecutorTest {
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(7);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> order = new CopyOnWriteArrayList<>();
+    private FairLaneExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("waiting tasks of different clients should take turns.")
+    void testFairness() throws Exception {
+        executor = new FairLaneExecutor(Lane.PARSE, 1, 16, 16, RETRY_AFTER);
+        block();
+        for (var task : List.of("a1", "a2", "a3")) submit("a", Priority.INTERACTIVE, task);
+        submit("b", Priority.INTERACTIVE, "b1");
+
+        assertThat(runAll(4)).containsExactly("a1", "b1", "a2", "a3");
+    }
+
+    @Test
+    @DisplayName("interactive tasks should be picked first, but batch tasks should not be starved.")
+    void testPriority() throws Exception {
+        executor = new FairLaneExecutor(Lane.ANALYSIS, 1, 16, 16, RETRY_AFTER);
+        block();
+        for (var task : List.of("b1", "b2")) submit("a", Priority.BATCH, task);
+        for (var task : List.of("i1", "i2", "i3", "i4", "i5")) submit("a", Priority.INTERACTIVE, task);
+
+        assertThat(runAll(7)).containsExactly("i1", "i2", "i3", "b1", "i4", "i5", "b2");
+    }
+
+    @Test
+    @DisplayName("tasks submitted when queue or client's share of it is full should be rejected.")
+    void testBounds() {
+        executor = new FairLaneExecutor(Lane.RENDER, 1, 2, 1, RETRY_AFTER);
+        block();
+        submit("a", Priority.INTERACTIVE, "a1");
+
+        assertThatThrownBy(() -> submit("a", Priority.INTERACTIVE, "a2"))
+                .isInstanceOf(LaneSaturatedException.class)
+                .hasMessageContaining("Too many of your tasks");
+        submit("b", Priority.INTERACTIVE, "b1");
+        assertThatThrownBy(() -> submit("c", Priority.BATCH, "c1"))
+                .isInstanceOfSatisfying(LaneSaturatedException.class, exception -> {
+                    assertThat(exception.getLane()).isEqualTo(Lane.RENDER);
+                    assertThat(exception.getRetryAfter()).isEqualTo(RETRY_AFTER);
+                });
+        assertThat(executor.getRejected()).isEqualTo(2);
+        assertThat(executor.getQueueDepth()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("removed task should not be run.")
+    void testRemove() throws Exception {
+        executor = new FairLaneExecutor(Lane.EXTRACT, 1, 16, 16, RETRY_AFTER);
+        block();
+        Runnable removed = () -> order.add("removed");
+        executor.execute("a", Priority.INTERACTIVE, removed);
+        submit("a", Priority.INTERACTIVE, "kept");
+
+        assertThat(executor.remove(removed)).isTrue();
+        assertThat(executor.getQueueDepth()).isEqualTo(1);
+        assertThat(runAll(1)).containsExactly("kept");
+    }
+
+    /**
+     * Occupies the only thread of the executor until {@link #release} is counted down.
+     */
+    private void block() {
+        executor.execute("blocker", Priority.INTERACTIVE, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private void submit(String client, Priority priority, String task) {
+        executor.execute(client, priority, () -> order.add(task));
+    }
+
+    private List<String> runAll(int count) throws InterruptedException {
+        release.countDown();
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (order.size() < count && System.nanoTime() < deadline) Thread.sleep(10);
+        return Collections.unmodifiableList(order);
+    }
+}
@@ -0,0 +1,170 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.java2uml.java2umlapi.util.cancellation.CancellationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("When using JobRegistry,")
+class JobRegistryTest {
+    private static final URI RESULT = URI.create("http://localhost/api/uml/svg/1");
+    private ExecutorWrapper executor;
+    private SVGRenderScheduler renderScheduler;
+    private JobProperties properties;
+    private JobRegistry jobRegistry;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ExecutorWrapper(new SchedulerProperties());
+        renderScheduler = new SVGRenderScheduler(new SVGRenderProperties());
+        properties = new JobProperties();
+        jobRegistry = new JobRegistry(executor, renderScheduler, properties, new CancellationService());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        renderScheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("job should report its progress while running and its result once it has succeeded.")
+    void testProgress() throws Exception {
+        var progressReported = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var future = jobRegistry.submit(1L, "svg", RESULT, Lane.RENDER, Priority.INTERACTIVE, job -> {
+            job.progress("rendering svg", 50);
+            progressReported.countDown();
+            release.await();
+            return "svg";
+        });
+        assertThat(progressReported.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var job = jobRegistry.findActive(1L, "svg").orElseThrow();
+        assertThat(job.getState()).isEqualTo(Job.State.RUNNING);
+        assertThat(job.getStage()).isEqualTo("rendering svg");
+        assertThat(job.getPercentComplete()).isEqualTo(50);
+        assertThat(job.getStartedAt()).isNotNull();
+
+        release.countDown();
+        assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("svg");
+        assertThat(job.getState()).isEqualTo(Job.State.SUCCEEDED);
+        assertThat(job.getPercentComplete()).isEqualTo(100);
+        assertThat(job.getFinishedAt()).isNotNull();
+        assertThat(job.getResult()).isEqualTo(RESULT);
+        assertThat(jobRegistry.findActive(1L, "svg")).isEmpty();
+        assertThat(jobRegistry.get(job.getId())).contains(job);
+    }
+
+    @Test
+    @DisplayName("failed, cancelled and rejected jobs should be recorded as such.")
+    void testFailureAndCancellation() {
+        var failed = jobRegistry.submit(1L, "uml-code", RESULT, Lane.ANALYSIS, Priority.INTERACTIVE, job -> {
+            throw new IllegalStateException("failed");
+        });
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+
+        var pending = new CompletableFuture<String>();
+        jobRegistry.submit(2L, "svg", RESULT, job -> "svg", task -> pending);
+        pending.cancel(false);
+
+        assertThatThrownBy(() -> jobRegistry.submit(3L, "svg", RESULT, job -> "svg", task -> {
+            throw new RejectedExecutionException("rejected");
+        })).isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(jobRegistry.findAll(1L)).singleElement().satisfies(job -> {
+            assertThat(job.getState()).isEqualTo(Job.State.FAILED);
+            assertThat(job.getError()).isEqualTo("failed");
+        });
+        assertThat(jobRegistry.findAll(2L)).singleElement()
+                .satisfies(job -> assertThat(job.getState()).isEqualTo(Job.State.CANCELLED));
+        assertThat(jobRegistry.findAll(3L)).singleElement()
+                .satisfies(job -> assertThat(job.getState()).isEqualTo(Job.State.FAILED));
+        assertThat(jobRegistry.getMetrics()).containsEntry("jobs.failed", 2L);
+    }
+
+    @Test
+    @DisplayName("cancelling a project should interrupt its running jobs and cancel the ones submitted later.")
+    void testCancel() throws Exception {
+        var started = new CountDownLatch(1);
+        var running = jobRegistry.submit(1L, "uml-code", RESULT, Lane.ANALYSIS, Priority.INTERACTIVE, job -> {
+            started.countDown();
+            new CountDownLatch(1).await();
+            return "uml-code";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        jobRegistry.cancel(1L);
+        assertThatThrownBy(() -> running.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        var later = jobRegistry.submit(1L, "svg", RESULT, Lane.RENDER, Priority.INTERACTIVE, job -> "svg");
+        assertThatThrownBy(() -> later.get(5, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class)
+                .hasMessage("Project 1 has been deleted.");
+
+        assertThat(jobRegistry.findAll(1L)).hasSize(2)
+                .allSatisfy(job -> assertThat(job.getState()).isEqualTo(Job.State.CANCELLED));
+        assertThat(jobRegistry.submit(2L, "svg", RESULT, Lane.RENDER, Priority.INTERACTIVE, job -> "svg")
+                .get(5, TimeUnit.SECONDS)).isEqualTo("svg");
+    }
+
+    @Test
+    @DisplayName("token of a deleted project should be released once its last job has finished.")
+    void testRelease() {
+        var cancellationService = new CancellationService();
+        jobRegistry = new JobRegistry(executor, renderScheduler, properties, cancellationService);
+        var pending = new CompletableFuture<String>();
+        jobRegistry.submit(1L, "svg", RESULT, job -> "svg", task -> pending);
+
+        jobRegistry.cancel(1L);
+        jobRegistry.release(1L);
+        assertThat(cancellationService.isCancelled(1L)).isTrue();
+
+        pending.cancel(false);
+        assertThat(cancellationService.isCancelled(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("task of the job should be run on its lane.")
+    void testLane() throws Exception {
+        for (var lane : Lane.values()) {
+            var thread = jobRegistry.submit(1L, lane.getKey(), RESULT, lane, Priority.BATCH,
+                    job -> Thread.currentThread().getName());
+            assertThat(thread.get(5, TimeUnit.SECONDS)).startsWith(lane.getKey() + "-");
+        }
+    }
+
+    @Test
+    @DisplayName("job which has not been picked up by a thread should be queued.")
+    void testQueued() {
+        jobRegistry.submit(1L, "source", RESULT, job -> "source", task -> new CompletableFuture<>());
+
+        assertThat(jobRegistry.findActive(1L, "source")).hasValueSatisfying(
+                job -> assertThat(job.getState()).isEqualTo(Job.State.QUEUED));
+        assertThat(jobRegistry.getMetrics()).containsEntry("jobs.queued", 1L);
+    }
+
+    @Test
+    @DisplayName("oldest finished jobs should be forgotten once too many are retained, active jobs should be kept.")
+    void testEviction() {
+        properties.setMaxFinished(2);
+        jobRegistry.submit(1L, "svg", RESULT, job -> "svg", task -> new CompletableFuture<>());
+        for (int i = 0; i < 3; i++) {
+            jobRegistry.submit(2L, "svg", RESULT, job -> "svg", task -> CompletableFuture.completedFuture("svg"));
+        }
+
+        assertThat(jobRegistry.findAll(1L)).hasSize(1);
+        assertThat(jobRegistry.findAll(2L)).hasSize(2);
+        assertThat(jobRegistry.findAll(null)).hasSize(3);
+
+        properties.setRetention(Duration.ZERO);
+        assertThat(jobRegistry.findAll(null)).hasSize(1);
+    }
+}
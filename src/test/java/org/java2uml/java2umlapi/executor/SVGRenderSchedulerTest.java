@@ -0,0 +1,136 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("When using SVGRenderScheduler,")
+class SVGRenderSchedulerTest {
+    private SVGRenderProperties properties;
+    private SVGRenderScheduler scheduler;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        properties = new SVGRenderProperties();
+        properties.setConcurrency(1);
+        properties.setMaxQueued(1);
+        scheduler = new SVGRenderScheduler(properties);
+    }
+
+    @Test
+    @DisplayName("render which exceeds its time budget should fail with TimeoutException and be interrupted.")
+    void testTimeout() throws Exception {
+        properties.setTimeout(Duration.ofMillis(200));
+        scheduler = new SVGRenderScheduler(properties);
+        var interrupted = new CountDownLatch(1);
+
+        var future = scheduler.submit(1L, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "svg";
+        });
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(scheduler.getMetrics()).containsEntry("svg-render.timed-out", 1L);
+        awaitNoOverrunningRender();
+        assertThat(scheduler.submit(1L, () -> "svg").get(5, TimeUnit.SECONDS)).isEqualTo("svg");
+    }
+
+    @Test
+    @DisplayName("render which ignores interrupts should hold its thread until it returns, without being completed.")
+    void testOverrunning() throws Exception {
+        properties.setTimeout(Duration.ofMillis(200));
+        scheduler = new SVGRenderScheduler(properties);
+        var future = scheduler.submit(1L, () -> {
+            // Interrupts are ignored, like they are by PlantUML.
+            while (true) {
+                try {
+                    release.await();
+                    return "svg";
+                } catch (InterruptedException ignored) {
+                }
+            }
+        });
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(scheduler.getMetrics())
+                .containsEntry("svg-render.overrunning", 1)
+                .containsEntry("svg-render.completed", 0L);
+        assertThatThrownBy(() -> scheduler.submit(2L, () -> "svg")).isInstanceOf(LaneSaturatedException.class);
+
+        release.countDown();
+        awaitNoOverrunningRender();
+        assertThat(scheduler.submit(2L, () -> "svg").get(5, TimeUnit.SECONDS)).isEqualTo("svg");
+        assertThat(scheduler.getMetrics())
+                .containsEntry("svg-render.overrunning", 0)
+                .containsEntry("svg-render.completed", 1L);
+    }
+
+    @Test
+    @DisplayName("cancelling renders of a project should cancel only its running and waiting renders.")
+    void testCancel() throws Exception {
+        var running = scheduler.submit(1L, () -> {
+            release.await();
+            return "running";
+        });
+        var waiting = scheduler.submit(1L, () -> "waiting");
+        assertThat(scheduler.getMetrics()).containsEntry("svg-render.queue-depth", 1);
+
+        scheduler.cancel(2L);
+        assertThat(running.isCancelled()).isFalse();
+
+        scheduler.cancel(1L);
+        assertThat(running.isCancelled()).isTrue();
+        assertThat(waiting.isCancelled()).isTrue();
+        assertThat(scheduler.getMetrics())
+                .containsEntry("svg-render.cancelled", 2L)
+                .containsEntry("svg-render.queue-depth", 0);
+        assertThat(scheduler.submit(2L, () -> "svg").get(5, TimeUnit.SECONDS)).isEqualTo("svg");
+    }
+
+    @Test
+    @DisplayName("render submitted while queue is full should be rejected.")
+    void testRejected() {
+        scheduler.submit(1L, () -> {
+            release.await();
+            return "running";
+        });
+        scheduler.submit(2L, () -> "waiting");
+
+        assertThatThrownBy(() -> scheduler.submit(3L, () -> "rejected"))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(scheduler.getMetrics()).containsEntry("svg-render.rejected", 1L);
+    }
+
+    /**
+     * Waits until the thread of a render which has timed out has returned.
+     */
+    private void awaitNoOverrunningRender() throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getMetrics().get("svg-render.overrunning").intValue() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,104 @@
+package org.java2uml.java2umlapi.executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("When using SingleFlight,")
+class SingleFlightTest {
+    private SingleFlight singleFlight;
+    private final AtomicInteger generations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight();
+    }
+
+    @Test
+    @DisplayName("concurrent requests for same artefact should be coalesced onto one generation.")
+    void testCoalescing() throws Exception {
+        var generation = new CompletableFuture<String>();
+
+        var first = singleFlight.execute(1L, "svg", () -> start(generation));
+        var second = singleFlight.execute(1L, "svg", () -> start(new CompletableFuture<>()));
+        generation.complete("svg");
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("svg");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("svg");
+        assertThat(generations.get()).isEqualTo(1);
+        assertThat(singleFlight.getMetrics())
+                .containsEntry("single-flight.started", 1L)
+                .containsEntry("single-flight.coalesced", 1L)
+                .containsEntry("single-flight.in-flight", 0);
+    }
+
+    @Test
+    @DisplayName("requests for other artefacts or projects should start their own generation.")
+    void testDistinctKeys() {
+        singleFlight.execute(1L, "svg", () -> start(new CompletableFuture<>()));
+        singleFlight.execute(1L, "uml-code", () -> start(new CompletableFuture<>()));
+        singleFlight.execute(2L, "svg", () -> start(new CompletableFuture<>()));
+
+        assertThat(generations.get()).isEqualTo(3);
+        assertThat(singleFlight.getMetrics()).containsEntry("single-flight.in-flight", 3);
+    }
+
+    @Test
+    @DisplayName("request made after generation has completed should start a new generation.")
+    void testNewGenerationAfterCompletion() throws Exception {
+        singleFlight.execute(1L, "svg", () -> start(CompletableFuture.completedFuture("old"))).get();
+
+        var second = singleFlight.execute(1L, "svg", () -> start(CompletableFuture.completedFuture("new")));
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("new");
+        assertThat(generations.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("failed or cancelled generation should be reported to every caller as is.")
+    void testFailureAndCancellation() {
+        var failing = new CompletableFuture<String>();
+        var failed = singleFlight.execute(1L, "svg", () -> start(failing));
+        failing.completeExceptionally(new IllegalStateException("failed"));
+
+        var cancelling = new CompletableFuture<String>();
+        var cancelled = singleFlight.execute(2L, "svg", () -> start(cancelling));
+        var joined = singleFlight.execute(2L, "svg", () -> start(new CompletableFuture<>()));
+        cancelling.cancel(false);
+
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> cancelled.get(5, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+        assertThatThrownBy(() -> joined.get(5, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+        assertThat(singleFlight.getMetrics()).containsEntry("single-flight.in-flight", 0);
+    }
+
+    @Test
+    @DisplayName("cancelling view of a caller should not affect the generation.")
+    void testCancellingView() throws Exception {
+        var generation = new CompletableFuture<String>();
+        var first = singleFlight.execute(1L, "svg", () -> start(generation));
+        var second = singleFlight.execute(1L, "svg", () -> start(new CompletableFuture<>()));
+
+        first.cancel(false);
+        generation.complete("svg");
+
+        assertThat(generation.isCancelled()).isFalse();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("svg");
+    }
+
+    private <T> CompletableFuture<T> start(CompletableFuture<T> generation) {
+        generations.incrementAndGet();
+        return generation;
+    }
+}
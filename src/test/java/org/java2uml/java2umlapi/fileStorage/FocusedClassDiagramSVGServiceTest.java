@@ -0,0 +1,30 @@
+package org.java2uml.java2umlapi.fileStorage;
+
+import org.java2uml.java2umlapi.fileStorage.service.FocusedClassDiagramSVGService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("When using focused class diagram service, ")
+class FocusedClassDiagramSVGServiceTest {
+
+    @Test
+    @DisplayName("least recently requested diagram should be dropped once max number of diagrams is exceeded.")
+    void testMaxFocusedDiagrams() {
+        var cacheProperties = new DiagramCacheProperties();
+        cacheProperties.setMaxFocusedDiagrams(2);
+        var service = new FocusedClassDiagramSVGService(cacheProperties);
+
+        service.save(1L, "package:a", "a", 0);
+        service.save(1L, "package:b", "b", 0);
+        assertThat(service.get(1L, "package:a")).isEqualTo("a");
+        service.save(1L, "package:c", "c", 0);
+        service.save(2L, "package:d", "d", 0);
+
+        assertThat(service.get(1L, "package:a")).isEqualTo("a");
+        assertThat(service.get(1L, "package:b")).isNull();
+        assertThat(service.get(1L, "package:c")).isEqualTo("c");
+        assertThat(service.get(2L, "package:d")).isEqualTo("d");
+    }
+}
@@ -4,11 +4,13 @@ import com.github.javaparser.resolution.declarations.ResolvedDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedTypeDeclaration;
 import org.java2uml.java2umlapi.visitors.umlExtractor.UMLExtractor;
+import org.java2uml.java2umlapi.visitors.umlExtractor.UMLWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -43,26 +45,31 @@ class ParsedClassOrInterfaceComponentTest {
         lenient().doReturn(true).when(parsedFieldComponent1).isParsedFieldComponent();
         lenient().doReturn("child1").when(parsedFieldComponent1).getName();
         lenient().doReturn(child1UML).when(parsedFieldComponent1).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child1UML)).when(parsedFieldComponent1).accept(any(UMLWriter.class));
 
         var parsedFieldComponent2 = mock(ParsedFieldComponent.class);
         lenient().doReturn(true).when(parsedFieldComponent2).isParsedFieldComponent();
         lenient().doReturn("child2").when(parsedFieldComponent2).getName();
         lenient().doReturn(child2UML).when(parsedFieldComponent2).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child2UML)).when(parsedFieldComponent2).accept(any(UMLWriter.class));
 
         var parsedConstructorComponent = mock(ParsedConstructorComponent.class);
         lenient().doReturn(true).when(parsedConstructorComponent).isParsedConstructorComponent();
         lenient().doReturn("child3").when(parsedConstructorComponent).getName();
         lenient().doReturn(child3UML).when(parsedConstructorComponent).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child3UML)).when(parsedConstructorComponent).accept(any(UMLWriter.class));
 
         var parsedMethodComponent1 = mock(ParsedMethodComponent.class);
         lenient().doReturn(true).when(parsedMethodComponent1).isParsedMethodComponent();
         lenient().doReturn("child4").when(parsedMethodComponent1).getName();
         lenient().doReturn(child4UML).when(parsedMethodComponent1).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child4UML)).when(parsedMethodComponent1).accept(any(UMLWriter.class));
 
         var parsedMethodComponent2 = mock(ParsedMethodComponent.class);
         lenient().doReturn(true).when(parsedMethodComponent2).isParsedMethodComponent();
         lenient().doReturn("child5").when(parsedMethodComponent2).getName();
         lenient().doReturn(child5UML).when(parsedMethodComponent2).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child5UML)).when(parsedMethodComponent2).accept(any(UMLWriter.class));
 
         parsedComponent = new ParsedClassOrInterfaceComponent(resolvedDeclaration, mock(ParsedComponent.class));
 
@@ -93,4 +100,13 @@ class ParsedClassOrInterfaceComponentTest {
         assertTrue(uml.contains(child4UML));
         assertTrue(uml.contains(child5UML));
     }
-}
\ No newline at end of file
+
+    /**
+     * UMLExtractor delegates to UMLWriter, which writes uml code of children to its output instead of returning it.
+     */
+    private static Answer<Appendable> writing(String uml) {
+        var enumConstant = mock(ParsedEnumConstantComponent.class);
+        lenient().doReturn(uml).when(enumConstant).getSimpleName();
+        return invocation -> invocation.<UMLWriter>getArgument(0).visit(enumConstant);
+    }
+}
@@ -2,11 +2,13 @@ package org.java2uml.java2umlapi.parsedComponent;
 
 import com.github.javaparser.resolution.declarations.ResolvedEnumDeclaration;
 import org.java2uml.java2umlapi.visitors.umlExtractor.UMLExtractor;
+import org.java2uml.java2umlapi.visitors.umlExtractor.UMLWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -39,51 +41,61 @@ class ParsedEnumComponentTest {
         lenient().doReturn("child1").when(child1).getName();
         lenient().doReturn(true).when(child1).isParsedEnumConstantComponent();
         lenient().doReturn(child1UML).when(child1).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child1UML)).when(child1).accept(any(UMLWriter.class));
 
         var child2 = mock(ParsedComponent.class);
         lenient().doReturn("child2").when(child2).getName();
         lenient().doReturn(true).when(child2).isParsedEnumConstantComponent();
         lenient().doReturn(child2UML).when(child2).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child2UML)).when(child2).accept(any(UMLWriter.class));
 
         var child3 = mock(ParsedComponent.class);
         lenient().doReturn("child3").when(child3).getName();
         lenient().doReturn(true).when(child3).isParsedEnumConstantComponent();
         lenient().doReturn(child3UML).when(child3).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child3UML)).when(child3).accept(any(UMLWriter.class));
 
         var child4 = mock(ParsedComponent.class);
         lenient().doReturn("child4").when(child4).getName();
         lenient().doReturn(true).when(child4).isParsedEnumConstantComponent();
         lenient().doReturn(child4UML).when(child4).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child4UML)).when(child4).accept(any(UMLWriter.class));
 
         var child5 = mock(ParsedComponent.class);
         lenient().doReturn("child5").when(child5).getName();
         lenient().doReturn(true).when(child5).isParsedConstructorComponent();
         lenient().doReturn(child5UML).when(child5).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child5UML)).when(child5).accept(any(UMLWriter.class));
 
         var child6 = mock(ParsedComponent.class);
         lenient().doReturn("child6").when(child6).getName();
         lenient().doReturn(true).when(child6).isParsedFieldComponent();
         lenient().doReturn(child6UML).when(child6).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child6UML)).when(child6).accept(any(UMLWriter.class));
 
         var child7 = mock(ParsedComponent.class);
         lenient().doReturn("child7").when(child7).getName();
         lenient().doReturn(true).when(child7).isParsedFieldComponent();
         lenient().doReturn(child7UML).when(child7).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child7UML)).when(child7).accept(any(UMLWriter.class));
 
         var child8 = mock(ParsedComponent.class);
         lenient().doReturn("child8").when(child8).getName();
         lenient().doReturn(true).when(child8).isParsedFieldComponent();
         lenient().doReturn(child8UML).when(child8).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child8UML)).when(child8).accept(any(UMLWriter.class));
 
         var child9 = mock(ParsedComponent.class);
         lenient().doReturn("child9").when(child9).getName();
         lenient().doReturn(true).when(child9).isParsedMethodComponent();
         lenient().doReturn(child9UML).when(child9).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child9UML)).when(child9).accept(any(UMLWriter.class));
 
         var child10 = mock(ParsedComponent.class);
         lenient().doReturn("child10").when(child10).getName();
         lenient().doReturn(true).when(child10).isParsedMethodComponent();
         lenient().doReturn(child10UML).when(child10).accept(any(UMLExtractor.class));
+        lenient().doAnswer(writing(child10UML)).when(child10).accept(any(UMLWriter.class));
 
         parsedComponent = new ParsedEnumComponent(resolvedEnumDeclaration, mock(ParsedComponent.class));
 
@@ -113,4 +125,13 @@ class ParsedEnumComponentTest {
         var children = parsedComponent.getChildren();
         children.forEach((k,v) -> assertTrue(uml.contains(v.accept(new UMLExtractor()))));
     }
-}
\ No newline at end of file
+
+    /**
+     * UMLExtractor delegates to UMLWriter, which writes uml code of children to its output instead of returning it.
+     */
+    private static Answer<Appendable> writing(String uml) {
+        var enumConstant = mock(ParsedEnumConstantComponent.class);
+        lenient().doReturn(uml).when(enumConstant).getSimpleName();
+        return invocation -> invocation.<UMLWriter>getArgument(0).visit(enumConstant);
+    }
+}
@@ -0,0 +1,76 @@
+package org.java2uml.java2umlapi.parsedComponent;
+
+import org.java2uml.java2umlapi.parser.Parser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("When using index of SourceComponent,")
+class SourceComponentIndexTest {
+    @TempDir
+    static Path src;
+    private static SourceComponent sourceComponent;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        write("Service", "public class Service { private Repository repository; " +
+                "public java.util.List<String> findAll() { return null; } }");
+        write("Repository", "public class Repository { public String findAll(String name) { return name; } }");
+        write("Kind", "public enum Kind { SERVICE, REPOSITORY }");
+        sourceComponent = Parser.parse(src);
+    }
+
+    @Test
+    @DisplayName("using find, with field name and ParsedFieldComponent.class should " +
+            "return ParsedFieldComponent reference for given field.")
+    void testFindField() {
+        var method = sourceComponent.find("p.Service.findAll()", ParsedMethodComponent.class).orElseThrow();
+        var field = method.getParent().orElseThrow().asParsedCompositeComponent().orElseThrow().getChildren().values().stream()
+                .filter(ParsedComponent::isParsedFieldComponent)
+                .map(ParsedFieldComponent.class::cast)
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(field.getSimpleName()).isEqualTo("repository");
+        assertThat(sourceComponent.find(field.getName(), ParsedFieldComponent.class)).containsSame(field);
+        assertThat(sourceComponent.find(field.getName(), ParsedMethodComponent.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("using find, with enum constant name and ParsedEnumConstantComponent.class should " +
+            "return ParsedEnumConstantComponent reference for given enum constant.")
+    void testFindEnumConstant() {
+        var constant = sourceComponent.findBySimpleName("SERVICE", ParsedEnumConstantComponent.class);
+
+        assertThat(constant).hasSize(1);
+        assertThat(sourceComponent.find(constant.get(0).getName(), ParsedEnumConstantComponent.class))
+                .containsSame(constant.get(0));
+    }
+
+    @Test
+    @DisplayName("using findBySimpleName, should return every component with given simple name and class.")
+    void testFindBySimpleName() {
+        assertThat(sourceComponent.findBySimpleName("findAll", ParsedMethodComponent.class))
+                .extracting(ParsedComponent::getName)
+                .hasSize(2)
+                .contains("p.Service.findAll()")
+                .allSatisfy(name -> assertThat(name).contains(".findAll("));
+        assertThat(sourceComponent.findBySimpleName("Service", ParsedClassOrInterfaceComponent.class))
+                .extracting(ParsedComponent::getName)
+                .containsExactly("p.Service");
+        assertThat(sourceComponent.findBySimpleName("findAll", ParsedFieldComponent.class)).isEmpty();
+    }
+
+    private static void write(String name, String body) throws IOException {
+        var file = src.resolve("p").resolve(name + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package p;\n\n" + body + "\n");
+    }
+}
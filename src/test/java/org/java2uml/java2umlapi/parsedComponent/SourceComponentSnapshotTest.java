@@ -0,0 +1,155 @@
+package org.java2uml.java2umlapi.parsedComponent;
+
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import org.apache.commons.io.FileDeleteStrategy;
+import org.java2uml.java2umlapi.callGraph.MethodCallGraphImpl;
+import org.java2uml.java2umlapi.lightWeight.ClassOrInterface;
+import org.java2uml.java2umlapi.lightWeight.Source;
+import org.java2uml.java2umlapi.parser.Parser;
+import org.java2uml.java2umlapi.util.unzipper.Unzipper;
+import org.java2uml.java2umlapi.visitors.lightWeightExtractor.LightWeightExtractor;
+import org.java2uml.java2umlapi.visitors.umlExtractor.UMLExtractor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("When using SourceComponentSnapshot,")
+class SourceComponentSnapshotTest {
+    private static final Path TEST_FILE = Path.of("src/test/testSources/ParserTest/addtionalTests/combat-zone-master.zip");
+    private static final Path CALL_GRAPH_TEST_FILE = Path.of("src/test/testSources/callGraphTest/test.zip");
+    private static final Path DST = Path.of("src/test/testOutput/snapshotTest");
+    private static final String ROOT_METHOD = "co.test.callGraphTest.normal.Test5.test2()";
+
+    private static SourceComponent sourceComponent;
+    private static SourceComponent restored;
+    private static SourceComponent callGraphSourceComponent;
+    private static SourceComponent restoredCallGraphSourceComponent;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        sourceComponent = Parser.parse(Unzipper.unzipDir(TEST_FILE, DST.resolve("project")).toPath());
+        restored = writeAndRead(sourceComponent, DST.resolve("project.snapshot"));
+
+        callGraphSourceComponent = Parser.parse(
+                Unzipper.unzipDir(CALL_GRAPH_TEST_FILE, DST.resolve("callGraph")).toPath());
+        restoredCallGraphSourceComponent = writeAndRead(callGraphSourceComponent, DST.resolve("callGraph.snapshot"));
+    }
+
+    @Test
+    @DisplayName("restored source component should not contain compilation units.")
+    void testRestoredDoesNotRetainAst() {
+        assertThat(restored.getCompilationUnits()).isEmpty();
+        assertThat(restored.getAllParsedTypes()).isEmpty();
+        assertThat(restored.isExternalDependenciesIncluded()).isEqualTo(sourceComponent.isExternalDependenciesIncluded());
+    }
+
+    @Test
+    @DisplayName("restored source component should generate same uml.")
+    void testSameUml() {
+        assertThat(umlLines(restored)).isEqualTo(umlLines(sourceComponent));
+    }
+
+    @Test
+    @DisplayName("restored source component should generate same light weight entities.")
+    void testSameLightWeights() {
+        assertThat(lightWeights(restored)).isEqualTo(lightWeights(sourceComponent));
+        assertThat(((Source) restored.accept(new LightWeightExtractor())).getClassRelationList())
+                .hasSameSizeAs(((Source) sourceComponent.accept(new LightWeightExtractor())).getClassRelationList());
+    }
+
+    @Test
+    @DisplayName("restored source component should generate same call graph.")
+    void testSameCallGraph() {
+        var expected = new MethodCallGraphImpl(callGraphSourceComponent.find(ROOT_METHOD, ParsedMethodComponent.class)
+                .orElseThrow().getResolvedMethodDeclaration(), "co.test.callGraphTest.normal").getCallGraphMap();
+        var actual = new MethodCallGraphImpl(restoredCallGraphSourceComponent
+                .find(ROOT_METHOD, ParsedMethodComponent.class).orElseThrow(),
+                restoredCallGraphSourceComponent, "co.test.callGraphTest.normal").getCallGraphMap();
+
+        assertThat(actual).isEqualTo(expected).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("source code of members should not be stored again in the snapshot.")
+    void testMemberBodiesAreNotDuplicated() throws IOException {
+        var typeBodies = bodyLength(sourceComponent.getChildren().values().stream()
+                .flatMap(type -> type.asParsedClassOrInterfaceComponent().stream())
+                .map(ParsedClassOrInterfaceComponent::getBody));
+        var memberBodies = bodyLength(sourceComponent.getChildren().values().stream()
+                .flatMap(type -> type.getChildren().values().stream())
+                .flatMap(member -> member.asParsedMethodComponent().map(ParsedMethodComponent::getBody)
+                        .or(() -> member.asParsedConstructorComponent().map(ParsedConstructorComponent::getBody))
+                        .flatMap(body -> body)
+                        .stream()));
+
+        assertThat(memberBodies).isPositive();
+        assertThat(Files.size(DST.resolve("project.snapshot"))).isLessThan(typeBodies + memberBodies);
+    }
+
+    @Test
+    @DisplayName("reading a file which is not a snapshot should throw IOException.")
+    void testReadInvalidFile() throws IOException {
+        var file = DST.resolve("invalid.snapshot");
+        Files.writeString(file, "not a snapshot");
+
+        assertThatThrownBy(() -> SourceComponentSnapshot.read(file)).isInstanceOf(IOException.class);
+    }
+
+    private static SourceComponent writeAndRead(SourceComponent sourceComponent, Path file) throws IOException {
+        SourceComponentSnapshot.write(sourceComponent, file);
+        return SourceComponentSnapshot.read(file);
+    }
+
+    private static long bodyLength(Stream<String> bodies) {
+        return bodies.mapToLong(body -> body.getBytes(StandardCharsets.UTF_8).length).sum();
+    }
+
+    private static List<String> umlLines(SourceComponent sourceComponent) {
+        return sourceComponent.accept(new UMLExtractor()).lines().sorted().collect(Collectors.toList());
+    }
+
+    private static List<String> lightWeights(SourceComponent sourceComponent) {
+        var source = (Source) sourceComponent.accept(new LightWeightExtractor());
+        return source.getClassOrInterfaceList().stream()
+                .flatMap(SourceComponentSnapshotTest::describe)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static Stream<String> describe(ClassOrInterface classOrInterface) {
+        var type = Stream.of(classOrInterface.getName() + " " + classOrInterface.isClass() + " "
+                + classOrInterface.getClassOrInterfaceTypeParameters().size() + " "
+                + classOrInterface.getBody().getContent());
+        var methods = classOrInterface.getClassOrInterfaceMethods().stream()
+                .map(method -> method.getSignature() + " " + method.getReturnType() + " " + method.getVisibility()
+                        + " " + method.isStatic() + " " + method.getMethodParameters().stream()
+                        .map(param -> param.getTypeName() + " " + param.getName())
+                        .collect(Collectors.toList())
+                        + " " + (method.getBody() == null ? null : method.getBody().getContent()));
+        var constructors = classOrInterface.getClassConstructors().stream()
+                .map(constructor -> constructor.getSignature() + " " + constructor.getVisibility() + " "
+                        + constructor.isCompilerGenerated() + " " + constructor.getBody().getContent());
+        var fields = classOrInterface.getClassFields().stream()
+                .map(field -> classOrInterface.getName() + "." + field.getName() + " " + field.getTypeName() + " "
+                        + field.getVisibility() + " " + field.isStatic());
+        return Stream.of(type, methods, constructors, fields).flatMap(stream -> stream);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        JarTypeSolver.ResourceRegistry.getRegistry().cleanUp();
+        FileDeleteStrategy.FORCE.delete(DST.toFile());
+    }
+}
@@ -0,0 +1,113 @@
+package org.java2uml.java2umlapi.parsedComponent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.java2uml.java2umlapi.util.umlSymbols.RelationsSymbol.AGGREGATION;
+import static org.java2uml.java2umlapi.util.umlSymbols.RelationsSymbol.DEPENDENCY_AR;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("When using TypeRelationStore,")
+class TypeRelationStoreTest {
+    private ParsedCompositeComponent first;
+    private ParsedCompositeComponent second;
+    private TypeRelationStore store;
+
+    @BeforeEach
+    void setUp() {
+        first = component("co.test.First");
+        second = component("co.test.Second");
+        store = new TypeRelationStore();
+    }
+
+    @Test
+    @DisplayName("adding same relation again should only increment its multiplicity.")
+    void testDuplicatesAreCounted() {
+        store.add(first, second, DEPENDENCY_AR.toString(), DEPENDENCY_AR);
+        store.add(second, first, AGGREGATION.toString(), AGGREGATION);
+        store.add(first, second, DEPENDENCY_AR.toString(), DEPENDENCY_AR);
+        store.add(first, second, AGGREGATION.toString(), AGGREGATION);
+        store.add(first, second, DEPENDENCY_AR.toString(), DEPENDENCY_AR);
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.getTotalMultiplicity()).isEqualTo(5);
+        assertThat(describe(store.asSet())).containsExactly(
+                "co.test.First -> co.test.Second : " + DEPENDENCY_AR,
+                "co.test.Second -> co.test.First : " + AGGREGATION,
+                "co.test.First -> co.test.Second : " + AGGREGATION);
+        assertThat(store.getMultiplicity(0)).isEqualTo(3);
+        assertThat(store.toList()).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("set view should contain equal relations only.")
+    void testSetViewContains() {
+        store.add(first, second, DEPENDENCY_AR.toString(), DEPENDENCY_AR);
+
+        assertThat(store.asSet())
+                .contains(new TypeRelation(first, second, DEPENDENCY_AR.toString(), DEPENDENCY_AR))
+                .doesNotContain(new TypeRelation(second, first, DEPENDENCY_AR.toString(), DEPENDENCY_AR))
+                .doesNotContain(new TypeRelation(first, second, AGGREGATION.toString(), AGGREGATION))
+                .doesNotContain(new TypeRelation(first, component("co.test.Third"),
+                        DEPENDENCY_AR.toString(), DEPENDENCY_AR));
+    }
+
+    @Test
+    @DisplayName("addAll and filter should keep order and multiplicities of relations.")
+    void testAddAllAndFilter() {
+        var other = new TypeRelationStore();
+        other.add(second, first, AGGREGATION.toString(), AGGREGATION, 2);
+        other.add(first, second, DEPENDENCY_AR.toString(), DEPENDENCY_AR);
+        store.add(first, second, DEPENDENCY_AR.toString(), DEPENDENCY_AR);
+
+        store.addAll(other);
+        assertThat(describe(store.asSet())).containsExactly(
+                "co.test.First -> co.test.Second : " + DEPENDENCY_AR,
+                "co.test.Second -> co.test.First : " + AGGREGATION);
+        assertThat(store.getMultiplicity(0)).isEqualTo(2);
+        assertThat(store.getMultiplicity(1)).isEqualTo(2);
+
+        var filtered = store.filter(relation -> relation.getFrom() == second);
+        assertThat(describe(filtered.asSet())).containsExactly("co.test.Second -> co.test.First : " + AGGREGATION);
+        assertThat(filtered.getTotalMultiplicity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("store should keep every relation when it grows.")
+    void testGrowth() {
+        List<ParsedCompositeComponent> components = new ArrayList<>();
+        for (int i = 0; i < 100; i++) components.add(component("co.test.Type" + i));
+
+        for (var from : components)
+            for (var to : components) store.add(from, to, DEPENDENCY_AR.toString(), DEPENDENCY_AR);
+        for (var from : components) store.add(from, components.get(0), DEPENDENCY_AR.toString(), DEPENDENCY_AR);
+
+        assertThat(store.size()).isEqualTo(100 * 100);
+        assertThat(store.getTotalMultiplicity()).isEqualTo(100 * 100 + 100);
+        assertThat(store.get(100 * 57 + 3).getFrom()).isSameAs(components.get(57));
+        assertThat(store.get(100 * 57 + 3).getTo()).isSameAs(components.get(3));
+        assertThat(store.getMultiplicity(100 * 57)).isEqualTo(2);
+    }
+
+    private static ParsedCompositeComponent component(String name) {
+        var component = mock(ParsedCompositeComponent.class);
+        doReturn(name).when(component).getName();
+        return component;
+    }
+
+    private static List<String> describe(Iterable<TypeRelation> relations) {
+        List<TypeRelation> list = new ArrayList<>();
+        relations.forEach(list::add);
+        return list.stream()
+                .map(relation -> relation.getFrom().getName() + " -> " + relation.getTo().getName() + " : "
+                        + relation.getRelationsSymbol())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,48 @@
+package org.java2uml.java2umlapi.parsedComponent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("When using ParseCacheService,")
+class ParseCacheServiceTest {
+    private ParseCacheService parseCacheService;
+
+    @BeforeEach
+    void setUp() {
+        parseCacheService = new ParseCacheService();
+        parseCacheService.put(1L, "archive1", Path.of("project1"), Map.of("A.java", "a", "B.java", "b"));
+        parseCacheService.put(2L, "archive2", Path.of("project2"),
+                Map.of("A.java", "a", "B.java", "b", "C.java", "c"));
+    }
+
+    @Test
+    @DisplayName("closest entry should be the one with most files of same path and content.")
+    void testFindClosest() {
+        var closest = parseCacheService.findClosest(Map.of("A.java", "a", "B.java", "b", "C.java", "c"));
+        assertThat(closest).hasValueSatisfying(entry -> assertThat(entry.getProjectInfoId()).isEqualTo(2L));
+
+        closest = parseCacheService.findClosest(Map.of("A.java", "changed", "C.java", "c"));
+        assertThat(closest).hasValueSatisfying(entry -> assertThat(entry.getProjectInfoId()).isEqualTo(2L));
+
+        assertThat(parseCacheService.findClosest(Map.of("A.java", "changed"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("deleted or replaced entries should no longer be found.")
+    void testDeleteAndReplace() {
+        parseCacheService.delete(2L);
+        var closest = parseCacheService.findClosest(Map.of("C.java", "c", "A.java", "a"));
+        assertThat(closest).hasValueSatisfying(entry -> assertThat(entry.getProjectInfoId()).isEqualTo(1L));
+
+        parseCacheService.put(1L, "archive3", Path.of("project1"), Map.of("D.java", "d"));
+        assertThat(parseCacheService.findClosest(Map.of("A.java", "a"))).isEmpty();
+        assertThat(parseCacheService.findByArchiveHash("archive1")).isEmpty();
+        assertThat(parseCacheService.findByArchiveHash("archive3")).isPresent();
+    }
+}
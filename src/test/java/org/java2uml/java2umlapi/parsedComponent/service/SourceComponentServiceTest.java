@@ -0,0 +1,454 @@
+package org.java2uml.java2umlapi.parsedComponent.service;
+
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import org.apache.commons.io.FileDeleteStrategy;
+import org.apache.commons.io.FileUtils;
+import org.java2uml.java2umlapi.executor.ExecutorWrapper;
+import org.java2uml.java2umlapi.executor.JobProperties;
+import org.java2uml.java2umlapi.executor.JobRegistry;
+import org.java2uml.java2umlapi.executor.SVGRenderProperties;
+import org.java2uml.java2umlapi.executor.SVGRenderScheduler;
+import org.java2uml.java2umlapi.executor.SchedulerProperties;
+import org.java2uml.java2umlapi.executor.SingleFlight;
+import org.java2uml.java2umlapi.fileStorage.FileStorageProperties;
+import org.java2uml.java2umlapi.fileStorage.SourceFilterProperties;
+import org.java2uml.java2umlapi.fileStorage.repository.ProjectInfoRepository;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+import org.java2uml.java2umlapi.parser.Parser;
+import org.java2uml.java2umlapi.parser.ParserProperties;
+import org.java2uml.java2umlapi.util.cancellation.CancellationService;
+import org.java2uml.java2umlapi.util.hash.ContentHash;
+import org.java2uml.java2umlapi.util.unzipper.Unzipper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.java2uml.java2umlapi.util.umlSymbols.RelationsSymbol.AGGREGATION;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("When using SourceComponentService with parse cache,")
+class SourceComponentServiceTest {
+    private static final Path TEST_FILE = Path.of("src/test/testSources/ParserTest/addtionalTests/combat-zone-master.zip");
+    /**
+     * Small project used by the tests of snapshots, writing a snapshot of {@link #TEST_FILE} resolves every method
+     * call of it, which takes most of a minute as its dependencies are not included.
+     */
+    private static final Path SNAPSHOT_TEST_FILE = Path.of("src/test/testSources/callGraphTest/test.zip");
+    private static final Path DST = Path.of("src/test/testOutput");
+    private static final String MODEL_PACKAGE = "combat-zone-master/app/src/main/java/com/e/zone/Model";
+    private static final long TIME_OUT = 2;
+
+    @TempDir
+    static Path fixtures;
+    private static Path project;
+    private static Path snapshotProject;
+    private static SourceComponent parsedProject;
+
+    private final Map<Long, CompletableFuture<?>> reparses = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<?>> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<?>> compactions = new ConcurrentHashMap<>();
+    private CompletableFuture<Void> compactionStarted = CompletableFuture.completedFuture(null);
+    private ParseCacheService parseCacheService;
+    private SourceComponentCacheProperties cacheProperties;
+    private ProjectInfoRepository projectInfoRepository;
+    private SourceComponentSnapshotService snapshotService;
+    private SourceComponentService sourceComponentService;
+    private ExecutorWrapper executor;
+    private SVGRenderScheduler renderScheduler;
+
+    @BeforeAll
+    static void setUpFixtures() throws IOException {
+        project = Unzipper.unzipDir(TEST_FILE, fixtures.resolve("project")).toPath();
+        snapshotProject = Unzipper.unzipDir(SNAPSHOT_TEST_FILE, fixtures.resolve("snapshotProject")).toPath();
+        parsedProject = Parser.parse(project, 1);
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = new ExecutorWrapper(new SchedulerProperties());
+        renderScheduler = new SVGRenderScheduler(new SVGRenderProperties());
+        cacheProperties = new SourceComponentCacheProperties();
+        cacheProperties.setSnapshotEnabled(false);
+        cacheProperties.setReleaseAst(false);
+        projectInfoRepository = mock(ProjectInfoRepository.class);
+        sourceComponentService = newSourceComponentService();
+    }
+
+    @Test
+    @DisplayName("reuse should share source component of project parsed from identical archive.")
+    void testReuseSharesSourceComponent() throws IOException {
+        var archiveHash = ContentHash.sha256(TEST_FILE);
+        sourceComponentService.save(1L, project, archiveHash);
+
+        assertThat(parseCacheService.findByArchiveHash(archiveHash))
+                .hasValueSatisfying(entry -> assertThat(entry.getProjectInfoId()).isEqualTo(1L));
+        assertThat(sourceComponentService.reuse(2L, 1L)).isTrue();
+        assertThat(sourceComponentService.get(2L)).containsSame(sourceComponentService.get(1L).orElseThrow());
+
+        sourceComponentService.delete(1L);
+        assertThat(parseCacheService.findByArchiveHash(archiveHash))
+                .hasValueSatisfying(entry -> assertThat(entry.getProjectInfoId()).isEqualTo(2L));
+        assertThat(sourceComponentService.reuse(3L, 1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("project deleted before it has been parsed should neither be parsed nor stored.")
+    void testSaveOfDeletedProjectIsCancelled() throws IOException {
+        sourceComponentService.delete(1L);
+
+        assertThatThrownBy(() -> sourceComponentService.save(1L, project, "first"))
+                .isInstanceOf(CancellationException.class);
+        assertThatThrownBy(() -> sourceComponentService.save(1L, parsedProject))
+                .isInstanceOf(CancellationException.class);
+        assertThat(sourceComponentService.get(1L)).isEmpty();
+        assertThat(parseCacheService.findByArchiveHash("first")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("save should produce same declarations when compilation units of unchanged files are reused.")
+    void testSaveWithReusedCompilationUnitsMatchesFullParse() throws IOException {
+        var second = copyOf(project, "second");
+        sourceComponentService.save(1L, project, "first");
+
+        var changedFile = ContentHash.sha256OfJavaFiles(second).keySet().iterator().next();
+        Files.writeString(second.resolve(changedFile), "\n// changed", StandardOpenOption.APPEND);
+        sourceComponentService.save(2L, second, "second");
+
+        var actual = sourceComponentService.get(2L).orElseThrow();
+        assertThat(qualifiedNames(actual)).containsExactlyInAnyOrderElementsOf(qualifiedNames(parsedProject));
+        assertThat(actual.getAllRelations()).hasSameSizeAs(parsedProject.getAllRelations());
+        assertThat(actual.getCompilationUnits())
+                .describedAs("compilation units should belong to the newly parsed directory.")
+                .allSatisfy(compilationUnit -> assertThat(compilationUnit.getStorage().orElseThrow().getPath())
+                        .startsWith(second.toAbsolutePath().normalize()));
+    }
+
+    @Test
+    @DisplayName("update should produce same types and relations as parsing the updated directory again.")
+    void testUpdateMatchesFullParse() throws IOException {
+        var path = copyOf(project, "first");
+        sourceComponentService.save(1L, path, ContentHash.sha256(TEST_FILE));
+        var sourceComponent = sourceComponentService.get(1L).orElseThrow();
+        var model = path.resolve(MODEL_PACKAGE);
+
+        var addedFile = model.resolve("Holder.java");
+        Files.writeString(addedFile, "package com.e.zone.Model;\n" +
+                "public class Holder extends Notification {\n" +
+                "    private Trans trans;\n" +
+                "    public void show(Homeview homeview) {}\n" +
+                "}\n");
+        var changedFile = model.resolve("Trans.java");
+        var content = Files.readString(changedFile);
+        var end = content.lastIndexOf('}');
+        Files.writeString(changedFile, content.substring(0, end) + "    private Holder holder;\n}\n");
+        var removedFile = model.resolve("Result.java");
+        Files.delete(removedFile);
+
+        var contentHash = sourceComponentService.update(1L, path, List.of(addedFile, changedFile), List.of(removedFile));
+
+        var expected = Parser.parse(path, 1);
+        var actual = sourceComponentService.get(1L).orElseThrow();
+        assertThat(actual).describedAs("source component should be updated in place.").isSameAs(sourceComponent);
+        assertThat(qualifiedNames(actual)).containsExactlyInAnyOrderElementsOf(qualifiedNames(expected));
+        assertThat(relations(actual)).isEqualTo(relations(expected))
+                .contains("com.e.zone.Model.Holder -> com.e.zone.Model.Trans : " + AGGREGATION,
+                        "com.e.zone.Model.Trans -> com.e.zone.Model.Holder : " + AGGREGATION);
+        assertThat(actual.getCompilationUnits()).hasSameSizeAs(expected.getCompilationUnits());
+        assertThat(contentHash).isEqualTo(ContentHash.sha256(ContentHash.sha256OfJavaFiles(path)));
+        assertThat(parseCacheService.findByArchiveHash(contentHash)).isPresent();
+    }
+
+    @Test
+    @DisplayName("update should parse again when project was parsed directly from its archive.")
+    void testUpdateAfterParseFromArchive() throws IOException {
+        try (var zipFileSystem = FileSystems.newFileSystem(TEST_FILE, (ClassLoader) null)) {
+            sourceComponentService.save(1L, zipFileSystem.getPath("/"), List.of(), ContentHash.sha256(TEST_FILE));
+        }
+        var path = copyOf(project, "first");
+        var removedFile = path.resolve(MODEL_PACKAGE).resolve("Result.java");
+        Files.delete(removedFile);
+
+        sourceComponentService.update(1L, path, List.of(), List.of(removedFile));
+
+        var expected = Parser.parse(path, 1);
+        var actual = sourceComponentService.get(1L).orElseThrow();
+        assertThat(qualifiedNames(actual)).containsExactlyInAnyOrderElementsOf(qualifiedNames(expected));
+        assertThat(relations(actual)).isEqualTo(relations(expected));
+        assertThat(actual.getCompilationUnits())
+                .allSatisfy(compilationUnit -> assertThat(compilationUnit.getStorage().orElseThrow().getPath())
+                        .startsWith(path.toAbsolutePath().normalize()));
+    }
+
+    @Test
+    @DisplayName("least recently requested source component should be evicted and parsed again in background when " +
+            "requested.")
+    void testEvictLeastRecentlyUsedAndReload() throws Exception {
+        cacheProperties.setMaxEntries(1);
+        sourceComponentService.save(1L, project, "first");
+        var expected = sourceComponentService.get(1L).orElseThrow();
+        sourceComponentService.save(2L, project, "second");
+
+        assertThat(sourceComponentService.getMetrics())
+                .containsEntry("source-components.loaded", 1)
+                .containsEntry("source-components.evicted-projects", 1L)
+                .containsEntry("source-components.evictions", 1L);
+
+        assertThat(sourceComponentService.get(1L)).describedAs("project should not be parsed on the caller thread.")
+                .isEmpty();
+        assertThat(sourceComponentService.isAvailable(1L)).isTrue();
+        var actual = awaitReparse(1L);
+        assertThat(actual).isNotSameAs(expected);
+        assertThat(qualifiedNames(actual)).containsExactlyInAnyOrderElementsOf(qualifiedNames(expected));
+        assertThat(relations(actual)).isEqualTo(relations(expected));
+        assertThat(sourceComponentService.getMetrics())
+                .containsEntry("source-components.reloads", 1L)
+                .containsEntry("source-components.evictions", 2L);
+        assertThat((Long) sourceComponentService.getMetrics().get("source-components.estimated-retained-bytes"))
+                .isPositive();
+
+        sourceComponentService.delete(2L);
+        assertThat(sourceComponentService.get(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("idle source components should be evicted unless they can not be parsed again.")
+    void testEvictIdle() throws Exception {
+        cacheProperties.setIdleTtl(Duration.ZERO);
+        sourceComponentService.save(1L, project, "first");
+        sourceComponentService.save(2L, sourceComponentService.get(1L).orElseThrow());
+        sourceComponentService.reuse(3L, 1L);
+        var evicted = new ArrayList<Long>();
+        sourceComponentService.addEvictionListener(evicted::add);
+
+        sourceComponentService.evictIdle();
+        assertThat(sourceComponentService.getMetrics())
+                .describedAs("source component shared with a project which can not be parsed again must be kept.")
+                .containsEntry("source-components.evictions", 0L);
+
+        sourceComponentService.delete(2L);
+        sourceComponentService.evictIdle();
+        assertThat(sourceComponentService.getMetrics())
+                .containsEntry("source-components.loaded", 0)
+                .containsEntry("source-components.evicted-projects", 2L)
+                .containsEntry("source-components.evictions", 1L);
+        assertThat(evicted).describedAs("listeners should be notified about evicted projects.")
+                .containsExactlyInAnyOrder(1L, 3L);
+        awaitReparse(3L);
+    }
+
+    @Test
+    @DisplayName("evicted source component should be restored from its snapshot instead of being parsed again.")
+    void testEvictAndRestoreFromSnapshot() throws Exception {
+        cacheProperties.setSnapshotEnabled(true);
+        cacheProperties.setMaxEntries(1);
+        sourceComponentService = newSourceComponentService();
+        var first = copyOf(snapshotProject, "first");
+        sourceComponentService.save(1L, first, "first");
+        var expected = sourceComponentService.get(1L).orElseThrow();
+        awaitSnapshot("first");
+        sourceComponentService.save(2L, snapshotProject);
+
+        var actual = sourceComponentService.get(1L).orElseThrow();
+        assertThat(actual.getCompilationUnits()).describedAs("source component should be restored.").isEmpty();
+        assertThat(actual.getChildren().keySet()).isEqualTo(expected.getChildren().keySet());
+        assertThat(relations(actual)).isEqualTo(relations(expected));
+        assertThat(sourceComponentService.getMetrics()).containsEntry("source-components.reloads", 1L);
+
+        var updated = sourceComponentService.update(1L, first, List.of(), List.of());
+        assertThat(sourceComponentService.get(1L).orElseThrow().getCompilationUnits())
+                .describedAs("restored source component should be parsed again on update.")
+                .isNotEmpty();
+        awaitSnapshot(updated);
+        assertThat(snapshotService.exists("first")).isFalse();
+    }
+
+    @Test
+    @DisplayName("snapshots left by a previous run should be deleted on startup.")
+    void testSnapshotsAreDeletedOnRestart() throws Exception {
+        cacheProperties.setSnapshotEnabled(true);
+        sourceComponentService = newSourceComponentService();
+        sourceComponentService.save(1L, snapshotProject, "first");
+        awaitSnapshot("first");
+        snapshotService.shutdown();
+        Files.createFile(DST.resolve("snapshots").resolve("second.tmp"));
+
+        sourceComponentService = newSourceComponentService();
+
+        assertThat(snapshotService.exists("first")).isFalse();
+        assertThat(DST.resolve("snapshots")).isEmptyDirectory();
+        assertThat(sourceComponentService.get(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("deleted project should not be restored from snapshot of another project with same content.")
+    void testDeletedProjectIsNotRestored() throws Exception {
+        cacheProperties.setSnapshotEnabled(true);
+        sourceComponentService = newSourceComponentService();
+        sourceComponentService.save(1L, snapshotProject, "first");
+        sourceComponentService.reuse(2L, 1L);
+        awaitSnapshot("first");
+
+        when(projectInfoRepository.existsByContentHashAndIdNot("first", 2L)).thenReturn(true);
+
+        sourceComponentService.delete(2L);
+        assertThat(snapshotService.exists("first")).isTrue();
+        assertThat(sourceComponentService.get(2L)).isEmpty();
+        assertThat(sourceComponentService.get(1L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("parsed source component should be replaced by its compact form when release of ASTs is enabled.")
+    void testReleaseAst() throws Exception {
+        cacheProperties.setReleaseAst(true);
+        sourceComponentService = newSourceComponentService();
+        compactionStarted = new CompletableFuture<>();
+        sourceComponentService.save(1L, snapshotProject, "first");
+        sourceComponentService.reuse(2L, 1L);
+        var expected = sourceComponentService.get(1L).orElseThrow();
+        var estimatedSize = (Long) sourceComponentService.getMetrics().get("source-components.estimated-retained-bytes");
+
+        compactionStarted.complete(null);
+        awaitCompaction("first");
+
+        var actual = sourceComponentService.get(1L).orElseThrow();
+        assertThat(actual.getCompilationUnits()).describedAs("compilation units should be released.").isEmpty();
+        assertThat(sourceComponentService.get(2L)).containsSame(actual);
+        assertThat(actual.getChildren().keySet()).isEqualTo(expected.getChildren().keySet());
+        assertThat(relations(actual)).isEqualTo(relations(expected));
+        assertThat((Long) sourceComponentService.getMetrics().get("source-components.estimated-retained-bytes"))
+                .isPositive()
+                .isLessThan(estimatedSize);
+    }
+
+    private SourceComponentService newSourceComponentService() {
+        var fileStorageProperties = new FileStorageProperties();
+        fileStorageProperties.setSnapshotDir(DST.resolve("snapshots").toString());
+        parseCacheService = new ParseCacheService();
+        snapshotService = new SourceComponentSnapshotService(fileStorageProperties, cacheProperties,
+                projectInfoRepository) {
+            @Override
+            public CompletableFuture<Void> write(String contentHash, SourceComponent sourceComponent) {
+                var written = super.write(contentHash, sourceComponent);
+                if (contentHash != null) snapshots.put(contentHash, written);
+                return written;
+            }
+
+            @Override
+            public CompletableFuture<SourceComponent> compact(String contentHash, SourceComponent sourceComponent) {
+                // Recorded future completes only after the service has replaced the source component.
+                var compacted = new CompletableFuture<SourceComponent>();
+                var replaced = new CompletableFuture<Void>();
+                compactionStarted.thenCompose(ignored -> super.compact(contentHash, sourceComponent))
+                        .whenComplete((compact, exception) -> {
+                            if (exception == null) compacted.complete(compact);
+                            else compacted.completeExceptionally(exception);
+                            replaced.complete(null);
+                        });
+                compactions.put(contentHash, replaced);
+                return compacted;
+            }
+        };
+        var cancellationService = new CancellationService();
+        var jobRegistry = new JobRegistry(executor, renderScheduler, new JobProperties(), cancellationService) {
+            @Override
+            public <T> CompletableFuture<T> submit(Long projectInfoId, String type, URI result, Task<T> task,
+                                                   Function<Callable<T>, CompletableFuture<T>> executor) {
+                var future = super.submit(projectInfoId, type, result, task, executor);
+                reparses.put(projectInfoId, future);
+                return future;
+            }
+        };
+        return new SourceComponentService(new ParserProperties(), new SourceFilterProperties(),
+                cacheProperties, parseCacheService, snapshotService, cancellationService, jobRegistry,
+                new SingleFlight());
+    }
+
+    /**
+     * Waits for the job parsing evicted project with given id again, requesting the project schedules it.
+     */
+    private SourceComponent awaitReparse(Long projectInfoId)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        var sourceComponent = sourceComponentService.get(projectInfoId);
+        if (sourceComponent.isPresent()) return sourceComponent.get();
+
+        assertThat(reparses).describedAs("project should be parsed again.").containsKey(projectInfoId);
+        reparses.get(projectInfoId).get(TIME_OUT, TimeUnit.MINUTES);
+        return sourceComponentService.get(projectInfoId).orElseThrow();
+    }
+
+    /**
+     * Waits for the snapshot with given content hash to be written.
+     */
+    private void awaitSnapshot(String contentHash) throws InterruptedException, ExecutionException, TimeoutException {
+        assertThat(snapshots).describedAs("snapshot should be written.").containsKey(contentHash);
+        snapshots.get(contentHash).get(TIME_OUT, TimeUnit.MINUTES);
+        assertThat(snapshotService.exists(contentHash)).describedAs("snapshot should be written.").isTrue();
+    }
+
+    /**
+     * Waits for the project with given content hash to be replaced by its compact form.
+     */
+    private void awaitCompaction(String contentHash)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        assertThat(compactions).describedAs("project should be compacted.").containsKey(contentHash);
+        compactions.get(contentHash).get(TIME_OUT, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Copies given project, so that a test can change its files.
+     */
+    private static Path copyOf(Path project, String name) throws IOException {
+        var copy = DST.resolve(name);
+        FileUtils.copyDirectory(project.toFile(), copy.toFile());
+        return copy;
+    }
+
+    private static Set<String> relations(SourceComponent sourceComponent) {
+        return sourceComponent.getAllRelations().stream()
+                .map(relation -> relation.getFrom().getName() + " -> " + relation.getTo().getName() + " : "
+                        + relation.getRelationsSymbol())
+                .collect(Collectors.toSet());
+    }
+
+    private static List<String> qualifiedNames(SourceComponent sourceComponent) {
+        return sourceComponent.getAllParsedTypes().stream()
+                .map(it -> it.asType().getQualifiedName())
+                .collect(Collectors.toList());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        snapshotService.shutdown();
+        executor.shutdownNow();
+        renderScheduler.shutdown();
+        JarTypeSolver.ResourceRegistry.getRegistry().cleanUp();
+        FileDeleteStrategy.FORCE.delete(DST.toFile());
+    }
+}
@@ -0,0 +1,78 @@
+package org.java2uml.java2umlapi.parser.addtionalTests;
+
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import org.apache.commons.io.FileDeleteStrategy;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+import org.java2uml.java2umlapi.parser.Parser;
+import org.java2uml.java2umlapi.util.sourceFilter.SourceFilter;
+import org.java2uml.java2umlapi.util.unzipper.Unzipper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("When using Parser on a zip file system,")
+public class ArchiveParseTest {
+    final static String TEST_FILE = "src/test/testSources/ParserTest/addtionalTests/combat-zone-master.zip";
+    private static final Path DST = Path.of("src/test/testOutput");
+
+    @Test
+    @DisplayName("parse should resolve same declarations as parsing unzipped directory, using only unzipped jars.")
+    void testParseFromArchiveMatchesParseFromDirectory() throws IOException {
+        var unzipped = Unzipper.unzipDir(Path.of(TEST_FILE), DST.resolve("unzipped")).toPath();
+        var dependencyDir = Unzipper.unzipDir(Path.of(TEST_FILE), DST.resolve("dependencies"),
+                zipEntry -> zipEntry.getName().endsWith(".jar")).toPath();
+
+        assertThat(Files.walk(dependencyDir).filter(Files::isRegularFile))
+                .describedAs("only jar files should be unzipped.")
+                .isNotEmpty()
+                .allMatch(file -> file.toString().endsWith(".jar"));
+
+        var expected = Parser.parse(unzipped, 1);
+        try (var zipFileSystem = FileSystems.newFileSystem(Path.of(TEST_FILE), (ClassLoader) null)) {
+            var actual = Parser.parse(zipFileSystem.getPath("/"), List.of(dependencyDir),
+                    SourceFilter.ACCEPT_ALL, 1, Map.of());
+
+            assertThat(qualifiedNames(actual)).containsExactlyInAnyOrderElementsOf(qualifiedNames(expected));
+            assertThat(actual.getAllRelations()).hasSameSizeAs(expected.getAllRelations());
+            assertThat(actual.getCompilationUnits()).hasSameSizeAs(expected.getCompilationUnits());
+            assertThat(actual.isExternalDependenciesIncluded()).isEqualTo(expected.isExternalDependenciesIncluded());
+        }
+    }
+
+    @Test
+    @DisplayName("parse should skip files rejected by source filter before parsing them.")
+    void testParseFromArchiveWithSourceFilter() throws IOException {
+        var sourceFilter = new SourceFilter(List.of("**.java"), List.of("**/src/test/**"), -1);
+
+        try (var zipFileSystem = FileSystems.newFileSystem(Path.of(TEST_FILE), (ClassLoader) null)) {
+            var sourceComponent = Parser.parse(zipFileSystem.getPath("/"), List.of(), sourceFilter, 1, Map.of());
+
+            assertThat(qualifiedNames(sourceComponent))
+                    .contains("com.e.zone.Model.Trans")
+                    .doesNotContain("com.e.zone.ExampleUnitTest");
+            assertThat(sourceComponent.getCompilationUnits()).hasSize(36);
+        }
+    }
+
+    private static List<String> qualifiedNames(SourceComponent sourceComponent) {
+        return sourceComponent.getAllParsedTypes().stream()
+                .map(it -> it.asType().getQualifiedName())
+                .collect(Collectors.toList());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        JarTypeSolver.ResourceRegistry.getRegistry().cleanUp();
+        FileDeleteStrategy.FORCE.delete(DST.toFile());
+    }
+}
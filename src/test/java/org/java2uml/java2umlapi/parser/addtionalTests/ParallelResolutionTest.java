@@ -0,0 +1,68 @@
+package org.java2uml.java2umlapi.parser.addtionalTests;
+
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import org.apache.commons.io.FileDeleteStrategy;
+import org.java2uml.java2umlapi.parsedComponent.TypeRelation;
+import org.java2uml.java2umlapi.parser.Parser;
+import org.java2uml.java2umlapi.util.unzipper.Unzipper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("When using Parser with parallel resolution,")
+public class ParallelResolutionTest {
+    final static String TEST_FILE = "src/test/testSources/ParserTest/addtionalTests/combat-zone-master.zip";
+    private static final String DST = "src/test/testOutput";
+
+    @Test
+    @DisplayName("parse should resolve same declarations, in the same order as sequential resolution.")
+    void testParallelParseMatchesSequentialParse() throws IOException {
+        var dst = Unzipper.unzipDir(Path.of(TEST_FILE), Path.of(DST));
+        var sequential = Parser.parse(dst.toPath(), 1);
+        var parallel = Parser.parse(dst.toPath(), 4);
+
+        assertThat(parallel.getAllParsedTypes().stream().map(it -> it.asType().getQualifiedName())
+                .collect(Collectors.toList()))
+                .describedAs("parallel resolution should produce same declarations as sequential resolution.")
+                .isEqualTo(sequential.getAllParsedTypes().stream().map(it -> it.asType().getQualifiedName())
+                        .collect(Collectors.toList()));
+        assertThat(parallel.getAllRelations()).hasSameSizeAs(sequential.getAllRelations());
+    }
+
+    @Test
+    @DisplayName("parse should generate same relations, in the same order as sequential generation.")
+    void testParallelRelationsMatchSequentialRelations() throws IOException {
+        var dst = Unzipper.unzipDir(Path.of(TEST_FILE), Path.of(DST));
+        var sequential = Parser.parse(dst.toPath(), 1);
+        var parallel = Parser.parse(dst.toPath(), 4);
+
+        assertThat(describe(parallel.getRelationsList())).isEqualTo(describe(sequential.getRelationsList()));
+        assertThat(parallel.getExternalComponents().keySet())
+                .isEqualTo(sequential.getExternalComponents().keySet());
+        assertThat(parallel.getAllRelations())
+                .filteredOn(relation -> relation.getTo().isParsedExternalAncestor())
+                .allSatisfy(relation -> assertThat(parallel.getExternalComponents().get(relation.getTo().getName()))
+                        .describedAs("relations should refer to the external component kept by source component.")
+                        .isSameAs(relation.getTo()));
+    }
+
+    private static List<String> describe(List<TypeRelation> relations) {
+        return relations.stream()
+                .map(relation -> relation.getFrom().getName() + " -> " + relation.getTo().getName() + " : "
+                        + relation.getRelationsSymbol())
+                .collect(Collectors.toList());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        JarTypeSolver.ResourceRegistry.getRegistry().cleanUp();
+        FileDeleteStrategy.FORCE.delete(Path.of(DST).toFile());
+    }
+}
@@ -0,0 +1,74 @@
+package org.java2uml.java2umlapi.parser.addtionalTests;
+
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+import org.java2uml.java2umlapi.parsedComponent.TypeRelation;
+import org.java2uml.java2umlapi.parser.Parser;
+import org.java2uml.java2umlapi.util.sourceFilter.SourceFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("When using Parser to re-parse changed files,")
+public class ReparseTest {
+    @TempDir
+    Path src;
+
+    @Test
+    @DisplayName("relations of unchanged types to re-resolved types should be kept.")
+    void testReparseKeepsRelationsToReResolvedTypes() throws IOException {
+        var b = write("B", "public class B {}");
+        write("A", "public class A { B b; }");
+        write("C", "public class C extends A {}");
+        var sourceComponent = Parser.parse(src);
+        assertThat(describe(sourceComponent)).containsExactlyInAnyOrder("p.A o-- p.B", "p.C -up--|> p.A");
+
+        write("B", "public class B { int size; }");
+        Parser.reparse(sourceComponent, src, List.of(b), List.of(), SourceFilter.ACCEPT_ALL, 1);
+
+        assertThat(describe(sourceComponent))
+                .describedAs("re-parsed project should have same relations as a full parse.")
+                .containsExactlyInAnyOrderElementsOf(describe(Parser.parse(src)));
+        assertThat(sourceComponent.getAllRelations())
+                .allSatisfy(relation -> assertThat(relation.getTo())
+                        .describedAs("relations should refer to the current components of the types.")
+                        .isSameAs(sourceComponent.getChildren().get(relation.getTo().getName())));
+    }
+
+    @Test
+    @DisplayName("external components no longer referred to should be dropped.")
+    void testReparseDropsUnreferencedExternalComponents() throws IOException {
+        var a = write("A", "public class A { java.util.List<A> children; }");
+        var sourceComponent = Parser.parse(src);
+        assertThat(sourceComponent.getExternalComponents()).containsOnlyKeys("java.util.List");
+
+        write("A", "public class A { A parent; }");
+        Parser.reparse(sourceComponent, src, List.of(a), List.of(), SourceFilter.ACCEPT_ALL, 1);
+
+        assertThat(sourceComponent.getExternalComponents()).isEmpty();
+        assertThat(describe(sourceComponent)).containsExactly("p.A o-- p.A");
+    }
+
+    private Path write(String name, String body) throws IOException {
+        var file = src.resolve("p").resolve(name + ".java");
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, "package p;\n\n" + body + "\n");
+    }
+
+    private static List<String> describe(SourceComponent sourceComponent) {
+        return sourceComponent.getRelationsList().stream()
+                .map(ReparseTest::describe)
+                .collect(Collectors.toList());
+    }
+
+    private static String describe(TypeRelation relation) {
+        return relation.getFrom().getName() + " " + relation.getRelationsType() + " " + relation.getTo().getName();
+    }
+}
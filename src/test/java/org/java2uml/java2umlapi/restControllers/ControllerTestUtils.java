@@ -13,6 +13,7 @@ import org.java2uml.java2umlapi.parsedComponent.service.SourceComponentService;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.io.FileInputStream;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -70,10 +72,24 @@ public abstract class ControllerTestUtils {
                 CONTENT_TYPE,
                 new FileInputStream(path.toFile()));
 
-        return mvc.perform(multipart(URI).file(multiPartFile))
+        return performAsync(mvc, multipart(URI).file(multiPartFile))
                 .andDo(print());
     }
 
+    /**
+     * Performs given request, if it is answered asynchronously then waits for the answer and dispatches it, see
+     * {@link AsyncResponses}.
+     *
+     * @param mvc            {@link MockMvc} through which request will be performed.
+     * @param requestBuilder request to be performed.
+     * @return {@link ResultActions} of the final response.
+     */
+    public static ResultActions performAsync(MockMvc mvc, RequestBuilder requestBuilder) throws Exception {
+        var resultActions = mvc.perform(requestBuilder);
+        var result = resultActions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mvc.perform(asyncDispatch(result)) : resultActions;
+    }
+
     /**
      * @param resultActions {@link ResultActions} from which response will be extracted.
      * @return Response
@@ -103,7 +119,7 @@ public abstract class ControllerTestUtils {
      */
     @SuppressWarnings("BusyWait")
     public static void waitTillResourceGetsGenerated(MockMvc mvc, String uri) throws Exception {
-        while (mvc.perform(get(uri)).andReturn().getResponse().getStatus() == 202) Thread.sleep(500);
+        while (performAsync(mvc, get(uri)).andReturn().getResponse().getStatus() == 202) Thread.sleep(500);
     }
 
     /**
@@ -153,7 +169,7 @@ public abstract class ControllerTestUtils {
         var sourceURI = (String) JsonPath.read(parsedProjectInfo, "$._links.projectModel.href");
         waitTillResourceGetsGenerated(mvc, sourceURI);
         var parsedSourceJson = parseJson(
-                mvc.perform(get(sourceURI))
+                performAsync(mvc, get(sourceURI))
                         .andDo(print())
                         .andExpect(status().isOk())
                         .andReturn().getResponse().getContentAsString()
@@ -173,7 +189,7 @@ public abstract class ControllerTestUtils {
     public static ResultActions assertThatOnPerformingGetProvidedExceptionIsThrown(
             MockMvc mvc, String uri, Class<? extends Exception> exceptionToTest
     ) throws Exception {
-        var resultAction = mvc.perform(get(uri))
+        var resultAction = performAsync(mvc, get(uri))
                 .andDo(print());
         var e = resultAction.andReturn().getResolvedException();
         assertThat(e).isNotNull().isInstanceOf(exceptionToTest);
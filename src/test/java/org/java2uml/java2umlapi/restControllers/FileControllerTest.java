@@ -2,6 +2,7 @@ package org.java2uml.java2umlapi.restControllers;
 
 import com.jayway.jsonpath.JsonPath;
 import org.java2uml.java2umlapi.fileStorage.repository.ProjectInfoRepository;
+import org.java2uml.java2umlapi.parsedComponent.service.SourceComponentService;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -9,12 +10,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.containsString;
@@ -22,6 +29,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.java2uml.java2umlapi.restControllers.ControllerTestUtils.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -33,11 +41,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DirtiesContext
 class FileControllerTest {
     private static final String URI = "/api/files";
+    private static final String ENUM_TEST_PACKAGE = "ForEnumControllerTest/src/main/java/enumControlllerTests/";
 
     @Autowired
     MockMvc mvc;
     @Autowired
     ProjectInfoRepository projectInfoRepository;
+    @Autowired
+    SourceComponentService sourceComponentService;
 
     @Test
     @DisplayName("given that request is valid, upload should return http status 201 and entity model of project info")
@@ -46,7 +57,7 @@ class FileControllerTest {
                 "file", "test1.zip", CONTENT_TYPE, new FileInputStream(TEST_FILE_1.toFile())
         );
 
-        mvc.perform(multipart(URI).file(multiPartFile))
+        performAsync(mvc, multipart(URI).file(multiPartFile))
                 .andDo(print())
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.projectName", is("test1.zip")))
@@ -59,6 +70,33 @@ class FileControllerTest {
                         containsString("/api/source/by-project-info/")));
     }
 
+    @Test
+    @DisplayName("given that zip file is uploaded as request body, upload should return http status 201" +
+            " and entity model of project info")
+    void uploadStreamWithValidRequest() throws Exception {
+        var content = Files.readAllBytes(TEST_FILE_1);
+
+        performAsync(mvc, post(URI).param("name", "test1.zip").contentType(CONTENT_TYPE).content(content))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.projectName", is("test1.zip")))
+                .andExpect(jsonPath("$.fileType", is(CONTENT_TYPE)))
+                .andExpect(jsonPath("$.size", is(content.length)))
+                .andExpect(jsonPath("$._links.self.href", containsString("/api/project-info/")))
+                .andExpect(jsonPath("$._links.projectModel.href",
+                        containsString("/api/source/by-project-info/")));
+    }
+
+    @Test
+    @DisplayName("when zip file uploaded as request body is larger than the maximum file size," +
+            " upload should return http status 413")
+    void uploadStreamLargerThanMaxFileSize() throws Exception {
+        mvc.perform(post(URI).param("name", "test1.zip").contentType(CONTENT_TYPE)
+                .header(HttpHeaders.CONTENT_LENGTH, DataSize.ofMegabytes(501).toBytes())
+                .content(Files.readAllBytes(TEST_FILE_1)))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
     @Test
     @DisplayName("when file type is not application/zip," +
             " upload should return http status 415")
@@ -104,7 +142,7 @@ class FileControllerTest {
         var multipart = new MockMultipartFile("file", "java_code_with_syntax_errors.zip", CONTENT_TYPE,
                 new FileInputStream(TEST_FILE_3.toFile()));
 
-        mvc.perform(multipart(URI).file(multipart))
+        performAsync(mvc, multipart(URI).file(multipart))
                 .andExpect(status().isCreated());
     }
 
@@ -115,10 +153,52 @@ class FileControllerTest {
         var multipart = new MockMultipartFile("file", "code_without_included_dependencies.zip",
                 CONTENT_TYPE, new FileInputStream(TEST_FILE_4.toFile()));
 
-        mvc.perform(multipart(URI).file(multipart))
+        performAsync(mvc, multipart(URI).file(multipart))
                 .andExpect(status().isCreated());
     }
 
+    @SuppressWarnings({"OptionalGetWithoutIsPresent", "BusyWait"})
+    @Test
+    @DisplayName("given that project has been parsed, update should apply changed and removed files" +
+            " and return http status 200.")
+    void updateWithChangedAndRemovedFiles() throws Exception {
+        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, ENUM_LW_CONTROLLER_TEST_FILE)));
+        var projectInfoId = getIdFromSelfLink(parsedJson);
+        while (!projectInfoRepository.findById(projectInfoId).get().isParsed()) Thread.sleep(500);
+
+        var delta = new ByteArrayOutputStream();
+        try (var zipOutputStream = new ZipOutputStream(delta)) {
+            zipOutputStream.putNextEntry(new ZipEntry(ENUM_TEST_PACKAGE + "Week.java"));
+            zipOutputStream.write("package enumControlllerTests; public class Week { private Day day; }".getBytes());
+            zipOutputStream.closeEntry();
+        }
+
+        performAsync(mvc, multipart(URI + "/" + projectInfoId)
+                .file(new MockMultipartFile("file", "delta.zip", CONTENT_TYPE, delta.toByteArray()))
+                .param("removed", ENUM_TEST_PACKAGE + "UserStatus.java")
+                .with(request -> {
+                    request.setMethod("PATCH");
+                    return request;
+                }))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.self.href", containsString("/api/project-info/" + projectInfoId)));
+
+        while (!sourceComponentService.get(projectInfoId).get().getChildren().containsKey("enumControlllerTests.Week"))
+            Thread.sleep(500);
+        assertThat(sourceComponentService.get(projectInfoId).get().getChildren())
+                .doesNotContainKey("enumControlllerTests.UserStatus")
+                .containsKey("enumControlllerTests.Day");
+    }
+
+    @Test
+    @DisplayName("when neither changed files nor removed files are provided, update should return http status 400.")
+    void updateWithoutChanges() throws Exception {
+        mvc.perform(multipart(URI + "/1").with(request -> {
+            request.setMethod("PATCH");
+            return request;
+        })).andExpect(status().isBadRequest());
+    }
 
     @AfterAll
     public static void tearDown() throws IOException, InterruptedException {
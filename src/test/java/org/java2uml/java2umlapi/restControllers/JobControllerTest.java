@@ -0,0 +1,75 @@
+package org.java2uml.java2umlapi.restControllers;
+
+import org.java2uml.java2umlapi.executor.JobRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Tag("WebApiTest")
+@DisplayName("When using JobController, ")
+class JobControllerTest {
+    private static final String URI_STR = "/api/jobs";
+    private static final URI RESULT = URI.create("http://localhost/api/uml/svg/4242");
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    JobRegistry jobRegistry;
+
+    @Test
+    @DisplayName("on get request, response should contain state, stage and result link of the job.")
+    void one() throws Exception {
+        var generation = new CompletableFuture<String>();
+        jobRegistry.submit(4242L, "svg", RESULT, job -> "svg", task -> generation);
+        var jobId = jobRegistry.findActive(4242L, "svg").orElseThrow().getId();
+
+        mvc.perform(get(URI_STR + "/" + jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", is("QUEUED")))
+                .andExpect(jsonPath("$.stage", is("queued")))
+                .andExpect(jsonPath("$.type", is("svg")))
+                .andExpect(jsonPath("$._links.result.href", is(RESULT.toString())));
+
+        generation.complete("svg");
+        mvc.perform(get(URI_STR + "/" + jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", is("SUCCEEDED")))
+                .andExpect(jsonPath("$.percentComplete", is(100)))
+                .andExpect(jsonPath("$.runningTimeMillis").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("on get request with project id, response should contain only jobs of that project.")
+    void all() throws Exception {
+        jobRegistry.submit(4243L, "uml-code", RESULT, job -> "uml", task -> new CompletableFuture<>());
+
+        mvc.perform(get(URI_STR).param("projectId", "4243"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.jobList.length()", is(1)))
+                .andExpect(jsonPath("$._embedded.jobList[0].projectInfoId", is(4243)))
+                .andExpect(jsonPath("$._links.self.href").exists());
+    }
+
+    @Test
+    @DisplayName("on get request for unknown job, response should be 404 not found.")
+    void whenJobIsNotPresent_thenShouldRespondWith404NotFound() throws Exception {
+        mvc.perform(get(URI_STR + "/" + Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("Location"));
+    }
+}
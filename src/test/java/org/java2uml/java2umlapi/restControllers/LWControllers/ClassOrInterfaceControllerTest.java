@@ -60,7 +60,7 @@ class ClassOrInterfaceControllerTest {
         projectInfo = getEntityFromJson(parsedJsonForProjectInfo, projectInfoRepository);
         String sourceURI = JsonPath.read(parsedJsonForProjectInfo, "$._links.projectModel.href");
         waitTillResourceGetsGenerated(mvc, sourceURI);
-        var sourceUnparsed = mvc.perform(get(sourceURI))
+        var sourceUnparsed = performAsync(mvc, get(sourceURI))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andReturn().getResponse().getContentAsString();
@@ -65,7 +65,7 @@ class ClassRelationControllerTest {
         var sourceURI = (String) JsonPath.read(parsedProjectInfoJson, "$._links.projectModel.href");
         waitTillResourceGetsGenerated(mvc, sourceURI);
         var parsedSourceJson = parseJson(
-                mvc.perform(get(sourceURI))
+                performAsync(mvc, get(sourceURI))
                         .andDo(print())
                         .andExpect(status().isOk())
                         .andReturn().getResponse().getContentAsString()
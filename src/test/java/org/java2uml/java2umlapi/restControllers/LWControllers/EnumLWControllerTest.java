@@ -59,7 +59,7 @@ class EnumLWControllerTest {
                 getMultipartResponse(doMultipartRequest(mvc, ENUM_LW_CONTROLLER_TEST_FILE)));
         projectInfo = getEntityFromJson(parsedProjectInfoJson, projectInfoRepository);
         waitTillResourceGetsGenerated(mvc, JsonPath.read(parsedProjectInfoJson, "$._links.projectModel.href"));
-        var parsedSourceJson = parseJson(mvc.perform(
+        var parsedSourceJson = parseJson(performAsync(mvc,
                 get(JsonPath.read(parsedProjectInfoJson, "$._links.projectModel.href") + ""))
                 .andDo(print())
                 .andExpect(status().isOk())
@@ -61,7 +61,7 @@ class SourceControllerTest {
      */
     private ResultActions performGetRequestOnSourceByProjectInfoId() throws Exception {
         waitTillResourceGetsGenerated(mvc, sourceURIByProjectInfo);
-        return mvc.perform(get(sourceURIByProjectInfo))
+        return performAsync(mvc, get(sourceURIByProjectInfo))
                 .andDo(print());
     }
 
@@ -118,7 +118,7 @@ class SourceControllerTest {
     @DirtiesContext
     void whenSourceComponentIsNotPresent_thenShouldRespondWith500InternalServerError() throws Exception {
         sourceComponentService.delete(projectInfo.getId());
-        mvc.perform(get(sourceURIByProjectInfo)).andExpect(status().isAccepted());
+        performAsync(mvc, get(sourceURIByProjectInfo)).andExpect(status().isAccepted());
     }
 
     @Test
@@ -0,0 +1,35 @@
+package org.java2uml.java2umlapi.restControllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Tag("WebApiTest")
+@DisplayName("When using MetricsController, ")
+class MetricsControllerTest {
+    private static final String URI = "/api/metrics";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    @DisplayName("on get request, response should contain footprint of parsed projects.")
+    void all() throws Exception {
+        mvc.perform(get(URI))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['source-components.loaded']").isNumber())
+                .andExpect(jsonPath("$['source-components.estimated-retained-bytes']").isNumber())
+                .andExpect(jsonPath("$['source-components.evictions']").isNumber())
+                .andExpect(jsonPath("$['svg-render.queue-depth']").isNumber());
+    }
+}
@@ -3,9 +3,11 @@ package org.java2uml.java2umlapi.restControllers;
 import com.jayway.jsonpath.JsonPath;
 import org.java2uml.java2umlapi.fileStorage.entity.ProjectInfo;
 import org.java2uml.java2umlapi.fileStorage.repository.ProjectInfoRepository;
+import org.java2uml.java2umlapi.fileStorage.service.UMLCodeCacheService;
 import org.java2uml.java2umlapi.fileStorage.service.UnzippedFileStorageService;
 import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
 import org.java2uml.java2umlapi.parsedComponent.service.SourceComponentService;
+import org.java2uml.java2umlapi.visitors.umlExtractor.UMLExtractor;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -14,17 +16,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
 
 import static com.jayway.jsonpath.JsonPath.read;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.java2uml.java2umlapi.restControllers.ControllerTestUtils.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +44,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("When using UMLController,")
 @DirtiesContext
 class UMLControllerTest {
+    private static final Path TEST_FILE = Path.of("src/test/testSources/callGraphTest/test.zip");
     @Autowired
     MockMvc mvc;
     @Autowired
@@ -43,17 +53,19 @@ class UMLControllerTest {
     ProjectInfoRepository projectInfoRepository;
     @Autowired
     SourceComponentService sourceComponentService;
+    @Autowired
+    UMLCodeCacheService umlCodeCacheService;
 
     @Test
     @DisplayName("given that request is valid then response should be UML code with response 200 OK.")
     void getPUMLCode() throws Exception {
-        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE_4)));
+        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE)));
         String requestURI = read(parsedJson, "$._links.umlText.href");
         String svgURI = read(parsedJson, "$._links.umlSvg.href");
         String projectInfoURI = read(parsedJson, "$._links.self.href");
         waitTillSourceComponentGetsGenerated(sourceComponentService, getIdFromSelfLink(parsedJson));
         waitTillResourceGetsGenerated(mvc, requestURI);
-        var response = mvc.perform(get(requestURI))
+        var response = performAsync(mvc, get(requestURI))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$._links.self.href", is(requestURI)))
@@ -67,11 +79,51 @@ class UMLControllerTest {
                 .startsWith("@startuml").endsWith("@enduml");
     }
 
+    @Test
+    @DisplayName("given that request accepts text/plain then UML code should be streamed with response 200 OK.")
+    void streamPUMLCode() throws Exception {
+        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE)));
+        String requestURI = read(parsedJson, "$._links.umlText.href");
+        var projectInfoId = getIdFromSelfLink(parsedJson);
+        waitTillSourceComponentGetsGenerated(sourceComponentService, projectInfoId);
+
+        var uml = streamTillGenerated(requestURI)
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(uml).describedAs("streamed UML should be same as extracted UML")
+                .isEqualTo(sourceComponentService.get(projectInfoId).orElseThrow().accept(new UMLExtractor()));
+        assertThat(umlCodeCacheService.get(projectInfoId)).describedAs("generated UML should be cached")
+                .isEqualTo(uml);
+        assertThat(streamTillGenerated(requestURI).andReturn().getResponse().getContentAsString())
+                .describedAs("cached UML should be streamed as is").isEqualTo(uml);
+    }
+
+    /**
+     * Requests uml code as plain text till it has been generated, uml code is written to the response once the
+     * generation has completed, by a second asynchronous dispatch.
+     *
+     * @param uri uri of the uml code.
+     * @return {@link ResultActions} of the response containing uml code.
+     */
+    @SuppressWarnings("BusyWait")
+    private ResultActions streamTillGenerated(String uri) throws Exception {
+        while (true) {
+            var resultActions = performAsync(mvc, get(uri).accept(MediaType.TEXT_PLAIN));
+            var result = resultActions.andReturn();
+            if (result.getRequest().isAsyncStarted()) return mvc.perform(asyncDispatch(result));
+            if (result.getResponse().getStatus() != 202) return resultActions;
+            Thread.sleep(500);
+        }
+    }
+
     @Test
     @DisplayName("given that project was not uploaded sending request to" +
             " \"/api/plant-uml-code/{projectInfoId}\" should give 404 not found.")
     void whenProjectIsNotUploaded_thenResponseShouldBe404NotFound() throws Exception {
-        mvc.perform(get("/api/uml/plant-uml-code/" + Long.MAX_VALUE))
+        performAsync(mvc, get("/api/uml/plant-uml-code/" + Long.MAX_VALUE))
                 .andDo(print())
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.errors[0]", containsString("ProjectInfo not found")));
@@ -88,11 +140,11 @@ class UMLControllerTest {
     @Test
     @DisplayName("given that request is valid then response should be UML svg with response 200 OK.")
     void getSvg() throws Exception {
-        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE_4)));
+        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE)));
         String requestURI = read(parsedJson, "$._links.umlSvg.href");
         waitTillSourceComponentGetsGenerated(sourceComponentService, getIdFromSelfLink(parsedJson));
         waitTillResourceGetsGenerated(mvc, requestURI);
-        var response = mvc.perform(get(requestURI))
+        var response = performAsync(mvc, get(requestURI))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(header().exists(HttpHeaders.CONTENT_DISPOSITION))
@@ -102,11 +154,57 @@ class UMLControllerTest {
         assertThat(response).describedAs("should contain uml").contains("@startuml").contains("@enduml");
     }
 
+    @Test
+    @DisplayName("given that If-None-Match matches ETag of the svg then response should be 304 not modified.")
+    void getSvgNotModified() throws Exception {
+        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE)));
+        String requestURI = read(parsedJson, "$._links.umlSvg.href");
+        waitTillSourceComponentGetsGenerated(sourceComponentService, getIdFromSelfLink(parsedJson));
+        waitTillResourceGetsGenerated(mvc, requestURI);
+        var eTag = performAsync(mvc, get(requestURI))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        performAsync(mvc, get(requestURI).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        performAsync(mvc, get(requestURI).header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    @DisplayName("given that request accepts gzip then cached svg should be sent compressed with response 200 OK.")
+    void getCompressedSvg() throws Exception {
+        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE)));
+        String requestURI = read(parsedJson, "$._links.umlSvg.href");
+        waitTillSourceComponentGetsGenerated(sourceComponentService, getIdFromSelfLink(parsedJson));
+        waitTillResourceGetsGenerated(mvc, requestURI);
+        var svg = performAsync(mvc, get(requestURI)).andReturn().getResponse().getContentAsString();
+
+        var compressed = performAsync(mvc, get(requestURI).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().exists(HttpHeaders.CONTENT_DISPOSITION))
+                .andExpect(content().contentType("image/svg+xml"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .describedAs("decompressed svg should be same as uncompressed svg").isEqualTo(svg);
+        }
+    }
+
     @Test
     @DisplayName("given that project was not uploaded sending request to" +
             " \"/api/svg/{projectInfoId}\" should give 404 not found.")
     void whenProjectIsNotUploaded_thenResponseOfGetSVGShouldBe404NotFound() throws Exception {
-        mvc.perform(get("/api/uml/svg/" + Long.MAX_VALUE))
+        performAsync(mvc, get("/api/uml/svg/" + Long.MAX_VALUE))
                 .andDo(print())
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.errors[0]", containsString("ProjectInfo not found")));
@@ -120,19 +218,69 @@ class UMLControllerTest {
         assertThatSourceComponentIsNotPresentOn("$._links.umlSvg.href");
     }
 
+    @Test
+    @DisplayName("given that package is present then response should be UML svg of the package with response 200 OK.")
+    void getPackageSvg() throws Exception {
+        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE)));
+        var projectInfoId = getIdFromSelfLink(parsedJson);
+        waitTillSourceComponentGetsGenerated(sourceComponentService, projectInfoId);
+        var sourceComponent = sourceComponentService.get(projectInfoId).orElseThrow();
+        var typeName = sourceComponent.getChildren().keySet().iterator().next();
+        var packageName = typeName.substring(0, typeName.lastIndexOf('.'));
+
+        var requestURI = "/api/uml/svg/" + projectInfoId + "/package/" + packageName;
+        waitTillResourceGetsGenerated(mvc, requestURI);
+        var response = performAsync(mvc, get(requestURI))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.CONTENT_DISPOSITION))
+                .andExpect(content().contentType("image/svg+xml"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(response).describedAs("should contain uml of the package").contains(typeName);
+    }
+
+    @Test
+    @DisplayName("given that class is present then response should be UML svg of its neighbourhood with " +
+            "response 200 OK, and given that class is not present then response should be 404 not found.")
+    void getClassSvg() throws Exception {
+        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE)));
+        var projectInfoId = getIdFromSelfLink(parsedJson);
+        waitTillSourceComponentGetsGenerated(sourceComponentService, projectInfoId);
+        var typeName = sourceComponentService.get(projectInfoId).orElseThrow()
+                .getChildren().keySet().iterator().next();
+
+        var requestURI = "/api/uml/svg/" + projectInfoId + "/class/" + typeName + "?hops=2";
+        waitTillResourceGetsGenerated(mvc, requestURI);
+        performAsync(mvc, get(requestURI))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/svg+xml"));
+
+        performAsync(mvc, get("/api/uml/svg/" + projectInfoId + "/class/co.not.Present"))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+        performAsync(mvc, get("/api/uml/svg/" + projectInfoId + "/class/" + typeName + "?hops=-1"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        performAsync(mvc, get("/api/uml/svg/" + projectInfoId + "/class/" + typeName + "?hops=1000"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Deletes {@link SourceComponent} and then perform tests that right exception is thrown.
      *
      * @param s query for {@link JsonPath}
      */
     private void assertThatSourceComponentIsNotPresentOn(String s) throws Exception {
-        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE_4)));
+        var parsedJson = parseJson(getMultipartResponse(doMultipartRequest(mvc, TEST_FILE)));
         String requestURI = JsonPath.read(parsedJson, s);
 
         ProjectInfo projectInfo = getEntityFromJson(parsedJson, projectInfoRepository);
         sourceComponentService.delete(projectInfo.getId());
 
-        var e = mvc.perform(get(requestURI))
+        var e = performAsync(mvc, get(requestURI))
                 .andDo(print())
                 .andExpect(status().is(202))
                 .andReturn().getResolvedException();
@@ -63,7 +63,7 @@ class CallGraphControllerTest {
         String sourceUri = JsonPath.read(parsedJson, "$._links.projectModel.href");
         waitTillResourceGetsGenerated(mvc, sourceUri);
         //Generate Source.
-        mvc.perform(get(sourceUri))
+        performAsync(mvc, get(sourceUri))
                 .andDo(print())
                 .andExpect(status().isOk());
         this.projectInfo = getEntityFromJson(parsedJson, projectInfoRepository);
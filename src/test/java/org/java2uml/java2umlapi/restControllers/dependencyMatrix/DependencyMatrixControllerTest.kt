@@ -10,9 +10,12 @@ import org.junit.jupiter.api.*
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc
 import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.http.HttpHeaders
 import org.springframework.test.annotation.DirtiesContext
 import org.springframework.test.web.servlet.MockMvc
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers.content
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers.header
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers.status
 
@@ -44,7 +47,7 @@ internal class DependencyMatrixControllerTest {
     @DisplayName("http get on /api/dependency-matrix should generate dependency matrix.")
     internal fun getDependencyMatrix() {
         waitTillResourceGetsGenerated(mvc, "$URI${projectInfo.id}")
-        val result = mvc?.perform(get("$URI${projectInfo.id}"))
+        val result = performAsync(mvc!!, get("$URI${projectInfo.id}"))
             ?.andExpect(status().isOk)
             ?.andExpect(jsonPath("$._links.self.href", containsString("$URI${projectInfo.id}")))
             ?.andExpect(jsonPath("$._links.projectInfo.href", containsString("/project-info/")))
@@ -55,6 +58,22 @@ internal class DependencyMatrixControllerTest {
         assertThat(parsedJson["dependencyMatrix"]).isInstanceOf(JSONArray::class.java)
     }
 
+    @Test
+    @DisplayName("http get with If-None-Match of generated dependency matrix should give 304 not modified.")
+    internal fun getDependencyMatrixNotModified() {
+        waitTillResourceGetsGenerated(mvc, "$URI${projectInfo.id}")
+        val eTag = performAsync(mvc!!, get("$URI${projectInfo.id}"))
+            ?.andExpect(status().isOk)
+            ?.andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+            ?.andReturn()?.response?.getHeader(HttpHeaders.ETAG)
+
+        assertThat(eTag).contains(projectInfoRepository?.findById(projectInfo.id)?.orElseThrow()?.contentHash)
+        performAsync(mvc!!, get("$URI${projectInfo.id}").header(HttpHeaders.IF_NONE_MATCH, eTag!!))
+            ?.andExpect(status().isNotModified)
+            ?.andExpect(header().string(HttpHeaders.ETAG, eTag))
+            ?.andExpect(content().string(""))
+    }
+
     companion object {
         @AfterAll
         @JvmStatic
@@ -0,0 +1,122 @@
+package org.java2uml.java2umlapi.util.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("When using TieredCacheService,")
+class TieredCacheServiceTest {
+    @TempDir
+    Path directory;
+    private TieredCacheService<Long> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache(directory, 10);
+    }
+
+    @Test
+    @DisplayName("values dropped from heap should be read back from disk.")
+    void testHeapEviction() {
+        cache.save(1L, "abcdef");
+        cache.save(2L, "ghijkl");
+
+        assertThat(cache.getMetrics().get("test-cache.heap-entries")).isEqualTo(1);
+        assertThat(cache.getMetrics().get("test-cache.disk-entries")).isEqualTo(2);
+        assertThat(cache.contains(1L)).isTrue();
+        assertThat(cache.get(1L)).isEqualTo("abcdef");
+        assertThat(cache.get(2L)).isEqualTo("ghijkl");
+        assertThat(cache.getMetrics().get("test-cache.disk-hits")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("large values should only be stored compressed on disk.")
+    void testLargeValueIsOnlyOnDisk() throws IOException {
+        var value = "<svg>" + "x".repeat(100) + "</svg>";
+        cache.save(1L, value);
+
+        assertThat(cache.getMetrics().get("test-cache.heap-entries")).isEqualTo(0);
+        var file = cache.getCompressedFile(1L).orElseThrow();
+        try (var in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(value);
+        }
+        assertThat(cache.get(1L)).isEqualTo(value);
+    }
+
+    @Test
+    @DisplayName("evict and delete should remove the compressed files.")
+    void testEvictAndDelete() {
+        cache.save(1L, "abc");
+        cache.save(2L, "def");
+        var first = cache.getCompressedFile(1L).orElseThrow();
+        var second = cache.getCompressedFile(2L).orElseThrow();
+
+        cache.evict(1L);
+        cache.delete(2L);
+
+        assertThat(first).doesNotExist();
+        assertThat(second).doesNotExist();
+        assertThat(cache.contains(1L)).isFalse();
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.getCompressedFile(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("value generated before its key has been evicted should be ignored.")
+    void testSaveOfStaleGeneration() {
+        var stale = cache.generationOf(1L);
+        cache.evict(1L);
+        var current = cache.generationOf(1L);
+
+        cache.save(1L, "abc", stale);
+        assertThat(cache.contains(1L)).isFalse();
+        cache.save(1L, "def", current);
+        assertThat(cache.get(1L)).isEqualTo("def");
+    }
+
+    @Test
+    @DisplayName("value saved after its key has been deleted should be ignored.")
+    void testSaveAfterDelete() {
+        cache.delete(1L);
+        cache.save(1L, "abc");
+        assertThat(cache.contains(1L)).isFalse();
+
+        cache.save(1L, "abc");
+        assertThat(cache.get(1L)).isEqualTo("abc");
+    }
+
+    @Test
+    @DisplayName("files left by previous runs should be deleted.")
+    void testStaleFilesAreDeleted() throws IOException {
+        var stale = Files.writeString(directory.resolve("1.gz"), "stale");
+        newCache(directory, 10);
+
+        assertThat(stale).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("without directory values should be kept on heap regardless of their size.")
+    void testHeapOnly() {
+        var heapOnly = newCache(null, 10);
+        heapOnly.save(1L, "x".repeat(100));
+
+        assertThat(heapOnly.get(1L)).hasSize(100);
+        assertThat(heapOnly.getCompressedFile(1L)).isEmpty();
+    }
+
+    private static TieredCacheService<Long> newCache(Path directory, long maxHeapEntrySize) {
+        return new TieredCacheService<>("test-cache", directory, DataSize.ofBytes(10),
+                DataSize.ofBytes(maxHeapEntrySize)) {
+        };
+    }
+}
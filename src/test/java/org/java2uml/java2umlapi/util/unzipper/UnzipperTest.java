@@ -1,6 +1,7 @@
 package org.java2uml.java2umlapi.util.unzipper;
 
 import org.apache.commons.io.FileDeleteStrategy;
+import org.java2uml.java2umlapi.util.sourceFilter.SourceFilter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -8,13 +9,20 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.fail;
 @DisplayName("When using Unzipper,")
 class UnzipperTest {
 
     private static final String SRC = "src/test/testSources/ParserTest/test.zip";
     private static final String DST = "src/test/testSources/ParserTest/testOutput";
+    private static final String FILTER_SRC = "src/test/testSources/ParserTest/addtionalTests/combat-zone-master.zip";
 
     @Test
     @DisplayName("using unzipDir, should unzip files from SRC path and generate output in DST path.")
@@ -28,4 +36,93 @@ class UnzipperTest {
         //clean up.
         FileDeleteStrategy.FORCE.delete(Path.of(DST).toFile());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("using unzipDir with SourceFilter, should unzip only the accepted files.")
+    void testUnzipDirWithSourceFilter() throws IOException {
+        var sourceFilter = new SourceFilter(List.of("**.java", "**.jar"), List.of("**/src/test/**"), 30000);
+        var destDir = Unzipper.unzipDir(Path.of(FILTER_SRC), Path.of(DST), sourceFilter).toPath();
+
+        List<String> files;
+        try (var paths = Files.walk(destDir)) {
+            files = paths.filter(Files::isRegularFile)
+                    .map(file -> destDir.relativize(file).toString().replace('\\', '/'))
+                    .collect(Collectors.toList());
+        }
+
+        assertThat(files)
+                .hasSize(35)
+                .allMatch(file -> file.endsWith(".java"))
+                .contains("combat-zone-master/app/src/main/java/com/e/zone/Account.java")
+                .doesNotContain("combat-zone-master/app/src/test/java/com/e/zone/ExampleUnitTest.java",
+                        "combat-zone-master/app/src/main/java/com/e/zone/ContestDetails.java");
+
+        //clean up.
+        FileDeleteStrategy.FORCE.delete(Path.of(DST).toFile());
+    }
+
+    @Test
+    @DisplayName("using unzipDir in parallel, should generate same files as sequential unzipping.")
+    void testParallelUnzipDirMatchesSequentialUnzipDir() throws IOException {
+        var sequential = Unzipper.unzipDir(Path.of(FILTER_SRC), Path.of(DST, "sequential")).toPath();
+        var parallel = Unzipper.unzipDir(Path.of(FILTER_SRC), Path.of(DST, "parallel"),
+                SourceFilter.ACCEPT_ALL, 4, 512).toPath();
+
+        List<Path> files;
+        try (var paths = Files.walk(sequential)) {
+            files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+
+        assertThat(files).isNotEmpty().allSatisfy(file -> assertThat(parallel.resolve(sequential.relativize(file)))
+                .hasSameBinaryContentAs(file));
+
+        //clean up.
+        FileDeleteStrategy.FORCE.delete(Path.of(DST).toFile());
+    }
+
+    @Test
+    @DisplayName("using unzipDir in parallel, should reject entries outside of destination directory.")
+    void testParallelUnzipDirRejectsZipSlip() throws IOException {
+        var zip = Files.createDirectories(Path.of(DST)).resolve("slip.zip");
+        try (var zos = new ZipOutputStream(Files.newOutputStream(zip))) {
+            zos.putNextEntry(new ZipEntry("../slip.java"));
+            zos.write("class Slip {}".getBytes());
+            zos.closeEntry();
+        }
+
+        assertThatThrownBy(() -> Unzipper.unzipDir(zip, Path.of(DST, "slip"), SourceFilter.ACCEPT_ALL, 4, 512))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("outside of the target dir");
+        assertThat(Path.of(DST, "slip.java")).doesNotExist();
+
+        //clean up.
+        FileDeleteStrategy.FORCE.delete(Path.of(DST).toFile());
+    }
+
+    @Test
+    @DisplayName("using unzipDir in parallel with a filter, should delete entries larger than max entry size.")
+    void testParallelUnzipDirWithFilterDeletesOversizedEntries() throws IOException {
+        var zip = Files.createDirectories(Path.of(DST)).resolve("jars.zip");
+        try (var zos = new ZipOutputStream(Files.newOutputStream(zip))) {
+            zos.putNextEntry(new ZipEntry("lib/small.jar"));
+            zos.write(new byte[100]);
+            zos.closeEntry();
+            zos.putNextEntry(new ZipEntry("lib/large.jar"));
+            zos.write(new byte[10000]);
+            zos.closeEntry();
+            zos.putNextEntry(new ZipEntry("Main.java"));
+            zos.write("class Main {}".getBytes());
+            zos.closeEntry();
+        }
+
+        var destDir = Unzipper.unzipDir(zip, Path.of(DST, "jars"),
+                zipEntry -> zipEntry.getName().endsWith(".jar"), 1000, 4, 512).toPath();
+
+        assertThat(destDir.resolve("lib/small.jar")).hasSize(100);
+        assertThat(destDir.resolve("lib/large.jar")).doesNotExist();
+        assertThat(destDir.resolve("Main.java")).doesNotExist();
+
+        //clean up.
+        FileDeleteStrategy.FORCE.delete(Path.of(DST).toFile());
+    }
+}
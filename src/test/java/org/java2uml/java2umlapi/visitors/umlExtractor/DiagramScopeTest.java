@@ -0,0 +1,119 @@
+package org.java2uml.java2umlapi.visitors.umlExtractor;
+
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import org.apache.commons.io.FileDeleteStrategy;
+import org.java2uml.java2umlapi.parsedComponent.ParsedComponent;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+import org.java2uml.java2umlapi.parser.Parser;
+import org.java2uml.java2umlapi.util.unzipper.Unzipper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("When using DiagramScope,")
+class DiagramScopeTest {
+    private static final Path TEST_FILE = Path.of("src/test/testSources/ParserTest/addtionalTests/combat-zone-master.zip");
+    private static final Path DST = Path.of("src/test/testOutput/diagramScopeTest");
+
+    private static SourceComponent sourceComponent;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        sourceComponent = Parser.parse(Unzipper.unzipDir(TEST_FILE, DST).toPath());
+    }
+
+    @Test
+    @DisplayName("package scope should contain every parsed type of the package and of its sub packages only.")
+    void testOfPackage() {
+        var typeName = sourceComponent.getChildren().keySet().iterator().next();
+        var packageName = typeName.substring(0, typeName.lastIndexOf('.'));
+
+        var scope = DiagramScope.ofPackage(sourceComponent, packageName);
+
+        var expected = sourceComponent.getChildren().values().stream()
+                .filter(child -> child.getName().startsWith(packageName + "."))
+                .collect(Collectors.toSet());
+        assertThat(scope.size()).isEqualTo(expected.size()).isPositive();
+        expected.forEach(type -> assertThat(scope.test(type)).isTrue());
+        sourceComponent.getExternalComponents().values().forEach(type -> assertThat(scope.test(type)).isFalse());
+    }
+
+    @Test
+    @DisplayName("neighbourhood scope should contain the type and the types directly related to it for 1 hop.")
+    void testOfNeighbourhood() {
+        var relations = sourceComponent.getRelations();
+        var type = relations.getFrom(0);
+
+        Set<ParsedComponent> expected = new HashSet<>(Set.of(type));
+        for (int i = 0; i < relations.size(); i++) {
+            if (relations.getFrom(i) == type) expected.add(relations.getTo(i));
+            if (relations.getTo(i) == type) expected.add(relations.getFrom(i));
+        }
+
+        var scope = DiagramScope.ofNeighbourhood(sourceComponent, type.getName(), 1);
+        assertThat(scope.size()).isEqualTo(expected.size()).isGreaterThan(1);
+        expected.forEach(neighbour -> assertThat(scope.test(neighbour)).isTrue());
+
+        var self = DiagramScope.ofNeighbourhood(sourceComponent, type.getName(), 0);
+        assertThat(self.size()).isEqualTo(1);
+        assertThat(self.test(type)).isTrue();
+        assertThat(self.getKey()).isNotEqualTo(scope.getKey());
+    }
+
+    @Test
+    @DisplayName("uml code of a scope should contain only relations between types of the scope.")
+    void testWriteScope() {
+        var relations = sourceComponent.getRelations();
+        var type = relations.getFrom(0);
+        var scope = DiagramScope.ofNeighbourhood(sourceComponent, type.getName(), 1);
+
+        var expected = new HashSet<String>();
+        for (int i = 0; i < relations.size(); i++) {
+            if (scope.test(relations.getFrom(i)) && scope.test(relations.getTo(i)))
+                expected.add(relations.get(i).accept(new UMLExtractor()));
+        }
+
+        var uml = new UMLWriter(new StringBuilder()).write(sourceComponent, scope).toString();
+        var sections = uml.split("\n\n");
+
+        assertThat(uml).startsWith("@startuml").endsWith("@enduml").contains(" " + type.getName() + " ");
+        assertThat(uml.length()).isLessThan(sourceComponent.accept(new UMLExtractor()).length());
+        assertThat(sections[1].lines().collect(Collectors.toSet())).isEqualTo(expected).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("scope of a package or type which is not present should throw IllegalArgumentException.")
+    void testNotPresent() {
+        assertThatThrownBy(() -> DiagramScope.ofPackage(sourceComponent, "co.not.present"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DiagramScope.ofNeighbourhood(sourceComponent, "co.not.Present", 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("number of hops which is negative or more than max hops should throw IllegalArgumentException.")
+    void testHopsOutOfRange() {
+        assertThatThrownBy(() -> DiagramScope.neighbourhoodKeyOf("co.not.Present", -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DiagramScope.neighbourhoodKeyOf("co.not.Present", DiagramScope.MAX_HOPS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(DiagramScope.neighbourhoodKeyOf("co.test.A", DiagramScope.MAX_HOPS))
+                .isEqualTo("type:co.test.A:" + DiagramScope.MAX_HOPS);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        JarTypeSolver.ResourceRegistry.getRegistry().cleanUp();
+        FileDeleteStrategy.FORCE.delete(DST.toFile());
+    }
+}
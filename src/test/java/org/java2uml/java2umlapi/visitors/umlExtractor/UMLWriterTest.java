@@ -0,0 +1,97 @@
+package org.java2uml.java2umlapi.visitors.umlExtractor;
+
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import org.apache.commons.io.FileDeleteStrategy;
+import org.java2uml.java2umlapi.parsedComponent.ParsedComponent;
+import org.java2uml.java2umlapi.parsedComponent.SourceComponent;
+import org.java2uml.java2umlapi.parser.Parser;
+import org.java2uml.java2umlapi.util.unzipper.Unzipper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@DisplayName("When using UMLWriter,")
+class UMLWriterTest {
+    private static final Path TEST_FILE = Path.of("src/test/testSources/ParserTest/addtionalTests/combat-zone-master.zip");
+    private static final Path DST = Path.of("src/test/testOutput/umlWriterTest");
+
+    private static SourceComponent sourceComponent;
+    private static ExecutorService executorService;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        sourceComponent = Parser.parse(Unzipper.unzipDir(TEST_FILE, DST).toPath());
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @Test
+    @DisplayName("uml code written to a Writer should be same as extracted uml code.")
+    void testSameAsUMLExtractor() {
+        var writer = new StringWriter();
+        sourceComponent.accept(new UMLWriter(writer));
+
+        assertThat(writer.toString()).isEqualTo(sourceComponent.accept(new UMLExtractor()))
+                .startsWith("@startuml").endsWith("@enduml");
+    }
+
+    @Test
+    @DisplayName("uml code generated in parallel should be same as uml code generated sequentially.")
+    void testParallelSameAsSequential() {
+        var sequential = sourceComponent.accept(new UMLWriter(new StringBuilder())).toString();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(sourceComponent.accept(new UMLWriter(new StringBuilder(), executorService, 2)).toString())
+                    .isEqualTo(sequential);
+        }
+    }
+
+    @Test
+    @DisplayName("uml code generated in parallel should not need resolution lock of the project.")
+    void testParallelGenerationDoesNotTakeResolutionLock() {
+        var unresolved = Parser.parse(DST);
+
+        // tasks would wait forever for the lock held by this thread, if they resolved anything themselves.
+        var uml = assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            synchronized (unresolved.getResolutionLock()) {
+                return unresolved.accept(new UMLWriter(new StringBuilder(), executorService, 2)).toString();
+            }
+        });
+        assertThat(uml).isEqualTo(unresolved.accept(new UMLWriter(new StringBuilder())).toString());
+    }
+
+    @Test
+    @DisplayName("types should be written in order of their fully qualified names.")
+    void testTypesAreSortedByName() {
+        var uml = sourceComponent.accept(new UMLWriter(new StringBuilder(), executorService, 2)).toString();
+        var sortedTypes = sourceComponent.getChildren().values().stream()
+                .map(ParsedComponent::getName)
+                .sorted()
+                .collect(Collectors.toList());
+
+        var previous = -1;
+        for (var type : sortedTypes) {
+            var index = uml.indexOf(" " + type + " ");
+            assertThat(index).describedAs("uml of %s should come after previous type", type).isGreaterThan(previous);
+            previous = index;
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        executorService.shutdownNow();
+        JarTypeSolver.ResourceRegistry.getRegistry().cleanUp();
+        FileDeleteStrategy.FORCE.delete(DST.toFile());
+    }
+}